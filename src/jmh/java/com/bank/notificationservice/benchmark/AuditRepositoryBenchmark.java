@@ -0,0 +1,78 @@
+package com.bank.notificationservice.benchmark;
+
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationRecord;
+import com.bank.notificationservice.repository.AuditRetention;
+import com.bank.notificationservice.repository.InMemoryNotificationAuditRepository;
+import com.bank.notificationservice.repository.NotificationAuditRepository;
+import com.bank.notificationservice.repository.TimeIndexedNotificationAuditRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@code findSince} on the insertion-ordered and time-indexed audit stores. Records are spread evenly over
+ * the past 30 days, so a one hour window selects roughly 0.14% of the log and a one day window roughly 3.3%.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms6g", "-Xmx6g"})
+public class AuditRepositoryBenchmark {
+
+    private static final Duration RETAINED_SPAN = Duration.ofDays(30);
+
+    @Param({"in-memory", "time-indexed"})
+    public String store;
+
+    @Param({"100000", "1000000", "10000000"})
+    public int records;
+
+    @Param({"PT1H", "P1D"})
+    public String window;
+
+    private NotificationAuditRepository repository;
+    private Instant since;
+
+    @Setup
+    public void populate() {
+        repository = "time-indexed".equals(store)
+                ? new TimeIndexedNotificationAuditRepository(AuditRetention.unbounded())
+                : new InMemoryNotificationAuditRepository(AuditRetention.unbounded());
+
+        Instant now = Instant.now();
+        Instant start = now.minus(RETAINED_SPAN);
+        long stepNanos = RETAINED_SPAN.toNanos() / records;
+        for (int i = 0; i < records; i++) {
+            repository.save(new NotificationRecord(
+                    UUID.randomUUID(),
+                    (i & 1) == 0 ? NotificationChannel.EMAIL : NotificationChannel.SMS,
+                    "customer@example.com",
+                    "Bill payment confirmation",
+                    "Your recent bill has been cleared for account 555-666-777.",
+                    "ACCOUNT_EVENT",
+                    start.plusNanos(stepNanos * i)));
+        }
+        since = now.minus(Duration.parse(window));
+    }
+
+    @Benchmark
+    public List<NotificationRecord> findSince() {
+        return repository.findSince(since);
+    }
+}
@@ -0,0 +1,114 @@
+package com.bank.notificationservice.benchmark;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationRecord;
+import com.bank.notificationservice.repository.AuditRetention;
+import com.bank.notificationservice.repository.FileNotificationAuditRepository;
+import com.bank.notificationservice.repository.InMemoryNotificationAuditRepository;
+import com.bank.notificationservice.repository.NotificationAuditRepository;
+import com.bank.notificationservice.repository.TimeIndexedNotificationAuditRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@code save} with several threads writing to one audit store, as the dispatch workers and fan-out
+ * executor do. The store is capped at {@code maxRecords}, so once it fills every save also pays for a capacity
+ * eviction, which is the steady state of a long-running instance. The {@code file} store writes its log to a fresh
+ * temporary directory with the default segment size and sync interval. Vary the writer count with {@code -t}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Threads(4)
+public class AuditSaveBenchmark {
+
+    @Param({"in-memory", "time-indexed", "file"})
+    public String store;
+
+    @Param({"250000"})
+    public int maxRecords;
+
+    private NotificationAuditRepository repository;
+    private Path logDirectory;
+    private final AtomicLong writers = new AtomicLong();
+
+    @Setup
+    public void setUp() throws IOException {
+        logDirectory = Files.createTempDirectory("audit-benchmark");
+        NotificationProperties.Audit.File file = new NotificationProperties.Audit.File(logDirectory.toString(), null, null);
+        NotificationProperties.Audit audit = new NotificationProperties.Audit(null, null, maxRecords, null, null, file, null);
+        NotificationProperties properties = new NotificationProperties(null, null, null, null, audit, null, null, null, null, null, null, null, null, null);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AuditRetention retention = new AuditRetention(properties, registry);
+        repository = switch (store) {
+            case "time-indexed" -> new TimeIndexedNotificationAuditRepository(retention);
+            case "file" -> new FileNotificationAuditRepository(properties, retention, registry);
+            default -> new InMemoryNotificationAuditRepository(retention);
+        };
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (repository instanceof FileNotificationAuditRepository file) {
+            file.close();
+        }
+        try (Stream<Path> files = Files.walk(logDirectory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+
+        private long writerId;
+        private long sequence;
+
+        @Setup
+        public void setUp(AuditSaveBenchmark benchmark) {
+            writerId = benchmark.writers.incrementAndGet();
+        }
+
+        NotificationRecord next() {
+            return new NotificationRecord(
+                    new UUID(writerId, sequence++),
+                    NotificationChannel.EMAIL,
+                    "customer@example.com",
+                    "Bill payment confirmation",
+                    "Your recent bill has been cleared for account 555-666-777.",
+                    "ACCOUNT_EVENT",
+                    Instant.now());
+        }
+    }
+
+    @Benchmark
+    public void save(Writer writer) {
+        repository.save(writer.next());
+    }
+}
@@ -0,0 +1,99 @@
+package com.bank.notificationservice.benchmark;
+
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationRecord;
+import com.bank.notificationservice.repository.AuditQuery;
+import com.bank.notificationservice.repository.AuditRetention;
+import com.bank.notificationservice.repository.InMemoryNotificationAuditRepository;
+import com.bank.notificationservice.repository.NotificationAuditRepository;
+import com.bank.notificationservice.repository.TimeIndexedNotificationAuditRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One customer's notifications over the past 30 days, as support staff search for them, answered from the recipient
+ * posting list ({@code search}) and by filtering {@code findSince} as before the secondary index ({@code scan}).
+ * Records are spread evenly over the past 30 days among {@code recipients} customers, so each customer has about
+ * {@code records / recipients} of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms6g", "-Xmx6g"})
+public class AuditSearchBenchmark {
+
+    private static final Duration RETAINED_SPAN = Duration.ofDays(30);
+
+    @Param({"in-memory", "time-indexed"})
+    public String store;
+
+    @Param({"1000000", "5000000"})
+    public int records;
+
+    @Param({"100000"})
+    public int recipients;
+
+    private NotificationAuditRepository repository;
+    private Instant since;
+
+    @Setup
+    public void populate() {
+        repository = "time-indexed".equals(store)
+                ? new TimeIndexedNotificationAuditRepository(AuditRetention.unbounded())
+                : new InMemoryNotificationAuditRepository(AuditRetention.unbounded());
+
+        Instant now = Instant.now();
+        since = now.minus(RETAINED_SPAN);
+        long stepNanos = RETAINED_SPAN.toNanos() / records;
+        for (int i = 0; i < records; i++) {
+            repository.save(new NotificationRecord(
+                    UUID.randomUUID(),
+                    (i & 1) == 0 ? NotificationChannel.EMAIL : NotificationChannel.SMS,
+                    recipient(i % recipients),
+                    "Bill payment confirmation",
+                    "Your recent bill has been cleared for account 555-666-777.",
+                    "ACCOUNT_EVENT",
+                    since.plusNanos(stepNanos * i)));
+        }
+    }
+
+    @Benchmark
+    public List<NotificationRecord> search() {
+        return repository.find(query());
+    }
+
+    @Benchmark
+    public List<NotificationRecord> scan() {
+        AuditQuery query = query();
+        return repository.findSince(query.since()).stream()
+                .filter(query::matches)
+                .limit(query.limit())
+                .toList();
+    }
+
+    private AuditQuery query() {
+        String recipient = recipient(ThreadLocalRandom.current().nextInt(recipients));
+        return new AuditQuery(since, null, null, recipient, null, null, 100);
+    }
+
+    private static String recipient(int customer) {
+        return "customer" + customer + "@example.com";
+    }
+}
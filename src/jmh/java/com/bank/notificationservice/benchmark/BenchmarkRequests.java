@@ -0,0 +1,55 @@
+package com.bank.notificationservice.benchmark;
+
+import com.bank.notificationservice.dto.AccountEventNotificationRequest;
+import com.bank.notificationservice.dto.AccountStatusChangeNotificationRequest;
+import com.bank.notificationservice.dto.HighValueTransactionNotificationRequest;
+import com.bank.notificationservice.model.AccountEventType;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Representative request payloads shared by the composer and service benchmarks.
+ */
+final class BenchmarkRequests {
+
+    private BenchmarkRequests() {
+    }
+
+    static HighValueTransactionNotificationRequest highValueTransaction() {
+        HighValueTransactionNotificationRequest request = new HighValueTransactionNotificationRequest();
+        request.setAccountNumber("1234567890");
+        request.setCustomerName("Jane Doe");
+        request.setCustomerEmail("jane@example.com");
+        request.setCustomerPhone("+919876543210");
+        request.setTxnType("DEBIT");
+        request.setAmount(new BigDecimal("1534500.75"));
+        request.setCurrency("INR");
+        request.setCounterparty("ACME Corp");
+        request.setReference("Invoice 42");
+        request.setTransactionTime(Instant.parse("2024-05-01T10:15:30Z"));
+        return request;
+    }
+
+    static AccountStatusChangeNotificationRequest accountStatusChange() {
+        AccountStatusChangeNotificationRequest request = new AccountStatusChangeNotificationRequest();
+        request.setAccountNumber("9876543210");
+        request.setCustomerName("John Smith");
+        request.setCustomerEmail("john@example.com");
+        request.setCustomerPhone("+919876500000");
+        request.setPreviousStatus("Pending KYC");
+        request.setCurrentStatus("Active");
+        request.setRemarks("KYC documents verified");
+        return request;
+    }
+
+    static AccountEventNotificationRequest accountEvent() {
+        AccountEventNotificationRequest request = new AccountEventNotificationRequest();
+        request.setAccountNumber("555666777");
+        request.setCustomerName("Priya Sharma");
+        request.setCustomerEmail("priya@example.com");
+        request.setCustomerPhone("+919812345678");
+        request.setEventType(AccountEventType.BILL_CLEARED);
+        request.setDescription("Electricity bill for April");
+        return request;
+    }
+}
@@ -0,0 +1,80 @@
+package com.bank.notificationservice.benchmark;
+
+import com.bank.notificationservice.support.MoneyFormatter;
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the composer's previous per-call {@code NumberFormat}/{@code DecimalFormat} construction with the cached
+ * {@link MoneyFormatter}. The {@code legacy*} methods are verbatim copies of the replaced composer code. Run with
+ * {@code -prof gc} to compare allocation per operation as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyFormatBenchmark {
+
+    @Param({"USD", "INR"})
+    public String currency;
+
+    @Param({"15000", "1234567.89"})
+    public String amount;
+
+    private BigDecimal value;
+    private StringBuilder buffer;
+
+    @Setup
+    public void setUp() {
+        value = new BigDecimal(amount);
+        buffer = new StringBuilder(32);
+    }
+
+    @Benchmark
+    public String legacyCurrency() {
+        try {
+            NumberFormat customFormatter = NumberFormat.getCurrencyInstance(Locale.US);
+            customFormatter.setCurrency(Currency.getInstance(currency));
+            return customFormatter.format(value);
+        } catch (Exception ignored) {
+            NumberFormat fallback = NumberFormat.getCurrencyInstance(Locale.US);
+            return fallback.format(value);
+        }
+    }
+
+    @Benchmark
+    public String cachedCurrency() {
+        return MoneyFormatter.forCurrency(currency).format(value);
+    }
+
+    @Benchmark
+    public String legacySmsAmount() {
+        DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.ENGLISH);
+        DecimalFormat formatter = new DecimalFormat("##,##,##0.00", symbols);
+        return formatter.format(value);
+    }
+
+    @Benchmark
+    public StringBuilder cachedSmsAmountIntoBuffer() {
+        buffer.setLength(0);
+        return MoneyFormatter.forCurrency("INR").appendAmount(value, buffer);
+    }
+}
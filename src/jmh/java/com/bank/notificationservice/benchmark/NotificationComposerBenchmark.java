@@ -0,0 +1,93 @@
+package com.bank.notificationservice.benchmark;
+
+import com.bank.notificationservice.dto.AccountEventNotificationRequest;
+import com.bank.notificationservice.dto.AccountStatusChangeNotificationRequest;
+import com.bank.notificationservice.dto.HighValueTransactionNotificationRequest;
+import com.bank.notificationservice.model.NotificationRecord;
+import com.bank.notificationservice.service.NotificationComposer;
+import com.bank.notificationservice.support.EmailMessage;
+import com.bank.notificationservice.support.SmsMessage;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of each {@link NotificationComposer} method and of building the audit records the dispatcher keeps for every
+ * message it sends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationComposerBenchmark {
+
+    private static final BigDecimal THRESHOLD = BigDecimal.valueOf(10_000L);
+
+    private NotificationComposer composer;
+    private HighValueTransactionNotificationRequest highValueTransaction;
+    private AccountStatusChangeNotificationRequest accountStatusChange;
+    private AccountEventNotificationRequest accountEvent;
+    private EmailMessage email;
+    private SmsMessage sms;
+
+    @Setup
+    public void setUp() {
+        composer = new NotificationComposer();
+        highValueTransaction = BenchmarkRequests.highValueTransaction();
+        accountStatusChange = BenchmarkRequests.accountStatusChange();
+        accountEvent = BenchmarkRequests.accountEvent();
+        email = composer.composeHighValueTransaction(highValueTransaction, THRESHOLD);
+        sms = composer.composeHighValueTransactionSms(highValueTransaction);
+    }
+
+    @Benchmark
+    public EmailMessage composeHighValueTransaction() {
+        return composer.composeHighValueTransaction(highValueTransaction, THRESHOLD);
+    }
+
+    @Benchmark
+    public SmsMessage composeHighValueTransactionSms() {
+        return composer.composeHighValueTransactionSms(highValueTransaction);
+    }
+
+    @Benchmark
+    public EmailMessage composeAccountStatusChange() {
+        return composer.composeAccountStatusChange(accountStatusChange);
+    }
+
+    @Benchmark
+    public SmsMessage composeAccountStatusChangeSms() {
+        return composer.composeAccountStatusChangeSms(accountStatusChange);
+    }
+
+    @Benchmark
+    public EmailMessage composeAccountEvent() {
+        return composer.composeAccountEvent(accountEvent);
+    }
+
+    @Benchmark
+    public SmsMessage composeAccountEventSms() {
+        return composer.composeAccountEventSms(accountEvent);
+    }
+
+    @Benchmark
+    public NotificationRecord emailRecord() {
+        return NotificationRecord.email(email.to(), email.subject(), email.body(), "HIGH_VALUE_TRANSACTION");
+    }
+
+    @Benchmark
+    public NotificationRecord smsRecord() {
+        return NotificationRecord.sms(sms.to(), sms.body(), "HIGH_VALUE_TRANSACTION");
+    }
+}
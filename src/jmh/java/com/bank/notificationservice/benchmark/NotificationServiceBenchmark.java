@@ -0,0 +1,92 @@
+package com.bank.notificationservice.benchmark;
+
+import com.bank.notificationservice.NotificationServiceApplication;
+import com.bank.notificationservice.dto.AccountEventNotificationRequest;
+import com.bank.notificationservice.dto.AccountStatusChangeNotificationRequest;
+import com.bank.notificationservice.dto.HighValueTransactionNotificationRequest;
+import com.bank.notificationservice.service.NotificationService;
+import com.bank.notificationservice.support.NotificationOutcome;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * End-to-end cost of the {@code NotificationService.handle*} methods: threshold check, composition, dispatch and
+ * audit, with mock email and SMS delivery. The service is taken from a real application context without the web
+ * server, so the benchmark follows whatever wiring the application uses. Delivery logging is turned down to
+ * {@code WARN} so the numbers are not dominated by the console appender, and idempotency is off because every
+ * invocation sends the same transaction, which would otherwise be answered from the cache after the first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class NotificationServiceBenchmark {
+
+    @Param({"false", "true"})
+    public boolean fanOut;
+
+    @Param({"in-memory", "time-indexed"})
+    public String store;
+
+    private ConfigurableApplicationContext context;
+    private NotificationService service;
+    private HighValueTransactionNotificationRequest highValueTransaction;
+    private AccountStatusChangeNotificationRequest accountStatusChange;
+    private AccountEventNotificationRequest accountEvent;
+
+    @Setup
+    public void startContext() {
+        context = new SpringApplicationBuilder(NotificationServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "notification.mail.mock-delivery=true",
+                        "notification.sms.mock-delivery=true",
+                        "notification.dispatch.mode=sync",
+                        "notification.dispatch.fan-out=" + fanOut,
+                        "notification.audit.store=" + store,
+                        "notification.idempotency.enabled=false",
+                        "logging.level.com.bank.notificationservice=WARN")
+                .run();
+        service = context.getBean(NotificationService.class);
+        highValueTransaction = BenchmarkRequests.highValueTransaction();
+        accountStatusChange = BenchmarkRequests.accountStatusChange();
+        accountEvent = BenchmarkRequests.accountEvent();
+    }
+
+    @TearDown
+    public void closeContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public NotificationOutcome handleHighValueTransaction() {
+        return service.handleHighValueTransaction(highValueTransaction);
+    }
+
+    @Benchmark
+    public NotificationOutcome handleAccountStatusChange() {
+        return service.handleAccountStatusChange(accountStatusChange);
+    }
+
+    @Benchmark
+    public NotificationOutcome handleAccountEvent() {
+        return service.handleAccountEvent(accountEvent);
+    }
+}
@@ -0,0 +1,125 @@
+package com.bank.notificationservice.benchmark;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.repository.InMemoryDeadLetterRepository;
+import com.bank.notificationservice.service.ChannelSender;
+import com.bank.notificationservice.service.DeliveryRetryScheduler;
+import com.bank.notificationservice.service.DispatchThreads;
+import com.bank.notificationservice.service.NotificationDispatcher;
+import com.bank.notificationservice.support.EmailMessage;
+import com.bank.notificationservice.support.NotificationDelivery;
+import com.bank.notificationservice.support.SmsMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Notifications delivered per second when {@value #CONCURRENT_REQUESTS} requests arrive at once and each channel send
+ * blocks for {@code latencyMillis}, as SMTP and Twilio calls do. Requests run on an executor shaped like Tomcat's:
+ * {@value #TOMCAT_MAX_THREADS} platform threads, or one virtual thread per request in {@code virtual} mode; the
+ * {@link NotificationDispatcher} and its fan-out executor come from the same {@link DispatchThreads}.
+ *
+ * <p>The {@code virtual} mode needs Java 21; on older JDKs its setup fails and only {@code platform} is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class VirtualThreadDispatchBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 2_000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"false", "true"})
+    public boolean fanOut;
+
+    @Param({"20"})
+    public int latencyMillis;
+
+    private ExecutorService requestExecutor;
+    private NotificationDispatcher dispatcher;
+    private DeliveryRetryScheduler retryScheduler;
+    private NotificationDelivery delivery;
+
+    @Setup
+    public void setUp() {
+        DispatchThreads dispatchThreads = new DispatchThreads("virtual".equals(threads));
+        NotificationProperties properties = new NotificationProperties(null, null, null,
+                new NotificationProperties.Dispatch(NotificationProperties.Dispatch.Mode.SYNC, 1_000, 4, fanOut, 8,
+                        Duration.ofSeconds(30), null),
+                null, null, null, null, null, null, null, null, null, null);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ChannelSender sender = new BlockingChannelSender(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        retryScheduler = new DeliveryRetryScheduler(sender, new InMemoryDeadLetterRepository(properties, registry),
+                properties, dispatchThreads, registry);
+        dispatcher = new NotificationDispatcher(sender, retryScheduler, properties, dispatchThreads);
+        requestExecutor = dispatchThreads.blockingExecutor("request-", TOMCAT_MAX_THREADS);
+        delivery = new NotificationDelivery(NotificationType.ACCOUNT_EVENT,
+                new EmailMessage("jane@example.com", "Bill payment confirmation", "Your bill has been cleared."),
+                new SmsMessage("+919876543210", "Your bill has been cleared."));
+    }
+
+    @TearDown
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        dispatcher.shutdown();
+        retryScheduler.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public void concurrentBlockingDispatches() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            requestExecutor.execute(() -> {
+                try {
+                    dispatcher.dispatch(delivery);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    /**
+     * Stands in for the SMTP relay and Twilio: every send parks the calling thread for the configured latency.
+     */
+    private static final class BlockingChannelSender extends ChannelSender {
+
+        private final long latencyNanos;
+
+        BlockingChannelSender(long latencyNanos) {
+            super(null, null, null, null);
+            this.latencyNanos = latencyNanos;
+        }
+
+        @Override
+        public void send(NotificationChannel channel, NotificationDelivery delivery) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.bank.notificationservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Connection pool for the {@code jdbc} audit store, configured under {@code spring.datasource}. Spring Boot's own
+ * data source auto-configuration is excluded so the other stores start without a database.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "notification.audit", name = "store", havingValue = "jdbc")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class AuditDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource auditDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
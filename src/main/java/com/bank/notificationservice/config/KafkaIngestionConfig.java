@@ -0,0 +1,62 @@
+package com.bank.notificationservice.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.validation.ConstraintViolationException;
+import java.util.Properties;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+/**
+ * Listener containers for Kafka ingestion. The broker, consumer group and deserializers come from Spring Boot's
+ * {@code spring.kafka} settings; batching, concurrency and retries from {@code notification.kafka}.
+ *
+ * <p>Offsets are committed after the listener returns for the whole batch, with auto-commit disabled. When a record
+ * fails, the error handler commits the records before it and polls again from the failed one. A record that still
+ * fails after {@code retryAttempts} redeliveries, or at once if it is malformed or invalid, is published to the
+ * {@value #DEAD_LETTER_SUFFIX} topic named after its own, on a partition chosen by Kafka, and then committed.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "notification.kafka", name = "enabled", havingValue = "true")
+public class KafkaIngestionConfig {
+
+    public static final String CONTAINER_FACTORY = "notificationKafkaListenerContainerFactory";
+    public static final String DEAD_LETTER_SUFFIX = ".DLT";
+
+    @Bean(CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> notificationKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            KafkaTemplate<Object, Object> deadLetterTemplate,
+            NotificationProperties properties) {
+        NotificationProperties.Kafka kafka = properties.kafka();
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(kafka.concurrency());
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(deadLetterTemplate,
+                (record, ex) -> new TopicPartition(record.topic() + DEAD_LETTER_SUFFIX, -1));
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer,
+                new FixedBackOff(kafka.retryBackoff().toMillis(), kafka.retryAttempts()));
+        errorHandler.addNotRetryableExceptions(JsonProcessingException.class, ConstraintViolationException.class);
+        factory.setCommonErrorHandler(errorHandler);
+
+        ContainerProperties container = factory.getContainerProperties();
+        container.setAckMode(ContainerProperties.AckMode.BATCH);
+        Properties consumer = new Properties();
+        consumer.setProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Integer.toString(kafka.batchSize()));
+        consumer.setProperty(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        container.setKafkaConsumerProperties(consumer);
+        return factory;
+    }
+}
@@ -0,0 +1,32 @@
+package com.bank.notificationservice.config;
+
+import com.bank.notificationservice.service.SmtpTransportPool;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+@Configuration
+public class MailTransportConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "notification.mail.pool", name = "enabled", havingValue = "true")
+    public SmtpTransportPool smtpTransportPool(
+            JavaMailSenderImpl mailSender,
+            NotificationProperties properties,
+            MeterRegistry meterRegistry) {
+        SmtpTransportPool pool = new SmtpTransportPool(mailSender, properties.mail().pool());
+        Gauge.builder("notification.mail.pool.connections", pool, SmtpTransportPool::idleConnections)
+                .tag("state", "idle")
+                .register(meterRegistry);
+        Gauge.builder("notification.mail.pool.connections", pool, SmtpTransportPool::activeConnections)
+                .tag("state", "active")
+                .register(meterRegistry);
+        Gauge.builder("notification.mail.pool.opened", pool, SmtpTransportPool::connectionsOpened)
+                .description("SMTP connections opened since startup")
+                .register(meterRegistry);
+        return pool;
+    }
+}
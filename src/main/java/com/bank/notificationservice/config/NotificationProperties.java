@@ -1,42 +1,176 @@
 package com.bank.notificationservice.config;
 
+import com.bank.notificationservice.model.AccountEventType;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationType;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
 @Validated
 @ConfigurationProperties(prefix = "notification")
-public record NotificationProperties(Mail mail, Thresholds thresholds, Sms sms) {
+public record NotificationProperties(Mail mail, Thresholds thresholds, Sms sms, Dispatch dispatch, Audit audit,
+        Templates templates, RateLimit rateLimit, Retry retry, CircuitBreaker circuitBreaker,
+        Idempotency idempotency, Kafka kafka, Digest digest, Routing routing, Scheduling scheduling) {
 
     private static final String DEFAULT_FROM_ADDRESS = "noreply@bank.example";
     private static final boolean DEFAULT_MAIL_MOCK_DELIVERY = true;
+    private static final Duration DEFAULT_MAIL_POOL_VALIDATE_AFTER_IDLE = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_MAIL_POOL_MAX_IDLE = Duration.ofMinutes(5);
+    private static final Duration DEFAULT_MAIL_POOL_BORROW_TIMEOUT = Duration.ofSeconds(5);
     private static final BigDecimal DEFAULT_THRESHOLD_AMOUNT = BigDecimal.valueOf(10_000L);
     private static final String DEFAULT_SMS_API_KEY = "demo-api-key";
     private static final String DEFAULT_SMS_BASE_URL = "https://2factor.in/API/V1";
     private static final boolean DEFAULT_SMS_MOCK_DELIVERY = true;
     private static final String DEFAULT_SMS_SENDER_ID = "TFCTOR";
+    private static final String DEFAULT_SMS_TWILIO_BASE_URL = "https://api.twilio.com";
+    private static final Duration DEFAULT_SMS_CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration DEFAULT_SMS_REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final int DEFAULT_DISPATCH_QUEUE_CAPACITY = 1_000;
+    private static final int DEFAULT_DISPATCH_WORKER_THREADS = 4;
+    private static final int DEFAULT_DISPATCH_FAN_OUT_THREADS = 8;
+    private static final Duration DEFAULT_DISPATCH_CHANNEL_TIMEOUT = Duration.ofSeconds(10);
+    private static final Map<NotificationType, Integer> DEFAULT_DISPATCH_LANE_WEIGHTS = Map.of(
+            NotificationType.HIGH_VALUE_TRANSACTION, 8,
+            NotificationType.ACCOUNT_STATUS_CHANGE, 3,
+            NotificationType.ACCOUNT_EVENT, 1);
+    private static final Duration DEFAULT_AUDIT_RETENTION = Duration.ofDays(8);
+    private static final int DEFAULT_AUDIT_MAX_RECORDS = 250_000;
+    private static final DataSize DEFAULT_AUDIT_MAX_SIZE = DataSize.ofMegabytes(96);
+    private static final Duration DEFAULT_AUDIT_SWEEP_INTERVAL = Duration.ofMinutes(1);
+    private static final String DEFAULT_AUDIT_FILE_DIRECTORY = "data/audit";
+    private static final DataSize DEFAULT_AUDIT_FILE_SEGMENT_SIZE = DataSize.ofMegabytes(64);
+    private static final Duration DEFAULT_AUDIT_FILE_SYNC_INTERVAL = Duration.ofMillis(200);
+    private static final Duration DEFAULT_AUDIT_JDBC_FLUSH_INTERVAL = Duration.ofMillis(200);
+    private static final String DEFAULT_TEMPLATES_LOCATION = "classpath:templates/";
+    private static final Duration DEFAULT_RATE_LIMIT_MAX_WAIT = Duration.ofSeconds(5);
+    private static final Duration DEFAULT_RATE_LIMIT_RECOVERY_INTERVAL = Duration.ofSeconds(10);
+    private static final Duration DEFAULT_RETRY_INITIAL_DELAY = Duration.ofSeconds(2);
+    private static final Duration DEFAULT_RETRY_MAX_DELAY = Duration.ofMinutes(5);
+    private static final Duration DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION = Duration.ofSeconds(5);
+    private static final Duration DEFAULT_CIRCUIT_BREAKER_WAIT_IN_OPEN = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_IDEMPOTENCY_TTL = Duration.ofHours(24);
+    private static final String DEFAULT_KAFKA_HIGH_VALUE_TRANSACTION_TOPIC = "notifications.high-value-transaction";
+    private static final String DEFAULT_KAFKA_ACCOUNT_STATUS_CHANGE_TOPIC = "notifications.account-status-change";
+    private static final String DEFAULT_KAFKA_ACCOUNT_EVENT_TOPIC = "notifications.account-event";
+    private static final Duration DEFAULT_KAFKA_RETRY_BACKOFF = Duration.ofSeconds(2);
+    private static final Set<AccountEventType> DEFAULT_DIGEST_EVENT_TYPES = Set.of(AccountEventType.DOCUMENT_UPDATED,
+            AccountEventType.CONTACT_INFORMATION_UPDATED, AccountEventType.BILL_CLEARED);
+    private static final Duration DEFAULT_DIGEST_WINDOW = Duration.ofMinutes(1);
+    private static final Duration DEFAULT_SCHEDULING_TICK = Duration.ofSeconds(1);
+    private static final LocalTime DEFAULT_QUIET_HOURS_START = LocalTime.of(22, 0);
+    private static final LocalTime DEFAULT_QUIET_HOURS_END = LocalTime.of(8, 0);
+    private static final Set<AccountEventType> DEFAULT_QUIET_HOURS_EVENT_TYPES = Set.of(AccountEventType.DOCUMENT_UPDATED,
+            AccountEventType.LOAN_CLEARED, AccountEventType.BILL_CLEARED);
 
-    private static final Mail DEFAULT_MAIL = new Mail(DEFAULT_FROM_ADDRESS, DEFAULT_MAIL_MOCK_DELIVERY);
+    private static final Mail.Pool DEFAULT_MAIL_POOL = new Mail.Pool(false, 4, 100,
+            DEFAULT_MAIL_POOL_VALIDATE_AFTER_IDLE, DEFAULT_MAIL_POOL_MAX_IDLE, DEFAULT_MAIL_POOL_BORROW_TIMEOUT);
+    private static final Mail DEFAULT_MAIL = new Mail(DEFAULT_FROM_ADDRESS, DEFAULT_MAIL_MOCK_DELIVERY, DEFAULT_MAIL_POOL, 16);
     private static final Thresholds DEFAULT_THRESHOLDS = new Thresholds(DEFAULT_THRESHOLD_AMOUNT);
     /* Twilio fields are optional and default to null. Keep existing SMS defaults for backwards compatibility. */
-    private static final Sms DEFAULT_SMS = new Sms(DEFAULT_SMS_API_KEY, DEFAULT_SMS_BASE_URL, DEFAULT_SMS_SENDER_ID, DEFAULT_SMS_MOCK_DELIVERY, null, null, null);
+    private static final Sms DEFAULT_SMS = new Sms(DEFAULT_SMS_API_KEY, DEFAULT_SMS_BASE_URL, DEFAULT_SMS_SENDER_ID, DEFAULT_SMS_MOCK_DELIVERY, null, null, null,
+            DEFAULT_SMS_TWILIO_BASE_URL, DEFAULT_SMS_CONNECT_TIMEOUT, DEFAULT_SMS_REQUEST_TIMEOUT);
+    private static final Dispatch DEFAULT_DISPATCH = new Dispatch(Dispatch.Mode.SYNC, DEFAULT_DISPATCH_QUEUE_CAPACITY, DEFAULT_DISPATCH_WORKER_THREADS,
+            false, DEFAULT_DISPATCH_FAN_OUT_THREADS, DEFAULT_DISPATCH_CHANNEL_TIMEOUT, DEFAULT_DISPATCH_LANE_WEIGHTS);
+    private static final Audit.File DEFAULT_AUDIT_FILE = new Audit.File(DEFAULT_AUDIT_FILE_DIRECTORY,
+            DEFAULT_AUDIT_FILE_SEGMENT_SIZE, DEFAULT_AUDIT_FILE_SYNC_INTERVAL);
+    private static final Audit.Jdbc DEFAULT_AUDIT_JDBC = new Audit.Jdbc(500, DEFAULT_AUDIT_JDBC_FLUSH_INTERVAL, 50_000, 2);
+    private static final Audit DEFAULT_AUDIT = new Audit(Audit.Store.IN_MEMORY, DEFAULT_AUDIT_RETENTION,
+            DEFAULT_AUDIT_MAX_RECORDS, DEFAULT_AUDIT_MAX_SIZE, DEFAULT_AUDIT_SWEEP_INTERVAL, DEFAULT_AUDIT_FILE,
+            DEFAULT_AUDIT_JDBC);
+    private static final Templates DEFAULT_TEMPLATES = new Templates(DEFAULT_TEMPLATES_LOCATION);
+    private static final RateLimit.Provider DEFAULT_EMAIL_RATE_LIMIT = new RateLimit.Provider(false, 10, 10, 1, 0.5,
+            DEFAULT_RATE_LIMIT_MAX_WAIT, DEFAULT_RATE_LIMIT_RECOVERY_INTERVAL);
+    private static final RateLimit.Provider DEFAULT_SMS_RATE_LIMIT = new RateLimit.Provider(false, 10, 10, 1, 0.5,
+            DEFAULT_RATE_LIMIT_MAX_WAIT, DEFAULT_RATE_LIMIT_RECOVERY_INTERVAL);
+    private static final RateLimit DEFAULT_RATE_LIMIT = new RateLimit(DEFAULT_EMAIL_RATE_LIMIT, DEFAULT_SMS_RATE_LIMIT);
+    private static final Retry DEFAULT_RETRY = new Retry(false, 5, DEFAULT_RETRY_INITIAL_DELAY, DEFAULT_RETRY_MAX_DELAY,
+            2.0, 0.5, 2, 10_000, 10_000);
+    private static final CircuitBreaker.Provider DEFAULT_EMAIL_CIRCUIT_BREAKER = new CircuitBreaker.Provider(true, 20, 10,
+            50, 80, DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION, DEFAULT_CIRCUIT_BREAKER_WAIT_IN_OPEN, 3);
+    private static final CircuitBreaker.Provider DEFAULT_SMS_CIRCUIT_BREAKER = new CircuitBreaker.Provider(true, 20, 10,
+            50, 80, DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION, DEFAULT_CIRCUIT_BREAKER_WAIT_IN_OPEN, 3);
+    private static final CircuitBreaker DEFAULT_CIRCUIT_BREAKER = new CircuitBreaker(DEFAULT_EMAIL_CIRCUIT_BREAKER,
+            DEFAULT_SMS_CIRCUIT_BREAKER);
+    private static final Idempotency DEFAULT_IDEMPOTENCY = new Idempotency(true, DEFAULT_IDEMPOTENCY_TTL, 100_000);
+    private static final Kafka.Topics DEFAULT_KAFKA_TOPICS = new Kafka.Topics(DEFAULT_KAFKA_HIGH_VALUE_TRANSACTION_TOPIC,
+            DEFAULT_KAFKA_ACCOUNT_STATUS_CHANGE_TOPIC, DEFAULT_KAFKA_ACCOUNT_EVENT_TOPIC);
+    private static final Kafka DEFAULT_KAFKA = new Kafka(false, DEFAULT_KAFKA_TOPICS, 3, 500, DEFAULT_KAFKA_RETRY_BACKOFF, 3);
+    private static final Routing DEFAULT_ROUTING = new Routing(Map.of(), Map.of(), List.of(), true);
+    private static final Digest DEFAULT_DIGEST = new Digest(false, DEFAULT_DIGEST_EVENT_TYPES, DEFAULT_DIGEST_WINDOW, 10,
+            10_000, 2);
+    private static final Scheduling.QuietHours DEFAULT_QUIET_HOURS = new Scheduling.QuietHours(false,
+            DEFAULT_QUIET_HOURS_START, DEFAULT_QUIET_HOURS_END, null, DEFAULT_QUIET_HOURS_EVENT_TYPES);
+    private static final Scheduling DEFAULT_SCHEDULING = new Scheduling(DEFAULT_SCHEDULING_TICK, 1_000_000, 2,
+            DEFAULT_QUIET_HOURS);
 
     public NotificationProperties {
         mail = mail != null ? mail : DEFAULT_MAIL;
         thresholds = thresholds != null ? thresholds : DEFAULT_THRESHOLDS;
         sms = sms != null ? sms : DEFAULT_SMS;
+        dispatch = dispatch != null ? dispatch : DEFAULT_DISPATCH;
+        audit = audit != null ? audit : DEFAULT_AUDIT;
+        templates = templates != null ? templates : DEFAULT_TEMPLATES;
+        rateLimit = rateLimit != null ? rateLimit : DEFAULT_RATE_LIMIT;
+        retry = retry != null ? retry : DEFAULT_RETRY;
+        circuitBreaker = circuitBreaker != null ? circuitBreaker : DEFAULT_CIRCUIT_BREAKER;
+        idempotency = idempotency != null ? idempotency : DEFAULT_IDEMPOTENCY;
+        kafka = kafka != null ? kafka : DEFAULT_KAFKA;
+        digest = digest != null ? digest : DEFAULT_DIGEST;
+        routing = routing != null ? routing : DEFAULT_ROUTING;
+        scheduling = scheduling != null ? scheduling : DEFAULT_SCHEDULING;
     }
 
+    /**
+     * Sender settings. {@code sendThreads} is the number of platform threads SMTP exchanges run on when virtual
+     * threads are enabled, since the mail client holds a monitor during network I/O and would otherwise pin the
+     * virtual thread to its carrier.
+     */
     public static record Mail(
             @Email @NotBlank String from,
-            @DefaultValue("true") boolean mockDelivery) {
+            @DefaultValue("true") boolean mockDelivery,
+            Pool pool,
+            @DefaultValue("16") @Positive int sendThreads) {
 
         public Mail {
             from = from != null ? from : DEFAULT_FROM_ADDRESS;
+            pool = pool != null ? pool : DEFAULT_MAIL_POOL;
+        }
+
+        /**
+         * Persistent SMTP connections shared across sends. Disabled by default, in which case every email opens
+         * and closes its own connection through {@code JavaMailSender}.
+         */
+        public static record Pool(
+                @DefaultValue("false") boolean enabled,
+                @DefaultValue("4") @Positive int maxConnections,
+                @DefaultValue("100") @Positive int maxMessagesPerConnection,
+                Duration validateAfterIdle,
+                Duration maxIdle,
+                Duration borrowTimeout) {
+
+            public Pool {
+                validateAfterIdle = validateAfterIdle != null ? validateAfterIdle : DEFAULT_MAIL_POOL_VALIDATE_AFTER_IDLE;
+                maxIdle = maxIdle != null ? maxIdle : DEFAULT_MAIL_POOL_MAX_IDLE;
+                borrowTimeout = borrowTimeout != null ? borrowTimeout : DEFAULT_MAIL_POOL_BORROW_TIMEOUT;
+            }
         }
     }
 
@@ -55,13 +189,344 @@ public record NotificationProperties(Mail mail, Thresholds thresholds, Sms sms)
             /* Twilio credentials - optional; when present the service will use Twilio to send SMS */
             String accountSid,
             String authToken,
-            String fromNumber) {
+            String fromNumber,
+            /* Twilio REST endpoint and HTTP timeouts used by TwilioSmsTransport */
+            String twilioBaseUrl,
+            Duration connectTimeout,
+            Duration requestTimeout) {
 
         public Sms {
             apiKey = apiKey != null ? apiKey : DEFAULT_SMS_API_KEY;
             baseUrl = baseUrl != null ? baseUrl : DEFAULT_SMS_BASE_URL;
             senderId = senderId != null ? senderId : DEFAULT_SMS_SENDER_ID;
             /* accountSid, authToken and fromNumber intentionally left nullable - no defaults */
+            twilioBaseUrl = twilioBaseUrl != null ? twilioBaseUrl : DEFAULT_SMS_TWILIO_BASE_URL;
+            connectTimeout = connectTimeout != null ? connectTimeout : DEFAULT_SMS_CONNECT_TIMEOUT;
+            requestTimeout = requestTimeout != null ? requestTimeout : DEFAULT_SMS_REQUEST_TIMEOUT;
+        }
+    }
+
+    /**
+     * Controls whether notifications are delivered on the request thread ({@code SYNC}) or handed to a bounded
+     * queue drained by a worker pool ({@code ASYNC}), and whether email and SMS are sent concurrently. In
+     * {@code ASYNC} mode each notification type has its own queue of {@code queueCapacity}, and workers take from
+     * the queues in proportion to {@code laneWeights}; types left out keep their default weight. The default
+     * {@code SYNC} mode has no queue, so {@code queueCapacity}, {@code workerThreads} and {@code laneWeights} only
+     * take effect in {@code ASYNC} mode.
+     */
+    public static record Dispatch(
+            Mode mode,
+            @DefaultValue("1000") @Positive int queueCapacity,
+            @DefaultValue("4") @Positive int workerThreads,
+            @DefaultValue("false") boolean fanOut,
+            @DefaultValue("8") @Positive int fanOutThreads,
+            Duration channelTimeout,
+            Map<NotificationType, @Positive Integer> laneWeights) {
+
+        public enum Mode {
+            SYNC,
+            ASYNC
+        }
+
+        public Dispatch {
+            mode = mode != null ? mode : Mode.SYNC;
+            channelTimeout = channelTimeout != null ? channelTimeout : DEFAULT_DISPATCH_CHANNEL_TIMEOUT;
+            Map<NotificationType, Integer> weights = new EnumMap<>(DEFAULT_DISPATCH_LANE_WEIGHTS);
+            if (laneWeights != null) {
+                weights.putAll(laneWeights);
+            }
+            laneWeights = Collections.unmodifiableMap(weights);
+        }
+    }
+
+    /**
+     * Audit log implementation and the retention applied to the in-memory stores: records older than
+     * {@code retention} are swept every {@code sweepInterval}, and the oldest records are evicted as soon as either
+     * {@code maxRecords} or the estimated {@code maxSize} is exceeded. The {@code FILE} store also writes every record
+     * to the log described by {@code file}, so history survives restarts. The {@code JDBC} store keeps records in
+     * the database configured under {@code spring.datasource}, written in batches as described by {@code jdbc}, and
+     * applies only {@code retention}.
+     */
+    public static record Audit(
+            Store store,
+            Duration retention,
+            @DefaultValue("250000") @Positive int maxRecords,
+            DataSize maxSize,
+            Duration sweepInterval,
+            File file,
+            Jdbc jdbc) {
+
+        public enum Store {
+            IN_MEMORY,
+            TIME_INDEXED,
+            FILE,
+            JDBC
+        }
+
+        public Audit {
+            store = store != null ? store : Store.IN_MEMORY;
+            retention = retention != null ? retention : DEFAULT_AUDIT_RETENTION;
+            maxSize = maxSize != null ? maxSize : DEFAULT_AUDIT_MAX_SIZE;
+            sweepInterval = sweepInterval != null ? sweepInterval : DEFAULT_AUDIT_SWEEP_INTERVAL;
+            file = file != null ? file : DEFAULT_AUDIT_FILE;
+            jdbc = jdbc != null ? jdbc : DEFAULT_AUDIT_JDBC;
+        }
+
+        /**
+         * Append-only log for the {@code FILE} store: records go to memory-mapped segment files of
+         * {@code segmentSize} in {@code directory}, which are forced to disk every {@code syncInterval}.
+         */
+        public static record File(
+                String directory,
+                DataSize segmentSize,
+                Duration syncInterval) {
+
+            public File {
+                directory = directory != null && !directory.isBlank() ? directory : DEFAULT_AUDIT_FILE_DIRECTORY;
+                segmentSize = segmentSize != null ? segmentSize : DEFAULT_AUDIT_FILE_SEGMENT_SIZE;
+                syncInterval = syncInterval != null ? syncInterval : DEFAULT_AUDIT_FILE_SYNC_INTERVAL;
+            }
+        }
+
+        /**
+         * Write-behind settings for the {@code JDBC} store: saves are queued, up to {@code queueCapacity}, and a
+         * background writer inserts them {@code batchSize} rows per statement, or whatever has arrived once the oldest
+         * queued record has waited {@code flushInterval}. On PostgreSQL the table is partitioned by day and
+         * {@code partitionsAhead} days of partitions are kept created beyond today.
+         */
+        public static record Jdbc(
+                @DefaultValue("500") @Positive int batchSize,
+                Duration flushInterval,
+                @DefaultValue("50000") @Positive int queueCapacity,
+                @DefaultValue("2") @PositiveOrZero int partitionsAhead) {
+
+            public Jdbc {
+                flushInterval = flushInterval != null ? flushInterval : DEFAULT_AUDIT_JDBC_FLUSH_INTERVAL;
+            }
+        }
+    }
+
+    /**
+     * Directory or classpath prefix holding the notification templates, one file per type and channel. Files missing
+     * from an external location fall back to the bundled defaults.
+     */
+    public static record Templates(String location) {
+
+        public Templates {
+            location = location != null && !location.isBlank() ? location : DEFAULT_TEMPLATES_LOCATION;
+        }
+    }
+
+    /**
+     * Token-bucket limits on how fast each delivery provider is called. The rate is cut by {@code backoffFactor}
+     * whenever the provider reports throttling, never below {@code minPermitsPerSecond}, and climbs back towards
+     * {@code permitsPerSecond} each {@code recoveryInterval} without throttling.
+     */
+    public static record RateLimit(Provider email, Provider sms) {
+
+        public RateLimit {
+            email = email != null ? email : DEFAULT_EMAIL_RATE_LIMIT;
+            sms = sms != null ? sms : DEFAULT_SMS_RATE_LIMIT;
+        }
+
+        public static record Provider(
+                @DefaultValue("false") boolean enabled,
+                @DefaultValue("10") @Positive double permitsPerSecond,
+                @DefaultValue("10") @Positive int burst,
+                @DefaultValue("1") @Positive double minPermitsPerSecond,
+                @DefaultValue("0.5") @Positive @DecimalMax(value = "1", inclusive = false) double backoffFactor,
+                Duration maxWait,
+                Duration recoveryInterval) {
+
+            public Provider {
+                maxWait = maxWait != null ? maxWait : DEFAULT_RATE_LIMIT_MAX_WAIT;
+                recoveryInterval = recoveryInterval != null ? recoveryInterval : DEFAULT_RATE_LIMIT_RECOVERY_INTERVAL;
+            }
+        }
+    }
+
+    /**
+     * Background retries for channel deliveries that fail. {@code maxAttempts} counts the first attempt; the delay
+     * before each retry grows by {@code multiplier} from {@code initialDelay} up to {@code maxDelay} and is shortened
+     * by a random fraction of up to {@code jitter}. Disabled by default, in which case a failed channel fails the request.
+     */
+    public static record Retry(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("5") @Positive int maxAttempts,
+            Duration initialDelay,
+            Duration maxDelay,
+            @DefaultValue("2.0") @DecimalMin("1.0") double multiplier,
+            @DefaultValue("0.5") @DecimalMin("0.0") @DecimalMax("1.0") double jitter,
+            @DefaultValue("2") @Positive int threads,
+            @DefaultValue("10000") @Positive int maxPending,
+            @DefaultValue("10000") @Positive int deadLetterCapacity) {
+
+        public Retry {
+            initialDelay = initialDelay != null ? initialDelay : DEFAULT_RETRY_INITIAL_DELAY;
+            maxDelay = maxDelay != null ? maxDelay : DEFAULT_RETRY_MAX_DELAY;
+        }
+    }
+
+    /**
+     * Circuit breakers in front of each delivery provider. Once {@code minimumCalls} of the last
+     * {@code slidingWindowSize} calls are recorded, a failure rate of {@code failureRateThreshold} percent or a
+     * slow-call rate of {@code slowCallRateThreshold} percent opens the breaker; sends then fail fast for
+     * {@code waitInOpen}, after which {@code permittedCallsInHalfOpen} probes decide whether it closes again.
+     */
+    public static record CircuitBreaker(Provider email, Provider sms) {
+
+        public CircuitBreaker {
+            email = email != null ? email : DEFAULT_EMAIL_CIRCUIT_BREAKER;
+            sms = sms != null ? sms : DEFAULT_SMS_CIRCUIT_BREAKER;
+        }
+
+        public static record Provider(
+                @DefaultValue("true") boolean enabled,
+                @DefaultValue("20") @Positive int slidingWindowSize,
+                @DefaultValue("10") @Positive int minimumCalls,
+                @DefaultValue("50") @Positive @DecimalMax("100") double failureRateThreshold,
+                @DefaultValue("80") @Positive @DecimalMax("100") double slowCallRateThreshold,
+                Duration slowCallDuration,
+                Duration waitInOpen,
+                @DefaultValue("3") @Positive int permittedCallsInHalfOpen) {
+
+            public Provider {
+                slowCallDuration = slowCallDuration != null ? slowCallDuration : DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION;
+                waitInOpen = waitInOpen != null ? waitInOpen : DEFAULT_CIRCUIT_BREAKER_WAIT_IN_OPEN;
+            }
+        }
+    }
+
+    /**
+     * Duplicate detection for inbound requests. A request's key, from its {@code Idempotency-Key} header or derived
+     * from the transaction, is remembered for {@code ttl}; at most {@code maxEntries} keys are kept, oldest dropped
+     * first.
+     */
+    public static record Idempotency(
+            @DefaultValue("true") boolean enabled,
+            Duration ttl,
+            @DefaultValue("100000") @Positive int maxEntries) {
+
+        public Idempotency {
+            ttl = ttl != null ? ttl : DEFAULT_IDEMPOTENCY_TTL;
+        }
+    }
+
+    /**
+     * Ingestion of notification requests from Kafka, one topic per request type, through the broker configured under
+     * {@code spring.kafka}. Up to {@code batchSize} records are polled at once and handled by {@code concurrency}
+     * consumers, each owning a share of the partitions; offsets are committed only once every record of the batch
+     * has been delivered and audited. A record that fails is retried {@code retryAttempts} times, {@code retryBackoff}
+     * apart, before it is logged and skipped.
+     */
+    public static record Kafka(
+            @DefaultValue("false") boolean enabled,
+            Topics topics,
+            @DefaultValue("3") @Positive int concurrency,
+            @DefaultValue("500") @Positive int batchSize,
+            Duration retryBackoff,
+            @DefaultValue("3") @PositiveOrZero int retryAttempts) {
+
+        public Kafka {
+            topics = topics != null ? topics : DEFAULT_KAFKA_TOPICS;
+            retryBackoff = retryBackoff != null ? retryBackoff : DEFAULT_KAFKA_RETRY_BACKOFF;
+        }
+
+        public static record Topics(
+                @NotBlank String highValueTransaction,
+                @NotBlank String accountStatusChange,
+                @NotBlank String accountEvent) {
+
+            public Topics {
+                highValueTransaction = highValueTransaction != null ? highValueTransaction : DEFAULT_KAFKA_HIGH_VALUE_TRANSACTION_TOPIC;
+                accountStatusChange = accountStatusChange != null ? accountStatusChange : DEFAULT_KAFKA_ACCOUNT_STATUS_CHANGE_TOPIC;
+                accountEvent = accountEvent != null ? accountEvent : DEFAULT_KAFKA_ACCOUNT_EVENT_TOPIC;
+            }
+        }
+    }
+
+    /**
+     * Coalescing of low-severity account events. Events of the listed {@code eventTypes} for the same email address
+     * and phone number are held for {@code window} after the first one arrives and then sent as a single email and
+     * SMS; a digest is sent early once it holds {@code maxEvents}. Beyond {@code maxPending} recipients waiting at
+     * once, further events are sent immediately. Digests are composed and handed to dispatch on {@code threads}
+     * background threads.
+     */
+    public static record Digest(
+            @DefaultValue("false") boolean enabled,
+            Set<AccountEventType> eventTypes,
+            Duration window,
+            @DefaultValue("10") @Positive int maxEvents,
+            @DefaultValue("10000") @Positive int maxPending,
+            @DefaultValue("2") @Positive int threads) {
+
+        public Digest {
+            eventTypes = eventTypes != null ? Set.copyOf(eventTypes) : DEFAULT_DIGEST_EVENT_TYPES;
+            window = window != null ? window : DEFAULT_DIGEST_WINDOW;
+        }
+    }
+
+    /**
+     * Which channels each notification is sent on. A notification type missing from {@code types} uses both
+     * channels. Account events use the entry for their event type in {@code accountEvents} when there is one, and
+     * high-value transactions the last of the {@code highValueBands} whose {@code minAmount} the amount reaches. With
+     * {@code customerPreference}, a request's {@code preferredChannels} narrow the result, unless that would leave no
+     * channel at all.
+     */
+    public static record Routing(
+            Map<NotificationType, Set<NotificationChannel>> types,
+            Map<AccountEventType, Set<NotificationChannel>> accountEvents,
+            List<AmountBand> highValueBands,
+            @DefaultValue("true") boolean customerPreference) {
+
+        public Routing {
+            types = types != null ? Map.copyOf(types) : Map.of();
+            accountEvents = accountEvents != null ? Map.copyOf(accountEvents) : Map.of();
+            highValueBands = highValueBands != null ? List.copyOf(highValueBands) : List.of();
+        }
+
+        public static record AmountBand(@NotNull @PositiveOrZero BigDecimal minAmount, Set<NotificationChannel> channels) {
+
+            public AmountBand {
+                channels = channels != null ? Set.copyOf(channels) : Set.of();
+            }
+        }
+    }
+
+    /**
+     * Delivery held until a later time, either a request's {@code deliverAt} or the end of quiet hours. Held
+     * notifications wait in memory, checked every {@code tick}, which is also how late one may be released. Beyond
+     * {@code maxPending} held at once, further requests to hold one are rejected. Released notifications are handed
+     * to dispatch on {@code threads} background threads.
+     */
+    public static record Scheduling(
+            Duration tick,
+            @DefaultValue("1000000") @Positive int maxPending,
+            @DefaultValue("2") @Positive int threads,
+            QuietHours quietHours) {
+
+        public Scheduling {
+            tick = tick != null ? tick : DEFAULT_SCHEDULING_TICK;
+            quietHours = quietHours != null ? quietHours : DEFAULT_QUIET_HOURS;
+        }
+
+        /**
+         * Account events of the listed {@code eventTypes} that would be sent between {@code start} and {@code end}
+         * in {@code zone} are held until {@code end}. A {@code start} after {@code end} spans midnight. Without a
+         * zone, the zone notification times are formatted in is used.
+         */
+        public static record QuietHours(
+                @DefaultValue("false") boolean enabled,
+                LocalTime start,
+                LocalTime end,
+                ZoneId zone,
+                Set<AccountEventType> eventTypes) {
+
+            public QuietHours {
+                start = start != null ? start : DEFAULT_QUIET_HOURS_START;
+                end = end != null ? end : DEFAULT_QUIET_HOURS_END;
+                eventTypes = eventTypes != null ? Set.copyOf(eventTypes) : DEFAULT_QUIET_HOURS_EVENT_TYPES;
+            }
         }
     }
 }
@@ -0,0 +1,17 @@
+package com.bank.notificationservice.config;
+
+import com.bank.notificationservice.service.DispatchThreads;
+import com.bank.notificationservice.service.TwilioSmsTransport;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SmsTransportConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "notification.sms", name = "mock-delivery", havingValue = "false")
+    public TwilioSmsTransport twilioSmsTransport(NotificationProperties properties, DispatchThreads threads) {
+        return new TwilioSmsTransport(properties.sms(), threads);
+    }
+}
@@ -0,0 +1,171 @@
+package com.bank.notificationservice.controller;
+
+import com.bank.notificationservice.dto.DeadLetterEntry;
+import com.bank.notificationservice.dto.ErrorResponse;
+import com.bank.notificationservice.dto.NotificationResponse;
+import com.bank.notificationservice.model.DeadLetter;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.repository.DeadLetterRepository;
+import com.bank.notificationservice.service.DeliveryRetryScheduler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Validated
+@RestController
+@RequestMapping("/api/notifications/dead-letters")
+@Tag(name = "Dead letters", description = "Inspect and replay notifications that failed every delivery attempt")
+public class DeadLetterController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final DeadLetterRepository deadLetterRepository;
+    private final DeliveryRetryScheduler retryScheduler;
+
+    public DeadLetterController(DeadLetterRepository deadLetterRepository, DeliveryRetryScheduler retryScheduler) {
+        this.deadLetterRepository = deadLetterRepository;
+        this.retryScheduler = retryScheduler;
+    }
+
+    @GetMapping
+    @Operation(
+            summary = "List dead-lettered notifications",
+            description = "Returns channel deliveries that exhausted their retries, most recent first, optionally filtered by "
+                    + "channel and notification type.",
+            responses = @ApiResponse(
+                    responseCode = "200",
+                    description = "Dead letters",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = DeadLetterEntry.class)))))
+    public ResponseEntity<List<DeadLetterEntry>> deadLetters(
+            @RequestParam(required = false) NotificationChannel channel,
+            @RequestParam(required = false) NotificationType type,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
+        List<DeadLetterEntry> entries = deadLetterRepository.find(channel, type, limit).stream()
+                .map(DeadLetterEntry::from)
+                .toList();
+        return ResponseEntity.ok(entries);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(
+            summary = "View a dead-lettered notification",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Dead letter",
+                        content = @Content(mediaType = "application/json", schema = @Schema(implementation = DeadLetterEntry.class))),
+                @ApiResponse(
+                        responseCode = "404",
+                        description = "No dead letter with this id",
+                        content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    public ResponseEntity<?> deadLetter(@PathVariable UUID id) {
+        return deadLetterRepository.findById(id)
+                .<ResponseEntity<?>>map(deadLetter -> ResponseEntity.ok(DeadLetterEntry.from(deadLetter)))
+                .orElseGet(() -> notFound(id));
+    }
+
+    @PostMapping("/{id}/replay")
+    @Operation(
+            summary = "Replay a dead-lettered notification",
+            description = "Removes the dead letter and attempts delivery again in the background with a fresh retry budget. "
+                    + "If every attempt fails again it returns to the dead letter store.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "202",
+                        description = "Replay scheduled",
+                        content = @Content(mediaType = "application/json", schema = @Schema(implementation = NotificationResponse.class))),
+                @ApiResponse(
+                        responseCode = "404",
+                        description = "No dead letter with this id",
+                        content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+                @ApiResponse(
+                        responseCode = "503",
+                        description = "The retry queue is full; the dead letter is kept and can be replayed after Retry-After",
+                        content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    public ResponseEntity<?> replay(@PathVariable UUID id) {
+        DeadLetter deadLetter = deadLetterRepository.findById(id).orElse(null);
+        if (deadLetter == null) {
+            return notFound(id);
+        }
+        return switch (retryScheduler.replay(deadLetter)) {
+            case SCHEDULED -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(NotificationResponse.of("Dead letter " + id + " scheduled for replay."));
+            case ALREADY_REPLAYED -> notFound(id);
+            case QUEUE_FULL -> queueFull("The retry queue is full; dead letter " + id + " was kept for a later replay.");
+        };
+    }
+
+    @PostMapping("/replay")
+    @Operation(
+            summary = "Replay dead-lettered notifications in bulk",
+            description = "Schedules up to `limit` dead letters matching the optional channel and type for replay, most recent "
+                    + "first, stopping early if the retry queue fills up.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "202",
+                        description = "Replays scheduled",
+                        content = @Content(mediaType = "application/json", schema = @Schema(implementation = NotificationResponse.class))),
+                @ApiResponse(
+                        responseCode = "503",
+                        description = "The retry queue is full and nothing was scheduled; retry after Retry-After",
+                        content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    public ResponseEntity<?> replayAll(
+            @RequestParam(required = false) NotificationChannel channel,
+            @RequestParam(required = false) NotificationType type,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
+        long replayed = 0;
+        boolean queueFull = false;
+        for (DeadLetter deadLetter : deadLetterRepository.find(channel, type, limit)) {
+            DeliveryRetryScheduler.Replay result = retryScheduler.replay(deadLetter);
+            if (result == DeliveryRetryScheduler.Replay.QUEUE_FULL) {
+                queueFull = true;
+                break;
+            }
+            if (result == DeliveryRetryScheduler.Replay.SCHEDULED) {
+                replayed++;
+            }
+        }
+        if (queueFull && replayed == 0) {
+            return queueFull("The retry queue is full; no dead letters were replayed.");
+        }
+        String message = replayed + " dead letters scheduled for replay."
+                + (queueFull ? " The retry queue is full; the rest were kept for a later replay." : "");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(NotificationResponse.of(message));
+    }
+
+    private static ResponseEntity<ErrorResponse> notFound(UUID id) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ErrorResponse.of("No dead letter with id " + id));
+    }
+
+    private ResponseEntity<ErrorResponse> queueFull(String message) {
+        Duration retryAfter = retryScheduler.queueFullRetryAfter();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1L, (retryAfter.toMillis() + 999) / 1000)))
+                .body(ErrorResponse.of(message));
+    }
+}
@@ -2,17 +2,20 @@ package com.bank.notificationservice.controller;
 
 import com.bank.notificationservice.dto.ErrorResponse;
 import com.bank.notificationservice.support.NotificationDeliveryException;
+import com.bank.notificationservice.support.ProviderThrottledException;
 import jakarta.validation.ConstraintViolationException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -43,6 +46,22 @@ public class GlobalExceptionHandler {
                 .body(ErrorResponse.of("Constraint violation", errors));
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        return ResponseEntity.badRequest()
+                .body(ErrorResponse.of("Invalid request parameter", Map.of(ex.getName(), "Invalid value")));
+    }
+
+    @ExceptionHandler(ProviderThrottledException.class)
+    public ResponseEntity<ErrorResponse> handleThrottled(ProviderThrottledException ex) {
+        log.warn("Notification delivery throttled: {}", ex.getMessage());
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        if (ex.retryAfter() != null) {
+            response.header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1L, (ex.retryAfter().toMillis() + 999) / 1000)));
+        }
+        return response.body(ErrorResponse.of("Notification provider is busy; please retry later."));
+    }
+
     @ExceptionHandler(NotificationDeliveryException.class)
     public ResponseEntity<ErrorResponse> handleDelivery(NotificationDeliveryException ex) {
         log.error("Failed to deliver notification", ex);
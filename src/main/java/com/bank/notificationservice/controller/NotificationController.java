@@ -2,25 +2,53 @@ package com.bank.notificationservice.controller;
 
 import com.bank.notificationservice.dto.AccountEventNotificationRequest;
 import com.bank.notificationservice.dto.AccountStatusChangeNotificationRequest;
+import com.bank.notificationservice.dto.BulkItemResult;
 import com.bank.notificationservice.dto.HighValueTransactionNotificationRequest;
+import com.bank.notificationservice.dto.NotificationHistoryPage;
 import com.bank.notificationservice.dto.NotificationLogEntry;
 import com.bank.notificationservice.dto.NotificationResponse;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationRecord;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.model.ScheduledDelivery;
+import com.bank.notificationservice.repository.AuditCursor;
+import com.bank.notificationservice.repository.AuditQuery;
+import com.bank.notificationservice.service.BulkNotificationService;
 import com.bank.notificationservice.service.NotificationService;
+import com.bank.notificationservice.support.NotificationOutcome;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Validated
@@ -29,10 +57,25 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Notifications", description = "Dispatch account notifications and review recent deliveries")
 public class NotificationController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    private static final int MAX_RECIPIENT_LENGTH = 320;
+    private static final String IDEMPOTENCY_KEY_DESCRIPTION = "Client-chosen key identifying this request; a retry with the "
+            + "same key within the idempotency TTL returns the original result without sending the notification again.";
+
     private final NotificationService notificationService;
+    private final BulkNotificationService bulkNotificationService;
+    private final ObjectWriter historyWriter;
 
-    public NotificationController(NotificationService notificationService) {
+    public NotificationController(NotificationService notificationService,
+            BulkNotificationService bulkNotificationService,
+            ObjectMapper objectMapper) {
         this.notificationService = notificationService;
+        this.bulkNotificationService = bulkNotificationService;
+        this.historyWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
     }
 
     @PostMapping("/transactions/high-value")
@@ -42,7 +85,7 @@ public class NotificationController {
             responses = {
                 @ApiResponse(
                         responseCode = "202",
-                        description = "Notification accepted for delivery",
+                        description = "Notification accepted for delivery, or held until deliverAt with its scheduledId",
                         content = @Content(mediaType = "application/json", schema = @Schema(implementation = NotificationResponse.class))),
                 @ApiResponse(
                         responseCode = "200",
@@ -50,11 +93,12 @@ public class NotificationController {
                         content = @Content(mediaType = "application/json", schema = @Schema(implementation = NotificationResponse.class)))
             })
     public ResponseEntity<NotificationResponse> handleHighValueTransaction(
-            @Valid @RequestBody HighValueTransactionNotificationRequest request) {
-        boolean dispatched = notificationService.handleHighValueTransaction(request);
-        if (dispatched) {
-            return ResponseEntity.status(HttpStatus.ACCEPTED)
-                    .body(NotificationResponse.of("High value transaction notification dispatched."));
+            @Valid @RequestBody HighValueTransactionNotificationRequest request,
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) @Size(max = MAX_IDEMPOTENCY_KEY_LENGTH) String idempotencyKey) {
+        NotificationOutcome outcome = notificationService.handleHighValueTransaction(request, idempotencyKey);
+        if (outcome.accepted()) {
+            return accepted(outcome, "High value transaction");
         }
         return ResponseEntity.ok(NotificationResponse.of("Transaction below configured threshold; notification skipped."));
     }
@@ -65,13 +109,13 @@ public class NotificationController {
             description = "Emits a notification whenever an account transitions between states (for example ACTIVE to SUSPENDED).",
             responses = @ApiResponse(
                     responseCode = "202",
-                    description = "Notification accepted for delivery",
+                    description = "Notification accepted for delivery, or held until deliverAt with its scheduledId",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = NotificationResponse.class))))
     public ResponseEntity<NotificationResponse> handleAccountStatusChange(
-            @Valid @RequestBody AccountStatusChangeNotificationRequest request) {
-        notificationService.handleAccountStatusChange(request);
-        return ResponseEntity.status(HttpStatus.ACCEPTED)
-                .body(NotificationResponse.of("Account status change notification dispatched."));
+            @Valid @RequestBody AccountStatusChangeNotificationRequest request,
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) @Size(max = MAX_IDEMPOTENCY_KEY_LENGTH) String idempotencyKey) {
+        return accepted(notificationService.handleAccountStatusChange(request, idempotencyKey), "Account status change");
     }
 
     @PostMapping("/accounts/events")
@@ -80,13 +124,35 @@ public class NotificationController {
             description = "Handles lower severity account events such as statement availability or KYC reminders.",
             responses = @ApiResponse(
                     responseCode = "202",
-                    description = "Notification accepted for delivery",
+                    description = "Notification accepted for delivery, or held until deliverAt with its scheduledId",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = NotificationResponse.class))))
     public ResponseEntity<NotificationResponse> handleAccountEvents(
-            @Valid @RequestBody AccountEventNotificationRequest request) {
-        notificationService.handleAccountEvent(request);
-        return ResponseEntity.status(HttpStatus.ACCEPTED)
-                .body(NotificationResponse.of("Account event notification dispatched."));
+            @Valid @RequestBody AccountEventNotificationRequest request,
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) @Size(max = MAX_IDEMPOTENCY_KEY_LENGTH) String idempotencyKey) {
+        return accepted(notificationService.handleAccountEvent(request, idempotencyKey), "Account event");
+    }
+
+    @PostMapping(
+            value = "/bulk",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Dispatch a bulk upload of notifications",
+            description = "Accepts newline-delimited JSON (or a JSON array) mixing high value transaction, account status change and "
+                    + "account event requests. Each item names its kind in a `type` field (HIGH_VALUE_TRANSACTION, "
+                    + "ACCOUNT_STATUS_CHANGE or ACCOUNT_EVENT). Items are validated and dispatched one at a time and a result "
+                    + "line is streamed back per item.",
+            responses = @ApiResponse(
+                    responseCode = "200",
+                    description = "Per-item results as newline-delimited JSON",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = BulkItemResult.class))))
+    public void handleBulk(InputStream body, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bulkNotificationService.process(body, response.getOutputStream());
     }
 
     @GetMapping("/history")
@@ -105,4 +171,97 @@ public class NotificationController {
                 .toList();
         return ResponseEntity.ok(entries);
     }
+
+    @GetMapping("/history/page")
+    @Operation(
+            summary = "Page through recently sent notifications",
+            description = "Returns one page of the past week's notifications, newest first, optionally filtered by channel and "
+                    + "notification type. Pass the returned `nextCursor` back as `cursor` to fetch the following page.",
+            responses = @ApiResponse(
+                    responseCode = "200",
+                    description = "Page of notification log entries",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = NotificationHistoryPage.class))))
+    public ResponseEntity<NotificationHistoryPage> recentlySentNotificationsPage(
+            @RequestParam(required = false) AuditCursor cursor,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(MAX_PAGE_SIZE) int limit,
+            @RequestParam(required = false) NotificationChannel channel,
+            @RequestParam(required = false) NotificationType type) {
+        List<NotificationRecord> records = notificationService.fetchNotificationPage(cursor, channel, type, limit);
+        return ResponseEntity.ok(page(records, limit));
+    }
+
+    @GetMapping("/history/search")
+    @Operation(
+            summary = "Search notification history",
+            description = "Returns one page of retained notifications, newest first, filtered by recipient (email address or "
+                    + "phone number), channel, notification type and a `from` (inclusive) to `to` (exclusive) time range; every "
+                    + "filter is optional and the range is not limited to the past week. Pass the returned `nextCursor` back as "
+                    + "`cursor` to fetch the following page.",
+            responses = @ApiResponse(
+                    responseCode = "200",
+                    description = "Page of notification log entries",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = NotificationHistoryPage.class))))
+    public ResponseEntity<NotificationHistoryPage> searchNotifications(
+            @RequestParam(required = false) @Size(max = MAX_RECIPIENT_LENGTH) String recipient,
+            @RequestParam(required = false) NotificationChannel channel,
+            @RequestParam(required = false) NotificationType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) AuditCursor cursor,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
+        List<NotificationRecord> records = notificationService.searchNotifications(
+                new AuditQuery(from, to, cursor, recipient, channel, type, limit));
+        return ResponseEntity.ok(page(records, limit));
+    }
+
+    @GetMapping(value = "/history/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Stream recently sent notifications",
+            description = "Streams the past week's notifications as newline-delimited JSON, newest first, writing each entry as "
+                    + "it is read from the audit log instead of building the whole response in memory.",
+            responses = @ApiResponse(
+                    responseCode = "200",
+                    description = "Notification log entries as newline-delimited JSON",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = NotificationLogEntry.class))))
+    public void streamRecentlySentNotifications(
+            @RequestParam(required = false) NotificationChannel channel,
+            @RequestParam(required = false) NotificationType type,
+            HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try (Stream<NotificationRecord> records = notificationService.streamNotificationsForPastWeek(channel, type);
+                SequenceWriter writer = historyWriter.writeValues(response.getOutputStream())) {
+            Iterator<NotificationRecord> iterator = records.iterator();
+            while (iterator.hasNext()) {
+                writer.write(NotificationLogEntry.from(iterator.next()));
+            }
+        }
+    }
+
+    /* Async notifications are only queued by now; a held one returns the id it is cancelled by under /scheduled. */
+    private ResponseEntity<NotificationResponse> accepted(NotificationOutcome outcome, String notification) {
+        ScheduledDelivery scheduled = outcome.scheduled();
+        NotificationResponse body;
+        if (scheduled != null) {
+            body = NotificationResponse.scheduled(notification + " notification scheduled for " + scheduled.deliverAt() + ".",
+                    scheduled);
+        } else if (notificationService.queuesDeliveries()) {
+            body = NotificationResponse.of(notification + " notification accepted and queued for delivery.");
+        } else {
+            body = NotificationResponse.of(notification + " notification dispatched.");
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(body);
+    }
+
+    private static NotificationHistoryPage page(List<NotificationRecord> records, int limit) {
+        List<NotificationLogEntry> entries = records.stream()
+                .map(NotificationLogEntry::from)
+                .toList();
+        String nextCursor = records.size() == limit
+                ? AuditCursor.of(records.get(records.size() - 1)).encode()
+                : null;
+        return new NotificationHistoryPage(entries, nextCursor);
+    }
 }
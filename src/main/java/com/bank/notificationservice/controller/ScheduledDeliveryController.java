@@ -0,0 +1,107 @@
+package com.bank.notificationservice.controller;
+
+import com.bank.notificationservice.dto.ErrorResponse;
+import com.bank.notificationservice.dto.NotificationResponse;
+import com.bank.notificationservice.dto.ScheduledDeliveryEntry;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.service.ScheduledDeliveryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Validated
+@RestController
+@RequestMapping("/api/notifications/scheduled")
+@Tag(name = "Scheduled notifications", description = "Inspect and cancel notifications held for later delivery")
+public class ScheduledDeliveryController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final ScheduledDeliveryService scheduledDeliveries;
+
+    public ScheduledDeliveryController(ScheduledDeliveryService scheduledDeliveries) {
+        this.scheduledDeliveries = scheduledDeliveries;
+    }
+
+    @GetMapping
+    @Operation(
+            summary = "List held notifications",
+            description = "Returns notifications waiting for their `deliverAt` time or for quiet hours to end, soonest first, "
+                    + "optionally filtered by notification type and account number.",
+            responses = @ApiResponse(
+                    responseCode = "200",
+                    description = "Held notifications",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = ScheduledDeliveryEntry.class)))))
+    public ResponseEntity<List<ScheduledDeliveryEntry>> scheduledDeliveries(
+            @RequestParam(required = false) NotificationType type,
+            @RequestParam(required = false) String accountNumber,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
+        List<ScheduledDeliveryEntry> entries = scheduledDeliveries.find(type, accountNumber, limit).stream()
+                .map(ScheduledDeliveryEntry::from)
+                .toList();
+        return ResponseEntity.ok(entries);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(
+            summary = "View a held notification",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Held notification",
+                        content = @Content(mediaType = "application/json", schema = @Schema(implementation = ScheduledDeliveryEntry.class))),
+                @ApiResponse(
+                        responseCode = "404",
+                        description = "No held notification with this id",
+                        content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    public ResponseEntity<?> scheduledDelivery(@PathVariable UUID id) {
+        return scheduledDeliveries.findById(id)
+                .<ResponseEntity<?>>map(scheduled -> ResponseEntity.ok(ScheduledDeliveryEntry.from(scheduled)))
+                .orElseGet(() -> notFound(id));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(
+            summary = "Cancel a held notification",
+            description = "Removes the notification so it is never sent.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Notification cancelled",
+                        content = @Content(mediaType = "application/json", schema = @Schema(implementation = NotificationResponse.class))),
+                @ApiResponse(
+                        responseCode = "404",
+                        description = "No held notification with this id; it may already have been released",
+                        content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    public ResponseEntity<?> cancel(@PathVariable UUID id) {
+        if (!scheduledDeliveries.cancel(id)) {
+            return notFound(id);
+        }
+        return ResponseEntity.ok(NotificationResponse.of("Scheduled notification " + id + " cancelled."));
+    }
+
+    private static ResponseEntity<ErrorResponse> notFound(UUID id) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ErrorResponse.of("No scheduled notification with id " + id));
+    }
+}
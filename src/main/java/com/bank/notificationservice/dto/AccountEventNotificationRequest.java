@@ -1,9 +1,12 @@
 package com.bank.notificationservice.dto;
 
 import com.bank.notificationservice.model.AccountEventType;
+import com.bank.notificationservice.model.NotificationChannel;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import java.util.Set;
 
 public class AccountEventNotificationRequest {
 
@@ -24,6 +27,10 @@ public class AccountEventNotificationRequest {
 
     private String description;
 
+    private Set<NotificationChannel> preferredChannels;
+
+    private Instant deliverAt;
+
     public String getAccountNumber() {
         return accountNumber;
     }
@@ -71,4 +78,20 @@ public class AccountEventNotificationRequest {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public Set<NotificationChannel> getPreferredChannels() {
+        return preferredChannels;
+    }
+
+    public void setPreferredChannels(Set<NotificationChannel> preferredChannels) {
+        this.preferredChannels = preferredChannels;
+    }
+
+    public Instant getDeliverAt() {
+        return deliverAt;
+    }
+
+    public void setDeliverAt(Instant deliverAt) {
+        this.deliverAt = deliverAt;
+    }
 }
@@ -1,7 +1,10 @@
 package com.bank.notificationservice.dto;
 
+import com.bank.notificationservice.model.NotificationChannel;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import java.time.Instant;
+import java.util.Set;
 
 public class AccountStatusChangeNotificationRequest {
 
@@ -25,6 +28,10 @@ public class AccountStatusChangeNotificationRequest {
 
     private String remarks;
 
+    private Set<NotificationChannel> preferredChannels;
+
+    private Instant deliverAt;
+
     public String getAccountNumber() {
         return accountNumber;
     }
@@ -80,4 +87,20 @@ public class AccountStatusChangeNotificationRequest {
     public void setRemarks(String remarks) {
         this.remarks = remarks;
     }
+
+    public Set<NotificationChannel> getPreferredChannels() {
+        return preferredChannels;
+    }
+
+    public void setPreferredChannels(Set<NotificationChannel> preferredChannels) {
+        this.preferredChannels = preferredChannels;
+    }
+
+    public Instant getDeliverAt() {
+        return deliverAt;
+    }
+
+    public void setDeliverAt(Instant deliverAt) {
+        this.deliverAt = deliverAt;
+    }
 }
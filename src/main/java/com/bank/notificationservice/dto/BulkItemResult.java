@@ -0,0 +1,22 @@
+package com.bank.notificationservice.dto;
+
+import java.util.Map;
+
+public record BulkItemResult(int index, String type, Status status, String message, Map<String, String> errors) {
+
+    public enum Status {
+        ACCEPTED,
+        SKIPPED,
+        REJECTED,
+        FAILED,
+        MALFORMED
+    }
+
+    public static BulkItemResult of(int index, String type, Status status, String message) {
+        return new BulkItemResult(index, type, status, message, Map.of());
+    }
+
+    public static BulkItemResult rejected(int index, String type, Map<String, String> errors) {
+        return new BulkItemResult(index, type, Status.REJECTED, "Validation failed", errors);
+    }
+}
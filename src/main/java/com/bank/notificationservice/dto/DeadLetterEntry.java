@@ -0,0 +1,29 @@
+package com.bank.notificationservice.dto;
+
+import com.bank.notificationservice.model.DeadLetter;
+import java.time.Instant;
+
+public record DeadLetterEntry(
+        String id,
+        String notificationType,
+        String channel,
+        String recipient,
+        String subject,
+        int attempts,
+        Instant firstFailedAt,
+        Instant deadLetteredAt,
+        String lastError) {
+
+    public static DeadLetterEntry from(DeadLetter deadLetter) {
+        return new DeadLetterEntry(
+                deadLetter.id().toString(),
+                deadLetter.type().name(),
+                deadLetter.channel().name(),
+                deadLetter.recipient(),
+                deadLetter.subject(),
+                deadLetter.attempts(),
+                deadLetter.firstFailedAt(),
+                deadLetter.deadLetteredAt(),
+                deadLetter.lastError());
+    }
+}
@@ -1,11 +1,13 @@
 package com.bank.notificationservice.dto;
 
+import com.bank.notificationservice.model.NotificationChannel;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Set;
 
 public class HighValueTransactionNotificationRequest {
 
@@ -42,6 +44,10 @@ public class HighValueTransactionNotificationRequest {
     
     private Instant transactionTime;
 
+    private Set<NotificationChannel> preferredChannels;
+
+    private Instant deliverAt;
+
     public String getAccountNumber() {
         return accountNumber;
     }
@@ -129,4 +135,20 @@ public class HighValueTransactionNotificationRequest {
     public void setTransactionTime(Instant transactionTime) {
         this.transactionTime = transactionTime;
     }
+
+    public Set<NotificationChannel> getPreferredChannels() {
+        return preferredChannels;
+    }
+
+    public void setPreferredChannels(Set<NotificationChannel> preferredChannels) {
+        this.preferredChannels = preferredChannels;
+    }
+
+    public Instant getDeliverAt() {
+        return deliverAt;
+    }
+
+    public void setDeliverAt(Instant deliverAt) {
+        this.deliverAt = deliverAt;
+    }
 }
@@ -0,0 +1,9 @@
+package com.bank.notificationservice.dto;
+
+import java.util.List;
+
+/**
+ * One page of notification history. {@code nextCursor} is {@code null} on the last page.
+ */
+public record NotificationHistoryPage(List<NotificationLogEntry> entries, String nextCursor) {
+}
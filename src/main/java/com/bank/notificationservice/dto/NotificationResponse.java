@@ -1,11 +1,17 @@
 package com.bank.notificationservice.dto;
 
+import com.bank.notificationservice.model.ScheduledDelivery;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.Instant;
 
-public record NotificationResponse(String message, Instant timestamp) {
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record NotificationResponse(String message, Instant timestamp, String scheduledId, Instant deliverAt) {
 
     public static NotificationResponse of(String message) {
-        return new NotificationResponse(message, Instant.now());
+        return new NotificationResponse(message, Instant.now(), null, null);
     }
-}
 
+    public static NotificationResponse scheduled(String message, ScheduledDelivery scheduled) {
+        return new NotificationResponse(message, Instant.now(), scheduled.id().toString(), scheduled.deliverAt());
+    }
+}
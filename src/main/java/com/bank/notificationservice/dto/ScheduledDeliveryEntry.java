@@ -0,0 +1,27 @@
+package com.bank.notificationservice.dto;
+
+import com.bank.notificationservice.model.ScheduledDelivery;
+import java.time.Instant;
+
+public record ScheduledDeliveryEntry(
+        String id,
+        String notificationType,
+        String eventType,
+        String accountNumber,
+        String recipient,
+        Instant scheduledAt,
+        Instant deliverAt,
+        String reason) {
+
+    public static ScheduledDeliveryEntry from(ScheduledDelivery scheduled) {
+        return new ScheduledDeliveryEntry(
+                scheduled.id().toString(),
+                scheduled.type().name(),
+                scheduled.eventType() != null ? scheduled.eventType().name() : null,
+                scheduled.accountNumber(),
+                scheduled.recipient(),
+                scheduled.scheduledAt(),
+                scheduled.deliverAt(),
+                scheduled.reason().name());
+    }
+}
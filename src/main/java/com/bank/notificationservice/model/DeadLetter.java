@@ -0,0 +1,25 @@
+package com.bank.notificationservice.model;
+
+import com.bank.notificationservice.support.NotificationDelivery;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One channel of a notification that failed every delivery attempt. The composed {@code delivery} is kept so the
+ * message can be replayed exactly as it was first sent.
+ */
+public record DeadLetter(
+        UUID id,
+        NotificationType type,
+        NotificationChannel channel,
+        String recipient,
+        int attempts,
+        Instant firstFailedAt,
+        Instant deadLetteredAt,
+        String lastError,
+        NotificationDelivery delivery) {
+
+    public String subject() {
+        return channel == NotificationChannel.EMAIL ? delivery.email().subject() : null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.bank.notificationservice.model;
+
+public enum NotificationType {
+    HIGH_VALUE_TRANSACTION,
+    ACCOUNT_STATUS_CHANGE,
+    ACCOUNT_EVENT
+}
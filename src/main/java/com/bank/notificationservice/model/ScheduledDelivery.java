@@ -0,0 +1,24 @@
+package com.bank.notificationservice.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A notification held back until {@code deliverAt}, either because the request asked for a later time or because
+ * it arrived during quiet hours. {@code eventType} is only set for account events.
+ */
+public record ScheduledDelivery(
+        UUID id,
+        NotificationType type,
+        AccountEventType eventType,
+        String accountNumber,
+        String recipient,
+        Instant scheduledAt,
+        Instant deliverAt,
+        Reason reason) {
+
+    public enum Reason {
+        REQUESTED,
+        QUIET_HOURS
+    }
+}
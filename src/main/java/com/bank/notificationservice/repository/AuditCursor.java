@@ -0,0 +1,49 @@
+package com.bank.notificationservice.repository;
+
+import com.bank.notificationservice.model.NotificationRecord;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Position in the audit log, newest first: the timestamp and id of the last record a client has seen. Encoded as an
+ * opaque URL-safe token so clients pass it back unchanged to fetch the next page.
+ */
+public record AuditCursor(Instant timestamp, UUID id) {
+
+    /* Newest first, ties broken by id so records sharing a timestamp still have a stable order. */
+    public static final Comparator<AuditCursor> NEWEST_FIRST = Comparator.comparing(AuditCursor::timestamp)
+            .thenComparing(AuditCursor::id)
+            .reversed();
+
+    public static AuditCursor of(NotificationRecord record) {
+        return new AuditCursor(record.timestamp(), record.id());
+    }
+
+    /**
+     * Parses a token produced by {@link #encode()}; used by Spring to bind request parameters.
+     */
+    public static AuditCursor valueOf(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = raw.split("_", 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        Instant timestamp = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        return new AuditCursor(timestamp, UUID.fromString(parts[2]));
+    }
+
+    public String encode() {
+        String raw = timestamp.getEpochSecond() + "_" + timestamp.getNano() + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Whether the record comes strictly after this cursor in newest-first order.
+     */
+    public boolean precedes(NotificationRecord record) {
+        return NEWEST_FIRST.compare(this, of(record)) < 0;
+    }
+}
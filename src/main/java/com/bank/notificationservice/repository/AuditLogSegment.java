@@ -0,0 +1,271 @@
+package com.bank.notificationservice.repository;
+
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationRecord;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One memory-mapped file of the audit write-ahead log.
+ *
+ * <p>A segment is created at its full size, zero-filled, and records are appended as frames of
+ * {@code [int payload length][int CRC32C of payload][payload]}; a zero length marks the end of the written data.
+ * Appends are plain stores into the mapping, so they survive a crash of the JVM as soon as they return; only
+ * {@link #force()} makes them survive a crash of the host. Recovery stops at the first frame that is truncated or
+ * fails its checksum, which is where a write was torn.
+ *
+ * <p>Appends are serialised by the caller. {@link #force()} may run concurrently with them: appends only use
+ * absolute puts and publish the end of the written data through a volatile field once a frame is complete.
+ */
+final class AuditLogSegment {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogSegment.class);
+
+    static final String FILE_PREFIX = "audit-";
+    static final String FILE_SUFFIX = ".wal";
+    static final int FRAME_HEADER_BYTES = 8;
+    private static final int NULL_STRING = -1;
+
+    private final Path path;
+    private final long sequence;
+    private final int capacity;
+    private MappedByteBuffer buffer;
+    private volatile int position;
+    private int syncedPosition;
+    private volatile Instant newest;
+
+    private AuditLogSegment(Path path, long sequence, MappedByteBuffer buffer, int capacity) {
+        this.path = path;
+        this.sequence = sequence;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Creates and maps a new, empty segment of {@code capacity} bytes.
+     */
+    static AuditLogSegment create(Path directory, long sequence, int capacity) throws IOException {
+        Path path = directory.resolve(fileName(sequence));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return new AuditLogSegment(path, sequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity), capacity);
+        }
+    }
+
+    /**
+     * Maps an existing segment and hands every intact record to {@code sink}, oldest first. A segment opened
+     * {@code writable} keeps its mapping and accepts further appends after the last intact record; otherwise it is
+     * sealed once read.
+     */
+    static AuditLogSegment recover(Path path, boolean writable, Consumer<NotificationRecord> sink) throws IOException {
+        long sequence = sequenceOf(path);
+        int capacity = (int) Math.min(Files.size(path), Integer.MAX_VALUE);
+        MappedByteBuffer buffer;
+        try (FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, capacity);
+        }
+        AuditLogSegment segment = new AuditLogSegment(path, sequence, buffer, capacity);
+        segment.replay(sink);
+        if (!writable) {
+            segment.buffer = null;
+        }
+        return segment;
+    }
+
+    static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+    }
+
+    static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+    }
+
+    private static String fileName(long sequence) {
+        return String.format("%s%020d%s", FILE_PREFIX, sequence, FILE_SUFFIX);
+    }
+
+    /**
+     * Appends one encoded record.
+     *
+     * @return {@code false}, writing nothing, if the frame does not fit in the space left
+     */
+    boolean append(byte[] payload, Instant timestamp) {
+        int start = position;
+        int end = start + FRAME_HEADER_BYTES + payload.length;
+        if (end > capacity || buffer == null) {
+            return false;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        buffer.put(start + FRAME_HEADER_BYTES, payload);
+        buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+        buffer.putInt(start, payload.length);
+        if (newest == null || timestamp.isAfter(newest)) {
+            newest = timestamp;
+        }
+        position = end;
+        return true;
+    }
+
+    /**
+     * Forces appends made since the previous call to disk.
+     */
+    synchronized void force() {
+        MappedByteBuffer mapped = buffer;
+        int end = position;
+        if (mapped == null || end == syncedPosition) {
+            return;
+        }
+        mapped.force(syncedPosition, end - syncedPosition);
+        syncedPosition = end;
+    }
+
+    /**
+     * Forces outstanding appends and stops accepting new ones. The mapping itself is released by the garbage
+     * collector once the buffer is unreachable; the JDK offers no supported way to unmap it earlier.
+     */
+    synchronized void seal() {
+        force();
+        buffer = null;
+    }
+
+    void delete() throws IOException {
+        buffer = null;
+        Files.deleteIfExists(path);
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    int size() {
+        return position;
+    }
+
+    /**
+     * Timestamp of the newest record in the segment, or {@code null} if it is empty.
+     */
+    Instant newest() {
+        return newest;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    private void replay(Consumer<NotificationRecord> sink) {
+        int offset = 0;
+        while (offset + FRAME_HEADER_BYTES <= capacity) {
+            int length = buffer.getInt(offset);
+            if (length <= 0) {
+                break;
+            }
+            if (length > capacity - offset - FRAME_HEADER_BYTES) {
+                log.warn("Audit log {} ends with a truncated record at offset {}", path.getFileName(), offset);
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(offset + FRAME_HEADER_BYTES, payload);
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(offset + Integer.BYTES)) {
+                log.warn("Audit log {} has a corrupt record at offset {}; ignoring the rest of the segment",
+                        path.getFileName(), offset);
+                break;
+            }
+            NotificationRecord record = decode(payload);
+            if (newest == null || record.timestamp().isAfter(newest)) {
+                newest = record.timestamp();
+            }
+            sink.accept(record);
+            offset += FRAME_HEADER_BYTES + length;
+        }
+        position = offset;
+        syncedPosition = offset;
+    }
+
+    /**
+     * Encodes a record as: id (two longs), epoch second (long), nano (int), then channel, notification type,
+     * recipient, subject and preview as length-prefixed UTF-8, with a length of -1 for {@code null}.
+     */
+    static byte[] encode(NotificationRecord record) {
+        byte[] channel = utf8(record.channel() != null ? record.channel().name() : null);
+        byte[] type = utf8(record.notificationType());
+        byte[] recipient = utf8(record.recipient());
+        byte[] subject = utf8(record.subject());
+        byte[] preview = utf8(record.preview());
+        int size = 2 * Long.BYTES + Long.BYTES + Integer.BYTES
+                + stringBytes(channel) + stringBytes(type) + stringBytes(recipient) + stringBytes(subject) + stringBytes(preview);
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putLong(record.id().getMostSignificantBits());
+        out.putLong(record.id().getLeastSignificantBits());
+        out.putLong(record.timestamp().getEpochSecond());
+        out.putInt(record.timestamp().getNano());
+        putString(out, channel);
+        putString(out, type);
+        putString(out, recipient);
+        putString(out, subject);
+        putString(out, preview);
+        return out.array();
+    }
+
+    static NotificationRecord decode(byte[] payload) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        UUID id = new UUID(in.getLong(), in.getLong());
+        Instant timestamp = Instant.ofEpochSecond(in.getLong(), in.getInt());
+        String channel = getString(in);
+        String type = getString(in);
+        String recipient = getString(in);
+        String subject = getString(in);
+        String preview = getString(in);
+        return new NotificationRecord(id, channel != null ? NotificationChannel.valueOf(channel) : null,
+                recipient, subject, preview, type, timestamp);
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int stringBytes(byte[] value) {
+        return Integer.BYTES + (value != null ? value.length : 0);
+    }
+
+    private static void putString(ByteBuffer out, byte[] value) {
+        if (value == null) {
+            out.putInt(NULL_STRING);
+            return;
+        }
+        out.putInt(value.length);
+        out.put(value);
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,43 @@
+package com.bank.notificationservice.repository;
+
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationRecord;
+import com.bank.notificationservice.model.NotificationType;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Filtered, newest-first slice of the audit log. Every criterion except {@code limit} is optional; {@code since} is
+ * inclusive and {@code until} exclusive. {@link #matches} compares {@code recipient} ignoring case, as email
+ * addresses are delivered regardless of it, and phone numbers have none.
+ */
+public record AuditQuery(
+        Instant since,
+        Instant until,
+        AuditCursor after,
+        String recipient,
+        NotificationChannel channel,
+        NotificationType type,
+        int limit) {
+
+    public static AuditQuery since(Instant since) {
+        return new AuditQuery(since, null, null, null, null, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The form a recipient is indexed and compared in, so {@code Jane@Example.com} and {@code jane@example.com} are
+     * the same customer.
+     */
+    static String recipientKey(String recipient) {
+        return recipient != null ? recipient.toLowerCase(Locale.ROOT) : null;
+    }
+
+    public boolean matches(NotificationRecord record) {
+        return (since == null || !record.timestamp().isBefore(since))
+                && (until == null || record.timestamp().isBefore(until))
+                && (after == null || after.precedes(record))
+                && (recipient == null || recipientKey(recipient).equals(recipientKey(record.recipient())))
+                && (channel == null || channel == record.channel())
+                && (type == null || type.name().equals(record.notificationType()));
+    }
+}
@@ -0,0 +1,125 @@
+package com.bank.notificationservice.repository;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.model.NotificationRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Retention limits shared by the in-memory audit stores: a time-to-live for records and hard caps on record count
+ * and estimated heap footprint. The stores report every add and removal here so the current size is known without
+ * walking the collection, and consult it to decide what to evict.
+ */
+@Component
+public class AuditRetention {
+
+    /* Record, UUID, Instant and collection node overhead on a 64-bit JVM with compressed oops. */
+    private static final long RECORD_OVERHEAD_BYTES = 160;
+    /* Cursor key and skip-list node in each of the recipient, channel and type posting lists. */
+    private static final long SECONDARY_INDEX_BYTES = 3 * 64;
+    private static final long STRING_OVERHEAD_BYTES = 40;
+
+    public enum Reason {
+        TTL,
+        CAPACITY
+    }
+
+    private final Duration timeToLive;
+    private final Duration sweepInterval;
+    private final long maxRecords;
+    private final long maxBytes;
+    private final AtomicInteger records = new AtomicInteger();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+    private final Counter ttlEvictions;
+    private final Counter capacityEvictions;
+
+    @Autowired
+    public AuditRetention(NotificationProperties properties, MeterRegistry meterRegistry) {
+        NotificationProperties.Audit audit = properties.audit();
+        this.timeToLive = audit.retention();
+        this.sweepInterval = audit.sweepInterval();
+        this.maxRecords = audit.maxRecords();
+        this.maxBytes = audit.maxSize().toBytes();
+        this.ttlEvictions = evictionCounter(meterRegistry, Reason.TTL);
+        this.capacityEvictions = evictionCounter(meterRegistry, Reason.CAPACITY);
+        Gauge.builder("notification.audit.records", records, AtomicInteger::get)
+                .description("Audit records currently retained")
+                .register(meterRegistry);
+        Gauge.builder("notification.audit.estimated.size", estimatedBytes, AtomicLong::get)
+                .description("Estimated heap used by retained audit records")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private AuditRetention() {
+        this.timeToLive = null;
+        this.sweepInterval = null;
+        this.maxRecords = Long.MAX_VALUE;
+        this.maxBytes = Long.MAX_VALUE;
+        this.ttlEvictions = null;
+        this.capacityEvictions = null;
+    }
+
+    /**
+     * Retention that never evicts and records no metrics, for benchmarks and tests that construct stores directly.
+     */
+    public static AuditRetention unbounded() {
+        return new AuditRetention();
+    }
+
+    void added(NotificationRecord record) {
+        records.incrementAndGet();
+        estimatedBytes.addAndGet(estimateBytes(record));
+    }
+
+    void evicted(NotificationRecord record, Reason reason) {
+        records.decrementAndGet();
+        estimatedBytes.addAndGet(-estimateBytes(record));
+        Counter counter = reason == Reason.TTL ? ttlEvictions : capacityEvictions;
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    boolean overCapacity() {
+        return records.get() > maxRecords || estimatedBytes.get() > maxBytes;
+    }
+
+    /**
+     * Records older than the returned instant have outlived the time-to-live, or {@code null} when there is none.
+     */
+    Instant expiryCutoff() {
+        return timeToLive != null ? Instant.now().minus(timeToLive) : null;
+    }
+
+    public long sweepIntervalMillis() {
+        return sweepInterval != null ? sweepInterval.toMillis() : Long.MAX_VALUE;
+    }
+
+    static long estimateBytes(NotificationRecord record) {
+        return RECORD_OVERHEAD_BYTES
+                + SECONDARY_INDEX_BYTES
+                + stringBytes(record.recipient())
+                + stringBytes(record.subject())
+                + stringBytes(record.preview());
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + 2L * value.length();
+    }
+
+    private static Counter evictionCounter(MeterRegistry meterRegistry, Reason reason) {
+        return Counter.builder("notification.audit.evictions")
+                .description("Audit records removed by the retention policy")
+                .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,186 @@
+package com.bank.notificationservice.repository;
+
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationRecord;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Posting lists for the in-memory audit stores: one per recipient, kept in a hash map under its
+ * {@link AuditQuery#recipientKey lower-cased key}, one per channel and one per notification type, each a skip list of
+ * the matching records newest first.
+ *
+ * <p>A query naming any of those criteria reads only the shortest matching posting list, from the time bound or
+ * cursor onwards, and checks the remaining criteria per record. Looking up a recipient therefore costs O(log m + k)
+ * for a recipient with m retained records, however many other records are retained. A recipient's posting list is
+ * dropped when its last record is removed, so the hash map does not grow with every recipient ever seen.
+ *
+ * <p>Every record sits in exactly one channel posting list, or the list of records without a channel, so merging
+ * those few lists also yields the whole log newest first, read lazily, for stores without an ordered primary index.
+ */
+final class AuditSecondaryIndex {
+
+    private final Map<String, Posting> byRecipient = new ConcurrentHashMap<>();
+    private final Map<NotificationChannel, Posting> byChannel = new EnumMap<>(NotificationChannel.class);
+    private final Map<String, Posting> byType = new ConcurrentHashMap<>();
+    private final Posting withoutChannel = new Posting();
+
+    AuditSecondaryIndex() {
+        for (NotificationChannel channel : NotificationChannel.values()) {
+            byChannel.put(channel, new Posting());
+        }
+    }
+
+    void add(NotificationRecord record) {
+        AuditCursor key = AuditCursor.of(record);
+        if (record.recipient() != null) {
+            byRecipient.compute(AuditQuery.recipientKey(record.recipient()), (recipient, posting) -> {
+                Posting target = posting != null ? posting : new Posting();
+                target.add(key, record);
+                return target;
+            });
+        }
+        (record.channel() != null ? byChannel.get(record.channel()) : withoutChannel).add(key, record);
+        if (record.notificationType() != null) {
+            byType.computeIfAbsent(record.notificationType(), type -> new Posting()).add(key, record);
+        }
+    }
+
+    void remove(NotificationRecord record) {
+        AuditCursor key = AuditCursor.of(record);
+        if (record.recipient() != null) {
+            byRecipient.computeIfPresent(AuditQuery.recipientKey(record.recipient()), (recipient, posting) -> {
+                posting.remove(key, record);
+                return posting.size() > 0 ? posting : null;
+            });
+        }
+        (record.channel() != null ? byChannel.get(record.channel()) : withoutChannel).remove(key, record);
+        if (record.notificationType() != null) {
+            Posting posting = byType.get(record.notificationType());
+            if (posting != null) {
+                posting.remove(key, record);
+            }
+        }
+    }
+
+    /**
+     * Matching records newest first, read from the shortest posting list the query names, or {@code null} if it names
+     * none and must be answered from the primary index.
+     */
+    Stream<NotificationRecord> stream(AuditQuery query) {
+        List<Posting> candidates = new ArrayList<>(3);
+        if (query.recipient() != null) {
+            candidates.add(byRecipient.get(AuditQuery.recipientKey(query.recipient())));
+        }
+        if (query.channel() != null) {
+            candidates.add(byChannel.get(query.channel()));
+        }
+        if (query.type() != null) {
+            candidates.add(byType.get(query.type().name()));
+        }
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        if (candidates.contains(null)) {
+            return Stream.empty();
+        }
+        Posting shortest = candidates.stream().min(Comparator.comparingInt(Posting::size)).orElseThrow();
+        return TimeIndexedNotificationAuditRepository.range(shortest.records, query);
+    }
+
+    /**
+     * Every record matching the query, newest first, merged lazily from the channel posting lists.
+     */
+    Stream<NotificationRecord> streamAll(AuditQuery query) {
+        List<Iterator<NotificationRecord>> sources = new ArrayList<>(byChannel.size() + 1);
+        for (Posting posting : byChannel.values()) {
+            sources.add(TimeIndexedNotificationAuditRepository.range(posting.records, query).iterator());
+        }
+        sources.add(TimeIndexedNotificationAuditRepository.range(withoutChannel.records, query).iterator());
+        Spliterator<NotificationRecord> merged = Spliterators.spliteratorUnknownSize(new NewestFirstMerge(sources),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(merged, false);
+    }
+
+    /* Merges newest-first iterators by repeatedly taking the newest of their heads. */
+    private static final class NewestFirstMerge implements Iterator<NotificationRecord> {
+
+        private final List<Iterator<NotificationRecord>> sources;
+        private final NotificationRecord[] heads;
+
+        NewestFirstMerge(List<Iterator<NotificationRecord>> sources) {
+            this.sources = sources;
+            this.heads = new NotificationRecord[sources.size()];
+            for (int i = 0; i < heads.length; i++) {
+                heads[i] = advance(i);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            for (NotificationRecord head : heads) {
+                if (head != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public NotificationRecord next() {
+            int newest = -1;
+            for (int i = 0; i < heads.length; i++) {
+                if (heads[i] != null && (newest < 0
+                        || AuditCursor.NEWEST_FIRST.compare(AuditCursor.of(heads[i]), AuditCursor.of(heads[newest])) < 0)) {
+                    newest = i;
+                }
+            }
+            if (newest < 0) {
+                throw new NoSuchElementException();
+            }
+            NotificationRecord next = heads[newest];
+            heads[newest] = advance(newest);
+            return next;
+        }
+
+        private NotificationRecord advance(int source) {
+            Iterator<NotificationRecord> iterator = sources.get(source);
+            return iterator.hasNext() ? iterator.next() : null;
+        }
+    }
+
+    private static final class Posting {
+
+        private final ConcurrentSkipListMap<AuditCursor, NotificationRecord> records =
+                new ConcurrentSkipListMap<>(AuditCursor.NEWEST_FIRST);
+        private final AtomicInteger size = new AtomicInteger();
+
+        void add(AuditCursor key, NotificationRecord record) {
+            if (records.putIfAbsent(key, record) == null) {
+                size.incrementAndGet();
+            }
+        }
+
+        void remove(AuditCursor key, NotificationRecord record) {
+            if (records.remove(key, record)) {
+                size.decrementAndGet();
+            }
+        }
+
+        int size() {
+            return size.get();
+        }
+    }
+}
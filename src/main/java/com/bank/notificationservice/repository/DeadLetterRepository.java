@@ -0,0 +1,27 @@
+package com.bank.notificationservice.repository;
+
+import com.bank.notificationservice.model.DeadLetter;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationType;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface DeadLetterRepository {
+
+    void save(DeadLetter deadLetter);
+
+    Optional<DeadLetter> findById(UUID id);
+
+    /**
+     * Dead letters matching the optional channel and type, most recently dead-lettered first.
+     */
+    List<DeadLetter> find(NotificationChannel channel, NotificationType type, int limit);
+
+    /**
+     * Removes the dead letter, returning {@code false} if it was not present (for example already replayed).
+     */
+    boolean remove(UUID id);
+
+    int count();
+}
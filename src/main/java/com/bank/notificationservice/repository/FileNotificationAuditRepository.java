@@ -0,0 +1,236 @@
+package com.bank.notificationservice.repository;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.model.NotificationRecord;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Durable audit store: every record is appended to a write-ahead log of memory-mapped segment files and indexed in
+ * a {@link TimeIndexedNotificationAuditRepository}, which answers all queries.
+ *
+ * <p>A save encodes the record, copies it into the active segment's mapping under a short lock and updates the
+ * index; it never waits for the disk. Mapped pages belong to the operating system, so a record survives a crash or
+ * restart of the JVM as soon as it is saved. A background thread forces the segment to disk every
+ * {@code syncInterval}, so all saves in an interval share one fsync and at most one interval is lost if the host
+ * itself goes down. When the active segment is full it is forced, sealed and a new one is created.
+ *
+ * <p>On startup the segments are replayed oldest first into the index, skipping expired records, and the newest
+ * segment is reopened for appending. Expired records leave the index on the usual retention sweep, and a sealed
+ * segment is deleted as a whole once its newest record has expired. The directory is locked so only one instance
+ * writes to it.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "notification.audit", name = "store", havingValue = "file")
+public class FileNotificationAuditRepository implements NotificationAuditRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(FileNotificationAuditRepository.class);
+
+    private static final String LOCK_FILE = "audit.lock";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ScheduledExecutorService syncer;
+    private final AuditRetention retention;
+    private final TimeIndexedNotificationAuditRepository index;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final Deque<AuditLogSegment> sealed = new ArrayDeque<>();
+    private final Timer syncTimer;
+    private AuditLogSegment active;
+
+    public FileNotificationAuditRepository(NotificationProperties properties,
+            AuditRetention retention,
+            MeterRegistry meterRegistry) {
+        NotificationProperties.Audit.File file = properties.audit().file();
+        this.directory = Path.of(file.directory());
+        this.segmentSize = (int) Math.min(file.segmentSize().toBytes(), Integer.MAX_VALUE);
+        this.retention = retention;
+        this.index = new TimeIndexedNotificationAuditRepository(retention);
+        try {
+            Files.createDirectories(directory);
+            this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            this.lock = tryLock(lockChannel);
+            if (lock == null) {
+                lockChannel.close();
+                throw new IllegalStateException("Audit log directory " + directory.toAbsolutePath() + " is in use by another process");
+            }
+            recover();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to open audit log in " + directory.toAbsolutePath(), ex);
+        }
+        this.syncTimer = Timer.builder("notification.audit.file.sync")
+                .description("Time spent forcing audit log appends to disk")
+                .register(meterRegistry);
+        Gauge.builder("notification.audit.file.segments", this, FileNotificationAuditRepository::segmentCount)
+                .description("Audit log segment files on disk")
+                .register(meterRegistry);
+        long syncIntervalNanos = file.syncInterval().toNanos();
+        this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audit-log-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncer.scheduleWithFixedDelay(this::sync, syncIntervalNanos, syncIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void save(NotificationRecord record) {
+        if (record == null) {
+            return;
+        }
+        byte[] payload = AuditLogSegment.encode(record);
+        if (payload.length > segmentSize - AuditLogSegment.FRAME_HEADER_BYTES) {
+            throw new IllegalArgumentException("Audit record of " + payload.length + " bytes does not fit in a "
+                    + segmentSize + " byte segment");
+        }
+        synchronized (this) {
+            if (!active.append(payload, record.timestamp())) {
+                roll();
+                active.append(payload, record.timestamp());
+            }
+        }
+        index.save(record);
+    }
+
+    @Override
+    public List<NotificationRecord> findSince(Instant since) {
+        return index.findSince(since);
+    }
+
+    @Override
+    public Stream<NotificationRecord> stream(AuditQuery query) {
+        return index.stream(query);
+    }
+
+    /**
+     * Forces every append since the previous sync to disk with one call.
+     */
+    void sync() {
+        AuditLogSegment segment;
+        synchronized (this) {
+            segment = active;
+        }
+        try {
+            syncTimer.record(segment::force);
+        } catch (RuntimeException ex) {
+            log.error("Unable to sync audit log segment {}", segment.path(), ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{@auditRetention.sweepIntervalMillis()}")
+    public void evictExpired() {
+        index.evictExpired();
+        Instant cutoff = retention.expiryCutoff();
+        if (cutoff == null) {
+            return;
+        }
+        while (true) {
+            AuditLogSegment oldest;
+            synchronized (this) {
+                oldest = sealed.peekFirst();
+                if (oldest == null || (oldest.newest() != null && !oldest.newest().isBefore(cutoff))) {
+                    return;
+                }
+                sealed.pollFirst();
+            }
+            deleteSegment(oldest);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        syncer.shutdownNow();
+        active.seal();
+        lock.release();
+        lockChannel.close();
+    }
+
+    synchronized int segmentCount() {
+        return sealed.size() + 1;
+    }
+
+    private void recover() throws IOException {
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(AuditLogSegment::isSegment)
+                    .sorted((a, b) -> Long.compare(AuditLogSegment.sequenceOf(a), AuditLogSegment.sequenceOf(b)))
+                    .toList();
+        }
+        Instant cutoff = retention.expiryCutoff();
+        long started = System.nanoTime();
+        int[] recovered = new int[1];
+        for (int i = 0; i < paths.size(); i++) {
+            boolean newest = i == paths.size() - 1;
+            AuditLogSegment segment = AuditLogSegment.recover(paths.get(i), newest, record -> {
+                if (cutoff == null || !record.timestamp().isBefore(cutoff)) {
+                    index.save(record);
+                    recovered[0]++;
+                }
+            });
+            if (newest) {
+                active = segment;
+            } else if (cutoff != null && (segment.newest() == null || segment.newest().isBefore(cutoff))) {
+                deleteSegment(segment);
+            } else {
+                sealed.addLast(segment);
+            }
+        }
+        if (active == null) {
+            active = AuditLogSegment.create(directory, 1, segmentSize);
+        }
+        log.info("Recovered {} audit records from {} segment(s) in {} in {} ms", recovered[0], paths.size(),
+                directory.toAbsolutePath(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException ex) {
+            return null;
+        }
+    }
+
+    private void roll() {
+        AuditLogSegment full = active;
+        full.seal();
+        sealed.addLast(full);
+        try {
+            active = AuditLogSegment.create(directory, full.sequence() + 1, segmentSize);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to create audit log segment in " + directory.toAbsolutePath(), ex);
+        }
+    }
+
+    private void deleteSegment(AuditLogSegment segment) {
+        try {
+            segment.delete();
+            log.info("Deleted expired audit log segment {}", segment.path().getFileName());
+        } catch (IOException ex) {
+            log.warn("Unable to delete expired audit log segment {}", segment.path(), ex);
+        }
+    }
+}
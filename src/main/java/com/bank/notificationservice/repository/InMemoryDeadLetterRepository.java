@@ -0,0 +1,81 @@
+package com.bank.notificationservice.repository;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.model.DeadLetter;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Dead letters held in insertion order and capped at {@code notification.retry.dead-letter-capacity}; the oldest
+ * entry is dropped when the cap is reached. Dead letters are rare, so a single lock is enough.
+ */
+@Repository
+public class InMemoryDeadLetterRepository implements DeadLetterRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryDeadLetterRepository.class);
+
+    private final Map<UUID, DeadLetter> deadLetters;
+
+    public InMemoryDeadLetterRepository(NotificationProperties properties, MeterRegistry meterRegistry) {
+        int capacity = properties.retry().deadLetterCapacity();
+        this.deadLetters = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, DeadLetter> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                log.warn("Dead letter store full; dropping {} {} notification to {}",
+                        eldest.getValue().channel(), eldest.getValue().type(), eldest.getValue().recipient());
+                return true;
+            }
+        };
+        Gauge.builder("notification.deadletter.size", this, InMemoryDeadLetterRepository::count)
+                .description("Notifications waiting in the dead letter store")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void save(DeadLetter deadLetter) {
+        deadLetters.put(deadLetter.id(), deadLetter);
+    }
+
+    @Override
+    public synchronized Optional<DeadLetter> findById(UUID id) {
+        return Optional.ofNullable(deadLetters.get(id));
+    }
+
+    @Override
+    public synchronized List<DeadLetter> find(NotificationChannel channel, NotificationType type, int limit) {
+        List<DeadLetter> newestFirst = new ArrayList<>(Math.min(limit, deadLetters.size()));
+        ListIterator<DeadLetter> iterator = new ArrayList<>(deadLetters.values()).listIterator(deadLetters.size());
+        while (iterator.hasPrevious() && newestFirst.size() < limit) {
+            DeadLetter deadLetter = iterator.previous();
+            if ((channel == null || deadLetter.channel() == channel) && (type == null || deadLetter.type() == type)) {
+                newestFirst.add(deadLetter);
+            }
+        }
+        return newestFirst;
+    }
+
+    @Override
+    public synchronized boolean remove(UUID id) {
+        return deadLetters.remove(id) != null;
+    }
+
+    @Override
+    public synchronized int count() {
+        return deadLetters.size();
+    }
+}
@@ -2,30 +2,73 @@ package com.bank.notificationservice.repository;
 
 import com.bank.notificationservice.model.NotificationRecord;
 import java.time.Instant;
-import java.util.Comparator;
 import java.util.Deque;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Repository;
 
 @Repository
+@ConditionalOnProperty(prefix = "notification.audit", name = "store", havingValue = "in-memory", matchIfMissing = true)
 public class InMemoryNotificationAuditRepository implements NotificationAuditRepository {
 
     private final Deque<NotificationRecord> records = new ConcurrentLinkedDeque<>();
+    private final AuditSecondaryIndex secondary = new AuditSecondaryIndex();
+    private final AuditRetention retention;
+
+    public InMemoryNotificationAuditRepository(AuditRetention retention) {
+        this.retention = retention;
+    }
 
     @Override
     public void save(NotificationRecord record) {
         if (record != null) {
             records.add(record);
+            secondary.add(record);
+            retention.added(record);
+            while (retention.overCapacity()) {
+                NotificationRecord oldest = records.pollFirst();
+                if (oldest == null) {
+                    break;
+                }
+                secondary.remove(oldest);
+                retention.evicted(oldest, AuditRetention.Reason.CAPACITY);
+            }
         }
     }
 
     @Override
     public List<NotificationRecord> findSince(Instant since) {
-        return records.stream()
-                .filter(record -> since == null || !record.timestamp().isBefore(since))
-                .sorted(Comparator.comparing(NotificationRecord::timestamp).reversed())
-                .collect(Collectors.toList());
+        return secondary.streamAll(AuditQuery.since(since)).toList();
+    }
+
+    /**
+     * Queries naming a recipient, channel or type read one posting list of the secondary index; the rest merge the
+     * channel posting lists. Either way records are read lazily, newest first, without copying or sorting the log.
+     */
+    @Override
+    public Stream<NotificationRecord> stream(AuditQuery query) {
+        Stream<NotificationRecord> indexed = secondary.stream(query);
+        return indexed != null ? indexed : secondary.streamAll(query);
+    }
+
+    /**
+     * Records are appended in arrival order, so expired entries are always at the head of the deque.
+     */
+    @Scheduled(fixedDelayString = "#{@auditRetention.sweepIntervalMillis()}")
+    public void evictExpired() {
+        Instant cutoff = retention.expiryCutoff();
+        if (cutoff == null) {
+            return;
+        }
+        NotificationRecord oldest;
+        while ((oldest = records.peekFirst()) != null && oldest.timestamp().isBefore(cutoff)) {
+            if (records.removeFirstOccurrence(oldest)) {
+                secondary.remove(oldest);
+                retention.evicted(oldest, AuditRetention.Reason.TTL);
+            }
+        }
     }
 }
@@ -0,0 +1,498 @@
+package com.bank.notificationservice.repository;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Audit store in a relational database, written behind the request path.
+ *
+ * <p>A save only offers the record to a bounded queue; it never waits for the database. A single writer thread drains
+ * the queue and inserts {@code batchSize} records per multi-row {@code INSERT}, or whatever has arrived once the first
+ * record of a batch has waited {@code flushInterval}. When the queue is full, for instance while the database is down,
+ * the record is dropped and counted rather than blocking the caller. A batch that fails to insert is retried
+ * {@value #WRITE_ATTEMPTS} times in all with doubling backoff, riding out a brief outage or failover, and then inserted
+ * row by row so one bad record cannot take the others with it; only rows that still fail are dropped and counted.
+ * Records therefore show up in queries up to one flush interval after they are saved.
+ *
+ * <p>Rows are keyed by {@code (created_at, created_nanos, id)}: PostgreSQL keeps timestamps to the microsecond, so the
+ * remaining nanoseconds are stored alongside and records are returned exactly as saved. That key is also the index
+ * every query reads, newest first; queries naming a recipient, channel or type read a secondary index on that column
+ * followed by the same key instead. The recipient is indexed by a {@code recipient_key} column holding its
+ * {@link AuditQuery#recipientKey lower-cased form}, so it matches regardless of case as in the in-memory stores. On PostgreSQL the table is range-partitioned by UTC day, partitions are created
+ * ahead of time and a day is dropped whole once all of it has expired. Other databases, such as the embedded one the
+ * tests use, get an unpartitioned table from which expired rows are deleted.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "notification.audit", name = "store", havingValue = "jdbc")
+public class JdbcNotificationAuditRepository implements NotificationAuditRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcNotificationAuditRepository.class);
+
+    static final String TABLE = "notification_audit";
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final String COLUMNS =
+            "created_at, created_nanos, id, channel, notification_type, recipient, subject, preview";
+    private static final String INSERT_COLUMNS = COLUMNS + ", recipient_key";
+    /* Each gets an index ordered like the primary key, so a query naming one reads only its matching rows, in order. */
+    private static final List<String> INDEXED_COLUMNS = List.of("recipient_key", "channel", "notification_type");
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final int WRITE_ATTEMPTS = 4;
+    static final Duration WRITE_RETRY_BACKOFF = Duration.ofMillis(250);
+
+    private static final RowMapper<NotificationRecord> ROW_MAPPER = JdbcNotificationAuditRepository::mapRow;
+
+    /* Queued on close to wake a writer waiting for records; never written. */
+    private static final NotificationRecord STOP = new NotificationRecord(null, null, null, null, null, null, null);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditRetention retention;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int partitionsAhead;
+    private final boolean partitioned;
+    private final String fullBatchInsert;
+    private final BlockingQueue<NotificationRecord> queue;
+    private final Set<LocalDate> partitions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong overflowed = new AtomicLong();
+    private final Object progress = new Object();
+    private final Timer flushTimer;
+    private final Counter overflowDrops;
+    private final Counter errorDrops;
+    private final Thread writer;
+    private long processed;
+    private volatile boolean running = true;
+
+    public JdbcNotificationAuditRepository(NotificationProperties properties,
+            DataSource dataSource,
+            AuditRetention retention,
+            MeterRegistry meterRegistry) {
+        NotificationProperties.Audit.Jdbc jdbc = properties.audit().jdbc();
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.retention = retention;
+        this.batchSize = jdbc.batchSize();
+        this.flushIntervalNanos = jdbc.flushInterval().toNanos();
+        this.partitionsAhead = jdbc.partitionsAhead();
+        this.queue = new ArrayBlockingQueue<>(jdbc.queueCapacity());
+        this.fullBatchInsert = insertSql(batchSize);
+        this.partitioned = "PostgreSQL".equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+        createSchema();
+        this.flushTimer = Timer.builder("notification.audit.jdbc.flush")
+                .description("Time spent inserting one batch of audit records")
+                .register(meterRegistry);
+        this.overflowDrops = dropCounter(meterRegistry, "overflow");
+        this.errorDrops = dropCounter(meterRegistry, "error");
+        Gauge.builder("notification.audit.jdbc.queue", queue, BlockingQueue::size)
+                .description("Audit records waiting to be written to the database")
+                .register(meterRegistry);
+        this.writer = new Thread(this::writeBehind, "audit-jdbc-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void save(NotificationRecord record) {
+        if (record == null) {
+            return;
+        }
+        if (queue.offer(record)) {
+            accepted.incrementAndGet();
+        } else {
+            overflowed.incrementAndGet();
+            overflowDrops.increment();
+        }
+    }
+
+    @Override
+    public List<NotificationRecord> findSince(Instant since) {
+        try (Stream<NotificationRecord> records = stream(AuditQuery.since(since))) {
+            return records.toList();
+        }
+    }
+
+    /**
+     * Pushes every criterion and the limit into the query, so it is answered by a range scan of the primary key,
+     * or of the recipient, channel or type index, starting at the cursor. Because the stored timestamp is truncated to
+     * the microsecond, records in the same microsecond as {@code since} but before it are removed here rather than in
+     * SQL.
+     */
+    @Override
+    public Stream<NotificationRecord> stream(AuditQuery query) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM ").append(TABLE).append(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (query.since() != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(toTimestamp(query.since()));
+        }
+        if (query.until() != null) {
+            sql.append(" AND (created_at, created_nanos) < (?, ?)");
+            args.add(toTimestamp(query.until()));
+            args.add(subMicroNanos(query.until()));
+        }
+        if (query.after() != null) {
+            sql.append(" AND (created_at, created_nanos, id) < (?, ?, ?)");
+            args.add(toTimestamp(query.after().timestamp()));
+            args.add(subMicroNanos(query.after().timestamp()));
+            args.add(query.after().id());
+        }
+        if (query.recipient() != null) {
+            sql.append(" AND recipient_key = ?");
+            args.add(AuditQuery.recipientKey(query.recipient()));
+        }
+        if (query.channel() != null) {
+            sql.append(" AND channel = ?");
+            args.add(query.channel().name());
+        }
+        if (query.type() != null) {
+            sql.append(" AND notification_type = ?");
+            args.add(query.type().name());
+        }
+        sql.append(" ORDER BY created_at DESC, created_nanos DESC, id DESC");
+        if (query.limit() < Integer.MAX_VALUE) {
+            sql.append(" LIMIT ?");
+            args.add(query.limit());
+        }
+        Stream<NotificationRecord> records = jdbcTemplate.queryForStream(sql.toString(), ROW_MAPPER, args.toArray());
+        return query.since() != null
+                ? records.filter(record -> !record.timestamp().isBefore(query.since()))
+                : records;
+    }
+
+    /**
+     * Creates the partitions for the coming days and removes expired records: whole partitions on PostgreSQL, rows
+     * elsewhere.
+     */
+    @Scheduled(fixedDelayString = "#{@auditRetention.sweepIntervalMillis()}")
+    public void evictExpired() {
+        try {
+            if (partitioned) {
+                createPartitionsAhead();
+            }
+            Instant cutoff = retention.expiryCutoff();
+            if (cutoff == null) {
+                return;
+            }
+            if (partitioned) {
+                dropExpiredPartitions(cutoff);
+            } else {
+                int deleted = jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE created_at < ?", toTimestamp(cutoff));
+                log.debug("Deleted {} expired audit records", deleted);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Unable to remove expired audit records", ex);
+        }
+    }
+
+    /**
+     * Waits until every record saved before the call has been written or dropped.
+     *
+     * @return {@code false} if that did not happen within {@code timeout}
+     */
+    boolean flush(Duration timeout) throws InterruptedException {
+        long target = accepted.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (progress) {
+            while (processed < target) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(progress, remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stops the writer once it has written what is still queued, before the data source is closed.
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        queue.offer(STOP);
+        writer.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 10_000);
+        if (writer.isAlive()) {
+            log.warn("Audit writer did not finish within the shutdown timeout; {} records were not written", queue.size());
+        }
+    }
+
+    private void writeBehind() {
+        List<NotificationRecord> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException ex) {
+                running = false;
+            }
+            batch.removeIf(record -> record == STOP);
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+            long lost = overflowed.getAndSet(0);
+            if (lost > 0) {
+                log.warn("Dropped {} audit records because the write queue was full", lost);
+            }
+        }
+    }
+
+    /**
+     * Fills {@code batch} until it holds {@code batchSize} records or its first record has waited a flush interval.
+     * Returns with an empty batch if nothing arrives within one interval, so the writer notices shutdown.
+     */
+    private void collect(List<NotificationRecord> batch) throws InterruptedException {
+        NotificationRecord first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            NotificationRecord next = running && remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<NotificationRecord> batch) {
+        Instant cutoff = retention.expiryCutoff();
+        List<NotificationRecord> rows = cutoff == null
+                ? batch
+                : batch.stream().filter(record -> !record.timestamp().isBefore(cutoff)).toList();
+        try {
+            if (!rows.isEmpty() && !insertWithRetry(rows)) {
+                insertEach(rows);
+            }
+        } finally {
+            synchronized (progress) {
+                processed += batch.size();
+                progress.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Inserts {@code rows} as one statement, retrying with doubling backoff.
+     *
+     * @return {@code false} if every attempt failed
+     */
+    private boolean insertWithRetry(List<NotificationRecord> rows) {
+        long backoffMillis = WRITE_RETRY_BACKOFF.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (partitioned) {
+                    rows.forEach(record -> createPartition(dayOf(record.timestamp())));
+                }
+                flushTimer.record(() -> insert(rows));
+                return true;
+            } catch (RuntimeException ex) {
+                if (attempt == WRITE_ATTEMPTS || !running) {
+                    log.warn("Unable to write a batch of {} audit records after {} attempts; writing them one by one",
+                            rows.size(), attempt, ex);
+                    return false;
+                }
+                log.warn("Unable to write a batch of {} audit records (attempt {} of {}); retrying in {} ms",
+                        rows.size(), attempt, WRITE_ATTEMPTS, backoffMillis, ex);
+            }
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException ex) {
+                running = false;
+            }
+            backoffMillis *= 2;
+        }
+    }
+
+    private void insertEach(List<NotificationRecord> rows) {
+        int lost = 0;
+        for (NotificationRecord record : rows) {
+            try {
+                insert(List.of(record));
+            } catch (RuntimeException ex) {
+                lost++;
+                log.error("Unable to write audit record {}; it is lost", record.id(), ex);
+            }
+        }
+        if (lost > 0) {
+            errorDrops.increment(lost);
+        }
+    }
+
+    private void insert(List<NotificationRecord> rows) {
+        String sql = rows.size() == batchSize ? fullBatchInsert : insertSql(rows.size());
+        jdbcTemplate.update(sql, statement -> {
+            int index = 1;
+            for (NotificationRecord record : rows) {
+                index = bind(statement, index, record);
+            }
+        });
+    }
+
+    private static int bind(PreparedStatement statement, int index, NotificationRecord record) throws SQLException {
+        statement.setObject(index++, toTimestamp(record.timestamp()));
+        statement.setInt(index++, subMicroNanos(record.timestamp()));
+        statement.setObject(index++, record.id());
+        statement.setString(index++, record.channel() != null ? record.channel().name() : null);
+        statement.setString(index++, record.notificationType());
+        statement.setString(index++, record.recipient());
+        statement.setString(index++, record.subject());
+        statement.setString(index++, record.preview());
+        statement.setString(index++, AuditQuery.recipientKey(record.recipient()));
+        return index;
+    }
+
+    private static NotificationRecord mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Instant timestamp = rs.getObject("created_at", OffsetDateTime.class).toInstant().plusNanos(rs.getInt("created_nanos"));
+        String channel = rs.getString("channel");
+        return new NotificationRecord(rs.getObject("id", UUID.class),
+                channel != null ? NotificationChannel.valueOf(channel) : null,
+                rs.getString("recipient"), rs.getString("subject"), rs.getString("preview"),
+                rs.getString("notification_type"), timestamp);
+    }
+
+    private void createSchema() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+                + "created_at TIMESTAMP WITH TIME ZONE NOT NULL, "
+                + "created_nanos INTEGER NOT NULL, "
+                + "id UUID NOT NULL, "
+                + "channel VARCHAR(16), "
+                + "notification_type VARCHAR(64), "
+                + "recipient VARCHAR, "
+                + "subject VARCHAR, "
+                + "preview VARCHAR, "
+                + "recipient_key VARCHAR, "
+                + "PRIMARY KEY (created_at, created_nanos, id))"
+                + (partitioned ? " PARTITION BY RANGE (created_at)" : ""));
+        // Tables created before recipients were matched regardless of case lack the key; fill it in once.
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD COLUMN IF NOT EXISTS recipient_key VARCHAR");
+        jdbcTemplate.update("UPDATE " + TABLE + " SET recipient_key = LOWER(recipient)"
+                + " WHERE recipient_key IS NULL AND recipient IS NOT NULL");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS " + TABLE + "_recipient_idx");
+        for (String column : INDEXED_COLUMNS) {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + TABLE + "_" + column + "_idx ON " + TABLE
+                    + " (" + column + ", created_at, created_nanos, id)");
+        }
+        if (partitioned) {
+            createPartitionsAhead();
+        }
+    }
+
+    private void createPartitionsAhead() {
+        LocalDate today = dayOf(Instant.now());
+        for (int i = 0; i <= partitionsAhead; i++) {
+            createPartition(today.plusDays(i));
+        }
+    }
+
+    private void createPartition(LocalDate day) {
+        if (partitions.contains(day)) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute(partitionDdl(day));
+            partitions.add(day);
+        } catch (DataAccessException ex) {
+            // Another instance may be creating the same partition; the next write or sweep tries again.
+            log.warn("Unable to create audit partition for {}", day, ex);
+        }
+    }
+
+    private void dropExpiredPartitions(Instant cutoff) {
+        List<String> names = jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent "
+                + "WHERE p.relname = ?", String.class, TABLE);
+        for (String name : names) {
+            if (!name.startsWith(PARTITION_PREFIX)) {
+                continue;
+            }
+            LocalDate day = LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            if (!startOf(day.plusDays(1)).isAfter(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+                partitions.remove(day);
+                log.info("Dropped expired audit partition {}", name);
+            }
+        }
+    }
+
+    static String partitionDdl(LocalDate day) {
+        return "CREATE TABLE IF NOT EXISTS " + PARTITION_PREFIX + PARTITION_SUFFIX.format(day)
+                + " PARTITION OF " + TABLE
+                + " FOR VALUES FROM ('" + startOf(day) + "') TO ('" + startOf(day.plusDays(1)) + "')";
+    }
+
+    static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(TABLE).append(" (").append(INSERT_COLUMNS).append(") VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ", ").append(ROW_PLACEHOLDERS);
+        }
+        return sql.toString();
+    }
+
+    private static OffsetDateTime toTimestamp(Instant instant) {
+        return OffsetDateTime.ofInstant(instant.truncatedTo(ChronoUnit.MICROS), ZoneOffset.UTC);
+    }
+
+    private static int subMicroNanos(Instant instant) {
+        return instant.getNano() % 1_000;
+    }
+
+    private static LocalDate dayOf(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static Instant startOf(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private static Counter dropCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("notification.audit.jdbc.dropped")
+                .description("Audit records lost before reaching the database")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -3,10 +3,25 @@ package com.bank.notificationservice.repository;
 import com.bank.notificationservice.model.NotificationRecord;
 import java.time.Instant;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface NotificationAuditRepository {
 
     void save(NotificationRecord record);
 
     List<NotificationRecord> findSince(Instant since);
+
+    /**
+     * Records matching the query, newest first. Implementations with an ordered index should override this so the
+     * stream is read lazily from the index rather than from a fully materialised {@link #findSince(Instant)}.
+     */
+    default Stream<NotificationRecord> stream(AuditQuery query) {
+        return findSince(query.since()).stream().filter(query::matches);
+    }
+
+    default List<NotificationRecord> find(AuditQuery query) {
+        try (Stream<NotificationRecord> matches = stream(query)) {
+            return matches.limit(query.limit()).toList();
+        }
+    }
 }
@@ -0,0 +1,117 @@
+package com.bank.notificationservice.repository;
+
+import com.bank.notificationservice.model.NotificationRecord;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Audit store that keeps records in a concurrent skip list ordered newest first, so {@link #findSince(Instant)}
+ * is a head-map view of the index (O(log n + k)) and comes back already sorted instead of scanning and sorting the
+ * whole log on every call. Paged and streamed queries walk the same index lazily from the cursor position, or, when
+ * they name a recipient, channel or type, the matching posting list of an {@link AuditSecondaryIndex}.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "notification.audit", name = "store", havingValue = "time-indexed")
+public class TimeIndexedNotificationAuditRepository implements NotificationAuditRepository {
+
+    /* Lowest possible UUID: sorts last among records sharing a timestamp in newest-first order. */
+    private static final UUID LOWEST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+    private final ConcurrentSkipListMap<AuditCursor, NotificationRecord> records =
+            new ConcurrentSkipListMap<>(AuditCursor.NEWEST_FIRST);
+    private final AuditSecondaryIndex secondary = new AuditSecondaryIndex();
+    private final AuditRetention retention;
+
+    public TimeIndexedNotificationAuditRepository(AuditRetention retention) {
+        this.retention = retention;
+    }
+
+    @Override
+    public void save(NotificationRecord record) {
+        if (record == null || records.putIfAbsent(AuditCursor.of(record), record) != null) {
+            return;
+        }
+        secondary.add(record);
+        retention.added(record);
+        while (retention.overCapacity()) {
+            Map.Entry<AuditCursor, NotificationRecord> oldest = records.pollLastEntry();
+            if (oldest == null) {
+                break;
+            }
+            secondary.remove(oldest.getValue());
+            retention.evicted(oldest.getValue(), AuditRetention.Reason.CAPACITY);
+        }
+    }
+
+    @Override
+    public List<NotificationRecord> findSince(Instant since) {
+        ConcurrentNavigableMap<AuditCursor, NotificationRecord> range = since == null
+                ? records
+                : records.headMap(new AuditCursor(since, LOWEST_ID), true);
+        return new ArrayList<>(range.values());
+    }
+
+    /**
+     * Queries naming a recipient, channel or type read the shortest matching posting list of the secondary index;
+     * the rest read the primary index.
+     */
+    @Override
+    public Stream<NotificationRecord> stream(AuditQuery query) {
+        Stream<NotificationRecord> indexed = secondary.stream(query);
+        return indexed != null ? indexed : range(records, query);
+    }
+
+    /**
+     * Expired records form the tail of the index, so each sweep only touches the entries it removes.
+     */
+    @Scheduled(fixedDelayString = "#{@auditRetention.sweepIntervalMillis()}")
+    public void evictExpired() {
+        Instant cutoff = retention.expiryCutoff();
+        if (cutoff == null) {
+            return;
+        }
+        Map.Entry<AuditCursor, NotificationRecord> oldest;
+        while ((oldest = records.lastEntry()) != null && oldest.getKey().timestamp().isBefore(cutoff)) {
+            if (records.remove(oldest.getKey(), oldest.getValue())) {
+                secondary.remove(oldest.getValue());
+                retention.evicted(oldest.getValue(), AuditRetention.Reason.TTL);
+            }
+        }
+    }
+
+    /**
+     * Records of a newest-first index that match the query, read lazily from the entry just past the cursor or
+     * {@code until}, whichever is older, and ending at {@code since}.
+     */
+    static Stream<NotificationRecord> range(ConcurrentNavigableMap<AuditCursor, NotificationRecord> index, AuditQuery query) {
+        AuditCursor oldest = query.since() != null ? new AuditCursor(query.since(), LOWEST_ID) : null;
+        AuditCursor newest = query.until() != null ? new AuditCursor(query.until(), LOWEST_ID) : null;
+        AuditCursor after = query.after();
+        if (after != null && (newest == null || AuditCursor.NEWEST_FIRST.compare(after, newest) > 0)) {
+            newest = after;
+        }
+        ConcurrentNavigableMap<AuditCursor, NotificationRecord> range;
+        if (newest != null && oldest != null) {
+            if (AuditCursor.NEWEST_FIRST.compare(newest, oldest) > 0) {
+                return Stream.empty();
+            }
+            range = index.subMap(newest, false, oldest, true);
+        } else if (newest != null) {
+            range = index.tailMap(newest, false);
+        } else if (oldest != null) {
+            range = index.headMap(oldest, true);
+        } else {
+            range = index;
+        }
+        return range.values().stream().filter(query::matches);
+    }
+}
@@ -0,0 +1,223 @@
+package com.bank.notificationservice.service;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.dto.AccountEventNotificationRequest;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.support.ChannelSelection;
+import com.bank.notificationservice.support.EmailMessage;
+import com.bank.notificationservice.support.NotificationDelivery;
+import com.bank.notificationservice.support.SmsMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Merges low-severity account events for the same recipient into one email and SMS.
+ *
+ * <p>The first event of a configured type for an email address and phone number opens a digest that is sent
+ * {@code window} later; events arriving in the meantime join it, and a digest is sent early once it holds
+ * {@code maxEvents}. A digest holding a single event is sent as the ordinary account event notification. Digests
+ * are held in memory only, so those still open at shutdown are sent immediately; a crash loses at most one window
+ * of events. Other notification types never pass through here. A digest goes out on every channel the routing
+ * policy chose for any of its events.
+ *
+ * <p>Digests are sent from a background thread, so there is no caller to report a failure to. Each channel is
+ * submitted on its own, and a channel that cannot be submitted or delivered is counted in
+ * {@code notification.digest.failures} and handed to the {@link DeliveryRetryScheduler}: retried if retries are
+ * enabled, otherwise dead-lettered at once so it can be replayed.
+ */
+@Service
+public class AccountEventDigester {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountEventDigester.class);
+
+    private final NotificationProperties.Digest settings;
+    private final NotificationComposer composer;
+    private final DispatchPipeline dispatchPipeline;
+    private final NotificationMetrics metrics;
+    private final ChannelRouter router;
+    private final DeliveryRetryScheduler retryScheduler;
+    private final Map<String, Digest> open = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor executor;
+    private final DistributionSummary digestSize;
+    private final Map<NotificationChannel, Counter> failures = new EnumMap<>(NotificationChannel.class);
+
+    public AccountEventDigester(NotificationProperties properties,
+            NotificationComposer composer,
+            DispatchPipeline dispatchPipeline,
+            NotificationMetrics metrics,
+            ChannelRouter router,
+            DeliveryRetryScheduler retryScheduler,
+            DispatchThreads threads,
+            MeterRegistry meterRegistry) {
+        this.settings = properties.digest();
+        this.composer = composer;
+        this.dispatchPipeline = dispatchPipeline;
+        this.metrics = metrics;
+        this.router = router;
+        this.retryScheduler = retryScheduler;
+        this.executor = settings.enabled()
+                ? new ScheduledThreadPoolExecutor(settings.threads(), threads.factory("notification-digest-", true))
+                : null;
+        this.digestSize = DistributionSummary.builder("notification.digest.events")
+                .description("Account events merged into each digest sent")
+                .register(meterRegistry);
+        for (NotificationChannel channel : NotificationChannel.values()) {
+            failures.put(channel, Counter.builder("notification.digest.failures")
+                    .description("Digest channels that could not be sent and were handed to retry or the dead letter store")
+                    .tag("channel", NotificationMetrics.tag(channel))
+                    .register(meterRegistry));
+        }
+        Gauge.builder("notification.digest.open", open, Map::size)
+                .description("Recipients with a digest waiting for its window to end")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds {@code request} to its recipient's digest if its event type is digested.
+     *
+     * @return {@code false} if the event should be sent on its own right away: digests are disabled, its type is not
+     *         digested, or {@code maxPending} other recipients are already waiting
+     */
+    public boolean offer(AccountEventNotificationRequest request) {
+        if (executor == null || !settings.eventTypes().contains(request.getEventType())) {
+            return false;
+        }
+        String recipient = recipientKey(request);
+        int[] size = new int[1];
+        Digest digest = open.compute(recipient, (key, current) -> {
+            if (current == null) {
+                if (open.size() >= settings.maxPending()) {
+                    return null;
+                }
+                current = new Digest(key);
+            }
+            current.events.add(request);
+            size[0] = current.events.size();
+            return current;
+        });
+        if (digest == null) {
+            return false;
+        }
+        if (size[0] == 1) {
+            schedule(digest);
+        } else if (size[0] >= settings.maxEvents() && open.remove(recipient, digest)) {
+            send(digest);
+        }
+        return true;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        for (Digest digest : open.values()) {
+            if (open.remove(digest.recipient, digest)) {
+                send(digest);
+            }
+        }
+    }
+
+    private void schedule(Digest digest) {
+        try {
+            executor.schedule(() -> {
+                if (open.remove(digest.recipient, digest)) {
+                    send(digest);
+                }
+            }, settings.window().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException ex) {
+            if (open.remove(digest.recipient, digest)) {
+                send(digest);
+            }
+        }
+    }
+
+    /* Only called once the digest is out of the map, so no other thread can still add to its events. */
+    private void send(Digest digest) {
+        List<AccountEventNotificationRequest> events = digest.events;
+        digestSize.record(events.size());
+        try {
+            ChannelSelection channels = router.route(events);
+            EmailMessage email = null;
+            SmsMessage sms = null;
+            if (events.size() == 1) {
+                if (channels.includes(NotificationChannel.EMAIL)) {
+                    email = metrics.timeCompose(NotificationType.ACCOUNT_EVENT, NotificationChannel.EMAIL,
+                            () -> composer.composeAccountEvent(events.get(0)));
+                }
+                if (channels.includes(NotificationChannel.SMS)) {
+                    sms = metrics.timeCompose(NotificationType.ACCOUNT_EVENT, NotificationChannel.SMS,
+                            () -> composer.composeAccountEventSms(events.get(0)));
+                }
+            } else {
+                if (channels.includes(NotificationChannel.EMAIL)) {
+                    email = metrics.timeCompose(NotificationType.ACCOUNT_EVENT, NotificationChannel.EMAIL,
+                            () -> composer.composeAccountEventDigest(events));
+                }
+                if (channels.includes(NotificationChannel.SMS)) {
+                    sms = metrics.timeCompose(NotificationType.ACCOUNT_EVENT, NotificationChannel.SMS,
+                            () -> composer.composeAccountEventDigestSms(events));
+                }
+            }
+            if (email != null) {
+                submit(new NotificationDelivery(NotificationType.ACCOUNT_EVENT, email, null), NotificationChannel.EMAIL, digest);
+            }
+            if (sms != null) {
+                submit(new NotificationDelivery(NotificationType.ACCOUNT_EVENT, null, sms), NotificationChannel.SMS, digest);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Failed to compose digest of {} account events to {}", events.size(), digest.recipient, ex);
+        }
+    }
+
+    /*
+     * One channel per delivery, so a failure says exactly which channel went unsent and handing it on cannot send
+     * the other one twice.
+     */
+    private void submit(NotificationDelivery delivery, NotificationChannel channel, Digest digest) {
+        try {
+            dispatchPipeline.submit(delivery);
+        } catch (RuntimeException ex) {
+            failures.get(channel).increment();
+            log.error("Failed to deliver {} digest of {} account events to {}", channel, digest.events.size(),
+                    digest.recipient, ex);
+            if (retryScheduler.enabled()) {
+                retryScheduler.schedule(delivery, channel, ex);
+            } else {
+                retryScheduler.deadLetter(delivery, channel, ex);
+            }
+        }
+    }
+
+    private static String recipientKey(AccountEventNotificationRequest request) {
+        return request.getCustomerEmail().toLowerCase(Locale.ROOT) + '|' + request.getCustomerPhone();
+    }
+
+    private static final class Digest {
+
+        private final String recipient;
+        /* Appended to only inside open.compute, which locks the recipient's entry. */
+        private final List<AccountEventNotificationRequest> events = new ArrayList<>();
+
+        private Digest(String recipient) {
+            this.recipient = recipient;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.bank.notificationservice.service;
+
+import com.bank.notificationservice.dto.AccountEventNotificationRequest;
+import com.bank.notificationservice.dto.AccountStatusChangeNotificationRequest;
+import com.bank.notificationservice.dto.BulkItemResult;
+import com.bank.notificationservice.dto.HighValueTransactionNotificationRequest;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.support.NotificationDeliveryException;
+import com.bank.notificationservice.support.NotificationOutcome;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Processes a bulk upload of notification requests one item at a time.
+ *
+ * <p>The body is either newline-delimited JSON or a single JSON array. Each item carries a {@code type} field naming
+ * its {@link NotificationType} alongside the fields of the matching request payload. Items are parsed, validated and
+ * dispatched as they are read and their results are written back immediately as NDJSON, so neither the request nor
+ * the response is ever held in memory as a whole.
+ */
+@Service
+public class BulkNotificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkNotificationService.class);
+    private static final String TYPE_FIELD = "type";
+    private static final String TYPE_ERROR = "must be one of " + Arrays.toString(NotificationType.values());
+
+    private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public BulkNotificationService(NotificationService notificationService, ObjectMapper objectMapper, Validator validator) {
+        this.notificationService = notificationService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    public void process(InputStream body, OutputStream out) throws IOException {
+        int index = 0;
+        try (JsonParser parser = objectMapper.createParser(body);
+                SequenceWriter results = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            try {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_ARRAY) {
+                    token = parser.nextToken();
+                }
+                while (token != null && token != JsonToken.END_ARRAY) {
+                    JsonNode item = parser.readValueAsTree();
+                    results.write(processItem(index++, item));
+                    token = parser.nextToken();
+                }
+            } catch (JsonProcessingException ex) {
+                log.warn("Stopping bulk upload at item {} due to malformed JSON: {}", index, ex.getOriginalMessage());
+                results.write(BulkItemResult.of(index, null, BulkItemResult.Status.MALFORMED, ex.getOriginalMessage()));
+            }
+        }
+        log.info("Processed bulk notification upload with {} items", index);
+    }
+
+    private BulkItemResult processItem(int index, JsonNode item) {
+        if (!(item instanceof ObjectNode node) || !node.hasNonNull(TYPE_FIELD)) {
+            return BulkItemResult.rejected(index, null, Map.of(TYPE_FIELD, TYPE_ERROR));
+        }
+
+        String typeName = node.remove(TYPE_FIELD).asText();
+        NotificationType type;
+        try {
+            type = NotificationType.valueOf(typeName);
+        } catch (IllegalArgumentException ex) {
+            return BulkItemResult.rejected(index, typeName, Map.of(TYPE_FIELD, TYPE_ERROR));
+        }
+
+        try {
+            return switch (type) {
+                case HIGH_VALUE_TRANSACTION -> {
+                    HighValueTransactionNotificationRequest request = read(node, HighValueTransactionNotificationRequest.class);
+                    Map<String, String> errors = validate(request);
+                    if (!errors.isEmpty()) {
+                        yield BulkItemResult.rejected(index, typeName, errors);
+                    }
+                    NotificationOutcome outcome = notificationService.handleHighValueTransaction(request);
+                    yield outcome.accepted()
+                            ? BulkItemResult.of(index, typeName, BulkItemResult.Status.ACCEPTED, accepted(outcome, "High value transaction"))
+                            : BulkItemResult.of(index, typeName, BulkItemResult.Status.SKIPPED, "Transaction below configured threshold; notification skipped.");
+                }
+                case ACCOUNT_STATUS_CHANGE -> {
+                    AccountStatusChangeNotificationRequest request = read(node, AccountStatusChangeNotificationRequest.class);
+                    Map<String, String> errors = validate(request);
+                    if (!errors.isEmpty()) {
+                        yield BulkItemResult.rejected(index, typeName, errors);
+                    }
+                    NotificationOutcome outcome = notificationService.handleAccountStatusChange(request);
+                    yield BulkItemResult.of(index, typeName, BulkItemResult.Status.ACCEPTED, accepted(outcome, "Account status change"));
+                }
+                case ACCOUNT_EVENT -> {
+                    AccountEventNotificationRequest request = read(node, AccountEventNotificationRequest.class);
+                    Map<String, String> errors = validate(request);
+                    if (!errors.isEmpty()) {
+                        yield BulkItemResult.rejected(index, typeName, errors);
+                    }
+                    NotificationOutcome outcome = notificationService.handleAccountEvent(request);
+                    yield BulkItemResult.of(index, typeName, BulkItemResult.Status.ACCEPTED, accepted(outcome, "Account event"));
+                }
+            };
+        } catch (JsonProcessingException ex) {
+            return BulkItemResult.rejected(index, typeName, Map.of("payload", ex.getOriginalMessage()));
+        } catch (NotificationDeliveryException ex) {
+            log.error("Failed to deliver bulk item {} of type {}", index, typeName, ex);
+            return BulkItemResult.of(index, typeName, BulkItemResult.Status.FAILED, "Unable to deliver notification at this time.");
+        } catch (RuntimeException ex) {
+            // The response is already streaming, so any other failure must end this item, not the whole upload.
+            log.error("Unexpected error processing bulk item {} of type {}", index, typeName, ex);
+            return BulkItemResult.of(index, typeName, BulkItemResult.Status.FAILED, "Unable to process notification.");
+        }
+    }
+
+    private String accepted(NotificationOutcome outcome, String notification) {
+        if (outcome.scheduled() != null) {
+            return notification + " notification scheduled for " + outcome.scheduled().deliverAt() + " as "
+                    + outcome.scheduled().id() + ".";
+        }
+        return notificationService.queuesDeliveries()
+                ? notification + " notification accepted and queued for delivery."
+                : notification + " notification dispatched.";
+    }
+
+    private <T> T read(ObjectNode node, Class<T> type) throws JsonProcessingException {
+        return objectMapper.treeToValue(node, type);
+    }
+
+    private <T> Map<String, String> validate(T request) {
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+        return violations.stream()
+                .collect(Collectors.toMap(
+                        violation -> violation.getPropertyPath().toString(),
+                        ConstraintViolation::getMessage,
+                        (first, second) -> first,
+                        LinkedHashMap::new));
+    }
+}
@@ -0,0 +1,171 @@
+package com.bank.notificationservice.service;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.dto.AccountEventNotificationRequest;
+import com.bank.notificationservice.dto.AccountStatusChangeNotificationRequest;
+import com.bank.notificationservice.dto.HighValueTransactionNotificationRequest;
+import com.bank.notificationservice.model.AccountEventType;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.support.ChannelSelection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides which channels a notification is sent on, from the {@code notification.routing} policy.
+ *
+ * <p>The policy is compiled once into a decision table: a {@link ChannelSelection} per notification type and per
+ * account event type, and the high-value amount bands as a sorted array searched by binary search. Routing a
+ * request is then a table lookup and a bit mask, and each channel left out is counted in
+ * {@code notification.routing.skipped}, tagged with whether the policy or the customer's preference excluded it.
+ */
+@Component
+public class ChannelRouter {
+
+    private enum SkipReason {
+        POLICY,
+        PREFERENCE
+    }
+
+    private final Map<NotificationType, ChannelSelection> byType = new EnumMap<>(NotificationType.class);
+    private final Map<AccountEventType, ChannelSelection> byEventType = new EnumMap<>(AccountEventType.class);
+    private final BigDecimal[] bandMinimums;
+    private final ChannelSelection[] bandSelections;
+    private final boolean customerPreference;
+    private final Map<NotificationType, Map<NotificationChannel, Map<SkipReason, Counter>>> skipped =
+            new EnumMap<>(NotificationType.class);
+
+    public ChannelRouter(NotificationProperties properties, MeterRegistry meterRegistry) {
+        NotificationProperties.Routing routing = properties.routing();
+        for (NotificationType type : NotificationType.values()) {
+            Set<NotificationChannel> channels = routing.types().get(type);
+            byType.put(type, channels != null ? compile(channels, type.name()) : ChannelSelection.BOTH);
+        }
+        for (AccountEventType eventType : AccountEventType.values()) {
+            Set<NotificationChannel> channels = routing.accountEvents().get(eventType);
+            byEventType.put(eventType, channels != null
+                    ? compile(channels, eventType.name())
+                    : byType.get(NotificationType.ACCOUNT_EVENT));
+        }
+        List<NotificationProperties.Routing.AmountBand> bands = routing.highValueBands().stream()
+                .sorted(Comparator.comparing(NotificationProperties.Routing.AmountBand::minAmount))
+                .toList();
+        this.bandMinimums = new BigDecimal[bands.size()];
+        this.bandSelections = new ChannelSelection[bands.size()];
+        for (int i = 0; i < bands.size(); i++) {
+            bandMinimums[i] = bands.get(i).minAmount();
+            bandSelections[i] = compile(bands.get(i).channels(), "amounts from " + bandMinimums[i]);
+        }
+        this.customerPreference = routing.customerPreference();
+
+        for (NotificationType type : NotificationType.values()) {
+            Map<NotificationChannel, Map<SkipReason, Counter>> byChannel = new EnumMap<>(NotificationChannel.class);
+            for (NotificationChannel channel : NotificationChannel.values()) {
+                Map<SkipReason, Counter> byReason = new EnumMap<>(SkipReason.class);
+                for (SkipReason reason : SkipReason.values()) {
+                    byReason.put(reason, Counter.builder("notification.routing.skipped")
+                            .description("Notification channels left out by the routing policy or the customer's preference")
+                            .tags("type", NotificationMetrics.tag(type), "channel", NotificationMetrics.tag(channel),
+                                    "reason", NotificationMetrics.tag(reason))
+                            .register(meterRegistry));
+                }
+                byChannel.put(channel, byReason);
+            }
+            skipped.put(type, byChannel);
+        }
+    }
+
+    public ChannelSelection route(HighValueTransactionNotificationRequest request) {
+        ChannelSelection policy = byType.get(NotificationType.HIGH_VALUE_TRANSACTION);
+        int band = band(request.getAmount());
+        if (band >= 0) {
+            policy = bandSelections[band];
+        }
+        return apply(NotificationType.HIGH_VALUE_TRANSACTION, policy, request.getPreferredChannels());
+    }
+
+    public ChannelSelection route(AccountStatusChangeNotificationRequest request) {
+        return apply(NotificationType.ACCOUNT_STATUS_CHANGE, byType.get(NotificationType.ACCOUNT_STATUS_CHANGE),
+                request.getPreferredChannels());
+    }
+
+    public ChannelSelection route(AccountEventNotificationRequest request) {
+        return apply(NotificationType.ACCOUNT_EVENT, byEventType.get(request.getEventType()), request.getPreferredChannels());
+    }
+
+    /**
+     * Routes a digest of account events as one notification: it goes out on every channel routed for any of its
+     * events, and a channel left out is counted once for the digest, not once per event.
+     */
+    public ChannelSelection route(List<AccountEventNotificationRequest> digest) {
+        ChannelSelection policy = ChannelSelection.NONE;
+        ChannelSelection selected = ChannelSelection.NONE;
+        for (AccountEventNotificationRequest request : digest) {
+            ChannelSelection eventPolicy = byEventType.get(request.getEventType());
+            policy = policy.union(eventPolicy);
+            selected = selected.union(narrow(eventPolicy, request.getPreferredChannels()));
+        }
+        countSkipped(NotificationType.ACCOUNT_EVENT, policy, selected);
+        return selected;
+    }
+
+    /* Index of the highest band whose minimum the amount reaches, or -1 below the first band. */
+    private int band(BigDecimal amount) {
+        int low = 0;
+        int high = bandMinimums.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (bandMinimums[middle].compareTo(amount) <= 0) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    private ChannelSelection apply(NotificationType type, ChannelSelection policy, Set<NotificationChannel> preferred) {
+        ChannelSelection selected = narrow(policy, preferred);
+        countSkipped(type, policy, selected);
+        return selected;
+    }
+
+    private ChannelSelection narrow(ChannelSelection policy, Set<NotificationChannel> preferred) {
+        if (customerPreference && preferred != null && !preferred.isEmpty()) {
+            ChannelSelection narrowed = policy.intersect(ChannelSelection.of(preferred));
+            if (narrowed != ChannelSelection.NONE) {
+                return narrowed;
+            }
+        }
+        return policy;
+    }
+
+    private void countSkipped(NotificationType type, ChannelSelection policy, ChannelSelection selected) {
+        if (selected != ChannelSelection.BOTH) {
+            for (NotificationChannel channel : NotificationChannel.values()) {
+                if (!selected.includes(channel)) {
+                    skipped.get(type).get(channel)
+                            .get(policy.includes(channel) ? SkipReason.PREFERENCE : SkipReason.POLICY)
+                            .increment();
+                }
+            }
+        }
+    }
+
+    private static ChannelSelection compile(Set<NotificationChannel> channels, String route) {
+        ChannelSelection selection = ChannelSelection.of(channels);
+        if (selection == ChannelSelection.NONE) {
+            throw new IllegalStateException("notification.routing for " + route + " must name at least one channel");
+        }
+        return selection;
+    }
+}
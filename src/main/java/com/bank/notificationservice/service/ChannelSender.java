@@ -0,0 +1,63 @@
+package com.bank.notificationservice.service;
+
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationRecord;
+import com.bank.notificationservice.repository.NotificationAuditRepository;
+import com.bank.notificationservice.support.EmailMessage;
+import com.bank.notificationservice.support.NotificationDelivery;
+import com.bank.notificationservice.support.SmsMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Sends one channel of a notification and records it in the audit log. Shared by first attempts and retries so
+ * both audit exactly the same way. Only a failed send is thrown: once the provider has accepted the message, a failed
+ * audit write is logged and counted instead, because retrying the channel would send the message again.
+ */
+@Service
+public class ChannelSender {
+
+    private static final Logger log = LoggerFactory.getLogger(ChannelSender.class);
+
+    private final EmailDispatcher emailDispatcher;
+    private final SmsDispatcher smsDispatcher;
+    private final NotificationAuditRepository auditRepository;
+    private final NotificationMetrics metrics;
+
+    public ChannelSender(EmailDispatcher emailDispatcher,
+            SmsDispatcher smsDispatcher,
+            NotificationAuditRepository auditRepository,
+            NotificationMetrics metrics) {
+        this.emailDispatcher = emailDispatcher;
+        this.smsDispatcher = smsDispatcher;
+        this.auditRepository = auditRepository;
+        this.metrics = metrics;
+    }
+
+    public void send(NotificationChannel channel, NotificationDelivery delivery) {
+        switch (channel) {
+            case EMAIL -> {
+                EmailMessage emailMessage = delivery.email();
+                metrics.timeDelivery(delivery.type(), channel, () -> emailDispatcher.dispatch(emailMessage));
+                audit(delivery, channel,
+                        NotificationRecord.email(emailMessage.to(), emailMessage.subject(), emailMessage.body(), delivery.type().name()));
+            }
+            case SMS -> {
+                SmsMessage smsMessage = delivery.sms();
+                metrics.timeDelivery(delivery.type(), channel, () -> smsDispatcher.dispatch(smsMessage));
+                audit(delivery, channel, NotificationRecord.sms(smsMessage.to(), smsMessage.body(), delivery.type().name()));
+            }
+        }
+    }
+
+    private void audit(NotificationDelivery delivery, NotificationChannel channel, NotificationRecord record) {
+        try {
+            metrics.timeAuditSave(delivery.type(), channel, () -> auditRepository.save(record));
+        } catch (RuntimeException ex) {
+            metrics.auditSaveFailed(delivery.type(), channel);
+            log.error("Sent {} {} notification {} but could not record it in the audit log", delivery.type(), channel,
+                    record.id(), ex);
+        }
+    }
+}
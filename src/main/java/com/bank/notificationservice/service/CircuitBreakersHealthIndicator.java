@@ -0,0 +1,47 @@
+package com.bank.notificationservice.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the provider circuit breakers under {@code /actuator/health} as the {@code circuitBreakers} component.
+ * An open or half-open breaker reports {@code DEGRADED} rather than {@code DOWN}: the service still accepts
+ * notifications and queues the affected channel for retry, so it should not be restarted or taken out of rotation.
+ */
+@Component
+public class CircuitBreakersHealthIndicator implements HealthIndicator {
+
+    public static final Status DEGRADED = new Status("DEGRADED", "A delivery provider's circuit breaker is not closed");
+
+    private final EmailDispatcher emailDispatcher;
+    private final SmsDispatcher smsDispatcher;
+
+    public CircuitBreakersHealthIndicator(EmailDispatcher emailDispatcher, SmsDispatcher smsDispatcher) {
+        this.emailDispatcher = emailDispatcher;
+        this.smsDispatcher = smsDispatcher;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.up();
+        Stream.of(emailDispatcher.circuitBreaker(), smsDispatcher.circuitBreaker())
+                .filter(breaker -> breaker != null)
+                .forEach(breaker -> {
+                    ProviderCircuitBreaker.State state = breaker.state();
+                    if (state != ProviderCircuitBreaker.State.CLOSED) {
+                        builder.status(DEGRADED);
+                    }
+                    Map<String, Object> details = new LinkedHashMap<>();
+                    details.put("state", state);
+                    details.put("failureRate", breaker.failureRate());
+                    details.put("slowCallRate", breaker.slowCallRate());
+                    builder.withDetail(breaker.provider(), details);
+                });
+        return builder.build();
+    }
+}
@@ -0,0 +1,222 @@
+package com.bank.notificationservice.service;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.model.DeadLetter;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.repository.DeadLetterRepository;
+import com.bank.notificationservice.support.NotificationDelivery;
+import com.bank.notificationservice.support.ProviderRejectedException;
+import com.bank.notificationservice.support.ProviderThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Retries failed channel deliveries in the background and dead-letters those that never succeed.
+ *
+ * <p>Each retry runs on a small scheduled pool, never on a request or dispatch worker thread. The delay before
+ * attempt {@code n + 1} is {@code initialDelay * multiplier^(n - 1)}, capped at {@code maxDelay} and reduced by a
+ * random fraction of up to {@code jitter} so retries of a burst of failures spread out instead of hitting the
+ * provider together. A provider's retry-after hint is honoured when it is longer. After {@code maxAttempts} failed
+ * attempts, or when {@code maxPending} retries are already waiting, the channel is moved to the
+ * {@link DeadLetterRepository}, from where it can be replayed. A {@link ProviderRejectedException}, the provider
+ * refusing that message for good, is moved there at once: retrying it would only spend provider quota and rate limit
+ * permits on the same answer.
+ */
+@Service
+public class DeliveryRetryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(DeliveryRetryScheduler.class);
+
+    /**
+     * What became of a {@link #replay} request.
+     */
+    public enum Replay {
+        SCHEDULED,
+        /** The dead letter had already been taken out of the store, by another replay. */
+        ALREADY_REPLAYED,
+        /** {@code maxPending} retries are already waiting; the dead letter was put back. */
+        QUEUE_FULL
+    }
+
+    private final ChannelSender sender;
+    private final DeadLetterRepository deadLetters;
+    private final NotificationProperties.Retry settings;
+    private final ScheduledThreadPoolExecutor executor;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Counter scheduled;
+    private final Counter recovered;
+    private final Counter exhausted;
+
+    public DeliveryRetryScheduler(ChannelSender sender,
+            DeadLetterRepository deadLetters,
+            NotificationProperties properties,
+            DispatchThreads threads,
+            MeterRegistry meterRegistry) {
+        this.sender = sender;
+        this.deadLetters = deadLetters;
+        this.settings = properties.retry();
+        this.executor = new ScheduledThreadPoolExecutor(settings.threads(), threads.factory("notification-retry-", true));
+        this.executor.setRemoveOnCancelPolicy(true);
+        this.scheduled = Counter.builder("notification.retry.scheduled")
+                .description("Channel deliveries scheduled for another attempt")
+                .register(meterRegistry);
+        this.recovered = Counter.builder("notification.retry.recovered")
+                .description("Channel deliveries that succeeded on a retry")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("notification.retry.exhausted")
+                .description("Channel deliveries moved to the dead letter store")
+                .register(meterRegistry);
+        Gauge.builder("notification.retry.pending", pending, AtomicInteger::get)
+                .description("Channel deliveries waiting for their next attempt")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether failed first attempts should be handed to {@link #schedule}. Replays work either way.
+     */
+    public boolean enabled() {
+        return settings.enabled();
+    }
+
+    /**
+     * Schedules another attempt at a channel whose first attempt failed with {@code failure}.
+     */
+    public void schedule(NotificationDelivery delivery, NotificationChannel channel, Throwable failure) {
+        log.warn("{} {} notification failed: {}", channel, delivery.type(), failure.toString());
+        retryOrDeadLetter(new RetryTask(UUID.randomUUID(), delivery, channel, 1, Instant.now()), failure);
+    }
+
+    /**
+     * Moves a channel that failed with {@code failure} straight to the dead letter store, for callers that cannot
+     * report the failure to anyone and must not lose the notification while retries are disabled.
+     */
+    public void deadLetter(NotificationDelivery delivery, NotificationChannel channel, Throwable failure) {
+        moveToDeadLetters(new RetryTask(UUID.randomUUID(), delivery, channel, 1, Instant.now()), failure);
+    }
+
+    /**
+     * Takes {@code deadLetter} out of the store and attempts it again immediately, with a fresh attempt budget. If
+     * the retry pool cannot accept it, it is put back in the store.
+     */
+    public Replay replay(DeadLetter deadLetter) {
+        if (!deadLetters.remove(deadLetter.id())) {
+            return Replay.ALREADY_REPLAYED;
+        }
+        RetryTask task = new RetryTask(deadLetter.id(), deadLetter.delivery(), deadLetter.channel(), 0, deadLetter.firstFailedAt());
+        if (!submit(task, 0L)) {
+            deadLetters.save(deadLetter);
+            return Replay.QUEUE_FULL;
+        }
+        return Replay.SCHEDULED;
+    }
+
+    /**
+     * How long a caller refused with {@link Replay#QUEUE_FULL} should wait: one initial retry delay, by which time the
+     * retries ahead of it have started to run.
+     */
+    public Duration queueFullRetryAfter() {
+        return settings.initialDelay();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        int dropped = executor.shutdownNow().size();
+        if (dropped > 0) {
+            log.warn("Discarding {} pending notification retries on shutdown", dropped);
+        }
+    }
+
+    private void run(RetryTask task) {
+        pending.decrementAndGet();
+        try {
+            sender.send(task.channel(), task.delivery());
+            recovered.increment();
+            log.info("{} {} notification delivered on attempt {}", task.channel(), task.delivery().type(), task.failedAttempts() + 1);
+        } catch (RuntimeException ex) {
+            retryOrDeadLetter(task.failedAgain(), ex);
+        }
+    }
+
+    private void retryOrDeadLetter(RetryTask task, Throwable failure) {
+        if (!rejected(failure) && task.failedAttempts() < settings.maxAttempts() && submit(task, backoffNanos(task.failedAttempts(), failure))) {
+            return;
+        }
+        moveToDeadLetters(task, failure);
+    }
+
+    private void moveToDeadLetters(RetryTask task, Throwable failure) {
+        exhausted.increment();
+        DeadLetter deadLetter = task.toDeadLetter(describe(failure));
+        deadLetters.save(deadLetter);
+        log.error("{} {} notification to {} dead-lettered after {} attempts: {}",
+                task.channel(), task.delivery().type(), deadLetter.recipient(), task.failedAttempts(), deadLetter.lastError());
+    }
+
+    private boolean submit(RetryTask task, long delayNanos) {
+        if (pending.incrementAndGet() > settings.maxPending()) {
+            pending.decrementAndGet();
+            return false;
+        }
+        try {
+            executor.schedule(() -> run(task), delayNanos, TimeUnit.NANOSECONDS);
+            scheduled.increment();
+            return true;
+        } catch (RejectedExecutionException ex) {
+            pending.decrementAndGet();
+            return false;
+        }
+    }
+
+    long backoffNanos(int failedAttempts, Throwable failure) {
+        double exponential = settings.initialDelay().toNanos() * Math.pow(settings.multiplier(), Math.max(0, failedAttempts - 1));
+        long capped = (long) Math.min(exponential, settings.maxDelay().toNanos());
+        long delay = capped - (long) (capped * settings.jitter() * ThreadLocalRandom.current().nextDouble());
+        if (failure instanceof ProviderThrottledException throttled && throttled.retryAfter() != null) {
+            delay = Math.max(delay, throttled.retryAfter().toNanos());
+        }
+        return delay;
+    }
+
+    /* Dispatchers wrap provider exceptions, so the rejection may be anywhere in the chain. */
+    private static boolean rejected(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause() != cause ? cause.getCause() : null) {
+            if (cause instanceof ProviderRejectedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String describe(Throwable failure) {
+        Throwable root = failure;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root == failure ? failure.toString() : failure.getMessage() + " (caused by " + root + ")";
+    }
+
+    private record RetryTask(UUID id, NotificationDelivery delivery, NotificationChannel channel, int failedAttempts, Instant firstFailedAt) {
+
+        RetryTask failedAgain() {
+            return new RetryTask(id, delivery, channel, failedAttempts + 1, firstFailedAt);
+        }
+
+        DeadLetter toDeadLetter(String lastError) {
+            String recipient = channel == NotificationChannel.EMAIL ? delivery.email().to() : delivery.sms().to();
+            return new DeadLetter(id, delivery.type(), channel, recipient, failedAttempts, firstFailedAt, Instant.now(), lastError, delivery);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.bank.notificationservice.service;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.support.DeliveryOutcome;
+import com.bank.notificationservice.support.NotificationDelivery;
+import com.bank.notificationservice.support.NotificationDeliveryException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Hands composed notifications to the {@link NotificationDispatcher}.
+ *
+ * <p>In {@code SYNC} mode the delivery runs on the calling thread. In {@code ASYNC} mode it is placed on a bounded
+ * work queue drained by a fixed worker pool, so the caller only pays for validation and composition. A full queue
+ * is reported as a {@link NotificationDeliveryException} rather than blocking the request thread. With virtual
+ * threads the workers are virtual, so {@code worker-threads} can be raised to the number of deliveries that may
+ * block on the providers at once without reserving a platform thread for each.
+ *
+ * <p>The work queue is a {@link WeightedLaneQueue} with one lane per {@link NotificationType}, in declaration order,
+ * which is also priority order. A burst of account events can only fill their own lane, and while every lane has
+ * a backlog the workers serve them in proportion to {@code lane-weights}, so high-value transaction alerts keep
+ * most of the workers without starving the lanes below them. Queue depth, wait and rejections are tagged with the
+ * lane's {@code type}.
+ *
+ * <p>A queued notification has already been acknowledged, so a worker never lets a failure go unrecorded: each
+ * channel that fails is retried or, with retries disabled, moved to the dead letter store by
+ * {@link NotificationDispatcher#dispatchUnattended}, and the notification is counted in
+ * {@code notification.dispatch.failures}.
+ */
+@Service
+public class DispatchPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(DispatchPipeline.class);
+    private static final long SHUTDOWN_GRACE_SECONDS = 30;
+
+    private final NotificationDispatcher dispatcher;
+    private final NotificationProperties.Dispatch settings;
+    private final ThreadPoolExecutor executor;
+    private final Map<NotificationType, Timer> queueWait = new EnumMap<>(NotificationType.class);
+    private final Map<NotificationType, Counter> rejections = new EnumMap<>(NotificationType.class);
+    private final Map<NotificationType, Counter> failures = new EnumMap<>(NotificationType.class);
+
+    public DispatchPipeline(NotificationDispatcher dispatcher,
+            NotificationProperties properties,
+            DispatchThreads threads,
+            MeterRegistry meterRegistry) {
+        this.dispatcher = dispatcher;
+        this.settings = properties.dispatch();
+        for (NotificationType type : NotificationType.values()) {
+            queueWait.put(type, Timer.builder("notification.dispatch.queue.wait")
+                    .description("Time a notification spent queued before a worker picked it up")
+                    .tag("type", NotificationMetrics.tag(type))
+                    .register(meterRegistry));
+            rejections.put(type, Counter.builder("notification.dispatch.queue.rejected")
+                    .description("Notifications rejected because their dispatch lane was full")
+                    .tag("type", NotificationMetrics.tag(type))
+                    .register(meterRegistry));
+            failures.put(type, Counter.builder("notification.dispatch.failures")
+                    .description("Queued notifications with a channel that failed or timed out and was not retried")
+                    .tag("type", NotificationMetrics.tag(type))
+                    .register(meterRegistry));
+        }
+
+        if (settings.mode() == NotificationProperties.Dispatch.Mode.ASYNC) {
+            int[] weights = new int[NotificationType.values().length];
+            for (NotificationType type : NotificationType.values()) {
+                weights[type.ordinal()] = settings.laneWeights().get(type);
+            }
+            WeightedLaneQueue<Runnable> queue = new WeightedLaneQueue<>(weights, settings.queueCapacity(),
+                    task -> ((QueuedDelivery) task).delivery.type().ordinal());
+            this.executor = new ThreadPoolExecutor(
+                    settings.workerThreads(),
+                    settings.workerThreads(),
+                    0L,
+                    TimeUnit.MILLISECONDS,
+                    queue,
+                    threads.factory("notification-dispatch-", false),
+                    new ThreadPoolExecutor.AbortPolicy());
+            for (NotificationType type : NotificationType.values()) {
+                Gauge.builder("notification.dispatch.queue.depth", queue, lanes -> lanes.size(type.ordinal()))
+                        .description("Notifications waiting for a dispatch worker")
+                        .tag("type", NotificationMetrics.tag(type))
+                        .register(meterRegistry);
+            }
+            log.info("Asynchronous dispatch enabled: workers={} laneCapacity={} laneWeights={}",
+                    settings.workerThreads(), settings.queueCapacity(), settings.laneWeights());
+        } else {
+            this.executor = null;
+        }
+    }
+
+    public void submit(NotificationDelivery delivery) {
+        if (executor == null) {
+            dispatcher.dispatch(delivery);
+            return;
+        }
+
+        try {
+            executor.execute(new QueuedDelivery(delivery, System.nanoTime()));
+        } catch (RejectedExecutionException ex) {
+            rejections.get(delivery.type()).increment();
+            throw new NotificationDeliveryException("Notification dispatch queue is full", ex);
+        }
+    }
+
+    /**
+     * Whether {@link #submit} only queues the delivery, so a caller cannot yet say it was sent.
+     */
+    public boolean queuesDeliveries() {
+        return executor != null;
+    }
+
+    /**
+     * Delivers on the calling thread whatever the mode, for callers that may only acknowledge the notification once
+     * it has been sent, or queued for retry, and audited.
+     */
+    public void dispatchNow(NotificationDelivery delivery) {
+        dispatcher.dispatch(delivery);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Dispatch queue did not drain within {}s; {} notifications dropped",
+                    SHUTDOWN_GRACE_SECONDS, executor.shutdownNow().size());
+        }
+    }
+
+    /* The lane queue reads the notification type off each task, so only these are ever submitted to the executor. */
+    private final class QueuedDelivery implements Runnable {
+
+        private final NotificationDelivery delivery;
+        private final long enqueuedAt;
+
+        private QueuedDelivery(NotificationDelivery delivery, long enqueuedAt) {
+            this.delivery = delivery;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        @Override
+        public void run() {
+            queueWait.get(delivery.type()).record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            try {
+                DeliveryOutcome outcome = dispatcher.dispatchUnattended(delivery);
+                if (!outcome.accepted()) {
+                    failures.get(delivery.type()).increment();
+                    log.error("Asynchronous {} notification delivery failed ({})", delivery.type(), outcome.summary(),
+                            outcome.firstFailure());
+                }
+            } catch (RuntimeException ex) {
+                failures.get(delivery.type()).increment();
+                log.error("Asynchronous {} notification delivery failed", delivery.type(), ex);
+            }
+        }
+    }
+}
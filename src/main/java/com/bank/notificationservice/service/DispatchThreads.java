@@ -0,0 +1,86 @@
+package com.bank.notificationservice.service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the threads of the dispatch executors. With {@code spring.threads.virtual.enabled} set on Java 21 or later,
+ * the switch that also moves Tomcat's request handling onto virtual threads, every executor runs its tasks on virtual
+ * threads, so a send blocked on SMTP or Twilio costs a few kilobytes of heap instead of a platform thread. Otherwise
+ * they get named platform threads.
+ */
+@Component
+public class DispatchThreads {
+
+    private static final Logger log = LoggerFactory.getLogger(DispatchThreads.class);
+
+    private final boolean virtual;
+
+    @Autowired
+    public DispatchThreads(Environment environment) {
+        this(Threading.VIRTUAL.isActive(environment));
+        if (!virtual && environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; using platform threads",
+                    Runtime.version().feature());
+        }
+    }
+
+    public DispatchThreads(boolean virtual) {
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later");
+        }
+        this.virtual = virtual;
+    }
+
+    /**
+     * Platform threads only, for code that constructs executors outside Spring.
+     */
+    public static DispatchThreads platform() {
+        return new DispatchThreads(false);
+    }
+
+    public boolean virtual() {
+        return virtual;
+    }
+
+    /**
+     * Threads named {@code prefix} followed by a sequence number. Virtual threads are always daemon threads.
+     */
+    public ThreadFactory factory(String prefix, boolean daemon) {
+        return virtual ? new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory() : platformFactory(prefix, daemon);
+    }
+
+    /**
+     * An executor for tasks that mostly block: one new virtual thread per task in virtual mode, otherwise a fixed pool
+     * of {@code platformThreads}.
+     */
+    public ExecutorService blockingExecutor(String prefix, int platformThreads) {
+        if (virtual) {
+            return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                    factory(prefix, true));
+        }
+        return new ThreadPoolExecutor(platformThreads, platformThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), platformFactory(prefix, false));
+    }
+
+    public static ThreadFactory platformFactory(String prefix, boolean daemon) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(daemon);
+            return thread;
+        };
+    }
+}
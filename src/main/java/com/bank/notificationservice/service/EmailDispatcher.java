@@ -3,12 +3,29 @@ package com.bank.notificationservice.service;
 import com.bank.notificationservice.config.NotificationProperties;
 import com.bank.notificationservice.support.EmailMessage;
 import com.bank.notificationservice.support.NotificationDeliveryException;
+import com.bank.notificationservice.support.ProviderRejectedException;
+import com.bank.notificationservice.support.ProviderThrottledException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import jakarta.mail.MessagingException;
+import jakarta.mail.internet.AddressException;
 import jakarta.mail.internet.MimeMessage;
 import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSenderFailedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
@@ -17,13 +34,31 @@ import org.springframework.stereotype.Service;
 public class EmailDispatcher {
 
     private static final Logger log = LoggerFactory.getLogger(EmailDispatcher.class);
+    private static final String PROVIDER = "smtp";
+    private static final Set<Integer> THROTTLING_REPLIES = Set.of(421, 450, 451, 452);
+    private static final Set<Integer> REJECTION_REPLIES = Set.of(500, 501, 502, 503, 504, 550, 551, 552, 553);
+    private static final Pattern SMTP_REPLY = Pattern.compile("\\s*(\\d{3})[\\s-]");
 
     private final JavaMailSender mailSender;
     private final NotificationProperties properties;
+    private final SmtpTransportPool transportPool;
+    private final ProviderRateLimiter rateLimiter;
+    private final ProviderCircuitBreaker circuitBreaker;
+    private final ExecutorService smtpExecutor;
 
-    public EmailDispatcher(JavaMailSender mailSender, NotificationProperties properties) {
+    public EmailDispatcher(JavaMailSender mailSender,
+            NotificationProperties properties,
+            ObjectProvider<SmtpTransportPool> transportPool,
+            DispatchThreads threads,
+            MeterRegistry meterRegistry) {
         this.mailSender = mailSender;
         this.properties = properties;
+        this.transportPool = transportPool.getIfAvailable();
+        this.rateLimiter = ProviderRateLimiter.create("email", properties.rateLimit().email(), meterRegistry);
+        this.circuitBreaker = ProviderCircuitBreaker.create("email", properties.circuitBreaker().email(), meterRegistry);
+        this.smtpExecutor = threads.virtual()
+                ? Executors.newFixedThreadPool(properties.mail().sendThreads(), DispatchThreads.platformFactory("smtp-send-", true))
+                : null;
     }
 
     public void dispatch(EmailMessage message) {
@@ -32,6 +67,18 @@ public class EmailDispatcher {
             return;
         }
 
+        if (circuitBreaker != null) {
+            circuitBreaker.acquirePermission();
+        }
+        try {
+            if (rateLimiter != null) {
+                rateLimiter.acquire();
+            }
+        } catch (ProviderThrottledException ex) {
+            releasePermission();
+            throw ex;
+        }
+        long start = System.nanoTime();
         try {
             MimeMessage mimeMessage = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, StandardCharsets.UTF_8.name());
@@ -39,10 +86,146 @@ public class EmailDispatcher {
             helper.setTo(message.to());
             helper.setFrom(properties.mail().from());
             helper.setText(message.body(), false);
-            mailSender.send(mimeMessage);
+            send(mimeMessage);
+            if (circuitBreaker != null) {
+                circuitBreaker.onSuccess(System.nanoTime() - start);
+            }
             log.info("Dispatched email notification to {}", message.to());
         } catch (MailException | MessagingException ex) {
+            if (isThrottled(ex)) {
+                releasePermission();
+                if (rateLimiter != null) {
+                    rateLimiter.throttled(null);
+                }
+                throw new ProviderThrottledException(PROVIDER, "SMTP relay is throttling notification email", null, ex);
+            }
+            if (isRejected(ex)) {
+                releasePermission();
+                throw new ProviderRejectedException("SMTP relay rejected notification email", ex);
+            }
+            recordFailure(start);
             throw new NotificationDeliveryException("Failed to send notification email", ex);
+        } catch (RuntimeException ex) {
+            recordFailure(start);
+            throw ex;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (smtpExecutor != null) {
+            smtpExecutor.shutdown();
+        }
+    }
+
+    /**
+     * The breaker in front of the SMTP relay, or {@code null} when it is disabled.
+     */
+    public ProviderCircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Jakarta Mail holds the transport's monitor for the whole SMTP exchange, which pins a virtual thread to its
+     * carrier. With virtual threads the exchange therefore runs on a platform thread while the caller waits unmounted.
+     */
+    private void send(MimeMessage mimeMessage) throws MessagingException {
+        if (smtpExecutor == null) {
+            sendOnCurrentThread(mimeMessage);
+            return;
+        }
+        Future<?> result = smtpExecutor.submit(() -> {
+            sendOnCurrentThread(mimeMessage);
+            return null;
+        });
+        try {
+            result.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof MessagingException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new NotificationDeliveryException("Failed to send notification email", ex.getCause());
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new NotificationDeliveryException("Interrupted while sending notification email", ex);
+        }
+    }
+
+    private void sendOnCurrentThread(MimeMessage mimeMessage) throws MessagingException {
+        if (transportPool != null) {
+            transportPool.send(mimeMessage);
+        } else {
+            mailSender.send(mimeMessage);
+        }
+    }
+
+    private void recordFailure(long start) {
+        if (circuitBreaker != null) {
+            circuitBreaker.onFailure(System.nanoTime() - start);
+        }
+    }
+
+    private void releasePermission() {
+        if (circuitBreaker != null) {
+            circuitBreaker.releasePermission();
+        }
+    }
+
+    /**
+     * Whether the failure carries one of the transient SMTP replies relays use to push back on senders: 421
+     * (service not available, closing channel), 450/451 (try again later) or 452 (too many recipients or messages).
+     */
+    static boolean isThrottled(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MailSendException sendException) {
+                for (Exception nested : sendException.getFailedMessages().values()) {
+                    if (isThrottled(nested)) {
+                        return true;
+                    }
+                }
+            }
+            if (THROTTLING_REPLIES.contains(replyCode(cause))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the relay answered but refused this message itself: an address it cannot parse or deliver to, or a
+     * permanent reply about the command or mailbox (500-504, 550-553). Connection failures, timeouts and other
+     * replies, such as 554, still count against the relay's health.
+     */
+    static boolean isRejected(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MailSendException sendException && !sendException.getFailedMessages().isEmpty()) {
+                return sendException.getFailedMessages().values().stream().allMatch(EmailDispatcher::isRejected);
+            }
+            if (cause instanceof AddressException || REJECTION_REPLIES.contains(replyCode(cause))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int replyCode(Throwable cause) {
+        if (cause instanceof SMTPSendFailedException smtp) {
+            return smtp.getReturnCode();
+        }
+        if (cause instanceof SMTPAddressFailedException smtp) {
+            return smtp.getReturnCode();
+        }
+        if (cause instanceof SMTPSenderFailedException smtp) {
+            return smtp.getReturnCode();
+        }
+        if (cause instanceof MessagingException && cause.getMessage() != null) {
+            Matcher matcher = SMTP_REPLY.matcher(cause.getMessage());
+            return matcher.lookingAt() ? Integer.parseInt(matcher.group(1)) : -1;
         }
+        return -1;
     }
 }
@@ -0,0 +1,173 @@
+package com.bank.notificationservice.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Holds items until a deadline, measured in ticks, in a hierarchy of timing wheels.
+ *
+ * <p>Each of the {@value #LEVELS} wheels has {@value #SLOTS} slots; a slot of level {@code n} spans {@code 64^n}
+ * ticks, so together they reach {@code 64^5} ticks ahead, over 34 years at one-second ticks. An item goes into the
+ * lowest level whose range covers its deadline, in the slot its deadline falls in. Each tick expires the current
+ * slot of level 0, and whenever a level's slot index wraps to zero the next slot of the level above is emptied and
+ * its items placed again, now into a lower level. Scheduling and cancelling are constant time, as slots are
+ * intrusive doubly linked lists, and each item is moved at most once per level on its way down, so the work per
+ * tick does not grow with the number of items waiting. Deadlines further ahead than the wheels reach are held in
+ * the top level and placed again until they come within range.
+ *
+ * <p>Not thread-safe: callers serialize every method on the same lock.
+ */
+class HierarchicalTimingWheel<T> {
+
+    static final int LEVELS = 5;
+    static final int SLOTS = 64;
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final Timeout<T>[][] slots;
+    /* The next tick to process; every item with an earlier deadline has expired. */
+    private long tick;
+    private int size;
+
+    HierarchicalTimingWheel(long startTick) {
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        Timeout<T>[][] slots = new Timeout[LEVELS][SLOTS];
+        for (Timeout<T>[] level : slots) {
+            for (int i = 0; i < SLOTS; i++) {
+                level[i] = Timeout.sentinel();
+            }
+        }
+        this.slots = slots;
+        this.tick = startTick;
+    }
+
+    /**
+     * Adds {@code item} to expire on {@code deadlineTick}, or on the next tick processed if that has already passed.
+     */
+    Timeout<T> schedule(T item, long deadlineTick) {
+        Timeout<T> timeout = new Timeout<>(item, deadlineTick);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * @return {@code false} if the item already expired or was cancelled
+     */
+    boolean cancel(Timeout<T> timeout) {
+        if (timeout.next == null) {
+            return false;
+        }
+        timeout.unlink();
+        size--;
+        return true;
+    }
+
+    /**
+     * Processes every tick up to and including {@code targetTick}, handing each item whose deadline has been reached
+     * to {@code expired}, tick by tick.
+     */
+    void advanceTo(long targetTick, Consumer<? super T> expired) {
+        while (tick <= targetTick) {
+            if (size == 0) {
+                tick = targetTick + 1;
+                return;
+            }
+            int index = (int) (tick & SLOT_MASK);
+            if (index == 0) {
+                for (int level = 1; level < LEVELS; level++) {
+                    int levelIndex = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+                    cascade(slots[level][levelIndex]);
+                    if (levelIndex != 0) {
+                        break;
+                    }
+                }
+            }
+            Timeout<T> head = slots[0][index];
+            while (head.next != head) {
+                Timeout<T> timeout = head.next;
+                timeout.unlink();
+                size--;
+                expired.accept(timeout.item);
+            }
+            tick++;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    long tick() {
+        return tick;
+    }
+
+    private void cascade(Timeout<T> head) {
+        Timeout<T> timeout = head.next;
+        head.next = head;
+        head.prev = head;
+        while (timeout != head) {
+            Timeout<T> next = timeout.next;
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long deadline = Math.max(timeout.deadline, tick);
+        long delta = Math.min(deadline - tick, MAX_DELTA);
+        deadline = tick + delta;
+        int level = 0;
+        while (delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int index = (int) ((deadline >>> (SLOT_BITS * level)) & SLOT_MASK);
+        timeout.linkBefore(slots[level][index]);
+    }
+
+    /**
+     * An item waiting in the wheel; pass it to {@link #cancel} to take the item out early.
+     */
+    static final class Timeout<T> {
+
+        private final T item;
+        private final long deadline;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+
+        private static <T> Timeout<T> sentinel() {
+            Timeout<T> head = new Timeout<>(null, 0L);
+            head.prev = head;
+            head.next = head;
+            return head;
+        }
+
+        T item() {
+            return item;
+        }
+
+        long deadline() {
+            return deadline;
+        }
+
+        private void linkBefore(Timeout<T> head) {
+            prev = head.prev;
+            next = head;
+            head.prev.next = this;
+            head.prev = this;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+    }
+}
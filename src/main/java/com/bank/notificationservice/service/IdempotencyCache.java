@@ -0,0 +1,153 @@
+package com.bank.notificationservice.service;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers the result of each keyed request for {@code notification.idempotency.ttl} so a retried request is
+ * answered with the original result instead of being dispatched again.
+ *
+ * <p>The first request for a key runs; concurrent duplicates wait for it and share its result. A request that throws
+ * is forgotten so the caller's retry runs again. Every entry lives for the same TTL, so insertion order is expiry
+ * order: a queue of entries in insertion order is trimmed from its head on each request, both of expired entries and
+ * of the oldest live ones once {@code maxEntries} is reached, without a background sweeper or per-entry timers. An
+ * entry whose request is still running is moved to the back of the queue instead, so its duplicates keep waiting for
+ * it however long it runs; the cache can briefly hold more than {@code maxEntries} while that many are in flight.
+ *
+ * <p>Keys are held in this instance's memory only, so deduplication is per pod: a retry that a load balancer sends to
+ * another replica, or that arrives after a restart, is dispatched again.
+ */
+@Component
+public class IdempotencyCache {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyCache.class);
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier ticker;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private Counter hits;
+
+    @Autowired
+    public IdempotencyCache(NotificationProperties properties, MeterRegistry meterRegistry) {
+        this(properties.idempotency(), System::nanoTime);
+        this.hits = Counter.builder("notification.idempotency.hits")
+                .description("Duplicate requests answered from the idempotency cache instead of being dispatched")
+                .register(meterRegistry);
+        Gauge.builder("notification.idempotency.size", entries, ConcurrentMap::size)
+                .description("Request keys remembered by the idempotency cache")
+                .register(meterRegistry);
+    }
+
+    IdempotencyCache(NotificationProperties.Idempotency settings, LongSupplier ticker) {
+        this.enabled = settings.enabled();
+        this.ttlNanos = settings.ttl().toNanos();
+        this.maxEntries = settings.maxEntries();
+        this.ticker = ticker;
+    }
+
+    /**
+     * Runs {@code action} unless a request with the same {@code key} ran within the TTL, in which case that request's
+     * result is returned, after waiting for it if it is still running. A {@code null} key always runs.
+     */
+    public <T> T execute(String key, Supplier<T> action) {
+        if (!enabled || key == null) {
+            return action.get();
+        }
+        long now = ticker.getAsLong();
+        trim(now);
+        Entry entry = new Entry(key, now);
+        Entry existing;
+        while ((existing = entries.putIfAbsent(key, entry)) != null) {
+            if (!existing.expired(now, ttlNanos) || !existing.result.isDone()) {
+                return replay(existing);
+            }
+            if (entries.replace(key, existing, entry)) {
+                break;
+            }
+        }
+        insertionOrder.add(entry);
+        try {
+            T result = action.get();
+            entry.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            entries.remove(key, entry);
+            entry.result.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /* Every request for a key comes from the same call site, so its result has the type the caller expects. */
+    @SuppressWarnings("unchecked")
+    private <T> T replay(Entry existing) {
+        if (hits != null) {
+            hits.increment();
+        }
+        log.info("Duplicate request for idempotency key {}; answering with the original result", existing.key);
+        try {
+            return (T) existing.result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /* Each pass requeues at most as many running entries as are cached, so it ends even if all of them are running. */
+    private void trim(long now) {
+        int requeueBudget = entries.size();
+        Entry head;
+        while ((head = insertionOrder.peek()) != null
+                && (head.expired(now, ttlNanos) || entries.size() >= maxEntries || entries.get(head.key) != head)) {
+            if (!insertionOrder.remove(head)) {
+                continue;
+            }
+            if (!head.result.isDone() && entries.get(head.key) == head) {
+                insertionOrder.add(head);
+                if (--requeueBudget < 0) {
+                    return;
+                }
+                continue;
+            }
+            entries.remove(head.key, head);
+        }
+    }
+
+    private static final class Entry {
+
+        private final String key;
+        private final long createdAt;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Entry(String key, long createdAt) {
+            this.key = key;
+            this.createdAt = createdAt;
+        }
+
+        private boolean expired(long now, long ttlNanos) {
+            return now - createdAt >= ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.bank.notificationservice.service;
+
+import com.bank.notificationservice.config.KafkaIngestionConfig;
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.dto.AccountEventNotificationRequest;
+import com.bank.notificationservice.dto.AccountStatusChangeNotificationRequest;
+import com.bank.notificationservice.dto.HighValueTransactionNotificationRequest;
+import com.bank.notificationservice.model.NotificationType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads notification requests from Kafka, one topic per {@link NotificationType}, as an alternative to calling the
+ * REST endpoints once per event.
+ *
+ * <p>Each record value is the JSON payload the matching endpoint accepts. An {@value #EVENT_ID_HEADER} header, when
+ * present, is used as the idempotency key. The record key is not: producers key by account for ordering, so one key
+ * carries many different events. Without the header a high-value transaction is deduplicated on its identifying
+ * fields, like a REST request without an {@code Idempotency-Key}, and other requests on the record's topic, partition
+ * and offset, which still catches redeliveries of the same record.
+ *
+ * <p>Records are handled in partition order and delivered on the consumer thread even in {@code async} dispatch mode,
+ * so by the time the batch's offsets are committed every notification in it has been sent, or queued for retry, and
+ * audited. A record with a later {@code deliverAt}, or an account event arriving in quiet hours, is held like a REST
+ * request instead, and its offset is committed once it is held. Held notifications live only in memory, so one
+ * still waiting when the service shuts down is lost rather than redelivered; see {@link ScheduledDeliveryService}.
+ * A record that fails is reported to the error handler, which commits the records before it and retries from that
+ * record. Records that cannot be parsed or fail validation would fail again on every redelivery, so they are counted
+ * and thrown as a {@link JsonProcessingException} or {@link ConstraintViolationException}, which the error handler
+ * sends straight to the dead-letter topic.
+ */
+@Component
+@ConditionalOnProperty(prefix = "notification.kafka", name = "enabled", havingValue = "true")
+public class KafkaNotificationConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(KafkaNotificationConsumer.class);
+
+    public static final String EVENT_ID_HEADER = "event-id";
+
+    private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final Map<String, NotificationType> topicTypes;
+    private final Map<NotificationType, Counter> rejected = new EnumMap<>(NotificationType.class);
+    private final Timer batches;
+
+    public KafkaNotificationConsumer(NotificationService notificationService,
+            ObjectMapper objectMapper,
+            Validator validator,
+            NotificationProperties properties,
+            MeterRegistry meterRegistry) {
+        this.notificationService = notificationService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        NotificationProperties.Kafka.Topics topics = properties.kafka().topics();
+        this.topicTypes = Map.of(
+                topics.highValueTransaction(), NotificationType.HIGH_VALUE_TRANSACTION,
+                topics.accountStatusChange(), NotificationType.ACCOUNT_STATUS_CHANGE,
+                topics.accountEvent(), NotificationType.ACCOUNT_EVENT);
+        for (NotificationType type : NotificationType.values()) {
+            rejected.put(type, Counter.builder("notification.kafka.rejected")
+                    .description("Kafka records dead-lettered because they were malformed or failed validation")
+                    .tag("type", type.name().toLowerCase(Locale.ROOT).replace('_', '-'))
+                    .register(meterRegistry));
+        }
+        this.batches = Timer.builder("notification.kafka.batch")
+                .description("Time spent delivering one polled batch of Kafka records before its offsets are committed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The topics consumed, referenced by the listener annotation.
+     */
+    public String[] getTopics() {
+        return topicTypes.keySet().toArray(String[]::new);
+    }
+
+    @KafkaListener(
+            id = "notification-ingestion",
+            idIsGroup = false,
+            topics = "#{__listener.topics}",
+            containerFactory = KafkaIngestionConfig.CONTAINER_FACTORY)
+    public void consume(List<ConsumerRecord<String, String>> records) {
+        long start = System.nanoTime();
+        for (int index = 0; index < records.size(); index++) {
+            ConsumerRecord<String, String> record = records.get(index);
+            try {
+                handle(record);
+            } catch (JsonProcessingException | RuntimeException ex) {
+                throw new BatchListenerFailedException("Failed to deliver notification from " + position(record), ex, index);
+            }
+        }
+        batches.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.debug("Delivered batch of {} Kafka records", records.size());
+    }
+
+    private void handle(ConsumerRecord<String, String> record) throws JsonProcessingException {
+        NotificationType type = topicTypes.get(record.topic());
+        if (record.value() == null) {
+            reject(type, record, "empty payload");
+            throw new ConstraintViolationException("Record at " + position(record) + " has no payload", Set.of());
+        }
+        String eventId = eventId(record);
+        try {
+            switch (type) {
+                case HIGH_VALUE_TRANSACTION -> {
+                    HighValueTransactionNotificationRequest request = read(record, HighValueTransactionNotificationRequest.class);
+                    validate(type, record, request);
+                    notificationService.handleHighValueTransaction(request, eventId, true);
+                }
+                case ACCOUNT_STATUS_CHANGE -> {
+                    AccountStatusChangeNotificationRequest request = read(record, AccountStatusChangeNotificationRequest.class);
+                    validate(type, record, request);
+                    notificationService.handleAccountStatusChange(request, eventId != null ? eventId : recordId(record), true);
+                }
+                case ACCOUNT_EVENT -> {
+                    AccountEventNotificationRequest request = read(record, AccountEventNotificationRequest.class);
+                    validate(type, record, request);
+                    notificationService.handleAccountEvent(request, eventId != null ? eventId : recordId(record), true);
+                }
+            }
+        } catch (JsonProcessingException ex) {
+            reject(type, record, ex.getOriginalMessage());
+            throw ex;
+        }
+    }
+
+    private static String eventId(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(EVENT_ID_HEADER);
+        if (header == null || header.value() == null || header.value().length == 0) {
+            return null;
+        }
+        return new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    /* Unique per record and stable across redeliveries of it. */
+    private static String recordId(ConsumerRecord<?, ?> record) {
+        return "kafka:" + position(record);
+    }
+
+    private <T> T read(ConsumerRecord<String, String> record, Class<T> type) throws JsonProcessingException {
+        return objectMapper.readValue(record.value(), type);
+    }
+
+    private <T> void validate(NotificationType type, ConsumerRecord<String, String> record, T request) {
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return;
+        }
+        String reason = violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+        reject(type, record, reason);
+        throw new ConstraintViolationException(reason, violations);
+    }
+
+    private void reject(NotificationType type, ConsumerRecord<String, String> record, String reason) {
+        rejected.get(type).increment();
+        log.warn("Rejecting {} record at {}: {}", type, position(record), reason);
+    }
+
+    private static String position(ConsumerRecord<?, ?> record) {
+        return record.topic() + "-" + record.partition() + "@" + record.offset();
+    }
+}
@@ -5,184 +5,180 @@ import com.bank.notificationservice.dto.AccountStatusChangeNotificationRequest;
 import com.bank.notificationservice.dto.HighValueTransactionNotificationRequest;
 import com.bank.notificationservice.model.AccountEventType;
 import com.bank.notificationservice.support.EmailMessage;
+import com.bank.notificationservice.support.MoneyFormatter;
 import com.bank.notificationservice.support.SmsMessage;
+import com.bank.notificationservice.template.NotificationTemplate;
+import com.bank.notificationservice.template.NotificationTemplates;
+import com.bank.notificationservice.template.TemplateKey;
 import java.math.BigDecimal;
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-import java.text.NumberFormat;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Builds the email and SMS for each notification type from the compiled {@link NotificationTemplates}. The composer
+ * only formats values; all wording lives in the templates, including the subject and message of each account event
+ * type, which are rendered first and then placed in the account event and digest templates.
+ */
 @Component
 public class NotificationComposer {
 
     private static final int SMS_MAX_LENGTH = 140;
-    private static final ZoneId DEFAULT_ZONE = ZoneId.of("Asia/Kolkata");
+    private static final MoneyFormatter SMS_AMOUNT_FORMATTER = MoneyFormatter.forCurrency("INR");
+    static final ZoneId DEFAULT_ZONE = ZoneId.of("Asia/Kolkata");
     private static final DateTimeFormatter TRANSACTION_TIME_FORMATTER =
             DateTimeFormatter.ofPattern("dd MMM yyyy, hh:mm a").withZone(DEFAULT_ZONE);
 
-    public EmailMessage composeHighValueTransaction(HighValueTransactionNotificationRequest request, BigDecimal threshold) {
-        String subject = "High value " + request.getTxnType() + " alert for account " + request.getAccountNumber();
-        String formattedAmount = formatCurrency(request.getAmount(), request.getCurrency());
-        String formattedThreshold = threshold != null ? formatCurrency(threshold, request.getCurrency()) : null;
-
-        StringBuilder body = new StringBuilder()
-                .append("Hi ").append(request.getCustomerName()).append(",\n\n")
-                .append("We detected a high value ").append(request.getTxnType().toLowerCase(Locale.ENGLISH))
-                .append(" on your account ").append(request.getAccountNumber()).append(".\n")
-                .append("Amount: ").append(formattedAmount).append("\n");
-
-        if (formattedThreshold != null) {
-            body.append("Notification threshold: ").append(formattedThreshold).append("\n");
-        }
+    private final NotificationTemplate highValueEmail;
+    private final NotificationTemplate highValueSms;
+    private final NotificationTemplate statusChangeEmail;
+    private final NotificationTemplate statusChangeSms;
+    private final NotificationTemplate accountEventEmail;
+    private final NotificationTemplate accountEventSms;
+    private final NotificationTemplate digestEmail;
+    private final NotificationTemplate digestSms;
+    private final Map<AccountEventType, NotificationTemplate> eventWording = new EnumMap<>(AccountEventType.class);
+
+    public NotificationComposer() {
+        this(NotificationTemplates.defaults());
+    }
 
-        if (request.getCounterparty() != null && !request.getCounterparty().isBlank()) {
-            body.append("Counterparty: ").append(request.getCounterparty()).append("\n");
-        }
-        if (request.getReference() != null && !request.getReference().isBlank()) {
-            body.append("Reference: ").append(request.getReference()).append("\n");
+    @Autowired
+    public NotificationComposer(NotificationTemplates templates) {
+        this.highValueEmail = templates.get(TemplateKey.HIGH_VALUE_TRANSACTION_EMAIL);
+        this.highValueSms = templates.get(TemplateKey.HIGH_VALUE_TRANSACTION_SMS);
+        this.statusChangeEmail = templates.get(TemplateKey.ACCOUNT_STATUS_CHANGE_EMAIL);
+        this.statusChangeSms = templates.get(TemplateKey.ACCOUNT_STATUS_CHANGE_SMS);
+        this.accountEventEmail = templates.get(TemplateKey.ACCOUNT_EVENT_EMAIL);
+        this.accountEventSms = templates.get(TemplateKey.ACCOUNT_EVENT_SMS);
+        this.digestEmail = templates.get(TemplateKey.ACCOUNT_EVENT_DIGEST_EMAIL);
+        this.digestSms = templates.get(TemplateKey.ACCOUNT_EVENT_DIGEST_SMS);
+        for (AccountEventType type : AccountEventType.values()) {
+            eventWording.put(type, templates.event(type));
         }
+    }
 
-        body.append("\nIf you did not authorize this transaction, please contact support immediately.\n\n")
-                .append("Regards,\n")
-                .append("Banking Alerts Team");
-
-        return new EmailMessage(request.getCustomerEmail(), subject, body.toString());
+    public EmailMessage composeHighValueTransaction(HighValueTransactionNotificationRequest request, BigDecimal threshold) {
+        String[] values = {
+                request.getCustomerName(),
+                request.getTxnType(),
+                request.getTxnType().toLowerCase(Locale.ENGLISH),
+                request.getAccountNumber(),
+                formatCurrency(request.getAmount(), request.getCurrency()),
+                threshold != null ? formatCurrency(threshold, request.getCurrency()) : null,
+                request.getCounterparty(),
+                request.getReference()
+        };
+        return new EmailMessage(request.getCustomerEmail(), highValueEmail.renderSubject(values), highValueEmail.renderBody(values));
     }
 
     public EmailMessage composeAccountStatusChange(AccountStatusChangeNotificationRequest request) {
-        String subject = "Account status updated for account " + request.getAccountNumber();
-        StringBuilder body = new StringBuilder()
-                .append("Hi ").append(request.getCustomerName()).append(",\n\n")
-                .append("There has been an update to the status of your account ").append(request.getAccountNumber()).append(".\n")
-                .append("Previous status: ").append(request.getPreviousStatus()).append("\n")
-                .append("Current status: ").append(request.getCurrentStatus()).append("\n");
-
-        if (request.getRemarks() != null && !request.getRemarks().isBlank()) {
-            body.append("Additional details: ").append(request.getRemarks()).append("\n");
-        }
-
-        body.append("\nIf you were not expecting this update, please reach out to customer support.\n\n")
-                .append("Regards,\n")
-                .append("Banking Alerts Team");
-
-        return new EmailMessage(request.getCustomerEmail(), subject, body.toString());
+        String[] values = statusChangeValues(request);
+        return new EmailMessage(request.getCustomerEmail(), statusChangeEmail.renderSubject(values), statusChangeEmail.renderBody(values));
     }
 
     public EmailMessage composeAccountEvent(AccountEventNotificationRequest request) {
-        String subject = eventSubject(request.getEventType(), request.getAccountNumber());
-        StringBuilder body = new StringBuilder()
-                .append("Hi ").append(request.getCustomerName()).append(",\n\n")
-                .append(eventMessage(request)).append("\n");
-
-        if (request.getDescription() != null && !request.getDescription().isBlank()) {
-            body.append("Details: ").append(request.getDescription()).append("\n\n");
-        } else {
-            body.append("\n");
-        }
-
-        body.append("If you have any questions, please contact customer care.\n\n")
-                .append("Regards,\n")
-                .append("Banking Alerts Team");
+        String[] values = accountEventValues(request);
+        return new EmailMessage(request.getCustomerEmail(), accountEventEmail.renderSubject(values), accountEventEmail.renderBody(values));
+    }
 
-        return new EmailMessage(request.getCustomerEmail(), subject, body.toString());
+    /**
+     * One email listing several account events for the same recipient, oldest first; it is addressed to the
+     * recipient and greets the customer name of the latest event.
+     */
+    public EmailMessage composeAccountEventDigest(List<AccountEventNotificationRequest> events) {
+        String[] values = digestValues(events);
+        AccountEventNotificationRequest latest = events.get(events.size() - 1);
+        return new EmailMessage(latest.getCustomerEmail(), digestEmail.renderSubject(values), digestEmail.renderBody(values));
     }
 
     public SmsMessage composeHighValueTransactionSms(HighValueTransactionNotificationRequest request) {
-        String amount = formatAmountForSms(request.getAmount());
-        String transactionTime = formatTransactionTime(request.getTransactionTime());
-        String body = "Dear %s, your account was debited with ₹%s on %s."
-                .formatted(request.getCustomerName(), amount, transactionTime);
+        String body = highValueSms.renderBody(
+                request.getCustomerName(),
+                formatAmountForSms(request.getAmount()),
+                formatTransactionTime(request.getTransactionTime()));
         return new SmsMessage(request.getCustomerPhone(), trimSms(body));
     }
 
     public SmsMessage composeAccountStatusChangeSms(AccountStatusChangeNotificationRequest request) {
-        StringBuilder body = new StringBuilder()
-                .append("Dear ")
-                .append(request.getCustomerName())
-                .append(", your account ")
-                .append(request.getAccountNumber())
-                .append(" status changed from ")
-                .append(request.getPreviousStatus())
-                .append(" to ")
-                .append(request.getCurrentStatus())
-                .append(".");
-
-        if (request.getRemarks() != null && !request.getRemarks().isBlank()) {
-            body.append(" Details: ").append(request.getRemarks());
-        }
+        return new SmsMessage(request.getCustomerPhone(), trimSms(statusChangeSms.renderBody(statusChangeValues(request))));
+    }
 
-        body.append(" Regards, Banking Alerts Team");
+    public SmsMessage composeAccountEventSms(AccountEventNotificationRequest request) {
+        return new SmsMessage(request.getCustomerPhone(), trimSms(accountEventSms.renderBody(accountEventValues(request))));
+    }
 
-        return new SmsMessage(request.getCustomerPhone(), trimSms(body.toString()));
+    public SmsMessage composeAccountEventDigestSms(List<AccountEventNotificationRequest> events) {
+        AccountEventNotificationRequest latest = events.get(events.size() - 1);
+        return new SmsMessage(latest.getCustomerPhone(), trimSms(digestSms.renderBody(digestValues(events))));
     }
 
-    public SmsMessage composeAccountEventSms(AccountEventNotificationRequest request) {
-        StringBuilder body = new StringBuilder()
-                .append("Dear ")
-                .append(request.getCustomerName())
-                .append(", ")
-                .append(eventMessage(request))
-                .append(".");
-
-        if (request.getDescription() != null && !request.getDescription().isBlank()) {
-            body.append(" Details: ").append(request.getDescription());
-        }
+    private String[] statusChangeValues(AccountStatusChangeNotificationRequest request) {
+        return new String[] {
+                request.getCustomerName(),
+                request.getAccountNumber(),
+                request.getPreviousStatus(),
+                request.getCurrentStatus(),
+                request.getRemarks()
+        };
+    }
 
-        body.append(" Regards, Banking Alerts Team");
+    private String[] accountEventValues(AccountEventNotificationRequest request) {
+        return new String[] {
+                request.getCustomerName(),
+                request.getAccountNumber(),
+                eventSubject(request),
+                eventMessage(request),
+                request.getDescription()
+        };
+    }
 
-        return new SmsMessage(request.getCustomerPhone(), trimSms(body.toString()));
+    private String[] digestValues(List<AccountEventNotificationRequest> events) {
+        StringBuilder list = new StringBuilder(events.size() * 96);
+        StringJoiner subjects = new StringJoiner("; ");
+        for (AccountEventNotificationRequest event : events) {
+            String subject = eventSubject(event);
+            if (list.length() > 0) {
+                list.append('\n');
+            }
+            list.append("- ").append(subject).append(": ").append(eventMessage(event));
+            if (event.getDescription() != null && !event.getDescription().isBlank()) {
+                list.append(" Details: ").append(event.getDescription());
+            }
+            subjects.add(subject);
+        }
+        return new String[] {
+                events.get(events.size() - 1).getCustomerName(),
+                Integer.toString(events.size()),
+                list.toString(),
+                subjects.toString()
+        };
     }
 
     private String formatCurrency(BigDecimal value, String currencyCode) {
-        try {
-            NumberFormat customFormatter = NumberFormat.getCurrencyInstance(Locale.US);
-            customFormatter.setCurrency(java.util.Currency.getInstance(currencyCode));
-            return customFormatter.format(value);
-        } catch (Exception ignored) {
-            NumberFormat fallback = NumberFormat.getCurrencyInstance(Locale.US);
-            return fallback.format(value);
-        }
+        return MoneyFormatter.forCurrency(currencyCode).format(value);
     }
 
-    private String eventSubject(AccountEventType type, String accountNumber) {
-        return switch (type) {
-            case ACCOUNT_NUMBER_UPDATED -> "Account number updated for account " + accountNumber;
-            case CONTACT_INFORMATION_UPDATED -> "Contact information updated";
-            case DOCUMENT_UPDATED -> "Documents updated for your account";
-            case LOAN_TAKEN -> "Loan disbursal confirmation";
-            case LOAN_CLEARED -> "Congratulations! Your loan is closed";
-            case BILL_CLEARED -> "Bill payment confirmation";
-        };
+    private String eventSubject(AccountEventNotificationRequest request) {
+        return eventWording.get(request.getEventType()).renderSubject(request.getAccountNumber());
     }
 
     private String eventMessage(AccountEventNotificationRequest request) {
-        return switch (request.getEventType()) {
-            case ACCOUNT_NUMBER_UPDATED ->
-                    "Your account number was recently updated for account " + request.getAccountNumber() + ".";
-            case CONTACT_INFORMATION_UPDATED ->
-                    "Your contact information linked to account " + request.getAccountNumber() + " was updated.";
-            case DOCUMENT_UPDATED ->
-                    "New documents were added or existing documents were updated for your account.";
-            case LOAN_TAKEN ->
-                    "We have processed your new loan request successfully.";
-            case LOAN_CLEARED ->
-                    "We have received full repayment of your loan associated with account " + request.getAccountNumber() + ".";
-            case BILL_CLEARED ->
-                    "Your recent bill has been cleared for account " + request.getAccountNumber() + ".";
-        };
+        return eventWording.get(request.getEventType()).renderBody(request.getAccountNumber());
     }
 
     private String formatAmountForSms(BigDecimal amount) {
         if (amount == null) {
             return "0.00";
         }
-        DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.ENGLISH);
-        DecimalFormat formatter = new DecimalFormat("##,##,##0.00", symbols);
-        return formatter.format(amount);
+        return SMS_AMOUNT_FORMATTER.appendAmount(amount, new StringBuilder(16)).toString();
     }
 
     private String formatTransactionTime(Instant timestamp) {
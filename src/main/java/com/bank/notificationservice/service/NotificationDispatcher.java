@@ -0,0 +1,201 @@
+package com.bank.notificationservice.service;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.support.ChannelResult;
+import com.bank.notificationservice.support.DeliveryOutcome;
+import com.bank.notificationservice.support.NotificationDelivery;
+import com.bank.notificationservice.support.NotificationDeliveryException;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Sends a composed notification through the email and SMS dispatchers and records each send in the audit log.
+ *
+ * <p>By default the channels are sent one after the other. With fan-out enabled both channels are submitted to a
+ * dedicated executor at the same time and each is given the configured channel timeout, so a notification costs
+ * the slower of the two providers instead of their sum and one failing channel does not stop the other. With
+ * virtual threads every channel send gets its own virtual thread instead of waiting for one of the fan-out threads.
+ *
+ * <p>With retries enabled a channel that fails is handed to the {@link DeliveryRetryScheduler} instead of failing
+ * the notification, so the caller sees success as soon as every channel is either sent or queued for retry. A
+ * fan-out channel that times out is only retried once its late attempt has actually failed; without retries it is
+ * interrupted and reported as timed out. {@link #dispatchUnattended} is for deliveries no caller is waiting on: there
+ * a failed channel goes to the dead letter store when retries are disabled, so it is never lost silently.
+ */
+@Service
+public class NotificationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final ChannelSender channelSender;
+    private final DeliveryRetryScheduler retryScheduler;
+    private final Duration channelTimeout;
+    private final ExecutorService fanOutExecutor;
+
+    public NotificationDispatcher(ChannelSender channelSender,
+            DeliveryRetryScheduler retryScheduler,
+            NotificationProperties properties,
+            DispatchThreads threads) {
+        this.channelSender = channelSender;
+        this.retryScheduler = retryScheduler;
+        this.channelTimeout = properties.dispatch().channelTimeout();
+        this.fanOutExecutor = properties.dispatch().fanOut()
+                ? threads.blockingExecutor("notification-fanout-", properties.dispatch().fanOutThreads())
+                : null;
+    }
+
+    public DeliveryOutcome dispatch(NotificationDelivery delivery) {
+        return dispatch(delivery, false);
+    }
+
+    /**
+     * Like {@link #dispatch}, but never fails: with retries disabled every channel is attempted and one that fails is
+     * moved to the dead letter store, as is a timed-out fan-out channel once its late attempt fails. The outcome
+     * reports those channels as {@code DEAD_LETTERED} and {@code TIMED_OUT}.
+     */
+    public DeliveryOutcome dispatchUnattended(NotificationDelivery delivery) {
+        return dispatch(delivery, true);
+    }
+
+    private DeliveryOutcome dispatch(NotificationDelivery delivery, boolean unattended) {
+        if (fanOutExecutor == null) {
+            ChannelResult email = sendInline(NotificationChannel.EMAIL, delivery, unattended);
+            ChannelResult sms = sendInline(NotificationChannel.SMS, delivery, unattended);
+            return new DeliveryOutcome(email, sms);
+        }
+
+        long deadline = System.nanoTime() + channelTimeout.toNanos();
+        ChannelSend email = submit(NotificationChannel.EMAIL, delivery);
+        ChannelSend sms = submit(NotificationChannel.SMS, delivery);
+        DeliveryOutcome outcome = new DeliveryOutcome(
+                handOffIfFailed(await(email, delivery, deadline, unattended), delivery, unattended),
+                handOffIfFailed(await(sms, delivery, deadline, unattended), delivery, unattended));
+
+        if (!unattended && !outcome.accepted()) {
+            throw new NotificationDeliveryException(
+                    "Failed to deliver " + delivery.type() + " notification (" + outcome.summary() + ")",
+                    outcome.firstFailure());
+        }
+        return outcome;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdown();
+        }
+    }
+
+    private ChannelSend submit(NotificationChannel channel, NotificationDelivery delivery) {
+        if (!delivery.includes(channel)) {
+            return new ChannelSend(channel, CompletableFuture.completedFuture(ChannelResult.skipped(channel)), null);
+        }
+        CompletableFuture<ChannelResult> result = new CompletableFuture<>();
+        Future<?> task = fanOutExecutor.submit(() -> {
+            try {
+                result.complete(send(channel, delivery));
+            } catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        return new ChannelSend(channel, result, task);
+    }
+
+    private ChannelResult send(NotificationChannel channel, NotificationDelivery delivery) {
+        if (!delivery.includes(channel)) {
+            return ChannelResult.skipped(channel);
+        }
+        channelSender.send(channel, delivery);
+        return ChannelResult.sent(channel);
+    }
+
+    /*
+     * Sequential mode: without retries a failure propagates at once and the remaining channel is not attempted, unless
+     * the delivery is unattended.
+     */
+    private ChannelResult sendInline(NotificationChannel channel, NotificationDelivery delivery, boolean unattended) {
+        try {
+            return send(channel, delivery);
+        } catch (RuntimeException ex) {
+            if (!retryScheduler.enabled() && !unattended) {
+                throw ex;
+            }
+            return handOff(delivery, channel, ex);
+        }
+    }
+
+    private ChannelResult handOffIfFailed(ChannelResult result, NotificationDelivery delivery, boolean unattended) {
+        if (result.status() != ChannelResult.Status.FAILED || (!retryScheduler.enabled() && !unattended)) {
+            return result;
+        }
+        return handOff(delivery, result.channel(), result.failure());
+    }
+
+    private ChannelResult handOff(NotificationDelivery delivery, NotificationChannel channel, Throwable failure) {
+        if (retryScheduler.enabled()) {
+            retryScheduler.schedule(delivery, channel, failure);
+            return ChannelResult.retrying(channel, failure);
+        }
+        retryScheduler.deadLetter(delivery, channel, failure);
+        return ChannelResult.deadLettered(channel, failure);
+    }
+
+    private ChannelResult await(ChannelSend send, NotificationDelivery delivery, long deadline, boolean unattended) {
+        try {
+            return send.result().get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            log.warn("{} delivery did not complete within {}", send.channel(), channelTimeout);
+            if (!retryScheduler.enabled()) {
+                if (unattended) {
+                    handOffIfLateSendFails(send, delivery);
+                } else {
+                    send.cancel();
+                }
+                return ChannelResult.timedOut(send.channel());
+            }
+            handOffIfLateSendFails(send, delivery);
+            return ChannelResult.retrying(send.channel(), new NotificationDeliveryException(
+                    send.channel() + " delivery timed out after " + channelTimeout, null));
+        } catch (ExecutionException ex) {
+            return ChannelResult.failed(send.channel(), ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            send.cancel();
+            return ChannelResult.failed(send.channel(), ex);
+        }
+    }
+
+    /*
+     * A timed-out send may still reach the provider, so it is left running rather than interrupted, and retried only
+     * if it then fails. Retrying at once would send the notification twice whenever the slow attempt got through.
+     */
+    private void handOffIfLateSendFails(ChannelSend send, NotificationDelivery delivery) {
+        send.result().whenComplete((result, failure) -> {
+            if (failure == null) {
+                log.info("{} {} notification was sent after its timeout; no retry needed", send.channel(), delivery.type());
+            } else {
+                handOff(delivery, send.channel(), failure);
+            }
+        });
+    }
+
+    /* A fan-out send in flight: its result, and the executor task to interrupt if it is abandoned. */
+    private record ChannelSend(NotificationChannel channel, CompletableFuture<ChannelResult> result, Future<?> task) {
+
+        void cancel() {
+            if (task != null) {
+                task.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.bank.notificationservice.service;
+
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.support.ProviderThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timers and counters for each stage a notification passes through, tagged by notification type and channel, so a
+ * latency increase can be traced to composition, one provider or the audit log.
+ *
+ * <p>Every meter is registered up front and looked up by enum, so recording costs no tag allocation or registry
+ * lookup on the request path. Percentile histograms are enabled in configuration for all {@code notification.*}
+ * timers.
+ */
+@Component
+public class NotificationMetrics {
+
+    /**
+     * How a request that was not a duplicate ended; duplicates are counted by {@code notification.idempotency.hits}.
+     */
+    public enum RequestOutcome {
+        DISPATCHED,
+        BELOW_THRESHOLD,
+        DIGESTED,
+        SCHEDULED
+    }
+
+    private enum DeliveryOutcome {
+        SUCCESS,
+        THROTTLED,
+        FAILURE
+    }
+
+    private final Map<NotificationType, Map<NotificationChannel, Timer>> compose = new EnumMap<>(NotificationType.class);
+    private final Map<NotificationType, Map<NotificationChannel, Map<DeliveryOutcome, Timer>>> delivery =
+            new EnumMap<>(NotificationType.class);
+    private final Map<NotificationType, Map<NotificationChannel, Timer>> auditSave = new EnumMap<>(NotificationType.class);
+    private final Map<NotificationType, Map<NotificationChannel, Counter>> auditSaveFailures =
+            new EnumMap<>(NotificationType.class);
+    private final Map<NotificationType, Map<RequestOutcome, Counter>> requests = new EnumMap<>(NotificationType.class);
+    private final Timer historyQuery;
+    private final Timer pageQuery;
+    private final Timer searchQuery;
+
+    public NotificationMetrics(MeterRegistry meterRegistry) {
+        for (NotificationType type : NotificationType.values()) {
+            Map<NotificationChannel, Timer> composeByChannel = new EnumMap<>(NotificationChannel.class);
+            Map<NotificationChannel, Map<DeliveryOutcome, Timer>> deliveryByChannel = new EnumMap<>(NotificationChannel.class);
+            Map<NotificationChannel, Timer> auditByChannel = new EnumMap<>(NotificationChannel.class);
+            Map<NotificationChannel, Counter> auditFailuresByChannel = new EnumMap<>(NotificationChannel.class);
+            for (NotificationChannel channel : NotificationChannel.values()) {
+                composeByChannel.put(channel, Timer.builder("notification.compose")
+                        .description("Time spent rendering a notification from its template")
+                        .tags("type", tag(type), "channel", tag(channel))
+                        .register(meterRegistry));
+                Map<DeliveryOutcome, Timer> byOutcome = new EnumMap<>(DeliveryOutcome.class);
+                for (DeliveryOutcome outcome : DeliveryOutcome.values()) {
+                    byOutcome.put(outcome, Timer.builder("notification.delivery")
+                            .description("Time spent handing a notification to the email or SMS provider")
+                            .tags("type", tag(type), "channel", tag(channel), "outcome", tag(outcome))
+                            .register(meterRegistry));
+                }
+                deliveryByChannel.put(channel, byOutcome);
+                auditByChannel.put(channel, Timer.builder("notification.audit.save")
+                        .description("Time spent recording a delivered notification in the audit log")
+                        .tags("type", tag(type), "channel", tag(channel))
+                        .register(meterRegistry));
+                auditFailuresByChannel.put(channel, Counter.builder("notification.audit.save.failures")
+                        .description("Delivered notifications that could not be recorded in the audit log")
+                        .tags("type", tag(type), "channel", tag(channel))
+                        .register(meterRegistry));
+            }
+            compose.put(type, composeByChannel);
+            delivery.put(type, deliveryByChannel);
+            auditSave.put(type, auditByChannel);
+            auditSaveFailures.put(type, auditFailuresByChannel);
+            Map<RequestOutcome, Counter> requestsByOutcome = new EnumMap<>(RequestOutcome.class);
+            for (RequestOutcome outcome : RequestOutcome.values()) {
+                requestsByOutcome.put(outcome, Counter.builder("notification.requests")
+                        .description("Notification requests handled")
+                        .tags("type", tag(type), "outcome", tag(outcome))
+                        .register(meterRegistry));
+            }
+            requests.put(type, requestsByOutcome);
+        }
+        this.historyQuery = auditQueryTimer(meterRegistry, "history");
+        this.pageQuery = auditQueryTimer(meterRegistry, "page");
+        this.searchQuery = auditQueryTimer(meterRegistry, "search");
+    }
+
+    public <T> T timeCompose(NotificationType type, NotificationChannel channel, Supplier<T> composition) {
+        return compose.get(type).get(channel).record(composition);
+    }
+
+    /**
+     * Runs {@code send} and records its duration tagged {@code outcome=success}, {@code throttled} (the provider
+     * pushed back or its circuit breaker is open) or {@code failure}.
+     */
+    public void timeDelivery(NotificationType type, NotificationChannel channel, Runnable send) {
+        Map<DeliveryOutcome, Timer> timers = delivery.get(type).get(channel);
+        long start = System.nanoTime();
+        DeliveryOutcome outcome = DeliveryOutcome.FAILURE;
+        try {
+            send.run();
+            outcome = DeliveryOutcome.SUCCESS;
+        } catch (ProviderThrottledException ex) {
+            outcome = DeliveryOutcome.THROTTLED;
+            throw ex;
+        } finally {
+            timers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void timeAuditSave(NotificationType type, NotificationChannel channel, Runnable save) {
+        auditSave.get(type).get(channel).record(save);
+    }
+
+    public void auditSaveFailed(NotificationType type, NotificationChannel channel) {
+        auditSaveFailures.get(type).get(channel).increment();
+    }
+
+    public <T> T timeHistoryQuery(Supplier<T> query) {
+        return historyQuery.record(query);
+    }
+
+    public <T> T timePageQuery(Supplier<T> query) {
+        return pageQuery.record(query);
+    }
+
+    public <T> T timeSearchQuery(Supplier<T> query) {
+        return searchQuery.record(query);
+    }
+
+    public void request(NotificationType type, RequestOutcome outcome) {
+        requests.get(type).get(outcome).increment();
+    }
+
+    private static Timer auditQueryTimer(MeterRegistry meterRegistry, String query) {
+        return Timer.builder("notification.audit.find")
+                .description("Time spent reading notification history from the audit log")
+                .tag("query", query)
+                .register(meterRegistry);
+    }
+
+    static String tag(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
@@ -4,14 +4,24 @@ import com.bank.notificationservice.config.NotificationProperties;
 import com.bank.notificationservice.dto.AccountEventNotificationRequest;
 import com.bank.notificationservice.dto.AccountStatusChangeNotificationRequest;
 import com.bank.notificationservice.dto.HighValueTransactionNotificationRequest;
+import com.bank.notificationservice.model.NotificationChannel;
 import com.bank.notificationservice.model.NotificationRecord;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.model.ScheduledDelivery;
+import com.bank.notificationservice.repository.AuditCursor;
+import com.bank.notificationservice.repository.AuditQuery;
 import com.bank.notificationservice.repository.NotificationAuditRepository;
+import com.bank.notificationservice.support.ChannelSelection;
 import com.bank.notificationservice.support.EmailMessage;
+import com.bank.notificationservice.support.NotificationDelivery;
+import com.bank.notificationservice.support.NotificationOutcome;
 import com.bank.notificationservice.support.SmsMessage;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -20,70 +30,231 @@ import org.springframework.stereotype.Service;
 public class NotificationService {
 
     private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
-    private static final String HIGH_VALUE_TYPE = "HIGH_VALUE_TRANSACTION";
-    private static final String ACCOUNT_STATUS_TYPE = "ACCOUNT_STATUS_CHANGE";
-    private static final String ACCOUNT_EVENT_TYPE = "ACCOUNT_EVENT";
 
     private final NotificationComposer composer;
-    private final EmailDispatcher emailDispatcher;
-    private final SmsDispatcher smsDispatcher;
+    private final DispatchPipeline dispatchPipeline;
     private final NotificationProperties properties;
     private final NotificationAuditRepository auditRepository;
+    private final IdempotencyCache idempotencyCache;
+    private final NotificationMetrics metrics;
+    private final AccountEventDigester digester;
+    private final ChannelRouter router;
+    private final ScheduledDeliveryService scheduledDeliveries;
 
     public NotificationService(NotificationComposer composer,
-            EmailDispatcher emailDispatcher,
-            SmsDispatcher smsDispatcher,
+            DispatchPipeline dispatchPipeline,
             NotificationProperties properties,
-            NotificationAuditRepository auditRepository) {
+            NotificationAuditRepository auditRepository,
+            IdempotencyCache idempotencyCache,
+            NotificationMetrics metrics,
+            AccountEventDigester digester,
+            ChannelRouter router,
+            ScheduledDeliveryService scheduledDeliveries) {
         this.composer = composer;
-        this.emailDispatcher = emailDispatcher;
-        this.smsDispatcher = smsDispatcher;
+        this.dispatchPipeline = dispatchPipeline;
         this.properties = properties;
         this.auditRepository = auditRepository;
+        this.idempotencyCache = idempotencyCache;
+        this.metrics = metrics;
+        this.digester = digester;
+        this.router = router;
+        this.scheduledDeliveries = scheduledDeliveries;
     }
 
-    public boolean handleHighValueTransaction(HighValueTransactionNotificationRequest request) {
+    public NotificationOutcome handleHighValueTransaction(HighValueTransactionNotificationRequest request) {
+        return handleHighValueTransaction(request, null);
+    }
+
+    /**
+     * Handles the transaction once per {@code idempotencyKey}, or, when the caller sends none, once per account,
+     * reference, amount and transaction time; a duplicate returns the original result without dispatching again.
+     */
+    public NotificationOutcome handleHighValueTransaction(HighValueTransactionNotificationRequest request,
+            String idempotencyKey) {
+        return handleHighValueTransaction(request, idempotencyKey, false);
+    }
+
+    public NotificationOutcome handleAccountStatusChange(AccountStatusChangeNotificationRequest request) {
+        return handleAccountStatusChange(request, null);
+    }
+
+    /**
+     * Handles the status change once per {@code idempotencyKey}; a {@code null} key is never deduplicated.
+     */
+    public NotificationOutcome handleAccountStatusChange(AccountStatusChangeNotificationRequest request,
+            String idempotencyKey) {
+        return handleAccountStatusChange(request, idempotencyKey, false);
+    }
+
+    public NotificationOutcome handleAccountEvent(AccountEventNotificationRequest request) {
+        return handleAccountEvent(request, null);
+    }
+
+    /**
+     * Handles the account event once per {@code idempotencyKey}; a {@code null} key is never deduplicated.
+     */
+    public NotificationOutcome handleAccountEvent(AccountEventNotificationRequest request, String idempotencyKey) {
+        return handleAccountEvent(request, idempotencyKey, false);
+    }
+
+    /**
+     * Like {@link #handleHighValueTransaction(HighValueTransactionNotificationRequest, String)}, but with
+     * {@code inline} the notification is delivered on the calling thread even in {@code async} dispatch mode, so on
+     * return it has been sent, or queued for retry, and audited. Inline notifications are never held for a digest, but
+     * one with a later {@code deliverAt}, or falling in quiet hours, is still held and returns as soon as it is; it is
+     * then sent like any other held notification, and lost like one if the service shuts down first.
+     */
+    public NotificationOutcome handleHighValueTransaction(HighValueTransactionNotificationRequest request,
+            String idempotencyKey, boolean inline) {
+        String key = idempotencyKey != null ? "high-value:" + idempotencyKey : transactionKey(request);
+        return idempotencyCache.execute(key, () -> dispatchHighValueTransaction(request, inline));
+    }
+
+    public NotificationOutcome handleAccountStatusChange(AccountStatusChangeNotificationRequest request,
+            String idempotencyKey, boolean inline) {
+        String key = idempotencyKey != null ? "status-change:" + idempotencyKey : null;
+        return idempotencyCache.execute(key, () -> dispatchAccountStatusChange(request, inline));
+    }
+
+    public NotificationOutcome handleAccountEvent(AccountEventNotificationRequest request, String idempotencyKey,
+            boolean inline) {
+        String key = idempotencyKey != null ? "account-event:" + idempotencyKey : null;
+        return idempotencyCache.execute(key, () -> dispatchAccountEvent(request, inline));
+    }
+
+    private NotificationOutcome dispatchHighValueTransaction(HighValueTransactionNotificationRequest request,
+            boolean inline) {
         BigDecimal threshold = resolveThreshold(request);
         if (request.getAmount().compareTo(threshold) < 0) {
             log.info("Skipping high value alert for transaction below threshold: amount={} threshold={} account={}",
                     request.getAmount(), threshold, request.getAccountNumber());
-            return false;
+            metrics.request(NotificationType.HIGH_VALUE_TRANSACTION, NotificationMetrics.RequestOutcome.BELOW_THRESHOLD);
+            return NotificationOutcome.BELOW_THRESHOLD;
+        }
+        Optional<ScheduledDelivery> scheduled = scheduledDeliveries.defer(request, () -> sendHighValueTransaction(request, threshold, false));
+        if (scheduled.isPresent()) {
+            metrics.request(NotificationType.HIGH_VALUE_TRANSACTION, NotificationMetrics.RequestOutcome.SCHEDULED);
+            return NotificationOutcome.scheduled(scheduled.get());
+        }
+        return sendHighValueTransaction(request, threshold, inline);
+    }
+
+    private NotificationOutcome sendHighValueTransaction(HighValueTransactionNotificationRequest request, BigDecimal threshold,
+            boolean inline) {
+        ChannelSelection channels = router.route(request);
+        EmailMessage emailMessage = channels.includes(NotificationChannel.EMAIL)
+                ? metrics.timeCompose(NotificationType.HIGH_VALUE_TRANSACTION, NotificationChannel.EMAIL,
+                        () -> composer.composeHighValueTransaction(request, threshold))
+                : null;
+        SmsMessage smsMessage = channels.includes(NotificationChannel.SMS)
+                ? metrics.timeCompose(NotificationType.HIGH_VALUE_TRANSACTION, NotificationChannel.SMS,
+                        () -> composer.composeHighValueTransactionSms(request))
+                : null;
+        return submit(new NotificationDelivery(NotificationType.HIGH_VALUE_TRANSACTION, emailMessage, smsMessage), inline);
+    }
+
+    private NotificationOutcome dispatchAccountStatusChange(AccountStatusChangeNotificationRequest request,
+            boolean inline) {
+        Optional<ScheduledDelivery> scheduled = scheduledDeliveries.defer(request, () -> sendAccountStatusChange(request, false));
+        if (scheduled.isPresent()) {
+            metrics.request(NotificationType.ACCOUNT_STATUS_CHANGE, NotificationMetrics.RequestOutcome.SCHEDULED);
+            return NotificationOutcome.scheduled(scheduled.get());
         }
-        EmailMessage emailMessage = composer.composeHighValueTransaction(request, threshold);
-        emailDispatcher.dispatch(emailMessage);
-        auditRepository.save(NotificationRecord.email(emailMessage.to(), emailMessage.subject(), emailMessage.body(), HIGH_VALUE_TYPE));
+        return sendAccountStatusChange(request, inline);
+    }
 
-        SmsMessage smsMessage = composer.composeHighValueTransactionSms(request);
-        smsDispatcher.dispatch(smsMessage);
-        auditRepository.save(NotificationRecord.sms(smsMessage.to(), smsMessage.body(), HIGH_VALUE_TYPE));
-        return true;
+    private NotificationOutcome sendAccountStatusChange(AccountStatusChangeNotificationRequest request,
+            boolean inline) {
+        ChannelSelection channels = router.route(request);
+        EmailMessage emailMessage = channels.includes(NotificationChannel.EMAIL)
+                ? metrics.timeCompose(NotificationType.ACCOUNT_STATUS_CHANGE, NotificationChannel.EMAIL,
+                        () -> composer.composeAccountStatusChange(request))
+                : null;
+        SmsMessage smsMessage = channels.includes(NotificationChannel.SMS)
+                ? metrics.timeCompose(NotificationType.ACCOUNT_STATUS_CHANGE, NotificationChannel.SMS,
+                        () -> composer.composeAccountStatusChangeSms(request))
+                : null;
+        return submit(new NotificationDelivery(NotificationType.ACCOUNT_STATUS_CHANGE, emailMessage, smsMessage), inline);
     }
 
-    public boolean handleAccountStatusChange(AccountStatusChangeNotificationRequest request) {
-        EmailMessage emailMessage = composer.composeAccountStatusChange(request);
-        emailDispatcher.dispatch(emailMessage);
-        auditRepository.save(NotificationRecord.email(emailMessage.to(), emailMessage.subject(), emailMessage.body(), ACCOUNT_STATUS_TYPE));
+    private NotificationOutcome dispatchAccountEvent(AccountEventNotificationRequest request, boolean inline) {
+        Optional<ScheduledDelivery> scheduled = scheduledDeliveries.defer(request, () -> sendAccountEvent(request, false));
+        if (scheduled.isPresent()) {
+            metrics.request(NotificationType.ACCOUNT_EVENT, NotificationMetrics.RequestOutcome.SCHEDULED);
+            return NotificationOutcome.scheduled(scheduled.get());
+        }
+        return sendAccountEvent(request, inline);
+    }
 
-        SmsMessage smsMessage = composer.composeAccountStatusChangeSms(request);
-        smsDispatcher.dispatch(smsMessage);
-        auditRepository.save(NotificationRecord.sms(smsMessage.to(), smsMessage.body(), HIGH_VALUE_TYPE));
-        return true;
+    /* Held account events pass through here when released, so those released together can still share a digest. */
+    private NotificationOutcome sendAccountEvent(AccountEventNotificationRequest request, boolean inline) {
+        if (!inline && digester.offer(request)) {
+            metrics.request(NotificationType.ACCOUNT_EVENT, NotificationMetrics.RequestOutcome.DIGESTED);
+            return NotificationOutcome.ACCEPTED;
+        }
+        ChannelSelection channels = router.route(request);
+        EmailMessage emailMessage = channels.includes(NotificationChannel.EMAIL)
+                ? metrics.timeCompose(NotificationType.ACCOUNT_EVENT, NotificationChannel.EMAIL,
+                        () -> composer.composeAccountEvent(request))
+                : null;
+        SmsMessage smsMessage = channels.includes(NotificationChannel.SMS)
+                ? metrics.timeCompose(NotificationType.ACCOUNT_EVENT, NotificationChannel.SMS,
+                        () -> composer.composeAccountEventSms(request))
+                : null;
+        return submit(new NotificationDelivery(NotificationType.ACCOUNT_EVENT, emailMessage, smsMessage), inline);
     }
 
-    public boolean handleAccountEvent(AccountEventNotificationRequest request) {
-        EmailMessage emailMessage = composer.composeAccountEvent(request);
-        emailDispatcher.dispatch(emailMessage);
-        auditRepository.save(NotificationRecord.email(emailMessage.to(), emailMessage.subject(), emailMessage.body(), ACCOUNT_EVENT_TYPE));
+    private NotificationOutcome submit(NotificationDelivery delivery, boolean inline) {
+        if (inline) {
+            dispatchPipeline.dispatchNow(delivery);
+        } else {
+            dispatchPipeline.submit(delivery);
+        }
+        metrics.request(delivery.type(), NotificationMetrics.RequestOutcome.DISPATCHED);
+        return NotificationOutcome.ACCEPTED;
+    }
 
-        SmsMessage smsMessage = composer.composeAccountEventSms(request);
-        smsDispatcher.dispatch(smsMessage);
-        auditRepository.save(NotificationRecord.sms(smsMessage.to(), smsMessage.body(), ACCOUNT_EVENT_TYPE));
-        return true;
+    /**
+     * Whether accepted notifications are only queued for delivery when the request returns, as in {@code async} mode.
+     */
+    public boolean queuesDeliveries() {
+        return dispatchPipeline.queuesDeliveries();
     }
 
     public List<NotificationRecord> fetchNotificationsForPastWeek() {
-        Instant since = Instant.now().minus(7, ChronoUnit.DAYS);
-        return auditRepository.findSince(since);
+        return metrics.timeHistoryQuery(() -> auditRepository.findSince(startOfHistoryWindow()));
+    }
+
+    public List<NotificationRecord> fetchNotificationPage(AuditCursor after, NotificationChannel channel, NotificationType type, int limit) {
+        return metrics.timePageQuery(() -> auditRepository.find(new AuditQuery(startOfHistoryWindow(), null, after, null,
+                channel, type, limit)));
+    }
+
+    public Stream<NotificationRecord> streamNotificationsForPastWeek(NotificationChannel channel, NotificationType type) {
+        return auditRepository.stream(new AuditQuery(startOfHistoryWindow(), null, null, null, channel, type,
+                Integer.MAX_VALUE));
+    }
+
+    /**
+     * Any retained notifications matching the query, not only the past week's.
+     */
+    public List<NotificationRecord> searchNotifications(AuditQuery query) {
+        return metrics.timeSearchQuery(() -> auditRepository.find(query));
+    }
+
+    private Instant startOfHistoryWindow() {
+        return Instant.now().minus(7, ChronoUnit.DAYS);
+    }
+
+    /*
+     * Upstream retries resend the same transaction, so its identifying fields make a key even without a header.
+     * Without a transactionTime the request's receipt time is used and the key never repeats.
+     */
+    private static String transactionKey(HighValueTransactionNotificationRequest request) {
+        return "transaction:" + request.getAccountNumber()
+                + '|' + request.getReference()
+                + '|' + request.getAmount().stripTrailingZeros().toPlainString()
+                + '|' + request.getTransactionTime();
     }
 
     private BigDecimal resolveThreshold(HighValueTransactionNotificationRequest request) {
@@ -0,0 +1,265 @@
+package com.bank.notificationservice.service;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.support.ProviderThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Circuit breaker in front of one delivery provider, so a provider that is down costs a failed permission check
+ * instead of a connect or socket timeout per send.
+ *
+ * <p>While {@code CLOSED} the outcome of the last {@code slidingWindowSize} calls is kept in a ring buffer. Once at
+ * least {@code minimumCalls} are recorded, a failure rate or slow-call rate at or above its threshold opens the
+ * breaker; calls slower than {@code slowCallDuration} count as slow whether or not they succeed. While {@code OPEN}
+ * every send is refused immediately with a {@link ProviderThrottledException} whose retry-after is the time left
+ * until {@code waitInOpen} elapses. The breaker then turns {@code HALF_OPEN} and lets
+ * {@code permittedCallsInHalfOpen} probe calls through: if their failure and slow-call rates are below the
+ * thresholds it closes with an empty window, otherwise it opens again.
+ *
+ * <p>Callers take a permission with {@link #acquirePermission()} and must report it back exactly once through
+ * {@link #onSuccess}, {@link #onFailure} or, for outcomes that say nothing about the provider's health such as
+ * throttling or a rejected recipient, {@link #releasePermission()}. Only transport failures, timeouts and server
+ * errors are reported as failures.
+ */
+public class ProviderCircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(ProviderCircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final String provider;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long waitInOpenNanos;
+    private final int permittedCallsInHalfOpen;
+    private final LongSupplier ticker;
+
+    private final byte[] window;
+    private int windowPosition;
+    private int recordedCalls;
+    private int failedCalls;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+
+    private Counter successCounter;
+    private Counter failureCounter;
+    private Counter rejectedCounter;
+    private Counter slowCounter;
+    private final Map<State, Counter> transitionCounters = new EnumMap<>(State.class);
+
+    ProviderCircuitBreaker(String provider, NotificationProperties.CircuitBreaker.Provider settings, LongSupplier ticker) {
+        this.provider = provider;
+        this.window = new byte[settings.slidingWindowSize()];
+        this.minimumCalls = Math.min(settings.minimumCalls(), settings.slidingWindowSize());
+        this.failureRateThreshold = settings.failureRateThreshold();
+        this.slowCallRateThreshold = settings.slowCallRateThreshold();
+        this.slowCallNanos = settings.slowCallDuration().toNanos();
+        this.waitInOpenNanos = settings.waitInOpen().toNanos();
+        this.permittedCallsInHalfOpen = settings.permittedCallsInHalfOpen();
+        this.ticker = ticker;
+    }
+
+    /**
+     * Breaker for {@code provider}, or {@code null} when it is disabled for it. Metrics are tagged with the provider
+     * name.
+     */
+    public static ProviderCircuitBreaker create(String provider,
+            NotificationProperties.CircuitBreaker.Provider settings,
+            MeterRegistry meterRegistry) {
+        if (!settings.enabled()) {
+            return null;
+        }
+        ProviderCircuitBreaker breaker = new ProviderCircuitBreaker(provider, settings, System::nanoTime);
+        breaker.registerMetrics(meterRegistry);
+        return breaker;
+    }
+
+    public String provider() {
+        return provider;
+    }
+
+    /**
+     * Takes a permission to call the provider.
+     *
+     * @throws ProviderThrottledException if the breaker is open, or half-open with every probe already in flight
+     */
+    public synchronized void acquirePermission() {
+        long now = ticker.getAsLong();
+        if (state == State.OPEN && now - openedAt >= waitInOpenNanos) {
+            transitionTo(State.HALF_OPEN, now);
+        }
+        if (state == State.OPEN || (state == State.HALF_OPEN && halfOpenPermits == 0)) {
+            increment(rejectedCounter);
+            Duration retryAfter = Duration.ofNanos(Math.max(0, openedAt + waitInOpenNanos - now));
+            throw new ProviderThrottledException(provider, "Circuit breaker for " + provider + " is " + state
+                    + "; not calling the provider", retryAfter, null);
+        }
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits--;
+        }
+    }
+
+    /**
+     * Records a provider call that succeeded after {@code durationNanos}.
+     */
+    public void onSuccess(long durationNanos) {
+        record(durationNanos, false);
+    }
+
+    /**
+     * Records a provider call that failed after {@code durationNanos} in a way that suggests the provider is
+     * unhealthy.
+     */
+    public void onFailure(long durationNanos) {
+        record(durationNanos, true);
+    }
+
+    /**
+     * Returns a permission without recording an outcome.
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermits < permittedCallsInHalfOpen - recordedCalls) {
+            halfOpenPermits++;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * Percentage of failed calls in the current window, or -1 until {@code minimumCalls} have been recorded.
+     */
+    public synchronized double failureRate() {
+        return recordedCalls < requiredCalls() ? -1 : 100.0 * failedCalls / recordedCalls;
+    }
+
+    /**
+     * Percentage of slow calls in the current window, or -1 until {@code minimumCalls} have been recorded.
+     */
+    public synchronized double slowCallRate() {
+        return recordedCalls < requiredCalls() ? -1 : 100.0 * slowCalls / recordedCalls;
+    }
+
+    private synchronized void record(long durationNanos, boolean failed) {
+        boolean slow = durationNanos >= slowCallNanos;
+        increment(failed ? failureCounter : successCounter);
+        if (slow) {
+            increment(slowCounter);
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        byte outcome = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+        if (recordedCalls == window.length) {
+            byte evicted = window[windowPosition];
+            failedCalls -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+            recordedCalls--;
+        }
+        window[windowPosition] = outcome;
+        windowPosition = (windowPosition + 1) % window.length;
+        recordedCalls++;
+        failedCalls += outcome & FAILED;
+        slowCalls += (outcome & SLOW) >> 1;
+
+        if (recordedCalls < requiredCalls()) {
+            return;
+        }
+        boolean unhealthy = 100.0 * failedCalls / recordedCalls >= failureRateThreshold
+                || 100.0 * slowCalls / recordedCalls >= slowCallRateThreshold;
+        if (unhealthy) {
+            transitionTo(State.OPEN, ticker.getAsLong());
+        } else if (state == State.HALF_OPEN) {
+            transitionTo(State.CLOSED, ticker.getAsLong());
+        }
+    }
+
+    private int requiredCalls() {
+        return state == State.HALF_OPEN ? Math.min(permittedCallsInHalfOpen, window.length) : minimumCalls;
+    }
+
+    private void transitionTo(State next, long now) {
+        State previous = state;
+        state = next;
+        recordedCalls = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+        windowPosition = 0;
+        if (next == State.OPEN) {
+            openedAt = now;
+            log.warn("{} circuit breaker {} -> OPEN; failing sends fast for {}", provider, previous, Duration.ofNanos(waitInOpenNanos));
+        } else {
+            halfOpenPermits = next == State.HALF_OPEN ? permittedCallsInHalfOpen : 0;
+            log.info("{} circuit breaker {} -> {}", provider, previous, next);
+        }
+        increment(transitionCounters.get(next));
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        for (State candidate : State.values()) {
+            Gauge.builder("notification.circuitbreaker.state", this, breaker -> breaker.state() == candidate ? 1 : 0)
+                    .description("1 for the breaker's current state, 0 for the others")
+                    .tag("provider", provider)
+                    .tag("state", candidate.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+            transitionCounters.put(candidate, Counter.builder("notification.circuitbreaker.transitions")
+                    .description("Breaker state changes, tagged with the state entered")
+                    .tag("provider", provider)
+                    .tag("state", candidate.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        Gauge.builder("notification.circuitbreaker.failure.rate", this, ProviderCircuitBreaker::failureRate)
+                .description("Percentage of failed calls in the sliding window; -1 until enough calls are recorded")
+                .baseUnit("percent")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("notification.circuitbreaker.slow.call.rate", this, ProviderCircuitBreaker::slowCallRate)
+                .description("Percentage of slow calls in the sliding window; -1 until enough calls are recorded")
+                .baseUnit("percent")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        successCounter = callCounter(meterRegistry, "success");
+        failureCounter = callCounter(meterRegistry, "failure");
+        rejectedCounter = callCounter(meterRegistry, "rejected");
+        slowCounter = Counter.builder("notification.circuitbreaker.slow.calls")
+                .description("Provider calls slower than the slow-call duration")
+                .tag("provider", provider)
+                .register(meterRegistry);
+    }
+
+    private Counter callCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("notification.circuitbreaker.calls")
+                .description("Provider calls through the breaker; rejected calls never reached the provider")
+                .tag("provider", provider)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
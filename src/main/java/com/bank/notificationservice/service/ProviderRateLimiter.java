@@ -0,0 +1,203 @@
+package com.bank.notificationservice.service;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.support.ProviderThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Token bucket limiting how fast one delivery provider is called, with additive-increase/multiplicative-decrease
+ * adaptation to provider throttling.
+ *
+ * <p>The bucket refills at the current rate up to {@code burst} tokens and each send takes one. When no token is
+ * available the caller waits for the next one, so bursts turn into a steady stream instead of errors; if the wait
+ * would exceed {@code maxWait} the send is refused with a {@link ProviderThrottledException} instead. Every throttling
+ * signal from the provider cuts the rate by {@code backoffFactor} (at most once per {@link #THROTTLE_DEBOUNCE}, so
+ * one burst of rejections counts once), empties the bucket and honours any retry-after hint. Each
+ * {@code recoveryInterval} without a throttling signal then adds back a tenth of the configured rate.
+ */
+public class ProviderRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(ProviderRateLimiter.class);
+
+    static final Duration THROTTLE_DEBOUNCE = Duration.ofSeconds(1);
+    private static final double RECOVERY_STEP = 0.1;
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final String provider;
+    private final double configuredRate;
+    private final double minRate;
+    private final double burst;
+    private final long maxWaitNanos;
+    private final double backoffFactor;
+    private final long recoveryIntervalNanos;
+    private final LongSupplier ticker;
+
+    private double rate;
+    private double tokens;
+    private long lastRefill;
+    private long lastAdjustment;
+    private long lastThrottle;
+    private long pausedUntil;
+
+    private Counter throttledCounter;
+    private Counter rejectedCounter;
+    private Timer waitTimer;
+
+    ProviderRateLimiter(String provider, NotificationProperties.RateLimit.Provider settings, LongSupplier ticker) {
+        this.provider = provider;
+        this.configuredRate = settings.permitsPerSecond();
+        this.minRate = Math.min(settings.minPermitsPerSecond(), settings.permitsPerSecond());
+        this.burst = settings.burst();
+        this.maxWaitNanos = settings.maxWait().toNanos();
+        this.backoffFactor = settings.backoffFactor();
+        this.recoveryIntervalNanos = settings.recoveryInterval().toNanos();
+        this.ticker = ticker;
+        long now = ticker.getAsLong();
+        this.rate = configuredRate;
+        this.tokens = burst;
+        this.lastRefill = now;
+        this.lastAdjustment = now;
+        this.lastThrottle = now - THROTTLE_DEBOUNCE.toNanos();
+        this.pausedUntil = now;
+    }
+
+    /**
+     * Limiter for {@code provider}, or {@code null} when limiting is disabled for it. Metrics are tagged with the
+     * provider name.
+     */
+    public static ProviderRateLimiter create(String provider,
+            NotificationProperties.RateLimit.Provider settings,
+            MeterRegistry meterRegistry) {
+        if (!settings.enabled()) {
+            return null;
+        }
+        ProviderRateLimiter limiter = new ProviderRateLimiter(provider, settings, System::nanoTime);
+        limiter.registerMetrics(meterRegistry);
+        return limiter;
+    }
+
+    /**
+     * Blocks until a permit is available.
+     *
+     * @throws ProviderThrottledException if a permit would not be available within {@code maxWait}
+     */
+    public void acquire() {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            LockSupport.parkNanos(waitNanos);
+        }
+        if (waitTimer != null) {
+            waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Reports that the provider refused a send as too fast. {@code retryAfter} may be {@code null}.
+     */
+    public synchronized void throttled(Duration retryAfter) {
+        long now = ticker.getAsLong();
+        if (throttledCounter != null) {
+            throttledCounter.increment();
+        }
+        if (retryAfter != null && !retryAfter.isNegative()) {
+            pausedUntil = Math.max(pausedUntil, now + retryAfter.toNanos());
+        }
+        if (now - lastThrottle < THROTTLE_DEBOUNCE.toNanos()) {
+            return;
+        }
+        refill(now);
+        double previous = rate;
+        rate = Math.max(minRate, rate * backoffFactor);
+        tokens = Math.min(tokens, 0);
+        lastThrottle = now;
+        lastAdjustment = now;
+        log.warn("{} provider is throttling; reducing send rate from {} to {} per second", provider, previous, rate);
+    }
+
+    /**
+     * Takes a permit and returns how long the caller must wait before using it.
+     */
+    synchronized long reserve() {
+        long now = ticker.getAsLong();
+        recover(now);
+        refill(now);
+        long pause = Math.max(0, pausedUntil - now);
+        long waitNanos = pause + (tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / rate * NANOS_PER_SECOND));
+        if (waitNanos > maxWaitNanos) {
+            if (rejectedCounter != null) {
+                rejectedCounter.increment();
+            }
+            throw new ProviderThrottledException(provider, "Rate limit for " + provider + " exceeded; next permit in "
+                    + Duration.ofNanos(waitNanos), Duration.ofNanos(waitNanos), null);
+        }
+        tokens -= 1;
+        return waitNanos;
+    }
+
+    synchronized double currentRate() {
+        return rate;
+    }
+
+    synchronized double availableTokens() {
+        refill(ticker.getAsLong());
+        return tokens;
+    }
+
+    private void refill(long now) {
+        long from = Math.max(lastRefill, pausedUntil);
+        if (now > from) {
+            tokens = Math.min(burst, tokens + (now - from) * rate / NANOS_PER_SECOND);
+        }
+        lastRefill = Math.max(lastRefill, now);
+    }
+
+    private void recover(long now) {
+        if (rate >= configuredRate) {
+            return;
+        }
+        long steps = (now - lastAdjustment) / recoveryIntervalNanos;
+        if (steps > 0) {
+            refill(now);
+            rate = Math.min(configuredRate, rate + steps * configuredRate * RECOVERY_STEP);
+            lastAdjustment += steps * recoveryIntervalNanos;
+        }
+    }
+
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("notification.ratelimit.rate", this, ProviderRateLimiter::currentRate)
+                .description("Current permitted send rate, after adaptation to provider throttling")
+                .baseUnit("messages/s")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("notification.ratelimit.configured.rate", () -> configuredRate)
+                .description("Configured send rate the limiter recovers towards")
+                .baseUnit("messages/s")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("notification.ratelimit.tokens", this, ProviderRateLimiter::availableTokens)
+                .description("Permits available for immediate use; negative when senders are queued")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        throttledCounter = Counter.builder("notification.ratelimit.throttled")
+                .description("Throttling responses received from the provider")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("notification.ratelimit.rejected")
+                .description("Sends refused because a permit was not available within the maximum wait")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        waitTimer = Timer.builder("notification.ratelimit.wait")
+                .description("Time senders waited for a permit")
+                .tag("provider", provider)
+                .register(meterRegistry);
+    }
+}
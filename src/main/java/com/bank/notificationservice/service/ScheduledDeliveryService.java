@@ -0,0 +1,371 @@
+package com.bank.notificationservice.service;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.dto.AccountEventNotificationRequest;
+import com.bank.notificationservice.dto.AccountStatusChangeNotificationRequest;
+import com.bank.notificationservice.dto.HighValueTransactionNotificationRequest;
+import com.bank.notificationservice.model.AccountEventType;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.model.ScheduledDelivery;
+import com.bank.notificationservice.support.NotificationDeliveryException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Holds notifications until a later time: the request's {@code deliverAt}, or, for account events of the quiet-hours
+ * types, the end of quiet hours.
+ *
+ * <p>Held notifications wait in a {@link HierarchicalTimingWheel} advanced by a single thread once per {@code tick},
+ * so holding, releasing and cancelling one costs the same whether ten or ten million are waiting, and no timer or
+ * thread is created per notification. A notification is never released before its time and at most one tick after
+ * it. Released notifications are handed back to the caller's send action on a small pool, so a slow send does not
+ * delay the ticks.
+ *
+ * <p>Held notifications live in memory only. Those still waiting at shutdown, or released while it is under way,
+ * are lost: they are counted in {@code notification.scheduled.discarded} and logged, but neither sent nor
+ * persisted, so a notification that must survive a deploy has to be held by the caller instead.
+ */
+@Service
+public class ScheduledDeliveryService {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduledDeliveryService.class);
+    private static final Comparator<ScheduledDelivery> SOONEST_FIRST = Comparator.comparing(ScheduledDelivery::deliverAt)
+            .thenComparing(ScheduledDelivery::scheduledAt);
+
+    private final NotificationProperties.Scheduling settings;
+    private final NotificationProperties.Scheduling.QuietHours quietHours;
+    private final ZoneId quietHoursZone;
+    private final Clock clock;
+    private final long tickMillis;
+    private final Executor releaseExecutor;
+    private final ReentrantLock lock = new ReentrantLock();
+    /* Guarded by lock. */
+    private final HierarchicalTimingWheel<Held> wheel;
+    private final Map<UUID, HierarchicalTimingWheel.Timeout<Held>> byId = new ConcurrentHashMap<>();
+    /* Updated under lock; read without it. */
+    private final Map<String, Set<UUID>> idsByAccount = new ConcurrentHashMap<>();
+    private final Map<NotificationType, AtomicInteger> pending = new EnumMap<>(NotificationType.class);
+    private final Counter released;
+    private final Counter cancelled;
+    private final Counter rejected;
+    private final Counter discarded;
+    private final Timer lateness;
+    private ScheduledThreadPoolExecutor ticker;
+
+    @Autowired
+    public ScheduledDeliveryService(NotificationProperties properties, DispatchThreads threads, MeterRegistry meterRegistry) {
+        this(properties, Clock.systemUTC(),
+                threads.blockingExecutor("notification-scheduled-", properties.scheduling().threads()), meterRegistry);
+        this.ticker = new ScheduledThreadPoolExecutor(1, threads.factory("notification-scheduler-", true));
+        this.ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    ScheduledDeliveryService(NotificationProperties properties, Clock clock, Executor releaseExecutor,
+            MeterRegistry meterRegistry) {
+        this.settings = properties.scheduling();
+        this.quietHours = settings.quietHours();
+        this.quietHoursZone = quietHours.zone() != null ? quietHours.zone() : NotificationComposer.DEFAULT_ZONE;
+        this.clock = clock;
+        this.tickMillis = Math.max(1L, settings.tick().toMillis());
+        this.releaseExecutor = releaseExecutor;
+        this.wheel = new HierarchicalTimingWheel<>(Math.floorDiv(clock.millis(), tickMillis));
+        for (NotificationType type : NotificationType.values()) {
+            AtomicInteger count = new AtomicInteger();
+            pending.put(type, count);
+            Gauge.builder("notification.scheduled.pending", count, AtomicInteger::get)
+                    .description("Notifications held for later delivery")
+                    .tag("type", NotificationMetrics.tag(type))
+                    .register(meterRegistry);
+        }
+        this.released = Counter.builder("notification.scheduled.released")
+                .description("Held notifications released for delivery")
+                .register(meterRegistry);
+        this.cancelled = Counter.builder("notification.scheduled.cancelled")
+                .description("Held notifications cancelled before their delivery time")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("notification.scheduled.rejected")
+                .description("Notifications sent back to the caller because max-pending were already held")
+                .register(meterRegistry);
+        this.discarded = Counter.builder("notification.scheduled.discarded")
+                .description("Held notifications lost because the service shut down before they were sent")
+                .register(meterRegistry);
+        this.lateness = Timer.builder("notification.scheduled.lateness")
+                .description("Time between a held notification's delivery time and its release")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Holds the transaction alert if the request asks for a later {@code deliverAt}, to be sent by {@code send}.
+     * Held notifications are lost if the service shuts down first.
+     *
+     * @return the held notification, or empty if it should be sent now
+     * @throws NotificationDeliveryException if {@code maxPending} notifications are already held
+     */
+    public Optional<ScheduledDelivery> defer(HighValueTransactionNotificationRequest request, Runnable send) {
+        return defer(NotificationType.HIGH_VALUE_TRANSACTION, null, request.getAccountNumber(), request.getCustomerEmail(),
+                request.getDeliverAt(), send);
+    }
+
+    public Optional<ScheduledDelivery> defer(AccountStatusChangeNotificationRequest request, Runnable send) {
+        return defer(NotificationType.ACCOUNT_STATUS_CHANGE, null, request.getAccountNumber(), request.getCustomerEmail(),
+                request.getDeliverAt(), send);
+    }
+
+    /**
+     * Like the other overloads, and also holds an account event of a quiet-hours type that is due in quiet hours.
+     */
+    public Optional<ScheduledDelivery> defer(AccountEventNotificationRequest request, Runnable send) {
+        return defer(NotificationType.ACCOUNT_EVENT, request.getEventType(), request.getAccountNumber(),
+                request.getCustomerEmail(), request.getDeliverAt(), send);
+    }
+
+    /**
+     * Takes a held notification out before its delivery time.
+     *
+     * @return {@code false} if there is none with this id, including one already released
+     */
+    public boolean cancel(UUID id) {
+        HierarchicalTimingWheel.Timeout<Held> timeout;
+        boolean removed;
+        lock.lock();
+        try {
+            timeout = byId.remove(id);
+            removed = timeout != null && wheel.cancel(timeout);
+            if (removed) {
+                unindex(timeout.item().delivery());
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (!removed) {
+            return false;
+        }
+        pending.get(timeout.item().delivery().type()).decrementAndGet();
+        cancelled.increment();
+        log.info("Cancelled {} notification {} held until {}", timeout.item().delivery().type(), id,
+                timeout.item().delivery().deliverAt());
+        return true;
+    }
+
+    public Optional<ScheduledDelivery> findById(UUID id) {
+        HierarchicalTimingWheel.Timeout<Held> timeout = byId.get(id);
+        return Optional.ofNullable(timeout).map(held -> held.item().delivery());
+    }
+
+    /**
+     * Up to {@code limit} held notifications matching the optional type and account number, soonest first. With an
+     * account number only that account's notifications are read; without one every held notification is scanned,
+     * but only the {@code limit} soonest are kept, never a sorted copy of all of them.
+     */
+    public List<ScheduledDelivery> find(NotificationType type, String accountNumber, int limit) {
+        Predicate<ScheduledDelivery> matches = delivery -> type == null || delivery.type() == type;
+        if (accountNumber == null) {
+            return soonest(byId.values(), matches, limit);
+        }
+        Set<UUID> ids = idsByAccount.get(accountNumber);
+        if (ids == null) {
+            return List.of();
+        }
+        List<HierarchicalTimingWheel.Timeout<Held>> held = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            HierarchicalTimingWheel.Timeout<Held> timeout = byId.get(id);
+            if (timeout != null) {
+                held.add(timeout);
+            }
+        }
+        return soonest(held, matches, limit);
+    }
+
+    /**
+     * Releases every notification whose delivery time has passed.
+     */
+    void tick() {
+        List<Held> due = new ArrayList<>();
+        lock.lock();
+        try {
+            wheel.advanceTo(Math.floorDiv(clock.millis(), tickMillis), due::add);
+            for (Held held : due) {
+                byId.remove(held.delivery().id());
+                unindex(held.delivery());
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Held held : due) {
+            release(held);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+        if (releaseExecutor instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+        List<ScheduledDelivery> lost = new ArrayList<>();
+        lock.lock();
+        try {
+            for (HierarchicalTimingWheel.Timeout<Held> timeout : byId.values()) {
+                if (wheel.cancel(timeout)) {
+                    lost.add(timeout.item().delivery());
+                }
+            }
+            byId.clear();
+            idsByAccount.clear();
+        } finally {
+            lock.unlock();
+        }
+        for (ScheduledDelivery delivery : lost) {
+            pending.get(delivery.type()).decrementAndGet();
+        }
+        if (!lost.isEmpty()) {
+            discarded.increment(lost.size());
+            log.warn("Discarding {} held notifications on shutdown; they will not be sent", lost.size());
+        }
+    }
+
+    private Optional<ScheduledDelivery> defer(NotificationType type, AccountEventType eventType, String accountNumber,
+            String recipient, Instant deliverAt, Runnable send) {
+        Instant now = clock.instant();
+        Instant releaseAt = deliverAt != null && deliverAt.isAfter(now) ? deliverAt : now;
+        ScheduledDelivery.Reason reason = ScheduledDelivery.Reason.REQUESTED;
+        if (eventType != null && quietHours.enabled() && quietHours.eventTypes().contains(eventType)) {
+            Instant quietHoursEnd = quietHoursEnd(releaseAt);
+            if (quietHoursEnd != null) {
+                releaseAt = quietHoursEnd;
+                reason = ScheduledDelivery.Reason.QUIET_HOURS;
+            }
+        }
+        if (!releaseAt.isAfter(now)) {
+            return Optional.empty();
+        }
+
+        ScheduledDelivery delivery = new ScheduledDelivery(UUID.randomUUID(), type, eventType, accountNumber, recipient,
+                now, releaseAt, reason);
+        lock.lock();
+        try {
+            if (wheel.size() >= settings.maxPending()) {
+                rejected.increment();
+                throw new NotificationDeliveryException("Scheduled delivery is full", null);
+            }
+            byId.put(delivery.id(), wheel.schedule(new Held(delivery, send), deadlineTick(releaseAt)));
+            if (accountNumber != null) {
+                idsByAccount.computeIfAbsent(accountNumber, key -> ConcurrentHashMap.newKeySet()).add(delivery.id());
+            }
+        } finally {
+            lock.unlock();
+        }
+        pending.get(type).incrementAndGet();
+        log.debug("Holding {} notification {} for account {} until {} ({})", type, delivery.id(), accountNumber,
+                releaseAt, reason);
+        return Optional.of(delivery);
+    }
+
+    /* The end of the quiet hours that {@code at} falls in, or null if it falls outside them. */
+    private Instant quietHoursEnd(Instant at) {
+        LocalTime start = quietHours.start();
+        LocalTime end = quietHours.end();
+        ZonedDateTime local = at.atZone(quietHoursZone);
+        LocalTime time = local.toLocalTime();
+        boolean quiet = start.isBefore(end)
+                ? !time.isBefore(start) && time.isBefore(end)
+                : start.isAfter(end) && (!time.isBefore(start) || time.isBefore(end));
+        if (!quiet) {
+            return null;
+        }
+        ZonedDateTime endAt = local.with(end);
+        return (endAt.isAfter(local) ? endAt : endAt.plusDays(1)).toInstant();
+    }
+
+    /* Called under lock. */
+    private void unindex(ScheduledDelivery delivery) {
+        if (delivery.accountNumber() != null) {
+            idsByAccount.computeIfPresent(delivery.accountNumber(), (key, ids) -> {
+                ids.remove(delivery.id());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /* The limit soonest matches, kept in a heap whose head is the latest of them, so memory is bounded by limit. */
+    private static List<ScheduledDelivery> soonest(Iterable<HierarchicalTimingWheel.Timeout<Held>> held,
+            Predicate<ScheduledDelivery> matches, int limit) {
+        PriorityQueue<ScheduledDelivery> latestFirst = new PriorityQueue<>(SOONEST_FIRST.reversed());
+        for (HierarchicalTimingWheel.Timeout<Held> timeout : held) {
+            ScheduledDelivery delivery = timeout.item().delivery();
+            if (!matches.test(delivery)) {
+                continue;
+            }
+            if (latestFirst.size() < limit) {
+                latestFirst.add(delivery);
+            } else if (SOONEST_FIRST.compare(delivery, latestFirst.peek()) < 0) {
+                latestFirst.poll();
+                latestFirst.add(delivery);
+            }
+        }
+        List<ScheduledDelivery> found = new ArrayList<>(latestFirst);
+        found.sort(SOONEST_FIRST);
+        return found;
+    }
+
+    /* Rounded up, so a notification is never released before its time. */
+    private long deadlineTick(Instant releaseAt) {
+        return Math.floorDiv(releaseAt.toEpochMilli() + tickMillis - 1, tickMillis);
+    }
+
+    private void release(Held held) {
+        ScheduledDelivery delivery = held.delivery();
+        pending.get(delivery.type()).decrementAndGet();
+        released.increment();
+        lateness.record(Duration.between(delivery.deliverAt(), clock.instant()));
+        try {
+            releaseExecutor.execute(() -> {
+                try {
+                    held.send().run();
+                } catch (RuntimeException ex) {
+                    log.error("Failed to send {} notification {} held until {}", delivery.type(), delivery.id(),
+                            delivery.deliverAt(), ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            discarded.increment();
+            log.warn("Dropping {} notification {} released during shutdown", delivery.type(), delivery.id());
+        }
+    }
+
+    private record Held(ScheduledDelivery delivery, Runnable send) {
+    }
+}
@@ -2,13 +2,13 @@ package com.bank.notificationservice.service;
 
 import com.bank.notificationservice.config.NotificationProperties;
 import com.bank.notificationservice.support.NotificationDeliveryException;
+import com.bank.notificationservice.support.ProviderRejectedException;
+import com.bank.notificationservice.support.ProviderThrottledException;
 import com.bank.notificationservice.support.SmsMessage;
-import com.twilio.Twilio;
-import com.twilio.exception.ApiException;
-import com.twilio.rest.api.v2010.account.Message;
-import com.twilio.type.PhoneNumber;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -17,20 +17,17 @@ public class SmsDispatcher {
     private static final Logger log = LoggerFactory.getLogger(SmsDispatcher.class);
 
     private final NotificationProperties properties;
+    private final SmsTransport transport;
+    private final ProviderRateLimiter rateLimiter;
+    private final ProviderCircuitBreaker circuitBreaker;
 
-    public SmsDispatcher(NotificationProperties properties) {
+    public SmsDispatcher(NotificationProperties properties,
+            ObjectProvider<SmsTransport> transport,
+            MeterRegistry meterRegistry) {
         this.properties = properties;
-        /*
-         * We don't initialize Twilio here unless mockDelivery is disabled -
-         * that prevents failures in environments where credentials are not provided.
-         */
-        if (!properties.sms().mockDelivery()) {
-            String sid = properties.sms().accountSid();
-            String token = properties.sms().authToken();
-            if (sid != null && token != null) {
-                Twilio.init(sid, token);
-            }
-        }
+        this.transport = transport.getIfAvailable();
+        this.rateLimiter = ProviderRateLimiter.create("sms", properties.rateLimit().sms(), meterRegistry);
+        this.circuitBreaker = ProviderCircuitBreaker.create("sms", properties.circuitBreaker().sms(), meterRegistry);
     }
 
     public void dispatch(SmsMessage message) {
@@ -38,34 +35,53 @@ public class SmsDispatcher {
             log.info("Mock SMS delivery: to={} body='{}'", message.to(), message.body());
             return;
         }
-
-        String sanitizedPhone = sanitize(message.to());
-
-        String accountSid = properties.sms().accountSid();
-        String authToken = properties.sms().authToken();
-        String fromNumber = properties.sms().fromNumber();
-
-        if (accountSid == null || authToken == null || fromNumber == null) {
-            throw new NotificationDeliveryException("Twilio SMS delivery is enabled but Twilio credentials (accountSid/authToken/fromNumber) are not configured", null);
+        if (transport == null) {
+            throw new NotificationDeliveryException("SMS delivery is enabled but no SMS transport is configured", null);
+        }
+        if (circuitBreaker != null) {
+            circuitBreaker.acquirePermission();
         }
-
         try {
-            // Ensure Twilio is initialized in case it wasn't in constructor
-            Twilio.init(accountSid, authToken);
-
-            Message.creator(
-                            new PhoneNumber(sanitizedPhone),
-                            new PhoneNumber(fromNumber),
-                            message.body())
-                    .create();
-
-            log.info("Dispatched SMS notification to {} via Twilio", message.to());
-        } catch (ApiException ex) {
-            throw new NotificationDeliveryException("Failed to send notification SMS via Twilio", ex);
+            if (rateLimiter != null) {
+                rateLimiter.acquire();
+            }
+        } catch (ProviderThrottledException ex) {
+            releasePermission();
+            throw ex;
         }
+        long start = System.nanoTime();
+        try {
+            transport.send(message);
+            if (circuitBreaker != null) {
+                circuitBreaker.onSuccess(System.nanoTime() - start);
+            }
+        } catch (ProviderThrottledException ex) {
+            releasePermission();
+            if (rateLimiter != null) {
+                rateLimiter.throttled(ex.retryAfter());
+            }
+            throw ex;
+        } catch (ProviderRejectedException ex) {
+            releasePermission();
+            throw ex;
+        } catch (RuntimeException ex) {
+            if (circuitBreaker != null) {
+                circuitBreaker.onFailure(System.nanoTime() - start);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * The breaker in front of the SMS provider, or {@code null} when it is disabled.
+     */
+    public ProviderCircuitBreaker circuitBreaker() {
+        return circuitBreaker;
     }
 
-    private String sanitize(String phone) {
-        return phone.replaceAll("[^0-9+]", "");
+    private void releasePermission() {
+        if (circuitBreaker != null) {
+            circuitBreaker.releasePermission();
+        }
     }
 }
@@ -0,0 +1,40 @@
+package com.bank.notificationservice.service;
+
+import com.bank.notificationservice.support.NotificationDeliveryException;
+import com.bank.notificationservice.support.SmsMessage;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Sends SMS through a provider over a long-lived client, so connection setup is paid once per connection rather
+ * than once per message. Implementations are thread-safe and shared by every dispatcher thread.
+ */
+public interface SmsTransport {
+
+    /**
+     * Starts sending {@code message}. The future completes when the provider has accepted it, or exceptionally with
+     * a {@link NotificationDeliveryException} when the provider rejects it or cannot be reached; a
+     * {@link com.bank.notificationservice.support.ProviderRejectedException} when the provider refused this message
+     * itself, such as for an invalid number.
+     */
+    CompletableFuture<Void> sendAsync(SmsMessage message);
+
+    /**
+     * Sends {@code message} and waits for the provider to accept it.
+     *
+     * @throws NotificationDeliveryException if the send fails or the calling thread is interrupted
+     */
+    default void send(SmsMessage message) {
+        try {
+            sendAsync(message).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new NotificationDeliveryException("Interrupted while sending notification SMS", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof NotificationDeliveryException deliveryException) {
+                throw deliveryException;
+            }
+            throw new NotificationDeliveryException("Failed to send notification SMS", ex.getCause());
+        }
+    }
+}
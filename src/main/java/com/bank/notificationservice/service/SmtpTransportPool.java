@@ -0,0 +1,170 @@
+package com.bank.notificationservice.service;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * Keeps a bounded set of connected, authenticated SMTP {@link Transport}s open so that consecutive messages reuse
+ * the same session instead of paying for connect, STARTTLS and AUTH on every send.
+ *
+ * <p>Idle transports are kept most-recently-used first. A transport that has been idle longer than
+ * {@code validateAfterIdle} is checked with a NOOP before reuse, transports idle longer than {@code maxIdle} are
+ * closed, and a transport is retired after {@code maxMessagesPerConnection} messages so relays that cap messages per
+ * session are respected.
+ */
+public class SmtpTransportPool implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpTransportPool.class);
+
+    private final Session session;
+    private final String protocol;
+    private final String host;
+    private final int port;
+    private final String username;
+    private final String password;
+    private final NotificationProperties.Mail.Pool settings;
+    private final Semaphore permits;
+    private final Deque<PooledTransport> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicLong connectionsOpened = new AtomicLong();
+    private volatile boolean closed;
+
+    public SmtpTransportPool(JavaMailSenderImpl mailSender, NotificationProperties.Mail.Pool settings) {
+        this.session = mailSender.getSession();
+        this.protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp";
+        this.host = mailSender.getHost();
+        this.port = mailSender.getPort();
+        this.username = mailSender.getUsername();
+        this.password = mailSender.getPassword();
+        this.settings = settings;
+        this.permits = new Semaphore(settings.maxConnections(), true);
+    }
+
+    public void send(MimeMessage message) throws MessagingException {
+        acquirePermit();
+        PooledTransport pooled = null;
+        try {
+            pooled = borrow();
+            message.saveChanges();
+            pooled.transport.sendMessage(message, message.getAllRecipients());
+            pooled.messagesSent++;
+            giveBack(pooled);
+        } catch (MessagingException | RuntimeException ex) {
+            if (pooled != null) {
+                closeQuietly(pooled);
+            }
+            throw ex;
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int idleConnections() {
+        return idle.size();
+    }
+
+    public int activeConnections() {
+        return settings.maxConnections() - permits.availablePermits();
+    }
+
+    public long connectionsOpened() {
+        return connectionsOpened.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            closeQuietly(pooled);
+        }
+    }
+
+    private void acquirePermit() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(settings.borrowTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("No SMTP connection available within " + settings.borrowTimeout());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for an SMTP connection", ex);
+        }
+    }
+
+    private PooledTransport borrow() throws MessagingException {
+        evictExpired();
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (isUsable(pooled)) {
+                return pooled;
+            }
+            closeQuietly(pooled);
+        }
+        return open();
+    }
+
+    private boolean isUsable(PooledTransport pooled) {
+        long idleMillis = System.currentTimeMillis() - pooled.lastUsedAt;
+        if (idleMillis < settings.validateAfterIdle().toMillis()) {
+            return true;
+        }
+        // SMTPTransport.isConnected() issues a NOOP and reports false if the server dropped the session.
+        return pooled.transport.isConnected();
+    }
+
+    private PooledTransport open() throws MessagingException {
+        Transport transport = session.getTransport(protocol);
+        transport.connect(host, port, username, password);
+        connectionsOpened.incrementAndGet();
+        log.debug("Opened SMTP connection to {}:{}", host, port);
+        return new PooledTransport(transport);
+    }
+
+    private void giveBack(PooledTransport pooled) {
+        if (closed || pooled.messagesSent >= settings.maxMessagesPerConnection()) {
+            closeQuietly(pooled);
+            return;
+        }
+        pooled.lastUsedAt = System.currentTimeMillis();
+        idle.offerFirst(pooled);
+    }
+
+    private void evictExpired() {
+        long cutoff = System.currentTimeMillis() - settings.maxIdle().toMillis();
+        PooledTransport oldest;
+        while ((oldest = idle.peekLast()) != null && oldest.lastUsedAt < cutoff) {
+            if (idle.removeLastOccurrence(oldest)) {
+                closeQuietly(oldest);
+            }
+        }
+    }
+
+    private void closeQuietly(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException ex) {
+            log.debug("Ignoring failure while closing SMTP connection", ex);
+        }
+    }
+
+    private static final class PooledTransport {
+
+        private final Transport transport;
+        private volatile long lastUsedAt = System.currentTimeMillis();
+        private int messagesSent;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
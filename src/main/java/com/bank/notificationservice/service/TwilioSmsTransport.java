@@ -0,0 +1,139 @@
+package com.bank.notificationservice.service;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.support.NotificationDeliveryException;
+import com.bank.notificationservice.support.ProviderRejectedException;
+import com.bank.notificationservice.support.ProviderThrottledException;
+import com.bank.notificationservice.support.SmsMessage;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link SmsTransport} that calls the Twilio Messages REST API directly over one shared {@link HttpClient}.
+ *
+ * <p>The client keeps connections to Twilio alive between sends (HTTP/2 where negotiated, otherwise a pool of
+ * persistent HTTP/1.1 connections) and is never rebuilt, unlike {@code Twilio.init}, which replaced the SDK's static
+ * client on every message. The base URL is configurable so the transport can be pointed at a local stub.
+ */
+public class TwilioSmsTransport implements SmsTransport, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TwilioSmsTransport.class);
+    private static final int ERROR_BODY_LIMIT = 300;
+    private static final int TOO_MANY_REQUESTS = 429;
+    static final String PROVIDER = "twilio";
+
+    private final URI messagesUri;
+    private final String authorization;
+    private final String fromNumber;
+    private final Duration requestTimeout;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+
+    public TwilioSmsTransport(NotificationProperties.Sms sms, DispatchThreads threads) {
+        String baseUrl = sms.twilioBaseUrl().endsWith("/")
+                ? sms.twilioBaseUrl().substring(0, sms.twilioBaseUrl().length() - 1)
+                : sms.twilioBaseUrl();
+        boolean configured = isSet(sms.accountSid()) && isSet(sms.authToken()) && isSet(sms.fromNumber());
+        this.messagesUri = configured
+                ? URI.create(baseUrl + "/2010-04-01/Accounts/" + sms.accountSid() + "/Messages.json")
+                : null;
+        this.authorization = configured
+                ? "Basic " + Base64.getEncoder().encodeToString(
+                        (sms.accountSid() + ":" + sms.authToken()).getBytes(StandardCharsets.UTF_8))
+                : null;
+        this.fromNumber = sms.fromNumber();
+        this.requestTimeout = sms.requestTimeout();
+        this.executor = Executors.newCachedThreadPool(threads.factory("sms-http-", true));
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(sms.connectTimeout())
+                .executor(executor)
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<Void> sendAsync(SmsMessage message) {
+        if (messagesUri == null) {
+            return CompletableFuture.failedFuture(new NotificationDeliveryException(
+                    "Twilio SMS delivery is enabled but Twilio credentials (accountSid/authToken/fromNumber) are not configured", null));
+        }
+
+        String form = "To=" + encode(sanitize(message.to()))
+                + "&From=" + encode(fromNumber)
+                + "&Body=" + encode(message.body());
+        HttpRequest request = HttpRequest.newBuilder(messagesUri)
+                .timeout(requestTimeout)
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(form, StandardCharsets.UTF_8))
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, failure) -> {
+                    if (failure != null) {
+                        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                                ? failure.getCause()
+                                : failure;
+                        throw new NotificationDeliveryException("Failed to send notification SMS via Twilio", cause);
+                    }
+                    if (response.statusCode() == TOO_MANY_REQUESTS) {
+                        throw new ProviderThrottledException(PROVIDER, "Twilio is throttling notification SMS: "
+                                + abbreviate(response.body()), retryAfter(response), null);
+                    }
+                    if (response.statusCode() / 100 == 4) {
+                        throw new ProviderRejectedException("Twilio rejected notification SMS with HTTP "
+                                + response.statusCode() + ": " + abbreviate(response.body()), null);
+                    }
+                    if (response.statusCode() / 100 != 2) {
+                        throw new NotificationDeliveryException("Twilio failed to accept notification SMS with HTTP "
+                                + response.statusCode() + ": " + abbreviate(response.body()), null);
+                    }
+                    log.info("Dispatched SMS notification to {} via Twilio", message.to());
+                    return null;
+                });
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static boolean isSet(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String sanitize(String phone) {
+        return phone.replaceAll("[^0-9+]", "");
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /* Twilio sends Retry-After in seconds; HTTP-date values are ignored. */
+    private static Duration retryAfter(HttpResponse<?> response) {
+        return response.headers().firstValue("Retry-After")
+                .filter(value -> value.chars().allMatch(Character::isDigit) && !value.isEmpty())
+                .map(value -> Duration.ofSeconds(Long.parseLong(value)))
+                .orElse(null);
+    }
+
+    private static String abbreviate(String body) {
+        if (body == null || body.length() <= ERROR_BODY_LIMIT) {
+            return body;
+        }
+        return body.substring(0, ERROR_BODY_LIMIT) + "...";
+    }
+}
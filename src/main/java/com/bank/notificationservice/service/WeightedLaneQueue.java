@@ -0,0 +1,309 @@
+package com.bank.notificationservice.service;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * A blocking queue made of one bounded FIFO lane per priority class, read with smooth weighted round-robin.
+ *
+ * <p>While several lanes hold elements, each take goes to the lane with the most accumulated credit, where every
+ * waiting lane earns its weight per take and the chosen lane pays back the weights of all waiting lanes. With
+ * weights {@code 8, 3, 1} a backlog in every lane is served as 8, 3 and 1 of every 12 takes, interleaved rather than
+ * in bursts, and an empty lane earns nothing, so a lane that has just filled up is served at once without spending
+ * credit saved while it was idle. Ties go to the lower lane index. Each lane has its own capacity, so a burst in one
+ * lane only ever rejects elements of that lane.
+ *
+ * <p>Iteration, {@link #peek()} and {@link #remainingCapacity()} exist for {@link java.util.concurrent.ThreadPoolExecutor}
+ * housekeeping: iteration is over a snapshot in lane order, and {@code peek} returns the head of the first non-empty
+ * lane, not necessarily the element the next take returns.
+ */
+class WeightedLaneQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    private final int[] weights;
+    private final int laneCapacity;
+    private final ToIntFunction<? super E> laneOf;
+    private final ArrayDeque<E>[] lanes;
+    private final long[] credit;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private int count;
+
+    /**
+     * @param weights share of takes for each lane while it has elements waiting; its length is the number of lanes
+     * @param laneOf  index of the lane an element belongs in
+     */
+    WeightedLaneQueue(int[] weights, int laneCapacity, ToIntFunction<? super E> laneOf) {
+        for (int weight : weights) {
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Lane weights must be positive");
+            }
+        }
+        this.weights = weights.clone();
+        this.laneCapacity = laneCapacity;
+        this.laneOf = laneOf;
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        ArrayDeque<E>[] lanes = new ArrayDeque[weights.length];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ArrayDeque<>();
+        }
+        this.lanes = lanes;
+        this.credit = new long[weights.length];
+    }
+
+    /**
+     * Elements waiting in {@code lane}.
+     */
+    int size(int lane) {
+        lock.lock();
+        try {
+            return lanes[lane].size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(E element) {
+        Objects.requireNonNull(element);
+        ArrayDeque<E> lane = lanes[laneOf.applyAsInt(element)];
+        lock.lock();
+        try {
+            if (lane.size() >= laneCapacity) {
+                return false;
+            }
+            enqueue(lane, element);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(E element, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(element);
+        ArrayDeque<E> lane = lanes[laneOf.applyAsInt(element)];
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (lane.size() >= laneCapacity) {
+                if (nanos <= 0L) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(lane, element);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(E element) throws InterruptedException {
+        Objects.requireNonNull(element);
+        ArrayDeque<E> lane = lanes[laneOf.applyAsInt(element)];
+        lock.lockInterruptibly();
+        try {
+            while (lane.size() >= laneCapacity) {
+                notFull.await();
+            }
+            enqueue(lane, element);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll() {
+        lock.lock();
+        try {
+            return count == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E peek() {
+        lock.lock();
+        try {
+            for (ArrayDeque<E> lane : lanes) {
+                if (!lane.isEmpty()) {
+                    return lane.peekFirst();
+                }
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Free space summed over every lane; an element only fits if its own lane has room.
+     */
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return lanes.length * laneCapacity - count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object element) {
+        lock.lock();
+        try {
+            for (ArrayDeque<E> lane : lanes) {
+                if (lane.removeFirstOccurrence(element)) {
+                    count--;
+                    notFull.signalAll();
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> target) {
+        return drainTo(target, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> target, int maxElements) {
+        Objects.requireNonNull(target);
+        if (target == this) {
+            throw new IllegalArgumentException("Cannot drain a queue into itself");
+        }
+        lock.lock();
+        try {
+            int drained = 0;
+            while (drained < maxElements && count > 0) {
+                target.add(dequeue());
+                drained++;
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        List<E> snapshot = new ArrayList<>();
+        lock.lock();
+        try {
+            for (ArrayDeque<E> lane : lanes) {
+                snapshot.addAll(lane);
+            }
+        } finally {
+            lock.unlock();
+        }
+        Iterator<E> elements = snapshot.iterator();
+        return new Iterator<>() {
+            private E last;
+
+            @Override
+            public boolean hasNext() {
+                return elements.hasNext();
+            }
+
+            @Override
+            public E next() {
+                last = elements.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                WeightedLaneQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    private void enqueue(ArrayDeque<E> lane, E element) {
+        lane.addLast(element);
+        count++;
+        notEmpty.signal();
+    }
+
+    /* Caller holds the lock and has checked that some lane is non-empty. */
+    private E dequeue() {
+        int chosen = -1;
+        long waitingWeight = 0;
+        for (int i = 0; i < lanes.length; i++) {
+            if (lanes[i].isEmpty()) {
+                credit[i] = 0;
+                continue;
+            }
+            credit[i] += weights[i];
+            waitingWeight += weights[i];
+            if (chosen < 0 || credit[i] > credit[chosen]) {
+                chosen = i;
+            }
+        }
+        credit[chosen] -= waitingWeight;
+        count--;
+        notFull.signalAll();
+        return lanes[chosen].pollFirst();
+    }
+}
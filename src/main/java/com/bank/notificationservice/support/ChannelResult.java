@@ -0,0 +1,46 @@
+package com.bank.notificationservice.support;
+
+import com.bank.notificationservice.model.NotificationChannel;
+
+public record ChannelResult(NotificationChannel channel, Status status, Throwable failure) {
+
+    public enum Status {
+        SENT,
+        FAILED,
+        TIMED_OUT,
+        /* Failed or timed out, and handed to the retry scheduler. */
+        RETRYING,
+        /* Failed with retries disabled, and moved to the dead letter store. */
+        DEAD_LETTERED,
+        /* Not sent because the routing policy left the channel out. */
+        SKIPPED
+    }
+
+    public static ChannelResult sent(NotificationChannel channel) {
+        return new ChannelResult(channel, Status.SENT, null);
+    }
+
+    public static ChannelResult failed(NotificationChannel channel, Throwable failure) {
+        return new ChannelResult(channel, Status.FAILED, failure);
+    }
+
+    public static ChannelResult timedOut(NotificationChannel channel) {
+        return new ChannelResult(channel, Status.TIMED_OUT, null);
+    }
+
+    public static ChannelResult retrying(NotificationChannel channel, Throwable failure) {
+        return new ChannelResult(channel, Status.RETRYING, failure);
+    }
+
+    public static ChannelResult deadLettered(NotificationChannel channel, Throwable failure) {
+        return new ChannelResult(channel, Status.DEAD_LETTERED, failure);
+    }
+
+    public static ChannelResult skipped(NotificationChannel channel) {
+        return new ChannelResult(channel, Status.SKIPPED, null);
+    }
+
+    public boolean successful() {
+        return status == Status.SENT || status == Status.SKIPPED;
+    }
+}
@@ -0,0 +1,41 @@
+package com.bank.notificationservice.support;
+
+import com.bank.notificationservice.model.NotificationChannel;
+import java.util.Collection;
+
+/**
+ * A set of notification channels. Every subset of {@link NotificationChannel} is a constant whose ordinal is its bit
+ * mask, so combining selections is an array lookup instead of building a set.
+ */
+public enum ChannelSelection {
+    NONE,
+    EMAIL,
+    SMS,
+    BOTH;
+
+    private static final ChannelSelection[] BY_MASK = values();
+
+    public static ChannelSelection of(Collection<NotificationChannel> channels) {
+        int mask = 0;
+        for (NotificationChannel channel : channels) {
+            mask |= bit(channel);
+        }
+        return BY_MASK[mask];
+    }
+
+    public boolean includes(NotificationChannel channel) {
+        return (ordinal() & bit(channel)) != 0;
+    }
+
+    public ChannelSelection intersect(ChannelSelection other) {
+        return BY_MASK[ordinal() & other.ordinal()];
+    }
+
+    public ChannelSelection union(ChannelSelection other) {
+        return BY_MASK[ordinal() | other.ordinal()];
+    }
+
+    private static int bit(NotificationChannel channel) {
+        return 1 << channel.ordinal();
+    }
+}
@@ -0,0 +1,30 @@
+package com.bank.notificationservice.support;
+
+/**
+ * Combined result of delivering a notification over both channels.
+ */
+public record DeliveryOutcome(ChannelResult email, ChannelResult sms) {
+
+    public boolean successful() {
+        return email.successful() && sms.successful();
+    }
+
+    /**
+     * Whether every channel was either sent or handed off for retry, so no caller needs to see a failure.
+     */
+    public boolean accepted() {
+        return isAccepted(email) && isAccepted(sms);
+    }
+
+    public Throwable firstFailure() {
+        return email.failure() != null ? email.failure() : sms.failure();
+    }
+
+    public String summary() {
+        return "email=" + email.status() + ", sms=" + sms.status();
+    }
+
+    private static boolean isAccepted(ChannelResult result) {
+        return result.successful() || result.status() == ChannelResult.Status.RETRYING;
+    }
+}
@@ -0,0 +1,168 @@
+package com.bank.notificationservice.support;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable, thread-safe money formatter, cached per ISO 4217 currency.
+ *
+ * <p>Symbols, sign placement and fraction digits are taken once from the JDK's {@code Locale.US} currency format,
+ * so the output matches {@link NumberFormat#getCurrencyInstance(Locale)}. Digits are written straight into the
+ * caller's buffer with no intermediate strings for amounts that fit in a {@code long}. Rupee amounts use Indian
+ * lakh/crore grouping ({@code 12,34,567.50}); every other currency groups in thousands.
+ */
+public final class MoneyFormatter {
+
+    public enum Grouping {
+        /** Groups of three: {@code 1,234,567}. */
+        WESTERN,
+        /** Last three digits, then groups of two: {@code 12,34,567}. */
+        INDIAN
+    }
+
+    private static final Locale FORMAT_LOCALE = Locale.US;
+    private static final String INDIAN_RUPEE = "INR";
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L};
+    /* Digits of Long.MAX_VALUE. */
+    private static final int MAX_LONG_DIGITS = 19;
+    private static final ConcurrentMap<String, MoneyFormatter> CACHE = new ConcurrentHashMap<>();
+    private static final MoneyFormatter FALLBACK = create(Currency.getInstance(FORMAT_LOCALE));
+
+    private final String positivePrefix;
+    private final String positiveSuffix;
+    private final String negativePrefix;
+    private final String negativeSuffix;
+    private final int fractionDigits;
+    private final Grouping grouping;
+
+    private MoneyFormatter(DecimalFormat format, int fractionDigits, Grouping grouping) {
+        this.positivePrefix = format.getPositivePrefix();
+        this.positiveSuffix = format.getPositiveSuffix();
+        this.negativePrefix = format.getNegativePrefix();
+        this.negativeSuffix = format.getNegativeSuffix();
+        this.fractionDigits = fractionDigits;
+        this.grouping = grouping;
+    }
+
+    /**
+     * Formatter for {@code currencyCode}. Codes the JDK does not recognise get the {@code USD} formatter, as the
+     * composer always has; they are not cached, so arbitrary request input cannot grow the cache.
+     */
+    public static MoneyFormatter forCurrency(String currencyCode) {
+        if (currencyCode == null) {
+            return FALLBACK;
+        }
+        MoneyFormatter cached = CACHE.get(currencyCode);
+        if (cached != null) {
+            return cached;
+        }
+        Currency currency;
+        try {
+            currency = Currency.getInstance(currencyCode);
+        } catch (IllegalArgumentException ex) {
+            return FALLBACK;
+        }
+        return CACHE.computeIfAbsent(currencyCode, code -> create(currency));
+    }
+
+    private static MoneyFormatter create(Currency currency) {
+        DecimalFormat format = (DecimalFormat) NumberFormat.getCurrencyInstance(FORMAT_LOCALE);
+        format.setCurrency(currency);
+        int fractionDigits = Math.max(0, Math.min(format.getMaximumFractionDigits(), POWERS_OF_TEN.length - 1));
+        Grouping grouping = INDIAN_RUPEE.equals(currency.getCurrencyCode()) ? Grouping.INDIAN : Grouping.WESTERN;
+        return new MoneyFormatter(format, fractionDigits, grouping);
+    }
+
+    public Grouping grouping() {
+        return grouping;
+    }
+
+    /**
+     * Formats {@code amount} with the currency symbol, for example {@code $15,000.00}.
+     */
+    public String format(BigDecimal amount) {
+        return append(amount, new StringBuilder(24)).toString();
+    }
+
+    /**
+     * Appends {@code amount} with the currency symbol and sign to {@code out}.
+     */
+    public StringBuilder append(BigDecimal amount, StringBuilder out) {
+        boolean negative = amount.signum() < 0;
+        out.append(negative ? negativePrefix : positivePrefix);
+        appendDigits(amount, out);
+        return out.append(negative ? negativeSuffix : positiveSuffix);
+    }
+
+    /**
+     * Appends the grouped absolute value of {@code amount} without symbol or sign, for example {@code 12,34,567.50}.
+     */
+    public StringBuilder appendAmount(BigDecimal amount, StringBuilder out) {
+        appendDigits(amount, out);
+        return out;
+    }
+
+    private void appendDigits(BigDecimal amount, StringBuilder out) {
+        BigDecimal rounded = amount.abs().setScale(fractionDigits, RoundingMode.HALF_EVEN);
+        if (rounded.precision() < MAX_LONG_DIGITS) {
+            long unscaled = rounded.unscaledValue().longValue();
+            long divisor = POWERS_OF_TEN[fractionDigits];
+            appendGrouped(unscaled / divisor, out);
+            if (fractionDigits > 0) {
+                out.append('.');
+                appendPadded(unscaled % divisor, fractionDigits, out);
+            }
+            return;
+        }
+        String plain = rounded.toPlainString();
+        int point = plain.indexOf('.');
+        appendGrouped(plain, point < 0 ? plain.length() : point, out);
+        if (point >= 0) {
+            out.append(plain, point, plain.length());
+        }
+    }
+
+    private void appendGrouped(long value, StringBuilder out) {
+        char[] digits = new char[MAX_LONG_DIGITS];
+        int start = digits.length;
+        do {
+            digits[--start] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        appendGrouped(digits, start, digits.length, out);
+    }
+
+    private void appendGrouped(String plain, int integerDigits, StringBuilder out) {
+        appendGrouped(plain.toCharArray(), 0, integerDigits, out);
+    }
+
+    private void appendGrouped(char[] digits, int start, int end, StringBuilder out) {
+        for (int i = start; i < end; i++) {
+            int remaining = end - i;
+            if (i > start && isGroupBoundary(remaining)) {
+                out.append(',');
+            }
+            out.append(digits[i]);
+        }
+    }
+
+    /* Whether a separator precedes the digit that has {@code remaining} digits left, itself included. */
+    private boolean isGroupBoundary(int remaining) {
+        if (grouping == Grouping.WESTERN) {
+            return remaining % 3 == 0;
+        }
+        return remaining == 3 || (remaining > 3 && (remaining - 3) % 2 == 0);
+    }
+
+    private static void appendPadded(long value, int width, StringBuilder out) {
+        for (int i = width - 1; i >= 0; i--) {
+            out.append((char) ('0' + (value / POWERS_OF_TEN[i]) % 10));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.bank.notificationservice.support;
+
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationType;
+
+/**
+ * Composed email and SMS for a single notification, ready to be handed to the dispatchers. A channel the routing
+ * policy left out has no message and is not sent.
+ */
+public record NotificationDelivery(NotificationType type, EmailMessage email, SmsMessage sms) {
+
+    public boolean includes(NotificationChannel channel) {
+        return switch (channel) {
+            case EMAIL -> email != null;
+            case SMS -> sms != null;
+        };
+    }
+}
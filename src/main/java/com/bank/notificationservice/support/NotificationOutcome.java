@@ -0,0 +1,31 @@
+package com.bank.notificationservice.support;
+
+import com.bank.notificationservice.model.ScheduledDelivery;
+
+/**
+ * What handling one notification request did. {@code scheduled} is only set for a notification held for later
+ * delivery, so the caller can hand its id back to the client to look it up or cancel it.
+ */
+public record NotificationOutcome(Status status, ScheduledDelivery scheduled) {
+
+    public enum Status {
+        /** Sent, queued for delivery or merged into a digest. */
+        ACCEPTED,
+        BELOW_THRESHOLD,
+        SCHEDULED
+    }
+
+    public static final NotificationOutcome ACCEPTED = new NotificationOutcome(Status.ACCEPTED, null);
+    public static final NotificationOutcome BELOW_THRESHOLD = new NotificationOutcome(Status.BELOW_THRESHOLD, null);
+
+    public static NotificationOutcome scheduled(ScheduledDelivery scheduled) {
+        return new NotificationOutcome(Status.SCHEDULED, scheduled);
+    }
+
+    /**
+     * Whether the notification will be sent, now or later.
+     */
+    public boolean accepted() {
+        return status != Status.BELOW_THRESHOLD;
+    }
+}
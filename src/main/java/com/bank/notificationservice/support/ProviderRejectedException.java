@@ -0,0 +1,13 @@
+package com.bank.notificationservice.support;
+
+/**
+ * A delivery provider was reached and refused one message for a reason of its own, such as an invalid recipient or a
+ * malformed request. Unlike a connection failure, timeout or server error, this says nothing about the provider's
+ * health, so circuit breakers do not count it.
+ */
+public class ProviderRejectedException extends NotificationDeliveryException {
+
+    public ProviderRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,28 @@
+package com.bank.notificationservice.support;
+
+import java.time.Duration;
+
+/**
+ * A delivery provider refused a message because we are sending too fast, the local rate limiter would have had to
+ * wait longer than allowed for a permit, or the provider's circuit breaker is open. {@code retryAfter} is the
+ * provider's, limiter's or breaker's hint, when known.
+ */
+public class ProviderThrottledException extends NotificationDeliveryException {
+
+    private final String provider;
+    private final Duration retryAfter;
+
+    public ProviderThrottledException(String provider, String message, Duration retryAfter, Throwable cause) {
+        super(message, cause);
+        this.provider = provider;
+        this.retryAfter = retryAfter;
+    }
+
+    public String provider() {
+        return provider;
+    }
+
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,211 @@
+package com.bank.notificationservice.template;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A message template compiled once into a flat tree of segments.
+ *
+ * <p>The syntax is a small subset of Mustache: {@code {{name}}} inserts a value, {@code {{#name}}...{{/name}}}
+ * renders its body only when the value is present and not blank, and {@code {{^name}}...{{/name}}} only when it is
+ * absent or blank. A section tag that sits alone on its line removes that whole line from the output, so optional
+ * lines can be written one per line. Variables are resolved to array indexes at compile time, rendering never
+ * parses and the output buffer is sized from the largest message rendered so far.
+ */
+public final class MessageTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final int VARIABLE_SIZE_ESTIMATE = 16;
+
+    private final Segment[] segments;
+    private volatile int sizeHint;
+
+    private MessageTemplate(Segment[] segments, int initialSizeHint) {
+        this.segments = segments;
+        this.sizeHint = initialSizeHint;
+    }
+
+    /**
+     * Compiles {@code source}, resolving each variable name against its position in {@code variables}.
+     *
+     * @throws IllegalArgumentException if the template references an unknown variable or has unbalanced sections
+     */
+    public static MessageTemplate compile(String source, List<String> variables) {
+        Deque<SectionBuilder> open = new ArrayDeque<>();
+        SectionBuilder root = new SectionBuilder(null, -1, false);
+        open.push(root);
+        StringBuilder literal = new StringBuilder();
+        int literalLength = 0;
+        int variableCount = 0;
+
+        int pos = 0;
+        while (pos < source.length()) {
+            int tagStart = source.indexOf(OPEN, pos);
+            if (tagStart < 0) {
+                literal.append(source, pos, source.length());
+                break;
+            }
+            int tagEnd = source.indexOf(CLOSE, tagStart + OPEN.length());
+            if (tagEnd < 0) {
+                throw new IllegalArgumentException("Unterminated tag at offset " + tagStart);
+            }
+            literal.append(source, pos, tagStart);
+            String tag = source.substring(tagStart + OPEN.length(), tagEnd).trim();
+            pos = tagEnd + CLOSE.length();
+
+            char sigil = tag.isEmpty() ? ' ' : tag.charAt(0);
+            boolean sectionTag = sigil == '#' || sigil == '^' || sigil == '/';
+            if (sectionTag) {
+                int lineEnd = standaloneLineEnd(source, tagStart, pos);
+                if (lineEnd >= 0) {
+                    trimTrailingBlanks(literal);
+                    pos = lineEnd;
+                }
+            }
+
+            SectionBuilder current = open.peek();
+            literalLength += current.addLiteral(literal);
+            literal.setLength(0);
+
+            if (sigil == '#' || sigil == '^') {
+                String name = tag.substring(1).trim();
+                open.push(new SectionBuilder(name, indexOf(name, variables), sigil == '^'));
+            } else if (sigil == '/') {
+                String name = tag.substring(1).trim();
+                SectionBuilder closed = open.pop();
+                if (closed == root || !closed.name.equals(name)) {
+                    throw new IllegalArgumentException("Unexpected closing tag {{/" + name + "}}");
+                }
+                open.peek().segments.add(closed.build());
+            } else {
+                current.segments.add(new Variable(indexOf(tag, variables)));
+                variableCount++;
+            }
+        }
+
+        SectionBuilder current = open.peek();
+        if (current != root) {
+            throw new IllegalArgumentException("Unclosed section {{#" + current.name + "}}");
+        }
+        literalLength += root.addLiteral(literal);
+        return new MessageTemplate(root.segments.toArray(Segment[]::new), literalLength + variableCount * VARIABLE_SIZE_ESTIMATE);
+    }
+
+    /**
+     * Renders the template with values given in the same order as the variable names it was compiled against.
+     */
+    public String render(String... values) {
+        StringBuilder out = new StringBuilder(sizeHint);
+        renderInto(out, segments, values);
+        if (out.length() > sizeHint) {
+            sizeHint = out.length();
+        }
+        return out.toString();
+    }
+
+    private static void renderInto(StringBuilder out, Segment[] segments, String[] values) {
+        for (Segment segment : segments) {
+            if (segment instanceof Literal literal) {
+                out.append(literal.text);
+            } else if (segment instanceof Variable variable) {
+                String value = values[variable.index];
+                if (value != null) {
+                    out.append(value);
+                }
+            } else if (segment instanceof Section section) {
+                String value = values[section.index];
+                boolean present = value != null && !value.isBlank();
+                if (present != section.inverted) {
+                    renderInto(out, section.body, values);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the offset just past the end of the tag's line when the tag is the only thing on it, otherwise -1.
+     */
+    private static int standaloneLineEnd(String source, int tagStart, int tagEnd) {
+        int before = tagStart - 1;
+        while (before >= 0 && isBlank(source.charAt(before))) {
+            before--;
+        }
+        if (before >= 0 && source.charAt(before) != '\n') {
+            return -1;
+        }
+        int after = tagEnd;
+        while (after < source.length() && isBlank(source.charAt(after))) {
+            after++;
+        }
+        if (after == source.length()) {
+            return after;
+        }
+        if (source.charAt(after) == '\n') {
+            return after + 1;
+        }
+        if (source.startsWith("\r\n", after)) {
+            return after + 2;
+        }
+        return -1;
+    }
+
+    private static void trimTrailingBlanks(StringBuilder literal) {
+        int length = literal.length();
+        while (length > 0 && isBlank(literal.charAt(length - 1))) {
+            length--;
+        }
+        literal.setLength(length);
+    }
+
+    private static boolean isBlank(char c) {
+        return c == ' ' || c == '\t';
+    }
+
+    private static int indexOf(String name, List<String> variables) {
+        int index = variables.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown variable '" + name + "'; expected one of " + variables);
+        }
+        return index;
+    }
+
+    private sealed interface Segment permits Literal, Variable, Section {
+    }
+
+    private record Literal(String text) implements Segment {
+    }
+
+    private record Variable(int index) implements Segment {
+    }
+
+    private record Section(int index, boolean inverted, Segment[] body) implements Segment {
+    }
+
+    private static final class SectionBuilder {
+
+        private final String name;
+        private final int index;
+        private final boolean inverted;
+        private final List<Segment> segments = new ArrayList<>();
+
+        private SectionBuilder(String name, int index, boolean inverted) {
+            this.name = name;
+            this.index = index;
+            this.inverted = inverted;
+        }
+
+        private int addLiteral(CharSequence text) {
+            if (text.length() > 0) {
+                segments.add(new Literal(text.toString()));
+            }
+            return text.length();
+        }
+
+        private Section build() {
+            return new Section(index, inverted, segments.toArray(Segment[]::new));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.bank.notificationservice.template;
+
+import com.bank.notificationservice.model.NotificationChannel;
+import java.util.List;
+
+/**
+ * Compiled template for one notification type and channel. Email templates carry a subject; SMS templates do not.
+ */
+public record NotificationTemplate(MessageTemplate subject, MessageTemplate body) {
+
+    private static final String SUBJECT_PREFIX = "Subject:";
+
+    /**
+     * Compiles template source. Email templates start with a {@code Subject:} line followed by a blank line and the
+     * body; SMS templates are the body alone. A single trailing newline is ignored so files can end with one.
+     */
+    public static NotificationTemplate compile(TemplateKey key, String source) {
+        return compile(key.fileName(), key.channel() == NotificationChannel.EMAIL, key.variables(), source);
+    }
+
+    static NotificationTemplate compile(String fileName, boolean withSubject, List<String> variables, String source) {
+        String normalized = source.replace("\r\n", "\n");
+        if (normalized.endsWith("\n")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+
+        if (!withSubject) {
+            return new NotificationTemplate(null, MessageTemplate.compile(normalized, variables));
+        }
+
+        int headerEnd = normalized.indexOf("\n\n");
+        if (!normalized.startsWith(SUBJECT_PREFIX) || headerEnd < 0) {
+            throw new IllegalArgumentException("Template " + fileName
+                    + " must start with a 'Subject:' line followed by a blank line");
+        }
+        String subject = normalized.substring(SUBJECT_PREFIX.length(), headerEnd).trim();
+        String body = normalized.substring(headerEnd + 2);
+        return new NotificationTemplate(
+                MessageTemplate.compile(subject, variables),
+                MessageTemplate.compile(body, variables));
+    }
+
+    public String renderSubject(String... values) {
+        return subject.render(values);
+    }
+
+    public String renderBody(String... values) {
+        return body.render(values);
+    }
+}
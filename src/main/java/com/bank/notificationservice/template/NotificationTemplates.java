@@ -0,0 +1,108 @@
+package com.bank.notificationservice.template;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.model.AccountEventType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads and compiles every {@link TemplateKey} once at startup. Templates are read from
+ * {@code notification.templates.location}; any file missing there falls back to the default bundled on the
+ * classpath, so an override directory only needs the templates it changes. A template that fails to compile stops
+ * the application from starting rather than surfacing on the first notification.
+ *
+ * <p>Each {@link AccountEventType} also has a wording file, {@code account-event.<event-type>.txt}, holding the
+ * subject and one-sentence message that describe the event. The account event and digest templates include them as
+ * {@code eventSubject} and {@code eventMessage}.
+ */
+@Component
+public class NotificationTemplates {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationTemplates.class);
+
+    public static final String DEFAULT_LOCATION = "classpath:templates/";
+    /* The only value an event wording file can use. */
+    static final List<String> EVENT_VARIABLES = List.of("accountNumber");
+
+    private final Map<TemplateKey, NotificationTemplate> templates = new EnumMap<>(TemplateKey.class);
+    private final Map<AccountEventType, NotificationTemplate> events = new EnumMap<>(AccountEventType.class);
+
+    @Autowired
+    public NotificationTemplates(NotificationProperties properties, ResourceLoader resourceLoader) {
+        this(properties.templates().location(), resourceLoader);
+    }
+
+    private NotificationTemplates(String location, ResourceLoader resourceLoader) {
+        String base = location.endsWith("/") ? location : location + "/";
+        for (TemplateKey key : TemplateKey.values()) {
+            Resource resource = resolve(base, key.fileName(), resourceLoader);
+            templates.put(key, compile(resource, source -> NotificationTemplate.compile(key, source)));
+        }
+        for (AccountEventType type : AccountEventType.values()) {
+            String fileName = eventFileName(type);
+            Resource resource = resolve(base, fileName, resourceLoader);
+            events.put(type, compile(resource,
+                    source -> NotificationTemplate.compile(fileName, true, EVENT_VARIABLES, source)));
+        }
+    }
+
+    /**
+     * Templates bundled on the classpath, for components constructed outside the application context.
+     */
+    public static NotificationTemplates defaults() {
+        return new NotificationTemplates(DEFAULT_LOCATION, new DefaultResourceLoader());
+    }
+
+    public NotificationTemplate get(TemplateKey key) {
+        return templates.get(key);
+    }
+
+    /**
+     * The subject and message describing an account event of {@code type}, rendered with the account number.
+     */
+    public NotificationTemplate event(AccountEventType type) {
+        return events.get(type);
+    }
+
+    /**
+     * File name of the wording for {@code type}, for example {@code account-event.bill-cleared.txt}.
+     */
+    public static String eventFileName(AccountEventType type) {
+        return "account-event." + type.name().toLowerCase(Locale.ROOT).replace('_', '-') + ".txt";
+    }
+
+    private static Resource resolve(String base, String fileName, ResourceLoader resourceLoader) {
+        Resource resource = resourceLoader.getResource(base + fileName);
+        if (!resource.exists()) {
+            return resourceLoader.getResource(DEFAULT_LOCATION + fileName);
+        }
+        if (!DEFAULT_LOCATION.equals(base)) {
+            log.info("Using template override {}", resource.getDescription());
+        }
+        return resource;
+    }
+
+    private static NotificationTemplate compile(Resource resource, Function<String, NotificationTemplate> compiler) {
+        try (InputStream in = resource.getInputStream()) {
+            return compiler.apply(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read template " + resource.getDescription(), ex);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalStateException("Invalid template " + resource.getDescription() + ": " + ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.bank.notificationservice.template;
+
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationType;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * One template per notification type and channel, plus the digest that merges several account events. The variable
+ * names are listed in the order the composer passes their values to {@link NotificationTemplate}.
+ */
+public enum TemplateKey {
+
+    HIGH_VALUE_TRANSACTION_EMAIL(NotificationType.HIGH_VALUE_TRANSACTION, NotificationChannel.EMAIL,
+            "customerName", "txnType", "txnTypeLower", "accountNumber", "amount", "threshold", "counterparty", "reference"),
+    HIGH_VALUE_TRANSACTION_SMS(NotificationType.HIGH_VALUE_TRANSACTION, NotificationChannel.SMS,
+            "customerName", "amount", "transactionTime"),
+    ACCOUNT_STATUS_CHANGE_EMAIL(NotificationType.ACCOUNT_STATUS_CHANGE, NotificationChannel.EMAIL,
+            "customerName", "accountNumber", "previousStatus", "currentStatus", "remarks"),
+    ACCOUNT_STATUS_CHANGE_SMS(NotificationType.ACCOUNT_STATUS_CHANGE, NotificationChannel.SMS,
+            "customerName", "accountNumber", "previousStatus", "currentStatus", "remarks"),
+    ACCOUNT_EVENT_EMAIL(NotificationType.ACCOUNT_EVENT, NotificationChannel.EMAIL,
+            "customerName", "accountNumber", "eventSubject", "eventMessage", "description"),
+    ACCOUNT_EVENT_SMS(NotificationType.ACCOUNT_EVENT, NotificationChannel.SMS,
+            "customerName", "accountNumber", "eventSubject", "eventMessage", "description"),
+    ACCOUNT_EVENT_DIGEST_EMAIL("account-event-digest", NotificationChannel.EMAIL,
+            "customerName", "eventCount", "eventList", "eventSubjects"),
+    ACCOUNT_EVENT_DIGEST_SMS("account-event-digest", NotificationChannel.SMS,
+            "customerName", "eventCount", "eventList", "eventSubjects");
+
+    private final String baseName;
+    private final NotificationChannel channel;
+    private final List<String> variables;
+
+    TemplateKey(NotificationType type, NotificationChannel channel, String... variables) {
+        this(type.name().toLowerCase(Locale.ROOT).replace('_', '-'), channel, variables);
+    }
+
+    TemplateKey(String baseName, NotificationChannel channel, String... variables) {
+        this.baseName = baseName;
+        this.channel = channel;
+        this.variables = List.of(variables);
+    }
+
+    public NotificationChannel channel() {
+        return channel;
+    }
+
+    public List<String> variables() {
+        return variables;
+    }
+
+    /**
+     * File name of the template, for example {@code high-value-transaction.email.txt}.
+     */
+    public String fileName() {
+        return baseName + "." + channel.name().toLowerCase(Locale.ROOT) + ".txt";
+    }
+}
@@ -0,0 +1,102 @@
+package com.bank.notificationservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.bank.notificationservice.dto.AccountEventNotificationRequest;
+import com.bank.notificationservice.dto.AccountStatusChangeNotificationRequest;
+import com.bank.notificationservice.dto.NotificationLogEntry;
+import com.bank.notificationservice.dto.NotificationResponse;
+import com.bank.notificationservice.model.AccountEventType;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationRecord;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.model.ScheduledDelivery;
+import com.bank.notificationservice.service.BulkNotificationService;
+import com.bank.notificationservice.service.NotificationService;
+import com.bank.notificationservice.support.NotificationOutcome;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class NotificationControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final NotificationController controller = new NotificationController(notificationService,
+            mock(BulkNotificationService.class), objectMapper);
+
+    @Test
+    void streamRecentlySentNotifications_shouldWriteOneEntryPerLineAndCloseTheStream() throws IOException {
+        Instant now = Instant.now();
+        NotificationRecord email = new NotificationRecord(UUID.randomUUID(), NotificationChannel.EMAIL, "jane@example.com",
+                "Account update", "Your account has been updated.", NotificationType.ACCOUNT_EVENT.name(), now);
+        NotificationRecord sms = new NotificationRecord(UUID.randomUUID(), NotificationChannel.SMS, "+919876543210", null,
+                "Your account has been updated.", NotificationType.ACCOUNT_EVENT.name(), now.minusSeconds(1));
+        AtomicBoolean closed = new AtomicBoolean();
+        when(notificationService.streamNotificationsForPastWeek(null, NotificationType.ACCOUNT_EVENT))
+                .thenReturn(Stream.of(email, sms).onClose(() -> closed.set(true)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.streamRecentlySentNotifications(null, NotificationType.ACCOUNT_EVENT, response);
+
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON_VALUE);
+        List<NotificationLogEntry> entries = new ArrayList<>();
+        for (String line : response.getContentAsString().split("\n")) {
+            entries.add(objectMapper.readValue(line, NotificationLogEntry.class));
+        }
+        assertThat(entries).containsExactly(NotificationLogEntry.from(email), NotificationLogEntry.from(sms));
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void streamRecentlySentNotifications_shouldWriteEmptyBodyWhenNothingMatches() throws IOException {
+        when(notificationService.streamNotificationsForPastWeek(NotificationChannel.SMS, null)).thenReturn(Stream.empty());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.streamRecentlySentNotifications(NotificationChannel.SMS, null, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEmpty();
+    }
+
+    @Test
+    void handleAccountEvents_shouldReturnTheHeldNotificationIdWhenDeferred() {
+        AccountEventNotificationRequest request = new AccountEventNotificationRequest();
+        Instant deliverAt = Instant.parse("2026-03-11T02:30:00Z");
+        ScheduledDelivery scheduled = new ScheduledDelivery(UUID.randomUUID(), NotificationType.ACCOUNT_EVENT,
+                AccountEventType.BILL_CLEARED, "1234567890", "jane@example.com", Instant.now(), deliverAt,
+                ScheduledDelivery.Reason.QUIET_HOURS);
+        when(notificationService.handleAccountEvent(request, null)).thenReturn(NotificationOutcome.scheduled(scheduled));
+
+        ResponseEntity<NotificationResponse> response = controller.handleAccountEvents(request, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody().scheduledId()).isEqualTo(scheduled.id().toString());
+        assertThat(response.getBody().deliverAt()).isEqualTo(deliverAt);
+        assertThat(response.getBody().message()).isEqualTo("Account event notification scheduled for 2026-03-11T02:30:00Z.");
+    }
+
+    @Test
+    void handleAccountStatusChange_shouldOmitScheduledIdWhenDispatched() {
+        AccountStatusChangeNotificationRequest request = new AccountStatusChangeNotificationRequest();
+        when(notificationService.handleAccountStatusChange(request, null)).thenReturn(NotificationOutcome.ACCEPTED);
+
+        ResponseEntity<NotificationResponse> response = controller.handleAccountStatusChange(request, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody().scheduledId()).isNull();
+        assertThat(response.getBody().message()).isEqualTo("Account status change notification dispatched.");
+    }
+}
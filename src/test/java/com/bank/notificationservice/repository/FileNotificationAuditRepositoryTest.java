@@ -0,0 +1,153 @@
+package com.bank.notificationservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class FileNotificationAuditRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private FileNotificationAuditRepository repository;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    @Test
+    void shouldRecoverSavedRecordsAfterRestart() throws IOException {
+        repository = open(DataSize.ofKilobytes(64));
+        Instant now = Instant.now();
+        NotificationRecord email = new NotificationRecord(UUID.randomUUID(), NotificationChannel.EMAIL, "jane@example.com",
+                "Bill payment confirmation", "Your bill of ₹1,500.00 has been cleared.", "ACCOUNT_EVENT", now.minusSeconds(5));
+        NotificationRecord sms = new NotificationRecord(UUID.randomUUID(), NotificationChannel.SMS, "+919876543210",
+                null, "Your bill has been cleared.", "ACCOUNT_EVENT", now);
+        repository.save(email);
+        repository.save(sms);
+        repository.close();
+
+        repository = open(DataSize.ofKilobytes(64));
+
+        assertThat(repository.findSince(now.minus(1, ChronoUnit.DAYS))).containsExactly(sms, email);
+    }
+
+    @Test
+    void shouldRollSegmentsAndKeepAppendingAfterRestart() throws IOException {
+        repository = open(DataSize.ofKilobytes(1));
+        List<NotificationRecord> saved = saveRecords(20, Instant.now());
+        assertThat(repository.segmentCount()).isGreaterThan(1);
+        repository.close();
+
+        repository = open(DataSize.ofKilobytes(1));
+        saved.addAll(saveRecords(5, Instant.now().plusSeconds(1)));
+        repository.close();
+
+        repository = open(DataSize.ofKilobytes(1));
+        assertThat(repository.findSince(null)).containsExactlyInAnyOrderElementsOf(saved);
+        assertThat(segmentFiles()).hasSize(repository.segmentCount());
+    }
+
+    @Test
+    void shouldStopAtTornWriteAndContinueFromThere() throws IOException {
+        repository = open(DataSize.ofKilobytes(64));
+        List<NotificationRecord> saved = saveRecords(3, Instant.now());
+        repository.close();
+        Path segment = segmentFiles().get(0);
+        int end = frameEnd(segment, 3);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0, 0, 0, 40, 1, 2, 3, 4, 5}), end);
+        }
+
+        repository = open(DataSize.ofKilobytes(64));
+        assertThat(repository.findSince(null)).hasSize(3);
+        saved.addAll(saveRecords(1, Instant.now().plusSeconds(1)));
+        repository.close();
+
+        repository = open(DataSize.ofKilobytes(64));
+        assertThat(repository.findSince(null)).containsExactlyInAnyOrderElementsOf(saved);
+    }
+
+    @Test
+    void evictExpired_shouldDeleteSealedSegmentsWhoseRecordsExpired() throws IOException {
+        repository = open(DataSize.ofKilobytes(1));
+        saveRecords(20, Instant.now().minus(Duration.ofDays(30)));
+        saveRecords(1, Instant.now());
+        int segments = repository.segmentCount();
+        assertThat(segments).isGreaterThan(2);
+
+        repository.evictExpired();
+
+        assertThat(repository.segmentCount()).isEqualTo(1);
+        assertThat(segmentFiles()).hasSize(1);
+        assertThat(repository.findSince(null)).hasSize(1);
+    }
+
+    @Test
+    void shouldRefuseDirectoryAlreadyInUse() {
+        repository = open(DataSize.ofKilobytes(64));
+
+        assertThatThrownBy(() -> open(DataSize.ofKilobytes(64)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("in use");
+    }
+
+    private FileNotificationAuditRepository open(DataSize segmentSize) {
+        NotificationProperties.Audit audit = new NotificationProperties.Audit(null, Duration.ofDays(8), 1_000, null, null,
+                new NotificationProperties.Audit.File(directory.toString(), segmentSize, Duration.ofMillis(200)), null);
+        NotificationProperties properties = new NotificationProperties(null, null, null, null, audit, null, null, null, null, null, null, null, null, null);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        return new FileNotificationAuditRepository(properties, new AuditRetention(properties, registry), registry);
+    }
+
+    private List<NotificationRecord> saveRecords(int count, Instant timestamp) {
+        List<NotificationRecord> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            NotificationRecord record = new NotificationRecord(UUID.randomUUID(), NotificationChannel.EMAIL,
+                    "customer" + i + "@example.com", "Account status update", "Your account is now active.",
+                    "ACCOUNT_STATUS_CHANGE", timestamp.plusMillis(i));
+            repository.save(record);
+            records.add(record);
+        }
+        return records;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(AuditLogSegment::isSegment).sorted().toList();
+        }
+    }
+
+    private static int frameEnd(Path segment, int frames) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int offset = 0;
+        for (int i = 0; i < frames; i++) {
+            offset += AuditLogSegment.FRAME_HEADER_BYTES + buffer.getInt(offset);
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,163 @@
+package com.bank.notificationservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationRecord;
+import com.bank.notificationservice.model.NotificationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class InMemoryNotificationAuditRepositoryTest {
+
+    private final Instant start = Instant.now().minusSeconds(60);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void find_shouldReadRecipientChannelAndTypePostingsWithinTimeRange() {
+        InMemoryNotificationAuditRepository repository = open(1_000);
+        NotificationRecord oldEmail = save(repository, "jane@example.com", NotificationChannel.EMAIL, NotificationType.ACCOUNT_EVENT, 0);
+        NotificationRecord sms = save(repository, "+919876543210", NotificationChannel.SMS, NotificationType.ACCOUNT_EVENT, 1);
+        NotificationRecord email = save(repository, "jane@example.com", NotificationChannel.EMAIL,
+                NotificationType.HIGH_VALUE_TRANSACTION, 2);
+        NotificationRecord other = save(repository, "john@example.com", NotificationChannel.EMAIL, NotificationType.ACCOUNT_EVENT, 3);
+
+        assertThat(repository.find(query(null, null, null, "jane@example.com", null, null))).containsExactly(email, oldEmail);
+        assertThat(repository.find(query(start.plusSeconds(1), start.plusSeconds(3), null, "jane@example.com", null, null)))
+                .containsExactly(email);
+        assertThat(repository.find(query(null, null, null, null, NotificationChannel.EMAIL, NotificationType.ACCOUNT_EVENT)))
+                .containsExactly(other, oldEmail);
+        assertThat(repository.find(query(null, null, AuditCursor.of(other), null, null, NotificationType.ACCOUNT_EVENT)))
+                .containsExactly(sms, oldEmail);
+        assertThat(repository.find(query(null, null, null, "nobody@example.com", null, null))).isEmpty();
+    }
+
+    @Test
+    void find_shouldMergeChannelsNewestFirstAndPageThroughTiesWithEncodedCursor() {
+        InMemoryNotificationAuditRepository repository = open(1_000);
+        NotificationRecord oldest = save(repository, new UUID(0, 4), NotificationChannel.SMS, NotificationType.ACCOUNT_EVENT, 0);
+        NotificationRecord tiedLow = save(repository, new UUID(0, 2), NotificationChannel.SMS, NotificationType.ACCOUNT_EVENT, 1);
+        NotificationRecord tiedHigh = save(repository, new UUID(0, 3), NotificationChannel.EMAIL,
+                NotificationType.HIGH_VALUE_TRANSACTION, 1);
+        NotificationRecord newest = save(repository, new UUID(0, 1), NotificationChannel.EMAIL, NotificationType.ACCOUNT_EVENT, 2);
+
+        assertThat(repository.findSince(null)).containsExactly(newest, tiedHigh, tiedLow, oldest);
+        assertThat(repository.findSince(start.plusSeconds(1))).containsExactly(newest, tiedHigh, tiedLow);
+        assertThat(repository.find(query(null, null, null, null, null, null, 2))).containsExactly(newest, tiedHigh);
+        AuditCursor cursor = AuditCursor.valueOf(AuditCursor.of(tiedHigh).encode());
+        assertThat(repository.find(query(null, null, cursor, null, null, null, 2))).containsExactly(tiedLow, oldest);
+        assertThat(repository.find(query(null, null, AuditCursor.of(oldest), null, null, null, 2))).isEmpty();
+        assertThat(repository.find(query(null, null, null, null, NotificationChannel.SMS, null, 1))).containsExactly(tiedLow);
+        assertThat(repository.find(query(null, null, null, null, null, NotificationType.ACCOUNT_EVENT, 10)))
+                .containsExactly(newest, tiedLow, oldest);
+        assertThat(repository.find(query(start.plusSeconds(1), start.plusSeconds(2), null, null, null, null, 10)))
+                .containsExactly(tiedHigh, tiedLow);
+    }
+
+    @Test
+    void find_shouldMatchEmailRecipientsRegardlessOfCase() {
+        InMemoryNotificationAuditRepository repository = open(2);
+        NotificationRecord mixed = save(repository, "Jane@Example.com", NotificationChannel.EMAIL, NotificationType.ACCOUNT_EVENT, 0);
+        NotificationRecord lower = save(repository, "jane@example.com", NotificationChannel.EMAIL, NotificationType.ACCOUNT_EVENT, 1);
+
+        assertThat(repository.find(query(null, null, null, "JANE@example.COM", null, null))).containsExactly(lower, mixed);
+        assertThat(repository.find(query(null, null, null, "jane@example.com", NotificationChannel.EMAIL, null)))
+                .containsExactly(lower, mixed);
+
+        save(repository, "john@example.com", NotificationChannel.EMAIL, NotificationType.ACCOUNT_EVENT, 2);
+
+        assertThat(repository.find(query(null, null, null, "Jane@Example.com", null, null))).containsExactly(lower);
+    }
+
+    @Test
+    void save_shouldRemoveEvictedRecordsFromIndex() {
+        InMemoryNotificationAuditRepository repository = open(2);
+        save(repository, "jane@example.com", NotificationChannel.EMAIL, NotificationType.ACCOUNT_EVENT, 0);
+        NotificationRecord kept = save(repository, "jane@example.com", NotificationChannel.EMAIL, NotificationType.ACCOUNT_EVENT, 1);
+        NotificationRecord newest = save(repository, "john@example.com", NotificationChannel.EMAIL, NotificationType.ACCOUNT_EVENT, 2);
+
+        assertThat(repository.find(query(null, null, null, "jane@example.com", null, null))).containsExactly(kept);
+        assertThat(repository.find(query(null, null, null, null, NotificationChannel.EMAIL, null))).containsExactly(newest, kept);
+    }
+
+    @Test
+    void evictExpired_shouldRemoveExpiredRecordsFromLogAndIndex() {
+        InMemoryNotificationAuditRepository repository = open(Duration.ofHours(1), 100, DataSize.ofMegabytes(1));
+        save(repository, "jane@example.com", NotificationChannel.EMAIL, NotificationType.ACCOUNT_EVENT,
+                (int) -Duration.ofHours(2).toSeconds());
+        NotificationRecord recent = save(repository, "jane@example.com", NotificationChannel.EMAIL,
+                NotificationType.ACCOUNT_EVENT, 0);
+
+        repository.evictExpired();
+
+        assertThat(repository.findSince(null)).containsExactly(recent);
+        assertThat(repository.find(query(null, null, null, "jane@example.com", null, null))).containsExactly(recent);
+        assertThat(evictions("ttl")).isEqualTo(1);
+        assertThat(registry.get("notification.audit.records").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void save_shouldEvictOldestRecordsOnceByteCapIsExceededAndCountThem() {
+        NotificationRecord sample = new NotificationRecord(UUID.randomUUID(), NotificationChannel.EMAIL, "jane@example.com",
+                null, "Your account has been updated.", NotificationType.ACCOUNT_EVENT.name(), start);
+        long recordBytes = AuditRetention.estimateBytes(sample);
+        InMemoryNotificationAuditRepository repository = open(Duration.ofDays(8), 100, DataSize.ofBytes(2 * recordBytes));
+        save(repository, "jane@example.com", NotificationChannel.EMAIL, NotificationType.ACCOUNT_EVENT, 0);
+        NotificationRecord kept = save(repository, "jane@example.com", NotificationChannel.EMAIL, NotificationType.ACCOUNT_EVENT, 1);
+        NotificationRecord newest = save(repository, "jane@example.com", NotificationChannel.EMAIL, NotificationType.ACCOUNT_EVENT, 2);
+
+        assertThat(repository.findSince(null)).containsExactly(newest, kept);
+        assertThat(evictions("capacity")).isEqualTo(1);
+        assertThat(evictions("ttl")).isZero();
+        assertThat(registry.get("notification.audit.estimated.size").gauge().value()).isEqualTo(2.0 * recordBytes);
+    }
+
+    private double evictions(String reason) {
+        return registry.get("notification.audit.evictions").tag("reason", reason).counter().count();
+    }
+
+    private static AuditQuery query(Instant since, Instant until, AuditCursor after, String recipient,
+            NotificationChannel channel, NotificationType type) {
+        return query(since, until, after, recipient, channel, type, 100);
+    }
+
+    private static AuditQuery query(Instant since, Instant until, AuditCursor after, String recipient,
+            NotificationChannel channel, NotificationType type, int limit) {
+        return new AuditQuery(since, until, after, recipient, channel, type, limit);
+    }
+
+    private NotificationRecord save(InMemoryNotificationAuditRepository repository, String recipient,
+            NotificationChannel channel, NotificationType type, int offsetSeconds) {
+        return save(repository, UUID.randomUUID(), recipient, channel, type, offsetSeconds);
+    }
+
+    private NotificationRecord save(InMemoryNotificationAuditRepository repository, UUID id, NotificationChannel channel,
+            NotificationType type, int offsetSeconds) {
+        return save(repository, id, "jane@example.com", channel, type, offsetSeconds);
+    }
+
+    private NotificationRecord save(InMemoryNotificationAuditRepository repository, UUID id, String recipient,
+            NotificationChannel channel, NotificationType type, int offsetSeconds) {
+        NotificationRecord record = new NotificationRecord(id, channel, recipient, null,
+                "Your account has been updated.", type.name(), start.plusSeconds(offsetSeconds));
+        repository.save(record);
+        return record;
+    }
+
+    private InMemoryNotificationAuditRepository open(int maxRecords) {
+        return open(Duration.ofDays(8), maxRecords, null);
+    }
+
+    private InMemoryNotificationAuditRepository open(Duration retention, int maxRecords, DataSize maxSize) {
+        NotificationProperties.Audit audit = new NotificationProperties.Audit(null, retention, maxRecords, maxSize, null,
+                null, null);
+        NotificationProperties properties = new NotificationProperties(null, null, null, null, audit, null, null, null, null,
+                null, null, null, null, null);
+        return new InMemoryNotificationAuditRepository(new AuditRetention(properties, registry));
+    }
+}
@@ -0,0 +1,237 @@
+package com.bank.notificationservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationRecord;
+import com.bank.notificationservice.model.NotificationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+class JdbcNotificationAuditRepositoryTest {
+
+    private final JdbcDataSource dataSource = new JdbcDataSource();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private JdbcNotificationAuditRepository repository;
+
+    JdbcNotificationAuditRepositoryTest() {
+        dataSource.setURL("jdbc:h2:mem:audit-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    @Test
+    void shouldWriteSavedRecordsAndReturnThemNewestFirst() throws InterruptedException {
+        repository = open(100, Duration.ofMillis(20));
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusNanos(123_456_789);
+        NotificationRecord email = new NotificationRecord(UUID.randomUUID(), NotificationChannel.EMAIL, "jane@example.com",
+                "Bill payment confirmation", "Your bill of ₹1,500.00 has been cleared.", "ACCOUNT_EVENT", now.minusSeconds(5));
+        NotificationRecord sms = new NotificationRecord(UUID.randomUUID(), NotificationChannel.SMS, "+919876543210",
+                null, "Your bill has been cleared.", "ACCOUNT_EVENT", now);
+        repository.save(email);
+        repository.save(sms);
+
+        assertThat(repository.flush(Duration.ofSeconds(5))).isTrue();
+
+        assertThat(repository.findSince(now.minusSeconds(60))).containsExactly(sms, email);
+        assertThat(repository.findSince(now.minusNanos(1))).containsExactly(sms);
+        assertThat(repository.findSince(now.plusNanos(1))).isEmpty();
+    }
+
+    @Test
+    void shouldInsertFullBatchWithoutWaitingForFlushInterval() throws InterruptedException {
+        repository = open(5, Duration.ofHours(1));
+
+        saveRecords(5, Instant.now());
+
+        assertThat(repository.flush(Duration.ofSeconds(5))).isTrue();
+        assertThat(rowCount()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldRetryBatchThatFailsToInsert() throws InterruptedException {
+        AtomicInteger failures = new AtomicInteger();
+        DelegatingDataSource flaky = new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (failures.getAndDecrement() > 0) {
+                    throw new SQLException("Connection refused");
+                }
+                return super.getConnection();
+            }
+        };
+        repository = open(flaky, 5, Duration.ofMillis(20));
+        failures.set(JdbcNotificationAuditRepository.WRITE_ATTEMPTS - 1);
+
+        saveRecords(5, Instant.now());
+
+        assertThat(repository.flush(Duration.ofSeconds(10))).isTrue();
+        assertThat(rowCount()).isEqualTo(5);
+        assertThat(registry.counter("notification.audit.jdbc.dropped", "reason", "error").count()).isZero();
+    }
+
+    @Test
+    void shouldWriteRecordsOneByOneWhenBatchKeepsFailing() throws InterruptedException {
+        repository = open(4, Duration.ofMillis(20));
+        List<NotificationRecord> saved = saveRecords(3, Instant.now());
+        repository.save(saved.get(1));
+
+        assertThat(repository.flush(Duration.ofSeconds(10))).isTrue();
+        assertThat(rowCount()).isEqualTo(3);
+        assertThat(registry.counter("notification.audit.jdbc.dropped", "reason", "error").count()).isEqualTo(1);
+    }
+
+    @Test
+    void find_shouldPageThroughFilteredRecordsWithCursor() throws InterruptedException {
+        repository = open(4, Duration.ofMillis(20));
+        Instant start = Instant.now().minusSeconds(60);
+        List<NotificationRecord> saved = saveRecords(10, start);
+        repository.save(new NotificationRecord(UUID.randomUUID(), NotificationChannel.SMS, "+919876543210", null,
+                "Your account is now active.", "ACCOUNT_STATUS_CHANGE", start.plusSeconds(1)));
+        repository.flush(Duration.ofSeconds(5));
+
+        List<NotificationRecord> firstPage = repository.find(new AuditQuery(start, null, null, null,
+                NotificationChannel.EMAIL, NotificationType.ACCOUNT_STATUS_CHANGE, 6));
+        List<NotificationRecord> secondPage = repository.find(new AuditQuery(start, null,
+                AuditCursor.of(firstPage.get(5)), null, NotificationChannel.EMAIL, NotificationType.ACCOUNT_STATUS_CHANGE, 6));
+
+        List<NotificationRecord> newestFirst = new ArrayList<>(saved);
+        Collections.reverse(newestFirst);
+        assertThat(firstPage).containsExactlyElementsOf(newestFirst.subList(0, 6));
+        assertThat(secondPage).containsExactlyElementsOf(newestFirst.subList(6, 10));
+    }
+
+    @Test
+    void find_shouldFilterByRecipientWithinTimeRange() throws InterruptedException {
+        repository = open(100, Duration.ofMillis(20));
+        Instant start = Instant.now().minusSeconds(60).truncatedTo(ChronoUnit.SECONDS).plusNanos(500);
+        List<NotificationRecord> saved = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            NotificationRecord record = new NotificationRecord(UUID.randomUUID(), NotificationChannel.EMAIL, "jane@example.com",
+                    "Account status update", "Your account is now active.", "ACCOUNT_STATUS_CHANGE", start.plusSeconds(i));
+            repository.save(record);
+            saved.add(record);
+        }
+        saveRecords(3, start);
+        repository.flush(Duration.ofSeconds(5));
+
+        List<NotificationRecord> found = repository.find(new AuditQuery(start.plusSeconds(1), start.plusSeconds(3), null,
+                "jane@example.com", null, null, 10));
+
+        assertThat(found).containsExactly(saved.get(2), saved.get(1));
+    }
+
+    @Test
+    void find_shouldMatchEmailRecipientsRegardlessOfCase() throws InterruptedException {
+        repository = open(100, Duration.ofMillis(20));
+        Instant now = Instant.now();
+        NotificationRecord mixedCase = new NotificationRecord(UUID.randomUUID(), NotificationChannel.EMAIL,
+                "Jane.Doe@Example.com", "Account status update", "Your account is now active.", "ACCOUNT_STATUS_CHANGE",
+                now.minusSeconds(2));
+        NotificationRecord lowerCase = new NotificationRecord(UUID.randomUUID(), NotificationChannel.EMAIL,
+                "jane.doe@example.com", "Bill payment confirmation", "Your bill has been cleared.", "ACCOUNT_EVENT",
+                now.minusSeconds(1));
+        repository.save(mixedCase);
+        repository.save(lowerCase);
+        saveRecords(3, now.minusSeconds(10));
+        repository.flush(Duration.ofSeconds(5));
+
+        List<NotificationRecord> found = repository.find(new AuditQuery(now.minusSeconds(60), null, null,
+                "JANE.doe@example.COM", null, null, 10));
+
+        assertThat(found).containsExactly(lowerCase, mixedCase);
+        assertThat(found.get(1).recipient()).isEqualTo("Jane.Doe@Example.com");
+    }
+
+    @Test
+    void shouldFillRecipientKeyOfTableCreatedWithoutIt() throws InterruptedException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE " + JdbcNotificationAuditRepository.TABLE + " ("
+                + "created_at TIMESTAMP WITH TIME ZONE NOT NULL, created_nanos INTEGER NOT NULL, id UUID NOT NULL, "
+                + "channel VARCHAR(16), notification_type VARCHAR(64), recipient VARCHAR, subject VARCHAR, "
+                + "preview VARCHAR, PRIMARY KEY (created_at, created_nanos, id))");
+        jdbcTemplate.update("INSERT INTO " + JdbcNotificationAuditRepository.TABLE
+                + " VALUES (CURRENT_TIMESTAMP, 0, ?, 'EMAIL', 'ACCOUNT_EVENT', 'Jane@Example.com', NULL, 'Cleared.')",
+                UUID.randomUUID());
+
+        repository = open(100, Duration.ofMillis(20));
+
+        assertThat(repository.find(new AuditQuery(null, null, null, "jane@example.com", null, null, 10)))
+                .extracting(NotificationRecord::recipient)
+                .containsExactly("Jane@Example.com");
+    }
+
+    @Test
+    void evictExpired_shouldDeleteRecordsOlderThanRetention() throws InterruptedException {
+        repository = open(100, Duration.ofMillis(20));
+        saveRecords(3, Instant.now().minus(Duration.ofDays(7)));
+        saveRecords(2, Instant.now());
+        repository.flush(Duration.ofSeconds(5));
+        assertThat(rowCount()).isEqualTo(5);
+
+        new JdbcTemplate(dataSource).update("UPDATE " + JdbcNotificationAuditRepository.TABLE
+                + " SET created_at = created_at - INTERVAL '2' DAY WHERE created_at < ?",
+                Timestamp.from(Instant.now().minus(Duration.ofDays(1))));
+        repository.evictExpired();
+
+        assertThat(rowCount()).isEqualTo(2);
+    }
+
+    @Test
+    void partitionDdl_shouldCoverOneUtcDay() {
+        assertThat(JdbcNotificationAuditRepository.partitionDdl(LocalDate.of(2026, 10, 18)))
+                .isEqualTo("CREATE TABLE IF NOT EXISTS notification_audit_p20261018 PARTITION OF notification_audit"
+                        + " FOR VALUES FROM ('2026-10-18T00:00:00Z') TO ('2026-10-19T00:00:00Z')");
+    }
+
+    private JdbcNotificationAuditRepository open(int batchSize, Duration flushInterval) {
+        return open(dataSource, batchSize, flushInterval);
+    }
+
+    private JdbcNotificationAuditRepository open(DataSource source, int batchSize, Duration flushInterval) {
+        NotificationProperties.Audit audit = new NotificationProperties.Audit(null, Duration.ofDays(8), 1_000, null, null,
+                null, new NotificationProperties.Audit.Jdbc(batchSize, flushInterval, 1_000, 2));
+        NotificationProperties properties = new NotificationProperties(null, null, null, null, audit, null, null, null, null, null, null, null, null, null);
+        return new JdbcNotificationAuditRepository(properties, source, new AuditRetention(properties, registry), registry);
+    }
+
+    private List<NotificationRecord> saveRecords(int count, Instant timestamp) {
+        List<NotificationRecord> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            NotificationRecord record = new NotificationRecord(UUID.randomUUID(), NotificationChannel.EMAIL,
+                    "customer" + i + "@example.com", "Account status update", "Your account is now active.",
+                    "ACCOUNT_STATUS_CHANGE", timestamp.plusMillis(i));
+            repository.save(record);
+            records.add(record);
+        }
+        return records;
+    }
+
+    private int rowCount() {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM " + JdbcNotificationAuditRepository.TABLE,
+                Integer.class);
+    }
+}
@@ -0,0 +1,140 @@
+package com.bank.notificationservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationRecord;
+import com.bank.notificationservice.model.NotificationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class TimeIndexedNotificationAuditRepositoryTest {
+
+    private final Instant start = Instant.now().minusSeconds(60);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private TimeIndexedNotificationAuditRepository repository =
+            new TimeIndexedNotificationAuditRepository(AuditRetention.unbounded());
+
+    @Test
+    void findSince_shouldReturnNewestFirstRegardlessOfSaveOrder() {
+        NotificationRecord middle = save(1, new UUID(0, 5));
+        NotificationRecord newest = save(2, new UUID(0, 1));
+        NotificationRecord oldest = save(0, new UUID(0, 9));
+
+        assertThat(repository.findSince(null)).containsExactly(newest, middle, oldest);
+        assertThat(repository.findSince(start.minusSeconds(1))).containsExactly(newest, middle, oldest);
+    }
+
+    @Test
+    void findSince_shouldIncludeEveryRecordAtTheBoundaryTimestamp() {
+        save(0, new UUID(0, 1));
+        NotificationRecord lowId = save(1, new UUID(0, 1));
+        NotificationRecord highId = save(1, new UUID(0, 2));
+        NotificationRecord lowestId = save(1, new UUID(Long.MIN_VALUE, Long.MIN_VALUE));
+        NotificationRecord newest = save(2, new UUID(0, 3));
+
+        assertThat(repository.findSince(start.plusSeconds(1))).containsExactly(newest, highId, lowId, lowestId);
+        assertThat(repository.findSince(start.plusSeconds(1).plusNanos(1))).containsExactly(newest);
+        assertThat(repository.findSince(start.plusSeconds(3))).isEmpty();
+    }
+
+    @Test
+    void save_shouldIgnoreRecordAlreadyIndexed() {
+        NotificationRecord record = save(0, new UUID(0, 1));
+
+        repository.save(record);
+
+        assertThat(repository.findSince(null)).containsExactly(record);
+    }
+
+    @Test
+    void find_shouldPageThroughRecordsSharingTimestampWithoutSkippingOrRepeating() {
+        NotificationRecord newest = save(2, new UUID(0, 1));
+        NotificationRecord tiedHigh = save(1, new UUID(0, 3));
+        NotificationRecord tiedLow = save(1, new UUID(0, 2));
+        NotificationRecord oldest = save(0, new UUID(0, 4));
+
+        AuditQuery firstPage = new AuditQuery(null, null, null, null, null, null, 2);
+        assertThat(repository.find(firstPage)).containsExactly(newest, tiedHigh);
+        AuditCursor cursor = AuditCursor.valueOf(AuditCursor.of(tiedHigh).encode());
+        AuditQuery secondPage = new AuditQuery(null, null, cursor, null, null, null, 2);
+        assertThat(repository.find(secondPage)).containsExactly(tiedLow, oldest);
+        AuditQuery window = new AuditQuery(start.plusSeconds(1), start.plusSeconds(2), null, null, null, null, 10);
+        assertThat(repository.find(window)).containsExactly(tiedHigh, tiedLow);
+    }
+
+    @Test
+    void evictExpired_shouldRemoveOnlyRecordsOlderThanTimeToLive() {
+        repository = open(Duration.ofHours(1), 100, DataSize.ofMegabytes(1));
+        Instant now = Instant.now();
+        NotificationRecord recent = save(now.minusSeconds(60), UUID.randomUUID());
+        save(now.minus(Duration.ofHours(3)), UUID.randomUUID());
+        save(now.minus(Duration.ofHours(2)), UUID.randomUUID());
+
+        repository.evictExpired();
+
+        assertThat(repository.findSince(null)).containsExactly(recent);
+        assertThat(evictions("ttl")).isEqualTo(2);
+        assertThat(evictions("capacity")).isZero();
+        assertThat(registry.get("notification.audit.records").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void save_shouldEvictOldestRecordOnceRecordCapIsExceeded() {
+        repository = open(Duration.ofDays(1), 2, DataSize.ofMegabytes(1));
+        NotificationRecord middle = save(1, UUID.randomUUID());
+        save(0, UUID.randomUUID());
+        NotificationRecord newest = save(2, UUID.randomUUID());
+
+        assertThat(repository.findSince(null)).containsExactly(newest, middle);
+        assertThat(evictions("capacity")).isEqualTo(1);
+        assertThat(registry.get("notification.audit.records").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void save_shouldEvictOldestRecordsOnceByteCapIsExceeded() {
+        NotificationRecord sample = record(start, UUID.randomUUID());
+        long recordBytes = AuditRetention.estimateBytes(sample);
+        repository = open(Duration.ofDays(1), 100, DataSize.ofBytes(2 * recordBytes));
+        save(0, UUID.randomUUID());
+        save(1, UUID.randomUUID());
+        save(2, UUID.randomUUID());
+        NotificationRecord newest = save(3, UUID.randomUUID());
+
+        assertThat(repository.findSince(null)).hasSize(2).startsWith(newest);
+        assertThat(evictions("capacity")).isEqualTo(2);
+        assertThat(registry.get("notification.audit.estimated.size").gauge().value()).isEqualTo(2.0 * recordBytes);
+    }
+
+    private double evictions(String reason) {
+        return registry.get("notification.audit.evictions").tag("reason", reason).counter().count();
+    }
+
+    private TimeIndexedNotificationAuditRepository open(Duration retention, int maxRecords, DataSize maxSize) {
+        NotificationProperties.Audit audit = new NotificationProperties.Audit(null, retention, maxRecords, maxSize, null,
+                null, null);
+        NotificationProperties properties = new NotificationProperties(null, null, null, null, audit, null, null, null, null,
+                null, null, null, null, null);
+        return new TimeIndexedNotificationAuditRepository(new AuditRetention(properties, registry));
+    }
+
+    private NotificationRecord save(int offsetSeconds, UUID id) {
+        return save(start.plusSeconds(offsetSeconds), id);
+    }
+
+    private NotificationRecord save(Instant timestamp, UUID id) {
+        NotificationRecord record = record(timestamp, id);
+        repository.save(record);
+        return record;
+    }
+
+    private static NotificationRecord record(Instant timestamp, UUID id) {
+        return new NotificationRecord(id, NotificationChannel.EMAIL, "jane@example.com", null,
+                "Your account has been updated.", NotificationType.ACCOUNT_EVENT.name(), timestamp);
+    }
+}
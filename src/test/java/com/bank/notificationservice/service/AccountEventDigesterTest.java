@@ -0,0 +1,163 @@
+package com.bank.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.dto.AccountEventNotificationRequest;
+import com.bank.notificationservice.model.AccountEventType;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.support.NotificationDelivery;
+import com.bank.notificationservice.support.NotificationDeliveryException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class AccountEventDigesterTest {
+
+    private final DispatchPipeline pipeline = mock(DispatchPipeline.class);
+    private final DeliveryRetryScheduler retryScheduler = mock(DeliveryRetryScheduler.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private AccountEventDigester digester;
+
+    @AfterEach
+    void tearDown() {
+        if (digester != null) {
+            digester.shutdown();
+        }
+    }
+
+    @Test
+    void shouldMergeEventsForSameRecipientWithinWindow() {
+        digester = open(Duration.ofSeconds(1), 10);
+
+        assertThat(digester.offer(event("jane@example.com", AccountEventType.DOCUMENT_UPDATED))).isTrue();
+        assertThat(digester.offer(event("JANE@example.com", AccountEventType.BILL_CLEARED))).isTrue();
+        assertThat(digester.offer(event("john@example.com", AccountEventType.DOCUMENT_UPDATED))).isTrue();
+        assertThat(digester.offer(event("jane@example.com", AccountEventType.LOAN_TAKEN))).isFalse();
+
+        List<NotificationDelivery> deliveries = captureDeliveries(4);
+        NotificationDelivery janeEmail = deliveries.stream()
+                .filter(delivery -> delivery.email() != null && delivery.email().to().equalsIgnoreCase("jane@example.com"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(janeEmail.includes(NotificationChannel.SMS)).isFalse();
+        assertThat(janeEmail.email().subject()).isEqualTo("2 updates to your account");
+        assertThat(janeEmail.email().body())
+                .contains("- Documents updated for your account: New documents were added")
+                .contains("- Bill payment confirmation: Your recent bill has been cleared for account 1234567890.");
+        assertThat(deliveries).filteredOn(delivery -> delivery.sms() != null)
+                .extracting(delivery -> delivery.sms().body())
+                .anySatisfy(body -> assertThat(body)
+                        .startsWith("Dear Jane Doe, 2 updates to your account: Documents updated for your account; Bill payment")
+                        .hasSizeLessThanOrEqualTo(140));
+        NotificationDelivery johnEmail = deliveries.stream()
+                .filter(delivery -> delivery.email() != null && delivery.email().to().equals("john@example.com"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(johnEmail.email().subject()).isEqualTo("Documents updated for your account");
+    }
+
+    @Test
+    void shouldSendFullDigestWithoutWaitingForWindow() {
+        digester = open(Duration.ofHours(1), 3);
+
+        digester.offer(event("jane@example.com", AccountEventType.DOCUMENT_UPDATED));
+        digester.offer(event("jane@example.com", AccountEventType.CONTACT_INFORMATION_UPDATED));
+        verifyNoInteractions(pipeline);
+        digester.offer(event("jane@example.com", AccountEventType.BILL_CLEARED));
+
+        ArgumentCaptor<NotificationDelivery> delivery = ArgumentCaptor.forClass(NotificationDelivery.class);
+        verify(pipeline, times(2)).submit(delivery.capture());
+        assertThat(delivery.getAllValues().get(0).email().subject()).isEqualTo("3 updates to your account");
+    }
+
+    @Test
+    void shouldDeadLetterChannelThatFailsWhenRetriesAreDisabled() {
+        digester = open(Duration.ofHours(1), 2);
+        NotificationDeliveryException queueFull = new NotificationDeliveryException("Notification dispatch queue is full", null);
+        doThrow(queueFull).when(pipeline).submit(argThat(delivery -> delivery.includes(NotificationChannel.SMS)));
+
+        digester.offer(event("jane@example.com", AccountEventType.DOCUMENT_UPDATED));
+        digester.offer(event("jane@example.com", AccountEventType.BILL_CLEARED));
+
+        verify(pipeline).submit(argThat(delivery -> delivery.includes(NotificationChannel.EMAIL)));
+        verify(retryScheduler).deadLetter(argThat(delivery -> delivery.type() == NotificationType.ACCOUNT_EVENT
+                && !delivery.includes(NotificationChannel.EMAIL)), eq(NotificationChannel.SMS), eq(queueFull));
+        assertThat(registry.get("notification.digest.failures").tag("channel", "sms").counter().count()).isEqualTo(1);
+        assertThat(registry.get("notification.digest.failures").tag("channel", "email").counter().count()).isZero();
+    }
+
+    @Test
+    void shouldCountSkippedChannelsOncePerDigest() {
+        NotificationProperties.Routing routing = new NotificationProperties.Routing(null, Map.of(
+                AccountEventType.DOCUMENT_UPDATED, Set.of(NotificationChannel.EMAIL),
+                AccountEventType.BILL_CLEARED, Set.of(NotificationChannel.EMAIL)), null, true);
+        digester = open(Duration.ofHours(1), 3, routing);
+
+        digester.offer(event("jane@example.com", AccountEventType.DOCUMENT_UPDATED));
+        digester.offer(event("jane@example.com", AccountEventType.BILL_CLEARED));
+        digester.offer(event("jane@example.com", AccountEventType.DOCUMENT_UPDATED));
+
+        verify(pipeline).submit(argThat(delivery -> !delivery.includes(NotificationChannel.SMS)));
+        assertThat(registry.get("notification.routing.skipped")
+                .tags("type", "account-event", "channel", "sms", "reason", "policy").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSendOpenDigestsOnShutdown() {
+        digester = open(Duration.ofHours(1), 10);
+        digester.offer(event("jane@example.com", AccountEventType.DOCUMENT_UPDATED));
+
+        digester.shutdown();
+        digester = null;
+
+        verify(pipeline, times(2)).submit(any());
+    }
+
+    private List<NotificationDelivery> captureDeliveries(int count) {
+        ArgumentCaptor<NotificationDelivery> deliveries = ArgumentCaptor.forClass(NotificationDelivery.class);
+        verify(pipeline, timeout(5_000).times(count)).submit(deliveries.capture());
+        verify(pipeline, times(count)).submit(any());
+        return deliveries.getAllValues();
+    }
+
+    private AccountEventDigester open(Duration window, int maxEvents) {
+        return open(window, maxEvents, new NotificationProperties.Routing(null, null, null, true));
+    }
+
+    private AccountEventDigester open(Duration window, int maxEvents, NotificationProperties.Routing routing) {
+        NotificationProperties.Digest digest = new NotificationProperties.Digest(true,
+                Set.of(AccountEventType.DOCUMENT_UPDATED, AccountEventType.CONTACT_INFORMATION_UPDATED,
+                        AccountEventType.BILL_CLEARED),
+                window, maxEvents, 100, 1);
+        NotificationProperties properties = new NotificationProperties(null, null, null, null, null, null, null, null,
+                null, null, null, digest, routing, null);
+        return new AccountEventDigester(properties, new NotificationComposer(), pipeline, new NotificationMetrics(registry),
+                new ChannelRouter(properties, registry), retryScheduler, DispatchThreads.platform(), registry);
+    }
+
+    private static AccountEventNotificationRequest event(String email, AccountEventType type) {
+        AccountEventNotificationRequest request = new AccountEventNotificationRequest();
+        request.setAccountNumber("1234567890");
+        request.setCustomerName(email.startsWith("john") ? "John Roe" : "Jane Doe");
+        request.setCustomerEmail(email);
+        request.setCustomerPhone("+15550001111");
+        request.setEventType(type);
+        return request;
+    }
+}
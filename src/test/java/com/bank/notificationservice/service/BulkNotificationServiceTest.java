@@ -0,0 +1,173 @@
+package com.bank.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.bank.notificationservice.dto.BulkItemResult;
+import com.bank.notificationservice.support.NotificationOutcome;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BulkNotificationServiceTest {
+
+    private static final String TRANSACTION = "{\"type\":\"HIGH_VALUE_TRANSACTION\",\"accountNumber\":\"1234567890\","
+            + "\"customerName\":\"Jane\",\"customerEmail\":\"jane@example.com\",\"customerPhone\":\"+919876543210\","
+            + "\"txnType\":\"DEBIT\",\"amount\":50000,\"currency\":\"INR\"}";
+    private static final String STATUS_CHANGE = "{\"type\":\"ACCOUNT_STATUS_CHANGE\",\"accountNumber\":\"1234567890\","
+            + "\"customerName\":\"Jane\",\"customerEmail\":\"jane@example.com\",\"previousStatus\":\"ACTIVE\","
+            + "\"currentStatus\":\"SUSPENDED\"}";
+    private static final String ACCOUNT_EVENT = "{\"type\":\"ACCOUNT_EVENT\",\"accountNumber\":\"1234567890\","
+            + "\"customerName\":\"Jane\",\"customerEmail\":\"jane@example.com\",\"eventType\":\"BILL_CLEARED\"}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final BulkNotificationService bulk = new BulkNotificationService(notificationService, objectMapper,
+            validatorFactory.getValidator());
+
+    @BeforeEach
+    void acceptEveryNotification() {
+        when(notificationService.handleHighValueTransaction(any())).thenReturn(NotificationOutcome.ACCEPTED);
+        when(notificationService.handleAccountStatusChange(any())).thenReturn(NotificationOutcome.ACCEPTED);
+        when(notificationService.handleAccountEvent(any())).thenReturn(NotificationOutcome.ACCEPTED);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void process_shouldReportEachItemOfMixedNdjson() throws IOException {
+        String body = String.join("\n", TRANSACTION, STATUS_CHANGE, ACCOUNT_EVENT,
+                "{\"type\":\"ACCOUNT_EVENT\",\"customerEmail\":\"not-an-email\"}",
+                "{\"type\":\"PIGEON\"}",
+                "{\"accountNumber\":\"1234567890\"}");
+
+        List<BulkItemResult> results = process(body);
+
+        assertThat(results).extracting(BulkItemResult::status).containsExactly(
+                BulkItemResult.Status.ACCEPTED, BulkItemResult.Status.ACCEPTED, BulkItemResult.Status.ACCEPTED,
+                BulkItemResult.Status.REJECTED, BulkItemResult.Status.REJECTED, BulkItemResult.Status.REJECTED);
+        assertThat(results).extracting(BulkItemResult::index).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(results.get(3).errors()).containsKeys("accountNumber", "customerName", "customerEmail", "eventType");
+        assertThat(results.get(4).errors()).containsKey("type");
+    }
+
+    @Test
+    void process_shouldAcceptJsonArrayAndStopAtMalformedItem() throws IOException {
+        List<BulkItemResult> results = process("[" + STATUS_CHANGE + "," + ACCOUNT_EVENT + ", {\"type\": ]");
+
+        assertThat(results).extracting(BulkItemResult::status).containsExactly(
+                BulkItemResult.Status.ACCEPTED, BulkItemResult.Status.ACCEPTED, BulkItemResult.Status.MALFORMED);
+    }
+
+    @Test
+    void process_shouldReportUnexpectedFailureAsFailedItemAndContinue() throws IOException {
+        when(notificationService.handleAccountEvent(any())).thenThrow(new IllegalArgumentException("No template for BILL_CLEARED"));
+
+        List<BulkItemResult> results = process(String.join("\n", ACCOUNT_EVENT, STATUS_CHANGE));
+
+        assertThat(results).extracting(BulkItemResult::status)
+                .containsExactly(BulkItemResult.Status.FAILED, BulkItemResult.Status.ACCEPTED);
+    }
+
+    @Test
+    void process_shouldStreamResultsBeforeLargeInputIsFullyRead() throws IOException {
+        int items = 100_000;
+        GeneratedNdjson input = new GeneratedNdjson(STATUS_CHANGE, items);
+        LineCountingOutputStream output = new LineCountingOutputStream(input);
+
+        bulk.process(input, output);
+
+        assertThat(output.lines).isEqualTo(items);
+        assertThat(output.inputReadAtFirstWrite).isLessThan(input.length / 10);
+    }
+
+    private List<BulkItemResult> process(String body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bulk.process(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+        List<BulkItemResult> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, BulkItemResult.class));
+        }
+        return results;
+    }
+
+    /* The same item repeated, produced on demand so the test never holds the whole body either. */
+    private static final class GeneratedNdjson extends InputStream {
+
+        private final byte[] line;
+        private final long length;
+        private long position;
+
+        private GeneratedNdjson(String item, int count) {
+            this.line = (item + "\n").getBytes(StandardCharsets.UTF_8);
+            this.length = (long) line.length * count;
+        }
+
+        @Override
+        public int read() {
+            return position < length ? line[(int) (position++ % line.length)] : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int count) {
+            if (position >= length) {
+                return -1;
+            }
+            int read = (int) Math.min(count, length - position);
+            for (int i = 0; i < read; i++) {
+                buffer[offset + i] = line[(int) (position++ % line.length)];
+            }
+            return read;
+        }
+    }
+
+    private static final class LineCountingOutputStream extends OutputStream {
+
+        private final GeneratedNdjson input;
+        private long inputReadAtFirstWrite = -1;
+        private int lines;
+        private boolean pending;
+
+        private LineCountingOutputStream(GeneratedNdjson input) {
+            this.input = input;
+        }
+
+        @Override
+        public void write(int b) {
+            if (inputReadAtFirstWrite < 0) {
+                inputReadAtFirstWrite = input.position;
+            }
+            if (b == '\n') {
+                lines++;
+                pending = false;
+            } else {
+                pending = true;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (pending) {
+                lines++;
+                pending = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.bank.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.dto.AccountEventNotificationRequest;
+import com.bank.notificationservice.dto.AccountStatusChangeNotificationRequest;
+import com.bank.notificationservice.dto.HighValueTransactionNotificationRequest;
+import com.bank.notificationservice.model.AccountEventType;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.support.ChannelSelection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ChannelRouterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldRouteByTypeEventTypeAndAmountBand() {
+        ChannelRouter router = router(new NotificationProperties.Routing(
+                Map.of(NotificationType.ACCOUNT_STATUS_CHANGE, Set.of(NotificationChannel.EMAIL)),
+                Map.of(AccountEventType.DOCUMENT_UPDATED, Set.of(NotificationChannel.EMAIL)),
+                List.of(new NotificationProperties.Routing.AmountBand(new BigDecimal("1000000"),
+                                Set.of(NotificationChannel.EMAIL, NotificationChannel.SMS)),
+                        new NotificationProperties.Routing.AmountBand(BigDecimal.ZERO, Set.of(NotificationChannel.EMAIL))),
+                true));
+
+        assertThat(router.route(new AccountStatusChangeNotificationRequest())).isEqualTo(ChannelSelection.EMAIL);
+        assertThat(router.route(accountEvent(AccountEventType.DOCUMENT_UPDATED, null))).isEqualTo(ChannelSelection.EMAIL);
+        assertThat(router.route(accountEvent(AccountEventType.LOAN_TAKEN, null))).isEqualTo(ChannelSelection.BOTH);
+        assertThat(router.route(transaction("250000"))).isEqualTo(ChannelSelection.EMAIL);
+        assertThat(router.route(transaction("1000000"))).isEqualTo(ChannelSelection.BOTH);
+
+        assertThat(skipped("account-status-change", "sms", "policy")).isEqualTo(1);
+        assertThat(skipped("high-value-transaction", "sms", "policy")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNarrowToPreferredChannelsWithoutDroppingEveryChannel() {
+        ChannelRouter router = router(new NotificationProperties.Routing(null,
+                Map.of(AccountEventType.BILL_CLEARED, Set.of(NotificationChannel.EMAIL)), null, true));
+
+        assertThat(router.route(accountEvent(AccountEventType.LOAN_TAKEN, Set.of(NotificationChannel.SMS))))
+                .isEqualTo(ChannelSelection.SMS);
+        assertThat(router.route(accountEvent(AccountEventType.BILL_CLEARED, Set.of(NotificationChannel.SMS))))
+                .isEqualTo(ChannelSelection.EMAIL);
+
+        assertThat(skipped("account-event", "email", "preference")).isEqualTo(1);
+        assertThat(skipped("account-event", "sms", "policy")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectPolicyThatSelectsNoChannel() {
+        NotificationProperties.Routing routing = new NotificationProperties.Routing(
+                Map.of(NotificationType.ACCOUNT_EVENT, Set.of()), null, null, true);
+
+        assertThatThrownBy(() -> router(routing))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("ACCOUNT_EVENT");
+    }
+
+    private ChannelRouter router(NotificationProperties.Routing routing) {
+        return new ChannelRouter(new NotificationProperties(null, null, null, null, null, null, null, null, null, null,
+                null, null, routing, null), registry);
+    }
+
+    private double skipped(String type, String channel, String reason) {
+        return registry.get("notification.routing.skipped")
+                .tags("type", type, "channel", channel, "reason", reason)
+                .counter()
+                .count();
+    }
+
+    private static AccountEventNotificationRequest accountEvent(AccountEventType type, Set<NotificationChannel> preferred) {
+        AccountEventNotificationRequest request = new AccountEventNotificationRequest();
+        request.setEventType(type);
+        request.setPreferredChannels(preferred);
+        return request;
+    }
+
+    private static HighValueTransactionNotificationRequest transaction(String amount) {
+        HighValueTransactionNotificationRequest request = new HighValueTransactionNotificationRequest();
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+}
@@ -0,0 +1,54 @@
+package com.bank.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.repository.NotificationAuditRepository;
+import com.bank.notificationservice.support.EmailMessage;
+import com.bank.notificationservice.support.NotificationDelivery;
+import com.bank.notificationservice.support.NotificationDeliveryException;
+import com.bank.notificationservice.support.SmsMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class ChannelSenderTest {
+
+    private static final EmailMessage EMAIL = new EmailMessage("jane@example.com", "Account update", "Your account has been updated.");
+    private static final SmsMessage SMS = new SmsMessage("+919876543210", "Your account has been updated.");
+    private static final NotificationDelivery DELIVERY = new NotificationDelivery(NotificationType.ACCOUNT_EVENT, EMAIL, SMS);
+
+    private final EmailDispatcher emailDispatcher = mock(EmailDispatcher.class);
+    private final SmsDispatcher smsDispatcher = mock(SmsDispatcher.class);
+    private final NotificationAuditRepository auditRepository = mock(NotificationAuditRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ChannelSender sender = new ChannelSender(emailDispatcher, smsDispatcher, auditRepository,
+            new NotificationMetrics(registry));
+
+    @Test
+    void send_shouldNotFailOnceSentWhenAuditWriteFails() {
+        doThrow(new IllegalStateException("Audit store unavailable")).when(auditRepository).save(any());
+
+        sender.send(NotificationChannel.SMS, DELIVERY);
+
+        verify(smsDispatcher).dispatch(SMS);
+        assertThat(registry.get("notification.audit.save.failures")
+                .tags("type", "account-event", "channel", "sms").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void send_shouldThrowAndSkipAuditWhenSendFails() {
+        NotificationDeliveryException smtpDown = new NotificationDeliveryException("SMTP relay unavailable", null);
+        doThrow(smtpDown).when(emailDispatcher).dispatch(EMAIL);
+
+        assertThatThrownBy(() -> sender.send(NotificationChannel.EMAIL, DELIVERY)).isSameAs(smtpDown);
+
+        verify(auditRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,162 @@
+package com.bank.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.model.DeadLetter;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.repository.InMemoryDeadLetterRepository;
+import com.bank.notificationservice.support.EmailMessage;
+import com.bank.notificationservice.support.NotificationDelivery;
+import com.bank.notificationservice.support.NotificationDeliveryException;
+import com.bank.notificationservice.support.ProviderRejectedException;
+import com.bank.notificationservice.support.ProviderThrottledException;
+import com.bank.notificationservice.support.SmsMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DeliveryRetrySchedulerTest {
+
+    private static final NotificationDelivery DELIVERY = new NotificationDelivery(
+            NotificationType.ACCOUNT_EVENT,
+            new EmailMessage("jane@example.com", "Bill payment confirmation", "Your bill has been cleared."),
+            new SmsMessage("+919876543210", "Your bill has been cleared."));
+
+    private ChannelSender sender;
+    private NotificationProperties properties;
+    private InMemoryDeadLetterRepository deadLetters;
+    private DeliveryRetryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        sender = mock(ChannelSender.class);
+        NotificationProperties.Retry retry = new NotificationProperties.Retry(
+                true, 3, Duration.ofMillis(10), Duration.ofMillis(40), 2.0, 0.5, 1, 100, 100);
+        properties = new NotificationProperties(null, null, null, null, null, null, null, retry, null, null, null, null, null, null);
+        deadLetters = new InMemoryDeadLetterRepository(properties, new SimpleMeterRegistry());
+        scheduler = new DeliveryRetryScheduler(sender, deadLetters, properties, DispatchThreads.platform(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void schedule_shouldRetryInBackgroundUntilDelivered() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch delivered = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if (calls.incrementAndGet() < 2) {
+                throw new NotificationDeliveryException("SMTP relay unavailable", null);
+            }
+            delivered.countDown();
+            return null;
+        }).when(sender).send(eq(NotificationChannel.EMAIL), any());
+
+        scheduler.schedule(DELIVERY, NotificationChannel.EMAIL, new NotificationDeliveryException("first attempt failed", null));
+
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(calls).hasValue(2);
+        assertThat(deadLetters.count()).isZero();
+    }
+
+    @Test
+    void schedule_shouldDeadLetterAfterMaxAttemptsAndReplay() throws InterruptedException {
+        doThrow(new NotificationDeliveryException("Twilio rejected notification SMS with HTTP 400", null))
+                .when(sender).send(eq(NotificationChannel.SMS), any());
+
+        scheduler.schedule(DELIVERY, NotificationChannel.SMS, new NotificationDeliveryException("first attempt failed", null));
+
+        awaitTrue(() -> deadLetters.count() == 1);
+        verify(sender, times(2)).send(NotificationChannel.SMS, DELIVERY);
+        DeadLetter deadLetter = deadLetters.find(null, null, 10).get(0);
+        assertThat(deadLetter.channel()).isEqualTo(NotificationChannel.SMS);
+        assertThat(deadLetter.recipient()).isEqualTo("+919876543210");
+        assertThat(deadLetter.attempts()).isEqualTo(3);
+        assertThat(deadLetter.lastError()).contains("HTTP 400");
+
+        CountDownLatch replayed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            replayed.countDown();
+            return null;
+        }).when(sender).send(eq(NotificationChannel.SMS), any());
+        assertThat(scheduler.replay(deadLetter)).isEqualTo(DeliveryRetryScheduler.Replay.SCHEDULED);
+        assertThat(scheduler.replay(deadLetter)).isEqualTo(DeliveryRetryScheduler.Replay.ALREADY_REPLAYED);
+
+        assertThat(replayed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(deadLetters.count()).isZero();
+    }
+
+    @Test
+    void schedule_shouldDeadLetterProviderRejectionWithoutRetrying() {
+        NotificationDeliveryException failure = new NotificationDeliveryException("SMS dispatch failed",
+                new ProviderRejectedException("Twilio rejected notification SMS with HTTP 400", null));
+
+        scheduler.schedule(DELIVERY, NotificationChannel.SMS, failure);
+
+        assertThat(deadLetters.count()).isEqualTo(1);
+        assertThat(deadLetters.find(null, null, 10).get(0).attempts()).isEqualTo(1);
+        verify(sender, never()).send(any(), any());
+    }
+
+    @Test
+    void replay_shouldKeepDeadLetterWhenRetryQueueIsFull() {
+        NotificationProperties.Retry retry = new NotificationProperties.Retry(
+                true, 3, Duration.ofHours(1), Duration.ofHours(1), 2.0, 0.0, 1, 1, 100);
+        properties = new NotificationProperties(null, null, null, null, null, null, null, retry, null, null, null, null, null, null);
+        scheduler.shutdown();
+        scheduler = new DeliveryRetryScheduler(sender, deadLetters, properties, DispatchThreads.platform(), new SimpleMeterRegistry());
+        scheduler.deadLetter(DELIVERY, NotificationChannel.SMS, new NotificationDeliveryException("SMS provider down", null));
+        DeadLetter deadLetter = deadLetters.find(null, null, 10).get(0);
+        scheduler.schedule(DELIVERY, NotificationChannel.EMAIL, new NotificationDeliveryException("SMTP relay down", null));
+
+        assertThat(scheduler.replay(deadLetter)).isEqualTo(DeliveryRetryScheduler.Replay.QUEUE_FULL);
+        assertThat(deadLetters.findById(deadLetter.id())).contains(deadLetter);
+        assertThat(scheduler.queueFullRetryAfter()).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    void backoff_shouldGrowExponentiallyWithinJitterAndCap() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(scheduler.backoffNanos(1, null)).isBetween(millis(5), millis(10));
+            assertThat(scheduler.backoffNanos(2, null)).isBetween(millis(10), millis(20));
+            assertThat(scheduler.backoffNanos(6, null)).isBetween(millis(20), millis(40));
+        }
+        ProviderThrottledException throttled = new ProviderThrottledException("twilio", "slow down", Duration.ofSeconds(3), null);
+        assertThat(scheduler.backoffNanos(1, throttled)).isEqualTo(millis(3000));
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.bank.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.support.ChannelResult;
+import com.bank.notificationservice.support.DeliveryOutcome;
+import com.bank.notificationservice.support.EmailMessage;
+import com.bank.notificationservice.support.NotificationDelivery;
+import com.bank.notificationservice.support.NotificationDeliveryException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DispatchPipelineTest {
+
+    private static final DeliveryOutcome SENT = new DeliveryOutcome(ChannelResult.sent(NotificationChannel.EMAIL),
+            ChannelResult.skipped(NotificationChannel.SMS));
+
+    private final NotificationDispatcher dispatcher = mock(NotificationDispatcher.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private DispatchPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        when(dispatcher.dispatchUnattended(any())).thenReturn(SENT);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    void submit_shouldDeliverOnCallingThreadInSyncMode() {
+        pipeline = pipeline(NotificationProperties.Dispatch.Mode.SYNC);
+        release.countDown();
+
+        pipeline.submit(delivery(NotificationType.ACCOUNT_EVENT));
+
+        assertThat(pipeline.queuesDeliveries()).isFalse();
+        verify(dispatcher).dispatch(any());
+    }
+
+    @Test
+    void submit_shouldRejectWhenLaneIsFullWithoutBlockingOtherLanes() throws InterruptedException {
+        pipeline = pipeline(NotificationProperties.Dispatch.Mode.ASYNC);
+        CountDownLatch busy = blockWorker();
+
+        pipeline.submit(delivery(NotificationType.ACCOUNT_EVENT));
+        assertThat(busy.await(5, TimeUnit.SECONDS)).isTrue();
+        pipeline.submit(delivery(NotificationType.ACCOUNT_EVENT));
+
+        assertThatThrownBy(() -> pipeline.submit(delivery(NotificationType.ACCOUNT_EVENT)))
+                .isInstanceOf(NotificationDeliveryException.class)
+                .hasMessageContaining("queue is full");
+        pipeline.submit(delivery(NotificationType.HIGH_VALUE_TRANSACTION));
+
+        assertThat(pipeline.queuesDeliveries()).isTrue();
+        assertThat(rejected("account-event")).isEqualTo(1);
+        assertThat(rejected("high-value-transaction")).isZero();
+        assertThat(registry.get("notification.dispatch.queue.depth").tag("type", "account-event").gauge().value())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void submit_shouldDrainQueuedDeliveriesOnceWorkerIsFree() throws InterruptedException {
+        pipeline = pipeline(NotificationProperties.Dispatch.Mode.ASYNC);
+        CountDownLatch busy = blockWorker();
+        pipeline.submit(delivery(NotificationType.ACCOUNT_EVENT));
+        assertThat(busy.await(5, TimeUnit.SECONDS)).isTrue();
+        pipeline.submit(delivery(NotificationType.ACCOUNT_STATUS_CHANGE));
+        pipeline.submit(delivery(NotificationType.HIGH_VALUE_TRANSACTION));
+
+        release.countDown();
+
+        verify(dispatcher, timeout(5_000).times(3)).dispatchUnattended(any());
+        assertThat(registry.get("notification.dispatch.queue.wait").tag("type", "high-value-transaction").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shutdown_shouldFinishQueuedDeliveries() throws InterruptedException {
+        pipeline = pipeline(NotificationProperties.Dispatch.Mode.ASYNC);
+        release.countDown();
+        pipeline.submit(delivery(NotificationType.ACCOUNT_EVENT));
+        pipeline.submit(delivery(NotificationType.ACCOUNT_EVENT));
+
+        pipeline.shutdown();
+        pipeline = null;
+
+        verify(dispatcher, times(2)).dispatchUnattended(any());
+    }
+
+    @Test
+    void submit_shouldCountQueuedDeliveryWhoseChannelFailed() throws InterruptedException {
+        pipeline = pipeline(NotificationProperties.Dispatch.Mode.ASYNC);
+        NotificationDeliveryException smtpDown = new NotificationDeliveryException("SMTP relay unavailable", null);
+        when(dispatcher.dispatchUnattended(any())).thenReturn(new DeliveryOutcome(
+                ChannelResult.deadLettered(NotificationChannel.EMAIL, smtpDown), ChannelResult.skipped(NotificationChannel.SMS)));
+
+        pipeline.submit(delivery(NotificationType.ACCOUNT_EVENT));
+
+        verify(dispatcher, timeout(5_000)).dispatchUnattended(any());
+        awaitFailures("account-event", 1);
+        assertThat(registry.get("notification.dispatch.failures").tag("type", "high-value-transaction").counter().count())
+                .isZero();
+    }
+
+    /* The first delivery signals the returned latch and then holds the only worker until release. */
+    private CountDownLatch blockWorker() {
+        CountDownLatch busy = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            busy.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return SENT;
+        }).when(dispatcher).dispatchUnattended(any());
+        return busy;
+    }
+
+    private void awaitFailures(String type, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("notification.dispatch.failures").tag("type", type).counter().count() < expected) {
+            assertThat(System.nanoTime()).as("failure not counted within 5s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private double rejected(String type) {
+        return registry.get("notification.dispatch.queue.rejected").tag("type", type).counter().count();
+    }
+
+    private DispatchPipeline pipeline(NotificationProperties.Dispatch.Mode mode) {
+        NotificationProperties.Dispatch dispatch = new NotificationProperties.Dispatch(mode, 1, 1, false, 1, null, null);
+        NotificationProperties properties = new NotificationProperties(null, null, null, dispatch, null, null, null, null,
+                null, null, null, null, null, null);
+        return new DispatchPipeline(dispatcher, properties, DispatchThreads.platform(), registry);
+    }
+
+    private static NotificationDelivery delivery(NotificationType type) {
+        return new NotificationDelivery(type, new EmailMessage("jane@example.com", "Subject", "Body"), null);
+    }
+}
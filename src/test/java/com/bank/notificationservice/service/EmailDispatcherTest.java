@@ -0,0 +1,42 @@
+package com.bank.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+
+class EmailDispatcherTest {
+
+    @Test
+    void isRejected_shouldTreatRecipientAndCommandErrorsAsRejections() throws AddressException {
+        SMTPAddressFailedException unknownMailbox = new SMTPAddressFailedException(
+                new InternetAddress("nobody@example.com"), "RCPT TO", 550, "550 5.1.1 User unknown");
+
+        assertThat(EmailDispatcher.isRejected(unknownMailbox)).isTrue();
+        assertThat(EmailDispatcher.isRejected(new AddressException("Missing final '@domain'", "jane"))).isTrue();
+        assertThat(EmailDispatcher.isRejected(new MailSendException("Failed messages", null,
+                Map.of("message", new MessagingException("553 5.1.3 Invalid address"))))).isTrue();
+        assertThat(EmailDispatcher.isThrottled(unknownMailbox)).isFalse();
+    }
+
+    @Test
+    void isRejected_shouldLeaveTransportTimeoutAndServerFailuresCountingAgainstTheRelay() {
+        SMTPSendFailedException transactionFailed = new SMTPSendFailedException("DATA", 554, "554 5.3.0 Transaction failed",
+                null, null, null, null);
+        MessagingException timeout = new MessagingException("Exception reading response", new SocketTimeoutException("Read timed out"));
+
+        assertThat(EmailDispatcher.isRejected(transactionFailed)).isFalse();
+        assertThat(EmailDispatcher.isRejected(timeout)).isFalse();
+        assertThat(EmailDispatcher.isRejected(new MailSendException("Mail server connection failed", timeout))).isFalse();
+        assertThat(EmailDispatcher.isRejected(new MailSendException("Failed messages", null, Map.of(
+                "first", new MessagingException("550 5.1.1 User unknown"),
+                "second", timeout)))).isFalse();
+    }
+}
@@ -0,0 +1,70 @@
+package com.bank.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void shouldExpireEveryItemOnItsDeadlineTickAcrossLevels() {
+        long start = 1_000_003L;
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(start);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>(List.of(start, start + 63, start + 64, start + 4_095, start + 4_096,
+                start + 262_144));
+        for (int i = 0; i < 10_000; i++) {
+            deadlines.add(start + random.nextInt(1 << 20));
+        }
+        deadlines.forEach(deadline -> wheel.schedule(deadline, deadline));
+
+        List<Long> late = new ArrayList<>();
+        int[] expired = new int[1];
+        for (long tick = start; tick <= start + (1 << 20); tick++) {
+            long now = tick;
+            wheel.advanceTo(now, deadline -> {
+                expired[0]++;
+                if (deadline != now) {
+                    late.add(deadline);
+                }
+            });
+        }
+
+        assertThat(late).isEmpty();
+        assertThat(expired[0]).isEqualTo(deadlines.size());
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void shouldNotExpireCancelledItems() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(0L);
+        HierarchicalTimingWheel.Timeout<String> kept = wheel.schedule("kept", 5_000);
+        HierarchicalTimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 5_000);
+
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        assertThat(wheel.cancel(cancelled)).isFalse();
+
+        List<String> expired = new ArrayList<>();
+        wheel.advanceTo(5_000, expired::add);
+        assertThat(expired).containsExactly("kept");
+        assertThat(wheel.cancel(kept)).isFalse();
+    }
+
+    @Test
+    void shouldExpirePastDeadlinesOnNextTickAndHoldDeadlinesBeyondRange() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100L);
+        wheel.schedule("overdue", 10);
+        wheel.schedule("far", Long.MAX_VALUE);
+
+        List<String> expired = new ArrayList<>();
+        wheel.advanceTo(100, expired::add);
+        wheel.advanceTo(5_000_000, expired::add);
+
+        assertThat(expired).containsExactly("overdue");
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.tick()).isEqualTo(5_000_001L);
+    }
+}
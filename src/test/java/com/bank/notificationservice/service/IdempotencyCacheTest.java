@@ -0,0 +1,159 @@
+package com.bank.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.support.NotificationDeliveryException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IdempotencyCacheTest {
+
+    private long now;
+    private final AtomicInteger runs = new AtomicInteger();
+    private IdempotencyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new IdempotencyCache(new NotificationProperties.Idempotency(true, Duration.ofMinutes(10), 3), () -> now);
+    }
+
+    @Test
+    void execute_shouldReturnOriginalResultForDuplicateWithoutRunningAgain() {
+        assertThat(cache.execute("txn-1", this::dispatch)).isTrue();
+        assertThat(cache.execute("txn-1", () -> {
+            runs.incrementAndGet();
+            return false;
+        })).isTrue();
+        assertThat(cache.execute(null, this::dispatch)).isTrue();
+
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void execute_shouldRunAgainAfterTtl() {
+        cache.execute("txn-1", this::dispatch);
+        now += TimeUnit.MINUTES.toNanos(10);
+
+        cache.execute("txn-1", this::dispatch);
+
+        assertThat(runs).hasValue(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_shouldForgetOldestKeysBeyondCapacity() {
+        for (int i = 1; i <= 5; i++) {
+            cache.execute("txn-" + i, this::dispatch);
+        }
+        cache.execute("txn-6", this::dispatch);
+
+        assertThat(cache.size()).isEqualTo(3);
+        cache.execute("txn-1", this::dispatch);
+        cache.execute("txn-6", this::dispatch);
+        assertThat(runs).hasValue(7);
+    }
+
+    @Test
+    void execute_shouldForgetFailedRequestsSoRetriesRun() {
+        assertThatThrownBy(() -> cache.execute("txn-1", () -> {
+            throw new NotificationDeliveryException("SMTP relay unavailable", null);
+        })).isInstanceOf(NotificationDeliveryException.class);
+
+        assertThat(cache.execute("txn-1", this::dispatch)).isTrue();
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void execute_shouldMakeConcurrentDuplicatesWaitForTheOriginal() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<Boolean> original = executor.submit(() -> cache.execute("txn-1", () -> {
+                started.countDown();
+                await(release);
+                return dispatch();
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Boolean> duplicate = executor.submit(() -> cache.execute("txn-1", this::dispatch));
+            Thread.sleep(50);
+            assertThat(duplicate).isNotDone();
+
+            release.countDown();
+
+            assertThat(original.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(duplicate.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(runs).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_shouldKeepRunningRequestsWhenTrimmingForCapacityOrTtl() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> original = executor.submit(() -> cache.execute("txn-1", () -> {
+                started.countDown();
+                await(release);
+                return dispatch();
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 2; i <= 5; i++) {
+                cache.execute("txn-" + i, this::dispatch);
+            }
+            now += TimeUnit.MINUTES.toNanos(10);
+            cache.execute("txn-6", this::dispatch);
+
+            AtomicReference<Thread> waiter = new AtomicReference<>();
+            Future<Boolean> duplicate = executor.submit(() -> {
+                waiter.set(Thread.currentThread());
+                return cache.execute("txn-1", this::dispatch);
+            });
+            awaitWaiting(waiter);
+            assertThat(duplicate).isNotDone();
+            release.countDown();
+
+            assertThat(original.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(duplicate.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(runs).hasValue(6);
+            assertThat(cache.size()).isEqualTo(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /* The duplicate has to be parked on the original's result before it finishes, or it would find it expired. */
+    private static void awaitWaiting(AtomicReference<Thread> waiter) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (waiter.get() == null || waiter.get().getState() != Thread.State.WAITING) {
+            assertThat(System.nanoTime()).as("duplicate did not wait within 5s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private boolean dispatch() {
+        runs.incrementAndGet();
+        return true;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.bank.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+
+import com.bank.notificationservice.config.KafkaIngestionConfig;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationRecord;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.model.ScheduledDelivery;
+import com.bank.notificationservice.repository.NotificationAuditRepository;
+import com.bank.notificationservice.support.NotificationDeliveryException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+            "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+            "spring.kafka.consumer.group-id=" + KafkaNotificationConsumerTest.GROUP,
+            "notification.kafka.enabled=true",
+            "notification.kafka.retry-backoff=50ms",
+            "notification.dispatch.mode=async",
+            "notification.retry.enabled=false"
+        })
+@EmbeddedKafka(partitions = 1, topics = {
+    KafkaNotificationConsumerTest.HIGH_VALUE_TOPIC,
+    KafkaNotificationConsumerTest.STATUS_CHANGE_TOPIC,
+    KafkaNotificationConsumerTest.ACCOUNT_EVENT_TOPIC,
+    KafkaNotificationConsumerTest.STATUS_CHANGE_TOPIC + KafkaIngestionConfig.DEAD_LETTER_SUFFIX
+})
+class KafkaNotificationConsumerTest {
+
+    static final String GROUP = "notification-service-test";
+    static final String HIGH_VALUE_TOPIC = "notifications.high-value-transaction";
+    static final String STATUS_CHANGE_TOPIC = "notifications.account-status-change";
+    static final String ACCOUNT_EVENT_TOPIC = "notifications.account-event";
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Autowired
+    private NotificationAuditRepository auditRepository;
+
+    @Autowired
+    private ScheduledDeliveryService scheduledDeliveries;
+
+    @SpyBean
+    private ChannelSender channelSender;
+
+    private KafkaTemplate<String, String> producer;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Object> config = KafkaTestUtils.producerProps(broker);
+        producer = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(config, new StringSerializer(), new StringSerializer()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        producer.destroy();
+    }
+
+    @Test
+    void shouldDeliverEachRequestTypeAndSkipInvalidRecordsBeforeCommitting() throws Exception {
+        String email = "customer-" + UUID.randomUUID() + "@example.com";
+        long highValueOffset = committedOffset(HIGH_VALUE_TOPIC);
+        long statusChangeOffset = committedOffset(STATUS_CHANGE_TOPIC);
+        long accountEventOffset = committedOffset(ACCOUNT_EVENT_TOPIC);
+        send(HIGH_VALUE_TOPIC, null, """
+                {"accountNumber": "ACC-1", "customerName": "Jane", "customerEmail": "%s", "customerPhone": "+919876543210",
+                 "txnType": "DEBIT", "amount": 250000, "currency": "INR", "reference": "TXN-1"}""".formatted(email));
+        send(STATUS_CHANGE_TOPIC, null, "{not json");
+        send(STATUS_CHANGE_TOPIC, null, """
+                {"accountNumber": "ACC-1", "customerName": "Jane", "customerEmail": "%s", "previousStatus": "ACTIVE"}"""
+                .formatted(email));
+        send(STATUS_CHANGE_TOPIC, null, """
+                {"accountNumber": "ACC-1", "customerName": "Jane", "customerEmail": "%s", "customerPhone": "+919876543210",
+                 "previousStatus": "ACTIVE", "currentStatus": "SUSPENDED"}""".formatted(email));
+        send(ACCOUNT_EVENT_TOPIC, null, """
+                {"accountNumber": "ACC-1", "customerName": "Jane", "customerEmail": "%s", "customerPhone": "+919876543210",
+                 "eventType": "DOCUMENT_UPDATED"}""".formatted(email));
+
+        awaitTrue(() -> committedOffset(HIGH_VALUE_TOPIC) == highValueOffset + 1
+                && committedOffset(STATUS_CHANGE_TOPIC) == statusChangeOffset + 3
+                && committedOffset(ACCOUNT_EVENT_TOPIC) == accountEventOffset + 1);
+
+        assertThat(emailsTo(email)).extracting(NotificationRecord::notificationType)
+                .containsExactlyInAnyOrder("HIGH_VALUE_TRANSACTION", "ACCOUNT_STATUS_CHANGE", "ACCOUNT_EVENT");
+        assertThat(deadLetters(STATUS_CHANGE_TOPIC, 2)).extracting(ConsumerRecord::value)
+                .anyMatch(value -> value.equals("{not json"))
+                .anyMatch(value -> value.contains(email) && !value.contains("currentStatus"));
+    }
+
+    @Test
+    void shouldDeliverDifferentEventsSharingARecordKeyAndDeduplicateOnEventIdHeader() throws Exception {
+        String email = "customer-" + UUID.randomUUID() + "@example.com";
+        long offsetBefore = committedOffset(ACCOUNT_EVENT_TOPIC);
+        String updated = """
+                {"accountNumber": "ACC-3", "customerName": "Jane", "customerEmail": "%s", "customerPhone": "+919876543210",
+                 "eventType": "DOCUMENT_UPDATED"}""".formatted(email);
+        String cleared = """
+                {"accountNumber": "ACC-3", "customerName": "Jane", "customerEmail": "%s", "customerPhone": "+919876543210",
+                 "eventType": "BILL_CLEARED"}""".formatted(email);
+
+        send(ACCOUNT_EVENT_TOPIC, "ACC-3", updated);
+        send(ACCOUNT_EVENT_TOPIC, "ACC-3", cleared);
+        sendWithEventId(ACCOUNT_EVENT_TOPIC, "ACC-3", "evt-" + email, cleared);
+        sendWithEventId(ACCOUNT_EVENT_TOPIC, "ACC-3", "evt-" + email, cleared);
+
+        awaitTrue(() -> committedOffset(ACCOUNT_EVENT_TOPIC) == offsetBefore + 4);
+        assertThat(emailsTo(email)).hasSize(3);
+    }
+
+    @Test
+    void shouldHoldRecordWithLaterDeliverAtAndCommitItOnceHeld() throws Exception {
+        String email = "customer-" + UUID.randomUUID() + "@example.com";
+        String account = "ACC-" + UUID.randomUUID();
+        Instant deliverAt = Instant.now().plusSeconds(10);
+        long offsetBefore = committedOffset(ACCOUNT_EVENT_TOPIC);
+
+        send(ACCOUNT_EVENT_TOPIC, account, """
+                {"accountNumber": "%s", "customerName": "Jane", "customerEmail": "%s", "customerPhone": "+919876543210",
+                 "eventType": "BILL_CLEARED", "deliverAt": "%s"}""".formatted(account, email, deliverAt));
+
+        awaitTrue(() -> committedOffset(ACCOUNT_EVENT_TOPIC) == offsetBefore + 1);
+        assertThat(emailsTo(email)).isEmpty();
+        assertThat(scheduledDeliveries.find(NotificationType.ACCOUNT_EVENT, account, 10))
+                .extracting(ScheduledDelivery::deliverAt)
+                .containsExactly(deliverAt);
+
+        awaitTrue(() -> emailsTo(email).size() == 1);
+        assertThat(emailsTo(email).get(0).timestamp()).isAfterOrEqualTo(deliverAt);
+    }
+
+    @Test
+    void shouldRetryFailedRecordWithoutCommittingItFirst() throws Exception {
+        String email = "customer-" + UUID.randomUUID() + "@example.com";
+        doThrow(new NotificationDeliveryException("SMTP relay unavailable", null))
+                .doCallRealMethod()
+                .when(channelSender).send(eq(NotificationChannel.EMAIL), any());
+        long offsetBefore = committedOffset(ACCOUNT_EVENT_TOPIC);
+
+        send(ACCOUNT_EVENT_TOPIC, "event-" + email, """
+                {"accountNumber": "ACC-2", "customerName": "Jane", "customerEmail": "%s", "customerPhone": "+919876543210",
+                 "eventType": "ACCOUNT_NUMBER_UPDATED"}""".formatted(email));
+
+        awaitTrue(() -> committedOffset(ACCOUNT_EVENT_TOPIC) == offsetBefore + 1);
+        assertThat(emailsTo(email)).hasSize(1);
+    }
+
+    private void send(String topic, String key, String value) throws Exception {
+        producer.send(new ProducerRecord<>(topic, key, value)).get(10, TimeUnit.SECONDS);
+    }
+
+    private void sendWithEventId(String topic, String key, String eventId, String value) throws Exception {
+        ProducerRecord<String, String> record = new ProducerRecord<>(topic, key, value);
+        record.headers().add(KafkaNotificationConsumer.EVENT_ID_HEADER, eventId.getBytes(StandardCharsets.UTF_8));
+        producer.send(record).get(10, TimeUnit.SECONDS);
+    }
+
+    private List<ConsumerRecord<String, String>> deadLetters(String topic, int minRecords) {
+        String deadLetterTopic = topic + KafkaIngestionConfig.DEAD_LETTER_SUFFIX;
+        Map<String, Object> config = KafkaTestUtils.consumerProps("dead-letter-check", "false", broker);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(),
+                new StringDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, deadLetterTopic);
+            return KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(10), minRecords)
+                    .records(new TopicPartition(deadLetterTopic, 0));
+        }
+    }
+
+    private List<NotificationRecord> emailsTo(String email) {
+        return auditRepository.findSince(Instant.now().minus(1, ChronoUnit.HOURS)).stream()
+                .filter(record -> record.channel() == NotificationChannel.EMAIL && record.recipient().equals(email))
+                .toList();
+    }
+
+    private long committedOffset(String topic) {
+        try {
+            OffsetAndMetadata offset = KafkaTestUtils.getCurrentOffset(broker.getBrokersAsString(), GROUP, topic, 0);
+            return offset != null ? offset.offset() : 0;
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 30s").isLessThan(deadline);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(ex);
+            }
+        }
+    }
+}
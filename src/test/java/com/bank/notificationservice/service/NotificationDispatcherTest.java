@@ -0,0 +1,182 @@
+package com.bank.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.support.ChannelResult;
+import com.bank.notificationservice.support.DeliveryOutcome;
+import com.bank.notificationservice.support.EmailMessage;
+import com.bank.notificationservice.support.NotificationDelivery;
+import com.bank.notificationservice.support.NotificationDeliveryException;
+import com.bank.notificationservice.support.SmsMessage;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class NotificationDispatcherTest {
+
+    private static final NotificationDelivery DELIVERY = new NotificationDelivery(
+            NotificationType.HIGH_VALUE_TRANSACTION,
+            new EmailMessage("jane@example.com", "High value transaction alert", "A debit of 50,000.00 was made."),
+            new SmsMessage("+919876543210", "A debit of 50,000.00 was made."));
+
+    private final ChannelSender sender = mock(ChannelSender.class);
+    private final DeliveryRetryScheduler retryScheduler = mock(DeliveryRetryScheduler.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final NotificationDispatcher dispatcher = dispatcher(true);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void dispatch_shouldTimeOutSlowChannelWithoutHoldingBackTheOther() {
+        blockUntilReleased(NotificationChannel.EMAIL);
+
+        assertThatThrownBy(() -> dispatcher.dispatch(DELIVERY))
+                .isInstanceOf(NotificationDeliveryException.class)
+                .hasMessageContaining("email=TIMED_OUT, sms=SENT");
+        verify(sender).send(NotificationChannel.SMS, DELIVERY);
+    }
+
+    @Test
+    void dispatch_shouldSendOtherChannelAndMergeFailuresIntoOutcome() {
+        NotificationDeliveryException smtpDown = new NotificationDeliveryException("SMTP relay unavailable", null);
+        doThrow(smtpDown).when(sender).send(eq(NotificationChannel.EMAIL), any());
+
+        assertThatThrownBy(() -> dispatcher.dispatch(DELIVERY))
+                .isInstanceOf(NotificationDeliveryException.class)
+                .hasMessageContaining("email=FAILED, sms=SENT")
+                .hasCause(smtpDown);
+        verify(sender).send(NotificationChannel.SMS, DELIVERY);
+
+        when(retryScheduler.enabled()).thenReturn(true);
+        DeliveryOutcome outcome = dispatcher.dispatch(DELIVERY);
+
+        assertThat(outcome.email().status()).isEqualTo(ChannelResult.Status.RETRYING);
+        assertThat(outcome.sms().status()).isEqualTo(ChannelResult.Status.SENT);
+        assertThat(outcome.accepted()).isTrue();
+        verify(retryScheduler).schedule(DELIVERY, NotificationChannel.EMAIL, smtpDown);
+    }
+
+    @Test
+    void dispatchUnattended_shouldDeadLetterFailedChannelWhenRetriesAreDisabled() {
+        NotificationDeliveryException smtpDown = new NotificationDeliveryException("SMTP relay unavailable", null);
+        doThrow(smtpDown).when(sender).send(eq(NotificationChannel.EMAIL), any());
+
+        DeliveryOutcome outcome = dispatcher.dispatchUnattended(DELIVERY);
+
+        assertThat(outcome.email().status()).isEqualTo(ChannelResult.Status.DEAD_LETTERED);
+        assertThat(outcome.sms().status()).isEqualTo(ChannelResult.Status.SENT);
+        verify(retryScheduler).deadLetter(DELIVERY, NotificationChannel.EMAIL, smtpDown);
+    }
+
+    @Test
+    void dispatchUnattended_shouldAttemptEveryChannelInSequentialMode() {
+        NotificationDispatcher sequential = dispatcher(false);
+        NotificationDeliveryException smtpDown = new NotificationDeliveryException("SMTP relay unavailable", null);
+        doThrow(smtpDown).when(sender).send(eq(NotificationChannel.EMAIL), any());
+
+        assertThatThrownBy(() -> sequential.dispatch(DELIVERY)).isSameAs(smtpDown);
+        verify(sender, never()).send(eq(NotificationChannel.SMS), any());
+
+        DeliveryOutcome outcome = sequential.dispatchUnattended(DELIVERY);
+
+        assertThat(outcome.email().status()).isEqualTo(ChannelResult.Status.DEAD_LETTERED);
+        assertThat(outcome.sms().status()).isEqualTo(ChannelResult.Status.SENT);
+        verify(retryScheduler).deadLetter(DELIVERY, NotificationChannel.EMAIL, smtpDown);
+    }
+
+    @Test
+    void dispatchUnattended_shouldDeadLetterTimedOutChannelOnlyOnceItsLateAttemptFails() {
+        NotificationDeliveryException lateFailure = new NotificationDeliveryException("Connection reset", null);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw lateFailure;
+        }).when(sender).send(eq(NotificationChannel.EMAIL), any());
+
+        DeliveryOutcome outcome = dispatcher.dispatchUnattended(DELIVERY);
+        assertThat(outcome.email().status()).isEqualTo(ChannelResult.Status.TIMED_OUT);
+        verify(retryScheduler, never()).deadLetter(any(), any(), any());
+        release.countDown();
+
+        verify(retryScheduler, timeout(5_000)).deadLetter(DELIVERY, NotificationChannel.EMAIL, lateFailure);
+    }
+
+    @Test
+    void dispatch_shouldNotRetryTimedOutChannelThatLaterSucceeds() {
+        when(retryScheduler.enabled()).thenReturn(true);
+        CountDownLatch sent = blockUntilReleased(NotificationChannel.EMAIL);
+
+        DeliveryOutcome outcome = dispatcher.dispatch(DELIVERY);
+        release.countDown();
+
+        assertThat(outcome.email().status()).isEqualTo(ChannelResult.Status.RETRYING);
+        assertThat(outcome.accepted()).isTrue();
+        verify(sender, timeout(5_000)).send(NotificationChannel.EMAIL, DELIVERY);
+        awaitQuietly(sent);
+        verify(retryScheduler, never()).schedule(any(), any(), any());
+    }
+
+    @Test
+    void dispatch_shouldRetryTimedOutChannelOnlyOnceItsLateAttemptFails() {
+        when(retryScheduler.enabled()).thenReturn(true);
+        NotificationDeliveryException lateFailure = new NotificationDeliveryException("Connection reset", null);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw lateFailure;
+        }).when(sender).send(eq(NotificationChannel.EMAIL), any());
+
+        dispatcher.dispatch(DELIVERY);
+        verify(retryScheduler, never()).schedule(any(), any(), any());
+        release.countDown();
+
+        verify(retryScheduler, timeout(5_000)).schedule(DELIVERY, NotificationChannel.EMAIL, lateFailure);
+    }
+
+    /* Holds the channel's sends until release; the returned latch opens when one has finished. */
+    private CountDownLatch blockUntilReleased(NotificationChannel channel) {
+        CountDownLatch finished = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } finally {
+                finished.countDown();
+            }
+            return null;
+        }).when(sender).send(eq(channel), any());
+        return finished;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private NotificationDispatcher dispatcher(boolean fanOut) {
+        NotificationProperties.Dispatch dispatch = new NotificationProperties.Dispatch(null, 1, 1, fanOut, 4,
+                Duration.ofMillis(200), null);
+        NotificationProperties properties = new NotificationProperties(null, null, null, dispatch, null, null, null, null,
+                null, null, null, null, null, null);
+        return new NotificationDispatcher(sender, retryScheduler, properties, DispatchThreads.platform());
+    }
+}
@@ -0,0 +1,53 @@
+package com.bank.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bank.notificationservice.model.NotificationChannel;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.support.NotificationDeliveryException;
+import com.bank.notificationservice.support.ProviderThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class NotificationMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final NotificationMetrics metrics = new NotificationMetrics(registry);
+
+    @Test
+    void timeDelivery_shouldTagOutcomeAndRethrow() {
+        metrics.timeDelivery(NotificationType.ACCOUNT_EVENT, NotificationChannel.EMAIL, () -> { });
+        assertThatThrownBy(() -> metrics.timeDelivery(NotificationType.ACCOUNT_EVENT, NotificationChannel.SMS, () -> {
+            throw new ProviderThrottledException("twilio", "Twilio is throttling notification SMS", Duration.ofSeconds(1), null);
+        })).isInstanceOf(ProviderThrottledException.class);
+        assertThatThrownBy(() -> metrics.timeDelivery(NotificationType.ACCOUNT_EVENT, NotificationChannel.SMS, () -> {
+            throw new NotificationDeliveryException("Twilio rejected notification SMS with HTTP 400", null);
+        })).isInstanceOf(NotificationDeliveryException.class);
+
+        assertThat(deliveries("email", "success")).isEqualTo(1);
+        assertThat(deliveries("sms", "throttled")).isEqualTo(1);
+        assertThat(deliveries("sms", "failure")).isEqualTo(1);
+        assertThat(deliveries("sms", "success")).isZero();
+    }
+
+    @Test
+    void timeCompose_shouldReturnCompositionAndCountItPerTypeAndChannel() {
+        String body = metrics.timeCompose(NotificationType.HIGH_VALUE_TRANSACTION, NotificationChannel.SMS, () -> "Alert");
+        metrics.request(NotificationType.HIGH_VALUE_TRANSACTION, NotificationMetrics.RequestOutcome.BELOW_THRESHOLD);
+
+        assertThat(body).isEqualTo("Alert");
+        assertThat(registry.get("notification.compose").tags("type", "high-value-transaction", "channel", "sms").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("notification.requests").tags("type", "high-value-transaction", "outcome", "below-threshold")
+                .counter().count()).isEqualTo(1);
+    }
+
+    private long deliveries(String channel, String outcome) {
+        return registry.get("notification.delivery")
+                .tags("type", "account-event", "channel", channel, "outcome", outcome)
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,140 @@
+package com.bank.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.service.ProviderCircuitBreaker.State;
+import com.bank.notificationservice.support.ProviderThrottledException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProviderCircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(3);
+
+    private long now;
+    private ProviderCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        NotificationProperties.CircuitBreaker.Provider settings = new NotificationProperties.CircuitBreaker.Provider(
+                true, 10, 4, 50, 80, Duration.ofSeconds(2), Duration.ofSeconds(30), 2);
+        breaker = new ProviderCircuitBreaker("email", settings, () -> now);
+    }
+
+    @Test
+    void shouldStayClosedUntilMinimumCallsRecorded() {
+        for (int i = 0; i < 3; i++) {
+            call(false, FAST);
+        }
+
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        assertThat(breaker.failureRate()).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldOpenOnFailureRateAndFailFastWithRetryAfter() {
+        call(true, FAST);
+        call(false, FAST);
+        call(false, FAST);
+        call(true, FAST);
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        now += TimeUnit.SECONDS.toNanos(10);
+        assertThatThrownBy(breaker::acquirePermission)
+                .isInstanceOfSatisfying(ProviderThrottledException.class,
+                        ex -> assertThat(ex.retryAfter()).isEqualTo(Duration.ofSeconds(20)));
+    }
+
+    @Test
+    void shouldOpenOnSlowCallRateEvenWhenCallsSucceed() {
+        call(false, SLOW);
+        call(false, SLOW);
+        call(false, SLOW);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+
+        call(false, SLOW);
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void shouldEvaluateOnlyTheSlidingWindow() {
+        for (int i = 0; i < 4; i++) {
+            call(false, FAST);
+        }
+        call(true, FAST);
+        for (int i = 0; i < 9; i++) {
+            call(false, FAST);
+        }
+        assertThat(breaker.failureRate()).isEqualTo(10.0);
+
+        call(false, FAST);
+
+        assertThat(breaker.failureRate()).isZero();
+    }
+
+    @Test
+    void shouldCloseAfterHealthyProbesInHalfOpen() {
+        open();
+        now += TimeUnit.SECONDS.toNanos(30);
+
+        breaker.acquirePermission();
+        breaker.acquirePermission();
+        assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+        assertThatThrownBy(breaker::acquirePermission).isInstanceOf(ProviderThrottledException.class);
+
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        assertThat(breaker.failureRate()).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldReopenWhenProbesFail() {
+        open();
+        now += TimeUnit.SECONDS.toNanos(30);
+
+        call(true, FAST);
+        call(false, FAST);
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void releasePermission_shouldHandProbeSlotBackWithoutRecordingOutcome() {
+        open();
+        now += TimeUnit.SECONDS.toNanos(30);
+
+        breaker.acquirePermission();
+        breaker.acquirePermission();
+        breaker.releasePermission();
+        breaker.acquirePermission();
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            call(true, FAST);
+        }
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    private void call(boolean failed, long durationNanos) {
+        breaker.acquirePermission();
+        now += durationNanos;
+        if (failed) {
+            breaker.onFailure(durationNanos);
+        } else {
+            breaker.onSuccess(durationNanos);
+        }
+    }
+}
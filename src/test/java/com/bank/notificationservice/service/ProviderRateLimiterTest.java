@@ -0,0 +1,102 @@
+package com.bank.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.support.ProviderThrottledException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProviderRateLimiterTest {
+
+    private long now;
+    private ProviderRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        NotificationProperties.RateLimit.Provider settings = new NotificationProperties.RateLimit.Provider(
+                true, 10, 5, 1, 0.5, Duration.ofSeconds(2), Duration.ofSeconds(10));
+        limiter = new ProviderRateLimiter("sms", settings, () -> now);
+    }
+
+    @Test
+    void reserve_shouldAllowBurstThenSpaceSendsAtConfiguredRate() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.reserve()).isZero();
+        }
+
+        assertThat(limiter.reserve()).isEqualTo(millis(100));
+        assertThat(limiter.reserve()).isEqualTo(millis(200));
+
+        advance(millis(200));
+        assertThat(limiter.reserve()).isEqualTo(millis(100));
+    }
+
+    @Test
+    void reserve_shouldRefuseWhenWaitExceedsMaximum() {
+        for (int i = 0; i < 5 + 20; i++) {
+            limiter.reserve();
+        }
+
+        assertThatThrownBy(limiter::reserve)
+                .isInstanceOf(ProviderThrottledException.class)
+                .satisfies(ex -> assertThat(((ProviderThrottledException) ex).retryAfter()).isGreaterThan(Duration.ofSeconds(2)));
+    }
+
+    @Test
+    void throttled_shouldHalveRateOncePerBurstAndRecoverGradually() {
+        limiter.throttled(null);
+        limiter.throttled(null);
+        assertThat(limiter.currentRate()).isEqualTo(5.0);
+        assertThat(limiter.reserve()).isEqualTo(millis(200));
+
+        advance(ProviderRateLimiter.THROTTLE_DEBOUNCE.toNanos());
+        limiter.throttled(null);
+        assertThat(limiter.currentRate()).isEqualTo(2.5);
+
+        advance(TimeUnit.SECONDS.toNanos(10));
+        limiter.reserve();
+        assertThat(limiter.currentRate()).isEqualTo(3.5);
+
+        advance(TimeUnit.SECONDS.toNanos(60));
+        limiter.reserve();
+        assertThat(limiter.currentRate()).isEqualTo(9.5);
+
+        advance(TimeUnit.SECONDS.toNanos(60));
+        limiter.reserve();
+        assertThat(limiter.currentRate()).isEqualTo(10.0);
+    }
+
+    @Test
+    void throttled_shouldHonourRetryAfter() {
+        limiter.throttled(Duration.ofMillis(1500));
+
+        assertThat(limiter.reserve()).isEqualTo(millis(1500) + millis(200));
+        assertThat(limiter.reserve()).isEqualTo(millis(1500) + millis(400));
+        assertThatThrownBy(limiter::reserve).isInstanceOf(ProviderThrottledException.class);
+
+        advance(millis(1500));
+        assertThat(limiter.reserve()).isEqualTo(millis(600));
+    }
+
+    @Test
+    void throttled_shouldNotDropBelowMinimumRate() {
+        for (int i = 0; i < 10; i++) {
+            limiter.throttled(null);
+            advance(ProviderRateLimiter.THROTTLE_DEBOUNCE.toNanos());
+        }
+
+        assertThat(limiter.currentRate()).isEqualTo(1.0);
+    }
+
+    private void advance(long nanos) {
+        now += nanos;
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,153 @@
+package com.bank.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.dto.AccountEventNotificationRequest;
+import com.bank.notificationservice.model.AccountEventType;
+import com.bank.notificationservice.model.NotificationType;
+import com.bank.notificationservice.model.ScheduledDelivery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ScheduledDeliveryServiceTest {
+
+    /* 02:00 in Asia/Kolkata. */
+    private static final Instant NIGHT = Instant.parse("2026-03-10T20:30:00Z");
+
+    private final MutableClock clock = new MutableClock(NIGHT);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<String> sent = new ArrayList<>();
+    private final ScheduledDeliveryService service = new ScheduledDeliveryService(properties(), clock, Runnable::run, registry);
+
+    @Test
+    void shouldHoldQuietTypesUntilMorningAndSendOthersNow() {
+        Optional<ScheduledDelivery> deferred = service.defer(event(AccountEventType.BILL_CLEARED, null), () -> sent.add("bill"));
+        assertThat(service.defer(event(AccountEventType.LOAN_TAKEN, null), () -> sent.add("loan"))).isEmpty();
+
+        ScheduledDelivery held = service.find(null, "1234567890", 10).get(0);
+        assertThat(deferred).contains(held);
+        assertThat(held.reason()).isEqualTo(ScheduledDelivery.Reason.QUIET_HOURS);
+        assertThat(held.deliverAt()).isEqualTo(Instant.parse("2026-03-11T02:30:00Z"));
+        assertThat(registry.get("notification.scheduled.pending").tag("type", "account-event").gauge().value()).isEqualTo(1);
+
+        advanceTo(Instant.parse("2026-03-11T02:29:59Z"));
+        assertThat(sent).isEmpty();
+        advanceTo(Instant.parse("2026-03-11T02:30:00Z"));
+        assertThat(sent).containsExactly("bill");
+        assertThat(service.findById(held.id())).isEmpty();
+    }
+
+    @Test
+    void shouldReleaseRequestedTimeUnlessCancelled() {
+        AccountEventNotificationRequest kept = event(AccountEventType.LOAN_TAKEN, NIGHT.plusSeconds(90));
+        AccountEventNotificationRequest cancelled = event(AccountEventType.LOAN_TAKEN, NIGHT.plusSeconds(90));
+        service.defer(kept, () -> sent.add("kept"));
+        service.defer(cancelled, () -> sent.add("cancelled"));
+        ScheduledDelivery toCancel = service.find(null, null, 10).get(1);
+
+        assertThat(service.cancel(toCancel.id())).isTrue();
+        assertThat(service.cancel(toCancel.id())).isFalse();
+        advanceTo(NIGHT.plusSeconds(90));
+
+        assertThat(sent).hasSize(1);
+        assertThat(registry.get("notification.scheduled.cancelled").counter().count()).isEqualTo(1);
+        assertThat(registry.get("notification.scheduled.released").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFindSoonestHeldNotificationsPerAccountAndAfterRelease() {
+        for (int i = 5; i >= 1; i--) {
+            String label = "acc-1-" + i;
+            service.defer(event("ACC-1", AccountEventType.LOAN_TAKEN, NIGHT.plusSeconds(60L * i)), () -> sent.add(label));
+        }
+        service.defer(event("ACC-2", AccountEventType.LOAN_TAKEN, NIGHT.plusSeconds(30)), () -> sent.add("acc-2"));
+
+        assertThat(service.find(null, "ACC-1", 2)).extracting(ScheduledDelivery::deliverAt)
+                .containsExactly(NIGHT.plusSeconds(60), NIGHT.plusSeconds(120));
+        assertThat(service.find(null, null, 3)).extracting(ScheduledDelivery::accountNumber)
+                .containsExactly("ACC-2", "ACC-1", "ACC-1");
+        assertThat(service.find(NotificationType.HIGH_VALUE_TRANSACTION, "ACC-1", 10)).isEmpty();
+        assertThat(service.find(null, "ACC-3", 10)).isEmpty();
+
+        advanceTo(NIGHT.plusSeconds(120));
+
+        assertThat(sent).containsExactly("acc-2", "acc-1-1", "acc-1-2");
+        assertThat(service.find(null, "ACC-1", 10)).extracting(ScheduledDelivery::deliverAt)
+                .containsExactly(NIGHT.plusSeconds(180), NIGHT.plusSeconds(240), NIGHT.plusSeconds(300));
+        assertThat(service.find(null, "ACC-2", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldCountHeldNotificationsDiscardedOnShutdown() {
+        service.defer(event(AccountEventType.BILL_CLEARED, null), () -> sent.add("bill"));
+        service.defer(event(AccountEventType.LOAN_TAKEN, NIGHT.plusSeconds(90)), () -> sent.add("loan"));
+
+        service.shutdown();
+
+        assertThat(registry.get("notification.scheduled.discarded").counter().count()).isEqualTo(2);
+        assertThat(registry.get("notification.scheduled.pending").tag("type", "account-event").gauge().value()).isZero();
+        assertThat(service.find(null, null, 10)).isEmpty();
+        advanceTo(Instant.parse("2026-03-11T02:30:00Z"));
+        assertThat(sent).isEmpty();
+    }
+
+    private void advanceTo(Instant instant) {
+        clock.instant = instant;
+        service.tick();
+    }
+
+    private static NotificationProperties properties() {
+        NotificationProperties.Scheduling scheduling = new NotificationProperties.Scheduling(Duration.ofSeconds(1), 100, 1,
+                new NotificationProperties.Scheduling.QuietHours(true, null, null, null,
+                        Set.of(AccountEventType.BILL_CLEARED)));
+        return new NotificationProperties(null, null, null, null, null, null, null, null, null, null, null, null, null,
+                scheduling);
+    }
+
+    private static AccountEventNotificationRequest event(AccountEventType type, Instant deliverAt) {
+        return event("1234567890", type, deliverAt);
+    }
+
+    private static AccountEventNotificationRequest event(String accountNumber, AccountEventType type, Instant deliverAt) {
+        AccountEventNotificationRequest request = new AccountEventNotificationRequest();
+        request.setAccountNumber(accountNumber);
+        request.setCustomerEmail("jane@example.com");
+        request.setEventType(type);
+        request.setDeliverAt(deliverAt);
+        return request;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
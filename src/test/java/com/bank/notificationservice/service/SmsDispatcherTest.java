@@ -0,0 +1,61 @@
+package com.bank.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.support.NotificationDeliveryException;
+import com.bank.notificationservice.support.ProviderRejectedException;
+import com.bank.notificationservice.support.SmsMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+class SmsDispatcherTest {
+
+    private static final SmsMessage MESSAGE = new SmsMessage("+919876543210", "Your account has been updated.");
+
+    private RuntimeException nextFailure;
+    private final SmsTransport transport = message -> nextFailure != null
+            ? CompletableFuture.failedFuture(nextFailure)
+            : CompletableFuture.completedFuture(null);
+    private final SmsDispatcher dispatcher = new SmsDispatcher(properties(),
+            new StaticListableBeanFactory(Map.of("smsTransport", transport)).getBeanProvider(SmsTransport.class),
+            new SimpleMeterRegistry());
+
+    @Test
+    void dispatch_shouldNotCountRejectedRecipientsAgainstTheProvider() {
+        nextFailure = new ProviderRejectedException("Twilio rejected notification SMS with HTTP 400", null);
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> dispatcher.dispatch(MESSAGE)).isInstanceOf(ProviderRejectedException.class);
+        }
+
+        assertThat(dispatcher.circuitBreaker().state()).isEqualTo(ProviderCircuitBreaker.State.CLOSED);
+        assertThat(dispatcher.circuitBreaker().failureRate()).isEqualTo(-1);
+    }
+
+    @Test
+    void dispatch_shouldOpenBreakerOnProviderFailures() {
+        nextFailure = new NotificationDeliveryException("Twilio failed to accept notification SMS with HTTP 503", null);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> dispatcher.dispatch(MESSAGE)).isInstanceOf(NotificationDeliveryException.class);
+        }
+
+        assertThat(dispatcher.circuitBreaker().state()).isEqualTo(ProviderCircuitBreaker.State.OPEN);
+    }
+
+    private static NotificationProperties properties() {
+        NotificationProperties.Sms sms = new NotificationProperties.Sms("key", "http://localhost", "BANK", false, null, null,
+                null, null, null, null);
+        NotificationProperties.CircuitBreaker.Provider breaker = new NotificationProperties.CircuitBreaker.Provider(
+                true, 4, 2, 50, 100, Duration.ofSeconds(30), Duration.ofSeconds(30), 1);
+        NotificationProperties.CircuitBreaker circuitBreaker = new NotificationProperties.CircuitBreaker(breaker, breaker);
+        return new NotificationProperties(null, null, sms, null, null, null, null, null, circuitBreaker, null, null, null,
+                null, null);
+    }
+}
@@ -0,0 +1,94 @@
+package com.bank.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+class SmtpTransportPoolTest {
+
+    @RegisterExtension
+    static GreenMailExtension smtpSink = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    private JavaMailSenderImpl mailSender;
+    private SmtpTransportPool pool;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void send_shouldReuseOneSessionForConsecutiveMessages() throws Exception {
+        pool = new SmtpTransportPool(mailSender, poolSettings(2, 100, Duration.ofSeconds(30)));
+
+        for (int i = 0; i < 5; i++) {
+            pool.send(message("customer" + i + "@example.com"));
+        }
+
+        assertThat(smtpSink.getReceivedMessages()).hasSize(5);
+        assertThat(pool.connectionsOpened()).isEqualTo(1);
+        assertThat(pool.idleConnections()).isEqualTo(1);
+        assertThat(pool.activeConnections()).isZero();
+    }
+
+    @Test
+    void send_shouldRotateSessionAfterMessageLimit() throws Exception {
+        pool = new SmtpTransportPool(mailSender, poolSettings(2, 2, Duration.ofSeconds(30)));
+
+        for (int i = 0; i < 5; i++) {
+            pool.send(message("customer" + i + "@example.com"));
+        }
+
+        assertThat(smtpSink.getReceivedMessages()).hasSize(5);
+        assertThat(pool.connectionsOpened()).isEqualTo(3);
+    }
+
+    @Test
+    void send_shouldReplaceConnectionDroppedByServer() throws Exception {
+        pool = new SmtpTransportPool(mailSender, poolSettings(1, 100, Duration.ZERO));
+        pool.send(message("first@example.com"));
+
+        smtpSink.reset();
+        pool.send(message("second@example.com"));
+
+        assertThat(smtpSink.getReceivedMessages()).hasSize(1);
+        assertThat(pool.connectionsOpened()).isEqualTo(2);
+    }
+
+    private MimeMessage message(String to) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "UTF-8");
+        helper.setFrom("noreply@bank.example");
+        helper.setTo(to);
+        helper.setSubject("High value DEBIT alert");
+        helper.setText("Amount: $15,000.00", false);
+        return mimeMessage;
+    }
+
+    private static NotificationProperties.Mail.Pool poolSettings(int maxConnections, int maxMessages, Duration validateAfterIdle) {
+        return new NotificationProperties.Mail.Pool(true, maxConnections, maxMessages,
+                validateAfterIdle, Duration.ofMinutes(5), Duration.ofSeconds(2));
+    }
+}
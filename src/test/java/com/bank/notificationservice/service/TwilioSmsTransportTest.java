@@ -0,0 +1,151 @@
+package com.bank.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.support.NotificationDeliveryException;
+import com.bank.notificationservice.support.ProviderRejectedException;
+import com.bank.notificationservice.support.ProviderThrottledException;
+import com.bank.notificationservice.support.SmsMessage;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TwilioSmsTransportTest {
+
+    private static final String ACCOUNT_SID = "AC123";
+    private static final String MESSAGES_PATH = "/2010-04-01/Accounts/" + ACCOUNT_SID + "/Messages.json";
+
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private volatile int status = 201;
+
+    private HttpServer server;
+    private TwilioSmsTransport transport;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(MESSAGES_PATH, this::handle);
+        server.start();
+        transport = new TwilioSmsTransport(sms("+15550009999"), DispatchThreads.platform());
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.close();
+        server.stop(0);
+    }
+
+    @Test
+    void send_shouldPostFormEncodedMessageWithBasicAuth() {
+        transport.send(new SmsMessage("+1 (555) 000-1111", "Balance: ₹12,34,567.50 & more"));
+
+        assertThat(bodies).hasSize(1);
+        List<String> fields = Arrays.stream(bodies.get(0).split("&"))
+                .map(field -> URLDecoder.decode(field, StandardCharsets.UTF_8))
+                .toList();
+        assertThat(fields).containsExactly("To=+15550001111", "From=+15550009999", "Body=Balance: ₹12,34,567.50 & more");
+        assertThat(authorizations).containsExactly("Basic QUMxMjM6dG9rZW4=");
+    }
+
+    @Test
+    void send_shouldReuseConnectionsAcrossMessages() {
+        for (int i = 0; i < 5; i++) {
+            transport.send(new SmsMessage("+15550001111", "Message " + i));
+        }
+
+        assertThat(bodies).hasSize(5);
+        assertThat(clientPorts).hasSize(1);
+    }
+
+    @Test
+    void sendAsync_shouldCompleteConcurrentSends() {
+        CompletableFuture<?>[] sends = IntStream.range(0, 20)
+                .mapToObj(i -> transport.sendAsync(new SmsMessage("+15550001111", "Message " + i)))
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(sends).join();
+
+        assertThat(bodies).hasSize(20);
+    }
+
+    @Test
+    void send_shouldReportProviderRejection() {
+        status = 400;
+
+        assertThatThrownBy(() -> transport.send(new SmsMessage("+15550001111", "Hello")))
+                .isInstanceOf(ProviderRejectedException.class)
+                .hasMessageContaining("HTTP 400")
+                .hasMessageContaining("The 'To' number is not a valid phone number.");
+    }
+
+    @Test
+    void send_shouldReportServerErrorAsProviderFailure() {
+        status = 503;
+
+        assertThatThrownBy(() -> transport.send(new SmsMessage("+15550001111", "Hello")))
+                .isInstanceOf(NotificationDeliveryException.class)
+                .isNotInstanceOf(ProviderRejectedException.class)
+                .hasMessageContaining("HTTP 503");
+    }
+
+    @Test
+    void send_shouldReportThrottlingWithRetryAfter() {
+        status = 429;
+
+        assertThatThrownBy(() -> transport.send(new SmsMessage("+15550001111", "Hello")))
+                .isInstanceOfSatisfying(ProviderThrottledException.class,
+                        ex -> assertThat(ex.retryAfter()).isEqualTo(Duration.ofSeconds(3)));
+    }
+
+    @Test
+    void send_shouldFailWithoutCredentials() {
+        try (TwilioSmsTransport unconfigured = new TwilioSmsTransport(sms(null), DispatchThreads.platform())) {
+            assertThatThrownBy(() -> unconfigured.send(new SmsMessage("+15550001111", "Hello")))
+                    .isInstanceOf(NotificationDeliveryException.class)
+                    .hasMessageContaining("credentials");
+        }
+        assertThat(bodies).isEmpty();
+    }
+
+    private NotificationProperties.Sms sms(String fromNumber) {
+        return new NotificationProperties.Sms(null, null, null, false, ACCOUNT_SID, "token", fromNumber,
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/", Duration.ofSeconds(2), Duration.ofSeconds(5));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        bodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        authorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+        byte[] response = (status == 201
+                ? "{\"sid\":\"SM1\",\"status\":\"queued\"}"
+                : "{\"code\":21211,\"message\":\"The 'To' number is not a valid phone number.\",\"status\":400}")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        if (status == 429) {
+            exchange.getResponseHeaders().add("Retry-After", "3");
+        }
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.bank.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class WeightedLaneQueueTest {
+
+    @Test
+    void shouldServeBackloggedLanesInProportionToTheirWeights() {
+        WeightedLaneQueue<String> queue = new WeightedLaneQueue<>(new int[] {8, 3, 1}, 100, WeightedLaneQueueTest::lane);
+        for (int i = 0; i < 24; i++) {
+            queue.offer("0-" + i);
+            queue.offer("1-" + i);
+            queue.offer("2-" + i);
+        }
+
+        List<String> firstTwelve = new ArrayList<>();
+        queue.drainTo(firstTwelve, 12);
+
+        assertThat(firstTwelve).filteredOn(element -> lane(element) == 0).hasSize(8);
+        assertThat(firstTwelve).filteredOn(element -> lane(element) == 1).hasSize(3);
+        assertThat(firstTwelve).filteredOn(element -> lane(element) == 2).hasSize(1);
+        assertThat(firstTwelve).first().isEqualTo("0-0");
+        assertThat(firstTwelve).filteredOn(element -> lane(element) == 0)
+                .containsExactly("0-0", "0-1", "0-2", "0-3", "0-4", "0-5", "0-6", "0-7");
+    }
+
+    @Test
+    void shouldServeTopLaneAtOnceWhenItFillsDuringLowerLaneBacklog() {
+        WeightedLaneQueue<String> queue = new WeightedLaneQueue<>(new int[] {8, 3, 1}, 100, WeightedLaneQueueTest::lane);
+        for (int i = 0; i < 50; i++) {
+            queue.offer("2-" + i);
+        }
+        for (int i = 0; i < 20; i++) {
+            queue.poll();
+        }
+
+        queue.offer("0-alert");
+
+        assertThat(queue.poll()).isEqualTo("0-alert");
+        assertThat(queue.poll()).isEqualTo("2-20");
+    }
+
+    @Test
+    void shouldRejectOnlyElementsOfAFullLane() {
+        WeightedLaneQueue<String> queue = new WeightedLaneQueue<>(new int[] {8, 3, 1}, 2, WeightedLaneQueueTest::lane);
+
+        assertThat(queue.offer("2-a")).isTrue();
+        assertThat(queue.offer("2-b")).isTrue();
+        assertThat(queue.offer("2-c")).isFalse();
+        assertThat(queue.offer("0-a")).isTrue();
+        assertThat(queue.size()).isEqualTo(3);
+        assertThat(queue.size(2)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldWakeWaitingTakerWhenAnyLaneReceivesAnElement() throws Exception {
+        WeightedLaneQueue<String> queue = new WeightedLaneQueue<>(new int[] {8, 3, 1}, 2, WeightedLaneQueueTest::lane);
+        CompletableFuture<String> taken = CompletableFuture.supplyAsync(() -> {
+            try {
+                return queue.take();
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        Thread.sleep(50);
+        queue.offer("1-a");
+
+        assertThat(taken.get(5, TimeUnit.SECONDS)).isEqualTo("1-a");
+        assertThat(queue.poll(10, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    private static int lane(String element) {
+        return element.charAt(0) - '0';
+    }
+}
@@ -0,0 +1,48 @@
+package com.bank.notificationservice.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class MoneyFormatterTest {
+
+    @Test
+    void format_shouldMatchJdkCurrencyFormatForWesternCurrencies() {
+        Random random = new Random(42);
+        for (String code : new String[] {"USD", "EUR", "GBP", "JPY", "CHF", "KWD"}) {
+            NumberFormat expected = NumberFormat.getCurrencyInstance(Locale.US);
+            expected.setCurrency(Currency.getInstance(code));
+            MoneyFormatter formatter = MoneyFormatter.forCurrency(code);
+            for (int i = 0; i < 500; i++) {
+                BigDecimal amount = BigDecimal.valueOf(random.nextLong() % 100_000_000_000L, random.nextInt(5));
+                assertThat(formatter.format(amount)).as("%s %s", code, amount).isEqualTo(expected.format(amount));
+            }
+            BigDecimal huge = new BigDecimal("123456789012345678901234.565");
+            assertThat(formatter.format(huge)).isEqualTo(expected.format(huge));
+        }
+    }
+
+    @Test
+    void format_shouldUseIndianGroupingForRupees() {
+        MoneyFormatter formatter = MoneyFormatter.forCurrency("INR");
+
+        assertThat(formatter.format(new BigDecimal("999"))).isEqualTo("₹999.00");
+        assertThat(formatter.format(new BigDecimal("15000"))).isEqualTo("₹15,000.00");
+        assertThat(formatter.format(new BigDecimal("1234567.505"))).isEqualTo("₹12,34,567.50");
+        assertThat(formatter.format(new BigDecimal("-123456789"))).isEqualTo("-₹12,34,56,789.00");
+        assertThat(formatter.appendAmount(new BigDecimal("10000000"), new StringBuilder("Rs "))).hasToString("Rs 1,00,00,000.00");
+        assertThat(formatter.format(new BigDecimal("12345678901234567890123"))).isEqualTo("₹12,34,56,78,90,12,34,56,78,90,123.00");
+    }
+
+    @Test
+    void forCurrency_shouldFallBackToDollarsForUnknownCodes() {
+        assertThat(MoneyFormatter.forCurrency("XYZ1").format(BigDecimal.TEN)).isEqualTo("$10.00");
+        assertThat(MoneyFormatter.forCurrency(null).format(BigDecimal.TEN)).isEqualTo("$10.00");
+        assertThat(MoneyFormatter.forCurrency("USD")).isSameAs(MoneyFormatter.forCurrency("USD"));
+    }
+}
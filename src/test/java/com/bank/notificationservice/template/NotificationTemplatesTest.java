@@ -0,0 +1,131 @@
+package com.bank.notificationservice.template;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bank.notificationservice.config.NotificationProperties;
+import com.bank.notificationservice.model.AccountEventType;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+class NotificationTemplatesTest {
+
+    private static final String[] ACCOUNT_EVENT_VALUES = {
+        "Jane", "1234567890", "Bill cleared", "Your bill has been cleared", "Electricity"
+    };
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void templates_shouldUseOverridesFromExternalDirectoryAndDefaultsForTheRest() throws IOException {
+        write(TemplateKey.ACCOUNT_EVENT_SMS, "{{customerName}}: {{eventMessage}} on {{accountNumber}}\n");
+
+        NotificationTemplates templates = load();
+        NotificationTemplates defaults = NotificationTemplates.defaults();
+
+        assertThat(templates.get(TemplateKey.ACCOUNT_EVENT_SMS).renderBody(ACCOUNT_EVENT_VALUES))
+                .isEqualTo("Jane: Your bill has been cleared on 1234567890");
+        assertThat(templates.get(TemplateKey.ACCOUNT_EVENT_EMAIL).renderBody(ACCOUNT_EVENT_VALUES))
+                .isEqualTo(defaults.get(TemplateKey.ACCOUNT_EVENT_EMAIL).renderBody(ACCOUNT_EVENT_VALUES));
+        for (TemplateKey key : TemplateKey.values()) {
+            assertThat(templates.get(key)).as(key.name()).isNotNull();
+        }
+    }
+
+    @Test
+    void templates_shouldSplitEmailSubjectFromBody() throws IOException {
+        write(TemplateKey.ACCOUNT_EVENT_EMAIL, "Subject: {{eventSubject}} for {{accountNumber}}\r\n\r\nHi {{customerName}}\r\n");
+
+        NotificationTemplate template = load().get(TemplateKey.ACCOUNT_EVENT_EMAIL);
+
+        assertThat(template.renderSubject(ACCOUNT_EVENT_VALUES)).isEqualTo("Bill cleared for 1234567890");
+        assertThat(template.renderBody(ACCOUNT_EVENT_VALUES)).isEqualTo("Hi Jane");
+    }
+
+    @Test
+    void templates_shouldLoadAccountEventWordingWithOverrides() throws IOException {
+        Files.writeString(directory.resolve("account-event.bill-cleared.txt"),
+                "Subject: Bill paid\n\nWe received your bill payment for account {{accountNumber}}.\n", StandardCharsets.UTF_8);
+
+        NotificationTemplates templates = load();
+
+        assertThat(NotificationTemplates.eventFileName(AccountEventType.BILL_CLEARED)).isEqualTo("account-event.bill-cleared.txt");
+        assertThat(templates.event(AccountEventType.BILL_CLEARED).renderSubject("1234567890")).isEqualTo("Bill paid");
+        assertThat(templates.event(AccountEventType.BILL_CLEARED).renderBody("1234567890"))
+                .isEqualTo("We received your bill payment for account 1234567890.");
+        assertThat(templates.event(AccountEventType.LOAN_CLEARED).renderSubject("1234567890"))
+                .isEqualTo("Congratulations! Your loan is closed");
+        for (AccountEventType type : AccountEventType.values()) {
+            assertThat(templates.event(type)).as(type.name()).isNotNull();
+        }
+    }
+
+    @Test
+    void templates_shouldRefuseToStartWithUnknownPlaceholder() throws IOException {
+        write(TemplateKey.ACCOUNT_EVENT_SMS, "Dear {{customerNmae}}, {{eventMessage}}.");
+
+        assertThatThrownBy(this::load)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(TemplateKey.ACCOUNT_EVENT_SMS.fileName())
+                .hasMessageContaining("Unknown variable 'customerNmae'");
+    }
+
+    @Test
+    void templates_shouldRefuseEmailTemplateWithoutSubjectLine() throws IOException {
+        write(TemplateKey.ACCOUNT_EVENT_EMAIL, "Hi {{customerName}}");
+
+        assertThatThrownBy(this::load)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("must start with a 'Subject:' line");
+    }
+
+    @Test
+    void compile_shouldRenderSectionsAndDropStandaloneSectionLines() {
+        MessageTemplate template = MessageTemplate.compile(
+                "Hi {{name}}\n{{#note}}\nNote: {{note}}\n{{/note}}\n{{^note}}\nNo note.\n{{/note}}\nBye", List.of("name", "note"));
+
+        assertThat(template.render("Jane", "Card blocked")).isEqualTo("Hi Jane\nNote: Card blocked\nBye");
+        assertThat(template.render("Jane", null)).isEqualTo("Hi Jane\nNo note.\nBye");
+        assertThat(template.render("Jane", "  ")).isEqualTo("Hi Jane\nNo note.\nBye");
+    }
+
+    @Test
+    void compile_shouldRenderMissingValueAsEmpty() {
+        MessageTemplate template = MessageTemplate.compile("[{{name}}]", List.of("name"));
+
+        assertThat(template.render((String) null)).isEqualTo("[]");
+    }
+
+    @Test
+    void compile_shouldRejectMalformedTemplates() {
+        List<String> variables = List.of("name");
+
+        assertThatThrownBy(() -> MessageTemplate.compile("Hi {{name", variables))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unterminated tag");
+        assertThatThrownBy(() -> MessageTemplate.compile("{{#name}}Hi", variables))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unclosed section");
+        assertThatThrownBy(() -> MessageTemplate.compile("Hi{{/name}}", variables))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unexpected closing tag");
+    }
+
+    private NotificationTemplates load() {
+        NotificationProperties.Templates templates = new NotificationProperties.Templates(directory.toUri().toString());
+        NotificationProperties properties = new NotificationProperties(null, null, null, null, null, templates, null, null,
+                null, null, null, null, null, null);
+        return new NotificationTemplates(properties, new DefaultResourceLoader());
+    }
+
+    private void write(TemplateKey key, String source) throws IOException {
+        Files.writeString(directory.resolve(key.fileName()), source, StandardCharsets.UTF_8);
+    }
+}